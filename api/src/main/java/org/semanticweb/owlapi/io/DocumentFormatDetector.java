@@ -0,0 +1,375 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Guesses the format of a document from its first few kilobytes, so that the parser most likely to
+ * succeed can be tried first. The guess looks at byte order marks, the root element of XML
+ * documents and the first keywords of text formats ({@code @prefix}, {@code Prefix(},
+ * {@code Ontology:}, {@code format-version:} and the like). The result is a list of format keys,
+ * as returned by {@code OWLDocumentFormat::getKey}, best match first; it is a hint, not a
+ * validation, and an empty list means no guess could be made.
+ *
+ * @author ignazio
+ * @since 5.5.1
+ */
+public final class DocumentFormatDetector {
+
+    /** Number of characters read from the start of a document. */
+    public static final int HEAD_SIZE = 4096;
+    private static final Logger LOGGER = LoggerFactory.getLogger(DocumentFormatDetector.class);
+    private static final String RDFXML = "RDF/XML Syntax";
+    private static final String RIO_RDFXML = "RDF/XML";
+    private static final String OWLXML = "OWL/XML Syntax";
+    private static final String FUNCTIONAL = "OWL Functional Syntax";
+    private static final String TURTLE = "Turtle Syntax";
+    private static final String RIO_TURTLE = "Turtle";
+    private static final String MANCHESTER = "Manchester OWL Syntax";
+    //@formatter:off
+    private static final List<String> RDFXML_FIRST =  list(RDFXML, RIO_RDFXML, OWLXML);
+    private static final List<String> OWLXML_FIRST =  list(OWLXML, RDFXML, RIO_RDFXML);
+    private static final List<String> TRIX =          list("TriX");
+    private static final List<String> RDFA =          list("RDFa", RDFXML, RIO_RDFXML);
+    private static final List<String> TRIPLES =       list("N-Triples", TURTLE, RIO_TURTLE, "N-Quads",
+        "TriG");
+    private static final List<String> TURTLE_FIRST =  list(TURTLE, RIO_TURTLE, "TriG", "N3");
+    private static final List<String> FUNCTIONAL_FIRST = list(FUNCTIONAL);
+    private static final List<String> MANCHESTER_FIRST = list(MANCHESTER);
+    private static final List<String> OBO =           list("OBO Format");
+    private static final List<String> JSON =          list("JSON-LD", "RDF/JSON");
+    private static final List<String> KRSS =          list("KRSS2 Syntax", "KRSS Syntax");
+    private static final List<String> MANCHESTER_FRAMES = Arrays.asList("Ontology:", "Import:",
+        "Class:", "ObjectProperty:", "DataProperty:", "AnnotationProperty:", "Individual:",
+        "Datatype:", "Annotations:", "DisjointClasses:", "EquivalentClasses:",
+        "DisjointProperties:", "EquivalentProperties:", "SameIndividual:", "DifferentIndividuals:");
+    private static final List<String> OBO_HEADER_TAGS = Arrays.asList("format-version:",
+        "data-version:", "ontology:", "date:", "saved-by:", "auto-generated-by:", "subsetdef:",
+        "import:", "synonymtypedef:", "idspace:", "default-namespace:", "remark:");
+    private static final List<String> OBO_STANZAS = Arrays.asList("[Term]", "[Typedef]",
+        "[Instance]");
+    //@formatter:on
+
+    private DocumentFormatDetector() {}
+
+    private static List<String> list(String... keys) {
+        return Collections.unmodifiableList(Arrays.asList(keys));
+    }
+
+    /**
+     * Reads the start of the document from a new reader or input stream of the source and guesses
+     * its format. Sources with no reader or input stream, such as IRI sources, give no guess.
+     *
+     * @param source document source
+     * @return format keys, best match first; empty if no guess can be made
+     */
+    public static List<String> detect(OWLOntologyDocumentSource source) {
+        if (source.hasAlredyFailedOnStreams()) {
+            return Collections.emptyList();
+        }
+        try {
+            Optional<Reader> reader = source.getReader();
+            if (reader.isPresent()) {
+                try (Reader r = reader.get()) {
+                    return detect(head(r));
+                }
+            }
+            Optional<InputStream> stream = source.getInputStream();
+            if (stream.isPresent()) {
+                try (InputStream in = stream.get()) {
+                    return detect(head(in));
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.debug("Document head cannot be read, format not detected", e);
+        }
+        return Collections.emptyList();
+    }
+
+    private static CharSequence head(Reader r) throws IOException {
+        char[] chars = new char[HEAD_SIZE];
+        int length = 0;
+        int read = 0;
+        while (length < chars.length && (read = r.read(chars, length, chars.length - length)) > 0) {
+            length += read;
+        }
+        return new String(chars, 0, length);
+    }
+
+    private static CharSequence head(InputStream in) throws IOException {
+        byte[] bytes = new byte[HEAD_SIZE];
+        int length = 0;
+        int read = 0;
+        while (length < bytes.length
+            && (read = in.read(bytes, length, bytes.length - length)) > 0) {
+            length += read;
+        }
+        return decode(bytes, length);
+    }
+
+    /**
+     * Decodes the head of a stream, honouring a byte order mark if there is one. Without a mark,
+     * a zero byte in the first two marks UTF-16 text that starts with an ASCII character; anything
+     * else is read as UTF-8, which is also right for ASCII and for most declared XML encodings as
+     * far as the markers looked for here are concerned.
+     */
+    static CharSequence decode(byte[] bytes, int length) {
+        int offset = 0;
+        Charset charset = StandardCharsets.UTF_8;
+        if (length >= 3 && (bytes[0] & 0xFF) == 0xEF && (bytes[1] & 0xFF) == 0xBB
+            && (bytes[2] & 0xFF) == 0xBF) {
+            offset = 3;
+        } else if (length >= 2 && (bytes[0] & 0xFF) == 0xFE && (bytes[1] & 0xFF) == 0xFF) {
+            offset = 2;
+            charset = StandardCharsets.UTF_16BE;
+        } else if (length >= 2 && (bytes[0] & 0xFF) == 0xFF && (bytes[1] & 0xFF) == 0xFE) {
+            offset = 2;
+            charset = StandardCharsets.UTF_16LE;
+        } else if (length >= 2 && bytes[0] == 0 && bytes[1] != 0) {
+            charset = StandardCharsets.UTF_16BE;
+        } else if (length >= 2 && bytes[0] != 0 && bytes[1] == 0) {
+            charset = StandardCharsets.UTF_16LE;
+        }
+        return new String(bytes, offset, length - offset, charset);
+    }
+
+    /**
+     * @param head first characters of a document; a byte order mark, if present, is skipped
+     * @return format keys, best match first; empty if no guess can be made
+     */
+    public static List<String> detect(CharSequence head) {
+        int i = skipSpaceAndComments(head, 0);
+        if (i >= head.length()) {
+            return Collections.emptyList();
+        }
+        char c = head.charAt(i);
+        if (c == '<') {
+            if (isTriple(head, i)) {
+                return TRIPLES;
+            }
+            return xml(head, i);
+        }
+        if (c == '_' && startsWith(head, i, "_:")) {
+            return TRIPLES;
+        }
+        if (c == '@') {
+            if (startsWith(head, i, "@prefix") || startsWith(head, i, "@base")) {
+                return TURTLE_FIRST;
+            }
+            return Collections.emptyList();
+        }
+        if (c == '{') {
+            return JSON;
+        }
+        if (c == '[') {
+            return startsWithAny(head, i, OBO_STANZAS) ? OBO : JSON;
+        }
+        if (c == '(') {
+            return KRSS;
+        }
+        return keywords(head, i);
+    }
+
+    private static List<String> keywords(CharSequence head, int i) {
+        int end = i;
+        while (end < head.length() && Character.isLetter(head.charAt(end))) {
+            end++;
+        }
+        String word = head.subSequence(i, end).toString();
+        if ("prefix".equalsIgnoreCase(word) || "base".equalsIgnoreCase(word)) {
+            if (end < head.length() && head.charAt(end) == ':') {
+                return MANCHESTER_FIRST;
+            }
+            int next = skipSpace(head, end);
+            if (next < head.length() && head.charAt(next) == '(') {
+                return FUNCTIONAL_FIRST;
+            }
+            // SPARQL style PREFIX and BASE directives
+            return TURTLE_FIRST;
+        }
+        if ("Ontology".equals(word)) {
+            int next = skipSpace(head, end);
+            if (next < head.length() && head.charAt(next) == '(') {
+                return FUNCTIONAL_FIRST;
+            }
+        }
+        if (startsWithAny(head, i, MANCHESTER_FRAMES)) {
+            return MANCHESTER_FIRST;
+        }
+        if (startsWithAny(head, i, OBO_HEADER_TAGS) || startsWithAny(head, i, OBO_STANZAS)) {
+            return OBO;
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * An IRI between angle brackets followed, on the same line, by another IRI, a blank node or
+     * the Turtle {@code a} keyword starts a triple; XML tags contain spaces or are followed by
+     * markup on a new line.
+     */
+    private static boolean isTriple(CharSequence head, int start) {
+        int i = start + 1;
+        boolean colon = false;
+        while (i < head.length() && head.charAt(i) != '>') {
+            char c = head.charAt(i);
+            if (Character.isWhitespace(c) || c == '"' || c == '<') {
+                return false;
+            }
+            colon |= c == ':';
+            i++;
+        }
+        if (!colon || i >= head.length() || head.charAt(i - 1) == '/') {
+            return false;
+        }
+        i++;
+        while (i < head.length() && (head.charAt(i) == ' ' || head.charAt(i) == '\t')) {
+            i++;
+        }
+        if (i >= head.length()) {
+            return false;
+        }
+        char c = head.charAt(i);
+        return c == '<' || startsWith(head, i, "_:") || startsWith(head, i, "a ")
+            || startsWith(head, i, "a\t");
+    }
+
+    private static List<String> xml(CharSequence head, int start) {
+        int i = start;
+        while (i < head.length()) {
+            i = skipSpace(head, i);
+            if (startsWith(head, i, "<?")) {
+                i = after(head, i, "?>");
+            } else if (startsWith(head, i, "<!--")) {
+                i = after(head, i, "-->");
+            } else if (startsWith(head, i, "<!")) {
+                i = afterDeclaration(head, i);
+            } else {
+                break;
+            }
+        }
+        if (i + 1 >= head.length() || head.charAt(i) != '<') {
+            // truncated prolog or not XML at all; RDF/XML is still the most common case
+            return RDFXML_FIRST;
+        }
+        int nameStart = i + 1;
+        int end = nameStart;
+        int colon = -1;
+        while (end < head.length()) {
+            char c = head.charAt(end);
+            if (Character.isWhitespace(c) || c == '>' || c == '/') {
+                break;
+            }
+            if (c == ':') {
+                colon = end;
+            }
+            end++;
+        }
+        String local = head.subSequence(colon < 0 ? nameStart : colon + 1, end).toString();
+        if ("RDF".equals(local)) {
+            return RDFXML_FIRST;
+        }
+        if ("Ontology".equals(local)) {
+            // OWL/XML documents normally use the OWL namespace as default namespace
+            return colon < 0 ? OWLXML_FIRST : RDFXML_FIRST;
+        }
+        if ("TriX".equals(local)) {
+            return TRIX;
+        }
+        if ("html".equalsIgnoreCase(local)) {
+            return RDFA;
+        }
+        return RDFXML_FIRST;
+    }
+
+    private static int afterDeclaration(CharSequence head, int start) {
+        int depth = 0;
+        for (int i = start + 2; i < head.length(); i++) {
+            char c = head.charAt(i);
+            if (c == '[') {
+                depth++;
+            } else if (c == ']') {
+                depth--;
+            } else if (c == '>' && depth <= 0) {
+                return i + 1;
+            }
+        }
+        return head.length();
+    }
+
+    private static int after(CharSequence head, int start, String terminator) {
+        for (int i = start; i <= head.length() - terminator.length(); i++) {
+            if (startsWith(head, i, terminator)) {
+                return i + terminator.length();
+            }
+        }
+        return head.length();
+    }
+
+    private static int skipSpace(CharSequence head, int start) {
+        int i = start;
+        while (i < head.length()
+            && (Character.isWhitespace(head.charAt(i)) || head.charAt(i) == '\uFEFF')) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Skips white space and line comments: {@code #} in Turtle, N-Triples, functional and
+     * Manchester syntax, {@code !} in OBO, {@code ;} in KRSS.
+     */
+    private static int skipSpaceAndComments(CharSequence head, int start) {
+        int i = skipSpace(head, start);
+        while (i < head.length()
+            && (head.charAt(i) == '#' || head.charAt(i) == '!' || head.charAt(i) == ';')) {
+            while (i < head.length() && head.charAt(i) != '\n' && head.charAt(i) != '\r') {
+                i++;
+            }
+            i = skipSpace(head, i);
+        }
+        return i;
+    }
+
+    private static boolean startsWithAny(CharSequence head, int start, List<String> prefixes) {
+        for (String prefix : prefixes) {
+            if (startsWith(head, start, prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean startsWith(CharSequence head, int start, String prefix) {
+        if (start + prefix.length() > head.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (head.charAt(start + i) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -37,11 +37,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Base class for common utilities among stream, reader and file input sources.
+ * Base class for common utilities among stream, reader and file input sources. Both stream and
+ * reader sources copy the input in memory, compressed, in case reloading is needed; for inputs too
+ * large for this, use {@link TempFileDocumentSource}, which keeps the copy in a memory mapped
+ * temporary file.
  *
- * @since 4.0.0 TODO both stream and reader sources copy the input in memory in case reloading is
- *        needed. This can be bad for memory. Remote loading will download the ontologies multiple
- *        times too, until parsing fails. Both issues could be addressed with a local file copy.
+ * @since 4.0.0 TODO Remote loading will download the ontologies multiple times, until parsing
+ *        fails. This could be addressed with a local file copy.
  */
 public abstract class StreamDocumentSourceBase extends OWLOntologyDocumentSourceBase {
 
@@ -0,0 +1,359 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.io;
+
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.emptyOptional;
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.optional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
+
+import javax.annotation.Nullable;
+
+import org.apache.commons.io.IOUtils;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLDocumentFormat;
+import org.semanticweb.owlapi.model.OWLRuntimeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An ontology document source for streams and readers too large to be copied in memory. Unlike
+ * {@link StreamDocumentSource} and {@link ReaderDocumentSource}, which keep a compressed copy of
+ * the input on the heap so that each parser attempt can read it again, this source copies the
+ * input to a temporary file and memory maps it; every call to {@link #getInputStream()} or
+ * {@link #getReader()} reads the mapped file from the start, and no copy of the input is kept on
+ * the heap. The file is deleted as soon as it is mapped where the platform allows it, otherwise
+ * on exit; the mapping is released when the source is garbage collected.<br>
+ * If the format is specified, only the parsers for that format are tried, so the input is not
+ * copied at all: the first stream or reader returned is the input itself, and later calls
+ * return nothing. If more than one parser supports the format, or the format has to be detected,
+ * the input is copied before it is first read; see {@link #copyInput()}.<br>
+ * Gzipped input can be kept compressed in the temporary file and decompressed on each read; this
+ * allows, for example, loading an RDF dump whose uncompressed size exceeds the available disk
+ * space.
+ *
+ * @author ignazio
+ * @since 5.5.1
+ */
+public class TempFileDocumentSource extends OWLOntologyDocumentSourceBase {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TempFileDocumentSource.class);
+    private static final String STREAM_CANNOT_BE_NULL = "stream cannot be null";
+    /** A single mapping cannot be larger than 2GB; larger files are mapped in segments. */
+    private static final int SEGMENT_SIZE = Integer.MAX_VALUE;
+    private final AtomicReference<InputStream> directStream = new AtomicReference<>();
+    private final AtomicReference<Reader> directReader = new AtomicReference<>();
+    /** Mapped copy of the input; null while the input is read directly. */
+    @Nullable
+    private volatile ByteBuffer[] segments;
+    private final int segmentSize;
+    private final boolean streamAvailable;
+    private final boolean gzipped;
+
+    /**
+     * @param stream The stream that the ontology representation will be read from.
+     */
+    public TempFileDocumentSource(InputStream stream) {
+        this(stream, IRI.getNextDocumentIRI("inputstream:ontology"), null, null, false);
+    }
+
+    /**
+     * @param stream The stream that the ontology representation will be read from.
+     * @param documentIRI The document IRI
+     * @param format ontology format; if not null, the stream is not copied and can be read only
+     *        once
+     * @param mime mime type
+     * @param gzipped true if the stream is gzipped; the temporary copy is then kept compressed
+     */
+    public TempFileDocumentSource(InputStream stream, IRI documentIRI,
+        @Nullable OWLDocumentFormat format, @Nullable String mime, boolean gzipped) {
+        this(stream, documentIRI, format, mime, gzipped, SEGMENT_SIZE);
+    }
+
+    TempFileDocumentSource(InputStream stream, IRI documentIRI,
+        @Nullable OWLDocumentFormat format, @Nullable String mime, boolean gzipped,
+        int segmentSize) {
+        super(documentIRI, format, mime);
+        checkNotNull(stream, STREAM_CANNOT_BE_NULL);
+        streamAvailable = true;
+        this.gzipped = gzipped;
+        this.segmentSize = segmentSize;
+        if (format != null) {
+            directStream.set(stream);
+        } else {
+            segments = spill(stream, segmentSize);
+        }
+    }
+
+    /**
+     * @param reader The reader that the ontology representation will be read from.
+     */
+    public TempFileDocumentSource(Reader reader) {
+        this(reader, IRI.getNextDocumentIRI("reader:ontology"), null, null);
+    }
+
+    /**
+     * @param reader The reader that the ontology representation will be read from.
+     * @param documentIRI The document IRI
+     * @param format ontology format; if not null, the reader is not copied and can be read only
+     *        once
+     * @param mime mime type
+     */
+    public TempFileDocumentSource(Reader reader, IRI documentIRI,
+        @Nullable OWLDocumentFormat format, @Nullable String mime) {
+        super(documentIRI, format, mime);
+        checkNotNull(reader, STREAM_CANNOT_BE_NULL);
+        streamAvailable = false;
+        gzipped = false;
+        segmentSize = SEGMENT_SIZE;
+        if (format != null) {
+            directReader.set(reader);
+        } else {
+            segments = spill(reader, segmentSize);
+        }
+    }
+
+    /**
+     * Copy an input that is read directly to a temporary file, so that it can be read more than
+     * once, e.g., by several parsers or by format detection before parsing. Does nothing if the
+     * input has been copied already.
+     *
+     * @return true if the input can be read more than once; false if the input is read directly
+     *         and has already been handed out
+     */
+    public synchronized boolean copyInput() {
+        if (segments != null) {
+            return true;
+        }
+        InputStream stream = directStream.getAndSet(null);
+        if (stream != null) {
+            segments = spill(stream, segmentSize);
+            return true;
+        }
+        Reader reader = directReader.getAndSet(null);
+        if (reader != null) {
+            segments = spill(reader, segmentSize);
+            return true;
+        }
+        return false;
+    }
+
+    @FunctionalInterface
+    private interface Copier {
+
+        void copyTo(Path file) throws IOException;
+    }
+
+    private static ByteBuffer[] spill(InputStream stream, int segmentSize) {
+        return spill(file -> Files.copy(stream, file, StandardCopyOption.REPLACE_EXISTING),
+            segmentSize);
+    }
+
+    private static ByteBuffer[] spill(Reader reader, int segmentSize) {
+        // characters are stored as UTF-8 whatever the encoding of the original input
+        return spill(file -> {
+            try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                IOUtils.copy(reader, writer);
+            }
+        }, segmentSize);
+    }
+
+    private static ByteBuffer[] spill(Copier copier, int segmentSize) {
+        try {
+            Path file = Files.createTempFile("owlapi", ".tmp");
+            try {
+                copier.copyTo(file);
+                return map(file, segmentSize);
+            } finally {
+                delete(file);
+            }
+        } catch (IOException e) {
+            throw new OWLRuntimeException(e);
+        }
+    }
+
+    private static ByteBuffer[] map(Path file, int segmentSize) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            int count = (int) ((size + segmentSize - 1) / segmentSize);
+            ByteBuffer[] mapped = new ByteBuffer[count];
+            for (int i = 0; i < count; i++) {
+                long position = (long) i * segmentSize;
+                mapped[i] = channel.map(MapMode.READ_ONLY, position,
+                    Math.min(segmentSize, size - position));
+            }
+            // mappings stay valid after the channel is closed
+            return mapped;
+        }
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            // some platforms do not allow deleting a mapped file
+            LOGGER.debug("Temporary file {} cannot be deleted until exit", file, e);
+            file.toFile().deleteOnExit();
+        }
+    }
+
+    /**
+     * @return size in bytes of the temporary copy; 0 if the input is read directly
+     */
+    public long size() {
+        ByteBuffer[] copy = segments;
+        if (copy == null) {
+            return 0;
+        }
+        long size = 0;
+        for (ByteBuffer b : copy) {
+            size += b.capacity();
+        }
+        return size;
+    }
+
+    @Override
+    public Optional<InputStream> getInputStream() {
+        if (!streamAvailable) {
+            return emptyOptional();
+        }
+        InputStream stream = nextStream();
+        if (stream == null) {
+            return emptyOptional();
+        }
+        if (!gzipped) {
+            return optional(stream);
+        }
+        try {
+            return optional(new GZIPInputStream(stream));
+        } catch (IOException e) {
+            LOGGER.error("Stream cannot be opened", e);
+            failedOnStreams.set(true);
+            return emptyOptional();
+        }
+    }
+
+    @Override
+    public Optional<Reader> getReader() {
+        if (streamAvailable) {
+            return emptyOptional();
+        }
+        ByteBuffer[] copy = segments;
+        if (copy != null) {
+            return optional(new InputStreamReader(
+                DocumentSources.wrap(new SegmentsInputStream(copy)), StandardCharsets.UTF_8));
+        }
+        Reader reader = directReader.getAndSet(null);
+        if (reader == null) {
+            failedOnStreams.set(true);
+            return emptyOptional();
+        }
+        return optional(reader);
+    }
+
+    @Nullable
+    private InputStream nextStream() {
+        ByteBuffer[] copy = segments;
+        if (copy != null) {
+            return new SegmentsInputStream(copy);
+        }
+        InputStream stream = directStream.getAndSet(null);
+        if (stream == null) {
+            // already handed out; the input cannot be read again
+            failedOnStreams.set(true);
+        }
+        return stream;
+    }
+
+    /**
+     * Reads a sequence of mapped segments from the start; each instance has its own positions.
+     */
+    private static class SegmentsInputStream extends InputStream {
+
+        private final ByteBuffer[] buffers;
+        private int index = 0;
+
+        SegmentsInputStream(ByteBuffer[] segments) {
+            buffers = new ByteBuffer[segments.length];
+            for (int i = 0; i < segments.length; i++) {
+                buffers[i] = segments[i].duplicate();
+            }
+        }
+
+        @Nullable
+        private ByteBuffer current() {
+            while (index < buffers.length && !buffers[index].hasRemaining()) {
+                index++;
+            }
+            return index < buffers.length ? buffers[index] : null;
+        }
+
+        @Override
+        public int read() {
+            ByteBuffer b = current();
+            if (b == null) {
+                return -1;
+            }
+            return b.get() & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            ByteBuffer b = current();
+            if (b == null) {
+                return -1;
+            }
+            int count = Math.min(length, b.remaining());
+            b.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public long skip(long n) {
+            long skipped = 0;
+            ByteBuffer b = current();
+            while (b != null && skipped < n) {
+                int count = (int) Math.min(n - skipped, b.remaining());
+                b.position(b.position() + count);
+                skipped += count;
+                b = current();
+            }
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            ByteBuffer b = current();
+            return b == null ? 0 : b.remaining();
+        }
+    }
+}
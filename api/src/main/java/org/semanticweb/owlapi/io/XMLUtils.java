@@ -217,14 +217,28 @@ public final class XMLUtils {
      *         an NCName.
      */
     public static int getNCNameSuffixIndex(CharSequence s) {
+        return getNCNameSuffixIndex(s, 0, s.length());
+    }
+
+    /**
+     * Gets the index of the longest NCName that is the suffix of a slice of a character sequence.
+     *
+     * @param s The character sequence.
+     * @param start index of the first character of the slice
+     * @param end index after the last character of the slice
+     * @return The index in {@code s} of the longest suffix of the slice that is an NCName, or -1 if
+     *         the slice does not have a suffix that is an NCName.
+     */
+    public static int getNCNameSuffixIndex(CharSequence s, int start, int end) {
         // identify bnode labels and do not try to split them
-        if (s.length() > 1 && s.charAt(0) == '_' && s.charAt(1) == ':') {
+        if (end - start > 1 && s.charAt(start) == '_' && s.charAt(start + 1) == ':') {
             return -1;
         }
         int index = -1;
-        for (int i = s.length() - 1; i > -1; i--) {
+        for (int i = end - 1; i >= start; i--) {
             if (!Character.isLowSurrogate(s.charAt(i))) {
-                int codePoint = Character.codePointAt(s, i);
+                // do not pair a high surrogate with a character past the slice
+                int codePoint = i + 1 < end ? Character.codePointAt(s, i) : s.charAt(i);
                 if (isNCNameStartChar(codePoint)) {
                     index = i;
                 }
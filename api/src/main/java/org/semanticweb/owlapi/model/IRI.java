@@ -30,12 +30,11 @@ import javax.annotation.Nullable;
 
 import org.semanticweb.owlapi.io.XMLUtils;
 import org.semanticweb.owlapi.model.parameters.ConfigurationOptions;
+import org.semanticweb.owlapi.util.NamespaceTable;
+import org.semanticweb.owlapi.util.StructuralFingerprint;
 import org.semanticweb.owlapi.vocab.Namespaces;
 import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
 
-import com.github.benmanes.caffeine.cache.Caffeine;
-import com.github.benmanes.caffeine.cache.LoadingCache;
-
 /**
  * Represents International Resource Identifiers.
  *
@@ -45,9 +44,8 @@ import com.github.benmanes.caffeine.cache.LoadingCache;
 public class IRI implements OWLAnnotationSubject, OWLAnnotationValue, SWRLPredicate, CharSequence,
     OWLPrimitive, HasShortForm, org.apache.commons.rdf.api.IRI {
 
-    // Cache prefixes for memory gains.
-    private static final LoadingCache<String, String> CACHE =
-        Caffeine.newBuilder().weakKeys().maximumSize(size()).build(k -> k);
+    // Intern prefixes for memory gains; at most CACHE_SIZE are kept, and new ones evict old ones.
+    private static final NamespaceTable NAMESPACES = new NamespaceTable((int) size());
 
     protected static long size() {
         return ConfigurationOptions.CACHE_SIZE.getValue(Integer.class, Collections.emptyMap())
@@ -67,10 +65,19 @@ public class IRI implements OWLAnnotationSubject, OWLAnnotationValue, SWRLPredic
      * @param suffix The suffix.
      */
     protected IRI(String prefix, @Nullable String suffix) {
-        namespace = CACHE.get(XMLUtils.getNCNamePrefix(prefix));
+        namespace = NAMESPACES.intern(XMLUtils.getNCNamePrefix(prefix));
         remainder = suffix == null ? "" : suffix;
     }
 
+    /**
+     * Constructor for a namespace that is already split and interned; the flag only distinguishes
+     * this constructor from the protected one, which splits and interns its arguments.
+     */
+    private IRI(String namespace, String remainder, @SuppressWarnings("unused") boolean split) {
+        this.namespace = namespace;
+        this.remainder = remainder;
+    }
+
     protected IRI(String s) {
         this(XMLUtils.getNCNamePrefix(s), XMLUtils.getNCNameSuffix(s));
     }
@@ -87,12 +94,50 @@ public class IRI implements OWLAnnotationSubject, OWLAnnotationValue, SWRLPredic
      */
     public static IRI create(String str) {
         checkNotNull(str, "str cannot be null");
-        int index = XMLUtils.getNCNameSuffixIndex(str);
+        return create(str, 0, str.length());
+    }
+
+    /**
+     * Creates an IRI from a slice of a character sequence, e.g., a parser buffer. The slice is
+     * scanned once; the namespace is looked up in the namespace table without being copied, so that
+     * only the local name needs a new string when the namespace has been seen before.
+     *
+     * @param chars characters containing the IRI
+     * @param start index of the first character of the IRI
+     * @param end index after the last character of the IRI
+     * @return The IRI that has the specified string representation.
+     * @since 5.5.1
+     */
+    public static IRI create(CharSequence chars, int start, int end) {
+        checkNotNull(chars, "chars cannot be null");
+        if (start < 0 || end > chars.length() || start > end) {
+            throw new IndexOutOfBoundsException(
+                "start " + start + ", end " + end + ", length " + chars.length());
+        }
+        int index = XMLUtils.getNCNameSuffixIndex(chars, start, end);
         if (index < 0) {
-            // no ncname
-            return new IRI(str, "");
+            // no ncname, or blank node label: the whole input is the namespace. These are unlikely
+            // to be shared, so they are not interned
+            return new IRI(chars.subSequence(namespaceStart(chars, start, end), end).toString(), "",
+                true);
+        }
+        String namespace = NAMESPACES.intern(chars, namespaceStart(chars, start, index), index);
+        return new IRI(namespace, chars.subSequence(index, end).toString(), true);
+    }
+
+    /**
+     * Leading whitespace is not part of a namespace, except for blank node labels; see
+     * {@link XMLUtils#getNCNamePrefix(CharSequence)}.
+     */
+    private static int namespaceStart(CharSequence chars, int start, int end) {
+        if (end - start > 1 && chars.charAt(start) == '_' && chars.charAt(start + 1) == ':') {
+            return start;
+        }
+        int first = start;
+        while (first < end && Character.isWhitespace(chars.charAt(first))) {
+            first++;
         }
-        return new IRI(str.substring(0, index), str.substring(index));
+        return first;
     }
 
     /**
@@ -435,7 +480,8 @@ public class IRI implements OWLAnnotationSubject, OWLAnnotationValue, SWRLPredic
             return -1;
         }
         IRI other = (IRI) o;
-        int diff = namespace.compareTo(other.namespace);
+        // namespaces are interned, and most comparisons are within one namespace
+        int diff = namespace == other.namespace ? 0 : namespace.compareTo(other.namespace);
         if (diff != 0) {
             return diff;
         }
@@ -510,6 +556,11 @@ public class IRI implements OWLAnnotationSubject, OWLAnnotationValue, SWRLPredic
         return Stream.empty();
     }
 
+    @Override
+    public long initFingerprint() {
+        return StructuralFingerprint.of(namespace, remainder);
+    }
+
     @Override
     public int hashIndex() {
         return 863;
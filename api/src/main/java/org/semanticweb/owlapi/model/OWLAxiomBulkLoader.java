@@ -0,0 +1,78 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.model;
+
+import java.util.Collection;
+import java.util.stream.Stream;
+
+import org.semanticweb.owlapi.model.parameters.ChangeApplied;
+
+/**
+ * Collects axioms to be added to an ontology in one step. Axioms are buffered by axiom type; on
+ * {@link #commit()} they are added to the ontology in a single pass, the ontology caches are
+ * invalidated once, and change listeners receive one notification covering all the axioms that
+ * were actually added. No {@link AddAxiom} change is created for an axiom unless a listener asks
+ * for it. <br>
+ * A bulk loader is not thread safe; it can be committed once.
+ *
+ * @author ignazio
+ * @since 5.5.1
+ */
+public interface OWLAxiomBulkLoader {
+
+    /**
+     * @return the ontology the axioms will be added to
+     */
+    OWLOntology getOntology();
+
+    /**
+     * @param axiom axiom to buffer
+     * @return this loader
+     * @throws IllegalStateException if this loader has already been committed
+     */
+    OWLAxiomBulkLoader add(OWLAxiom axiom);
+
+    /**
+     * @param axioms axioms to buffer
+     * @return this loader
+     * @throws IllegalStateException if this loader has already been committed
+     */
+    default OWLAxiomBulkLoader add(Stream<? extends OWLAxiom> axioms) {
+        axioms.forEach(this::add);
+        return this;
+    }
+
+    /**
+     * @param axioms axioms to buffer
+     * @return this loader
+     * @throws IllegalStateException if this loader has already been committed
+     */
+    default OWLAxiomBulkLoader add(Collection<? extends OWLAxiom> axioms) {
+        axioms.forEach(this::add);
+        return this;
+    }
+
+    /**
+     * @return number of axioms buffered so far, including duplicates
+     */
+    int size();
+
+    /**
+     * Add all buffered axioms to the ontology and release the buffers.
+     *
+     * @return ChangeApplied.SUCCESSFULLY if at least one axiom was added, NO_OPERATION if all
+     *         axioms were already in the ontology, UNSUCCESSFULLY if a listener vetoed the changes
+     * @throws IllegalStateException if this loader has already been committed
+     */
+    ChangeApplied commit();
+}
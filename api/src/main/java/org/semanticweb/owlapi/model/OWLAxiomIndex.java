@@ -18,12 +18,19 @@ import static org.semanticweb.owlapi.model.parameters.Navigation.IN_SUPER_POSITI
 import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asSet;
 
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.Locale;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
+import javax.annotation.Nullable;
+
 import org.semanticweb.owlapi.model.parameters.Imports;
 import org.semanticweb.owlapi.model.parameters.Navigation;
 import org.semanticweb.owlapi.util.OWLAxiomSearchFilter;
+import org.semanticweb.owlapi.util.OrderedLiteralValue;
+import org.semanticweb.owlapi.util.OrderedLiteralValue.Space;
 
 /**
  * Axiom accessor methods - all OWLOntology methods that return sets (or streams) of axioms of a
@@ -413,6 +420,63 @@ public interface OWLAxiomIndex extends HasImportsClosure {
             imports, IN_SUB_POSITION);
     }
 
+    /**
+     * Gets the annotation assertions for the specified property whose value is a literal with the
+     * specified lexical form, e.g., the assertions giving an entity a specific label.
+     *
+     * @param property The annotation property of the returned axioms.
+     * @param lexicalForm The lexical form of the literal value, matched exactly.
+     * @param lang The language tag of the literal value, matched ignoring case; empty for literals
+     *        without a language tag, null for any language tag.
+     * @return the axioms matching the search.
+     */
+    default Stream<OWLAnnotationAssertionAxiom> annotationAssertionAxiomsByValue(
+        OWLAnnotationProperty property, String lexicalForm, @Nullable String lang) {
+        return axioms(OWLAnnotationAssertionAxiom.class, OWLAnnotationProperty.class, property,
+            EXCLUDED, IN_SUB_POSITION).filter(ax -> ax.getProperty().equals(property)
+                && ax.getValue().asLiteral().filter(l -> l.getLiteral().equals(lexicalForm)
+                    && (lang == null || l.getLang().equalsIgnoreCase(lang))).isPresent());
+    }
+
+    /**
+     * Gets the annotation assertions for the specified property whose value is a literal with the
+     * specified lexical form, ignoring case, in any language.
+     *
+     * @param property The annotation property of the returned axioms.
+     * @param value The lexical form of the literal value, matched ignoring case.
+     * @return the axioms matching the search.
+     */
+    default Stream<OWLAnnotationAssertionAxiom> annotationAssertionAxiomsByValueIgnoreCase(
+        OWLAnnotationProperty property, String value) {
+        String folded = value.toLowerCase(Locale.ROOT);
+        return axioms(OWLAnnotationAssertionAxiom.class, OWLAnnotationProperty.class, property,
+            EXCLUDED, IN_SUB_POSITION).filter(ax -> ax.getProperty().equals(property)
+                && ax.getValue().asLiteral()
+                    .filter(l -> l.getLiteral().toLowerCase(Locale.ROOT).equals(folded))
+                    .isPresent());
+    }
+
+    /**
+     * Gets the annotation assertions for the specified property whose value is a literal starting
+     * with the specified prefix, ignoring case, in any language.
+     *
+     * @param property The annotation property of the returned axioms.
+     * @param prefix The start of the lexical form of the literal value, matched ignoring case.
+     * @return the axioms matching the search, sorted by lexical form ignoring case.
+     */
+    default Stream<OWLAnnotationAssertionAxiom> annotationAssertionAxiomsByValuePrefix(
+        OWLAnnotationProperty property, String prefix) {
+        String folded = prefix.toLowerCase(Locale.ROOT);
+        Function<OWLAnnotationAssertionAxiom, String> key =
+            ax -> ax.getValue().asLiteral().map(l -> l.getLiteral().toLowerCase(Locale.ROOT))
+                .orElse("");
+        return axioms(OWLAnnotationAssertionAxiom.class, OWLAnnotationProperty.class, property,
+            EXCLUDED, IN_SUB_POSITION)
+                .filter(ax -> ax.getProperty().equals(property) && ax.getValue().isLiteral()
+                    && key.apply(ax).startsWith(folded))
+                .sorted(Comparator.comparing(key));
+    }
+
     // Classes
 
     /**
@@ -1192,6 +1256,49 @@ public interface OWLAxiomIndex extends HasImportsClosure {
             EXCLUDED, IN_SUB_POSITION);
     }
 
+    /**
+     * Gets the {@link OWLDataPropertyAssertionAxiom} objects contained in this ontology that assert
+     * a value for the specified property between two bounds. Values are compared as described in
+     * {@link OrderedLiteralValue}; assertions of values without an order, or in a different value
+     * space from the bounds, are not returned.
+     *
+     * @param property The property asserted by the returned axioms.
+     * @param from lower bound; use {@link OrderedLiteralValue#lowest(Space)} for no lower bound
+     * @param fromInclusive true if values equal to the lower bound are included
+     * @param to upper bound; use {@link OrderedLiteralValue#highest(Space)} for no upper bound
+     * @param toInclusive true if values equal to the upper bound are included
+     * @return the axioms matching the search, in ascending order of value.
+     * @throws IllegalArgumentException if the bounds are in different value spaces
+     */
+    default Stream<OWLDataPropertyAssertionAxiom> dataPropertyAssertionAxiomsInRange(
+        OWLDataProperty property, OrderedLiteralValue from, boolean fromInclusive,
+        OrderedLiteralValue to, boolean toInclusive) {
+        return OrderedLiteralValue.sortByValue(
+            axioms(OWLDataPropertyAssertionAxiom.class, OWLDataPropertyExpression.class, property,
+                EXCLUDED, IN_SUB_POSITION).filter(ax -> ax.getProperty().equals(property)),
+            from, fromInclusive, to, toInclusive, false);
+    }
+
+    /**
+     * Gets the {@link OWLDataPropertyAssertionAxiom} objects contained in this ontology that assert
+     * a value in the specified value space for the specified property, sorted by value. The first
+     * {@code k} elements of the stream are the assertions with the {@code k} lowest or highest
+     * values.
+     *
+     * @param property The property asserted by the returned axioms.
+     * @param space value space of the values to return
+     * @param descending true for descending order of value, false for ascending order
+     * @return the axioms matching the search, sorted by value.
+     */
+    default Stream<OWLDataPropertyAssertionAxiom> dataPropertyAssertionAxiomsSortedByValue(
+        OWLDataProperty property, Space space, boolean descending) {
+        return OrderedLiteralValue.sortByValue(
+            axioms(OWLDataPropertyAssertionAxiom.class, OWLDataPropertyExpression.class, property,
+                EXCLUDED, IN_SUB_POSITION).filter(ax -> ax.getProperty().equals(property)),
+            OrderedLiteralValue.lowest(space), true, OrderedLiteralValue.highest(space), true,
+            descending);
+    }
+
     /**
      * Gets the {@link OWLObjectPropertyAssertionAxiom} objects contained in this ontology that have
      * the specified {@code individual} as the subject of the axiom.
@@ -23,6 +23,8 @@ import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
+import org.semanticweb.owlapi.util.StructuralFingerprint;
+
 /**
  * @author Matthew Horridge, The University Of Manchester, Bio-Health Informatics Group
  * @since 2.0.0
@@ -168,6 +170,26 @@ public interface OWLObject
      */
     int initHashCode();
 
+    /**
+     * @return 64 bit structural fingerprint of this object: equal objects have equal fingerprints,
+     *         and different objects have different fingerprints with high probability. Stored
+     *         on axioms and anonymous class expressions in the default implementation.
+     * @since 5.5.1
+     */
+    default long fingerprint() {
+        return initFingerprint();
+    }
+
+    /**
+     * @return fingerprint for the object, computed from its type index and components; called on
+     *         first use by OWLObjectImpl. Implementations that override {@code equals()} must
+     *         override this method consistently.
+     * @since 5.5.1
+     */
+    default long initFingerprint() {
+        return StructuralFingerprint.of(typeIndex(), components());
+    }
+
     /**
      * Iteration for hash codes
      * 
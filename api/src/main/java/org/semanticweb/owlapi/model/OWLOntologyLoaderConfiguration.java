@@ -16,13 +16,16 @@ import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.ACCEP
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.ALLOW_DUPLICATES_IN_CONSTRUCT_SETS;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.AUTHORIZATION_VALUE;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.BANNED_PARSERS;
+import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.BUFFERED_TURTLE_PARSER;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.CONNECTION_TIMEOUT;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.ENTITY_EXPANSION_LIMIT;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.FOLLOW_REDIRECTS;
+import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.IMPORTS_LOADING_THREADS;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.LOAD_ANNOTATIONS;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.MISSING_IMPORT_HANDLING_STRATEGY;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.MISSING_ONTOLOGY_HEADER_STRATEGY;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.PARSE_WITH_STRICT_CONFIGURATION;
+import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.PARSING_THREADS;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.PRIORITY_COLLECTION_SORTING;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.REPAIR_ILLEGAL_PUNNINGS;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.REPORT_STACK_TRACES;
@@ -30,11 +33,16 @@ import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.RETRI
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.SKIP_MODULE_ANNOTATIONS;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.TREAT_DUBLINCORE_AS_BUILTIN;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.TRIM_TO_SIZE;
+import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.WARM_UP_AXIOM_TYPES;
+import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.WARM_UP_INDEXES;
 
 import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.EnumMap;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.semanticweb.owlapi.model.parameters.ConfigurationOptions;
 import org.semanticweb.owlapi.vocab.Namespaces;
@@ -270,6 +278,26 @@ public class OWLOntologyLoaderConfiguration implements Serializable {
         return TRIM_TO_SIZE.getValue(Boolean.class, overrides).booleanValue();
     }
 
+    /**
+     * @return true if all lazy axiom indexes should be built in parallel after load
+     */
+    public boolean shouldWarmUpIndexes() {
+        return WARM_UP_INDEXES.getValue(Boolean.class, overrides).booleanValue();
+    }
+
+    /**
+     * @return axiom types whose lazy indexes should be built after load, when warming up indexes
+     *         is enabled; all axiom types unless set otherwise. Unknown names are ignored.
+     */
+    public Collection<AxiomType<?>> getWarmUpAxiomTypes() {
+        String names = WARM_UP_AXIOM_TYPES.getValue(String.class, overrides).trim();
+        if (names.isEmpty()) {
+            return AxiomType.AXIOM_TYPES;
+        }
+        return Arrays.stream(names.split("\\s+")).filter(AxiomType::isAxiomType)
+            .<AxiomType<?>>map(AxiomType::getAxiomType).collect(Collectors.toList());
+    }
+
     /**
      * @param b true if HTTP compression should be accepted
      * @return a copy of this configuration with accepting HTTP compression set to the new value
@@ -503,6 +531,97 @@ public class OWLOntologyLoaderConfiguration implements Serializable {
         return configuration;
     }
 
+    /**
+     * @param value new value for warming up indexes after load
+     * @return An {@code OntologyConfigurator} with the new option set.
+     */
+    public OWLOntologyLoaderConfiguration setWarmUpIndexes(boolean value) {
+        if (shouldWarmUpIndexes() == value) {
+            return this;
+        }
+        OWLOntologyLoaderConfiguration configuration = copyConfiguration();
+        configuration.overrides.put(WARM_UP_INDEXES, Boolean.valueOf(value));
+        return configuration;
+    }
+
+    /**
+     * @param types axiom types whose lazy indexes should be built after load, when warming up
+     *        indexes is enabled
+     * @return An {@code OntologyConfigurator} with the new option set.
+     */
+    public OWLOntologyLoaderConfiguration setWarmUpAxiomTypes(Collection<AxiomType<?>> types) {
+        String names = types.stream().map(AxiomType::getName).collect(Collectors.joining(" "));
+        if (WARM_UP_AXIOM_TYPES.getValue(String.class, overrides).equals(names)) {
+            return this;
+        }
+        OWLOntologyLoaderConfiguration configuration = copyConfiguration();
+        configuration.overrides.put(WARM_UP_AXIOM_TYPES, names);
+        return configuration;
+    }
+
+    /**
+     * @return number of threads used to load imports; imports are loaded concurrently if this is
+     *         more than one
+     */
+    public int getImportsLoadingThreads() {
+        return IMPORTS_LOADING_THREADS.getValue(Integer.class, overrides).intValue();
+    }
+
+    /**
+     * @param threads new number of threads used to load imports
+     * @return An {@code OntologyConfigurator} with the new option set.
+     */
+    public OWLOntologyLoaderConfiguration setImportsLoadingThreads(int threads) {
+        if (getImportsLoadingThreads() == threads) {
+            return this;
+        }
+        OWLOntologyLoaderConfiguration configuration = copyConfiguration();
+        configuration.overrides.put(IMPORTS_LOADING_THREADS, Integer.valueOf(threads));
+        return configuration;
+    }
+
+    /**
+     * @return number of threads used to parse a document; parsers that can split their input
+     *         parse it concurrently if this is more than one
+     */
+    public int getParsingThreads() {
+        return PARSING_THREADS.getValue(Integer.class, overrides).intValue();
+    }
+
+    /**
+     * @param threads new number of threads used to parse a document
+     * @return An {@code OntologyConfigurator} with the new option set.
+     */
+    public OWLOntologyLoaderConfiguration setParsingThreads(int threads) {
+        if (getParsingThreads() == threads) {
+            return this;
+        }
+        OWLOntologyLoaderConfiguration configuration = copyConfiguration();
+        configuration.overrides.put(PARSING_THREADS, Integer.valueOf(threads));
+        return configuration;
+    }
+
+    /**
+     * @return true if Turtle documents should be parsed with the buffered lexer rather than with
+     *         the JavaCC generated parser
+     */
+    public boolean shouldUseBufferedTurtleParser() {
+        return BUFFERED_TURTLE_PARSER.getValue(Boolean.class, overrides).booleanValue();
+    }
+
+    /**
+     * @param b true if Turtle documents should be parsed with the buffered lexer
+     * @return An {@code OntologyConfigurator} with the new option set.
+     */
+    public OWLOntologyLoaderConfiguration setUseBufferedTurtleParser(boolean b) {
+        if (shouldUseBufferedTurtleParser() == b) {
+            return this;
+        }
+        OWLOntologyLoaderConfiguration configuration = copyConfiguration();
+        configuration.overrides.put(BUFFERED_TURTLE_PARSER, Boolean.valueOf(b));
+        return configuration;
+    }
+
     /**
      * @return true if module extraction should not add annotation axioms to the module.
      */
@@ -21,9 +21,11 @@ import java.io.File;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
@@ -36,6 +38,7 @@ import org.semanticweb.owlapi.io.OWLOntologyDocumentTarget;
 import org.semanticweb.owlapi.io.OWLParserFactory;
 import org.semanticweb.owlapi.io.StreamDocumentSource;
 import org.semanticweb.owlapi.io.StreamDocumentTarget;
+import org.semanticweb.owlapi.model.parameters.ChangeApplied;
 import org.semanticweb.owlapi.model.parameters.OntologyCopy;
 import org.semanticweb.owlapi.util.PriorityCollection;
 
@@ -513,6 +516,83 @@ public interface OWLOntologyManager extends OWLOntologySetProvider, HasDataFacto
     OWLOntology copyOntology(OWLOntology toCopy, OntologyCopy settings)
         throws OWLOntologyCreationException;
 
+    /**
+     * Replace an ontology in this manager with an immutable, fully indexed copy. The copy has the
+     * same ontology id, document IRI and format as the original; its read methods need no locking,
+     * and all changes to it are rejected. Imports queries on the copy, and queries with
+     * {@link org.semanticweb.owlapi.model.parameters.Imports#INCLUDED}, read immutable copies of
+     * its imports closure taken at the same time; the imported ontologies themselves stay in this
+     * manager unchanged. The original ontology is detached from this manager: its content can
+     * still be read, but it has no manager and cannot be changed or saved. Since the ontology id,
+     * document IRI, format and imports of the managed ontology do not change, no event is fired.
+     * To keep a mutable version, copy the ontology to another manager before freezing it.
+     *
+     * @param ontology ontology to freeze
+     * @return the frozen ontology. If the input is already frozen, it is returned unchanged
+     * @throws UnknownOWLOntologyException if the ontology is not managed by this manager
+     */
+    OWLOntology freezeOntology(OWLOntology ontology);
+
+    /**
+     * Start a bulk addition of axioms to an ontology. Axioms added through the returned loader are
+     * not visible in the ontology until {@link OWLAxiomBulkLoader#commit()} is called. If the
+     * loader configuration for the ontology excludes annotation axioms, buffered annotation axioms
+     * are skipped at commit. The default implementation buffers the axioms and adds all of them
+     * with {@link #addAxioms(OWLOntology, Stream)} at commit, without filtering.
+     *
+     * @param ontology ontology to add axioms to
+     * @return a new bulk loader for the ontology
+     */
+    default OWLAxiomBulkLoader bulkLoader(OWLOntology ontology) {
+        List<OWLAxiom> buffer = new ArrayList<>();
+        AtomicBoolean committed = new AtomicBoolean(false);
+        return new OWLAxiomBulkLoader() {
+
+            @Override
+            public OWLOntology getOntology() {
+                return ontology;
+            }
+
+            @Override
+            public OWLAxiomBulkLoader add(OWLAxiom axiom) {
+                if (committed.get()) {
+                    throw new IllegalStateException("Bulk loader already committed");
+                }
+                buffer.add(axiom);
+                return this;
+            }
+
+            @Override
+            public int size() {
+                return buffer.size();
+            }
+
+            @Override
+            public ChangeApplied commit() {
+                if (committed.getAndSet(true)) {
+                    throw new IllegalStateException("Bulk loader already committed");
+                }
+                ChangeApplied result = addAxioms(ontology, buffer.stream());
+                buffer.clear();
+                return result;
+            }
+        };
+    }
+
+    /**
+     * A convenience method that adds a stream of axioms to an ontology through a
+     * {@link OWLAxiomBulkLoader}. Prefer this to {@link #addAxioms(OWLOntology, Stream)} for large
+     * numbers of axioms.
+     *
+     * @param ontology The ontology to which the axioms should be added.
+     * @param axioms The axioms to be added.
+     * @return the result of {@link OWLAxiomBulkLoader#commit()}
+     */
+    default ChangeApplied addAxiomsInBulk(OWLOntology ontology,
+        Stream<? extends OWLAxiom> axioms) {
+        return bulkLoader(ontology).add(axioms).commit();
+    }
+
     // Loading
 
     /**
@@ -1079,6 +1159,19 @@ public interface OWLOntologyManager extends OWLOntologySetProvider, HasDataFacto
     void makeLoadImportRequest(OWLImportsDeclaration declaration,
         OWLOntologyLoaderConfiguration configuration);
 
+    /**
+     * Waits for the imports requested through
+     * {@link #makeLoadImportRequest(OWLImportsDeclaration, OWLOntologyLoaderConfiguration)} by the
+     * load running on this thread. When imports are loaded concurrently (see
+     * {@link OWLOntologyLoaderConfiguration#getImportsLoadingThreads()}), a request returns before
+     * the import is loaded; parsers that read the imports closure while parsing, e.g., to find the
+     * types of imported entities, call this method first. The default implementation does nothing,
+     * as imports are loaded when they are requested.
+     */
+    default void awaitLoadImportRequests() {
+        // imports are loaded when requested
+    }
+
     /**
      * In the case where silent missing imports handling is enabled, a listener can be attached via
      * this method so that there is a mechanism that allows clients to be informed of the reason
@@ -14,7 +14,11 @@ package org.semanticweb.owlapi.model;
 
 import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asSet;
 
+import java.util.Comparator;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.semanticweb.owlapi.model.parameters.Imports;
@@ -404,6 +408,79 @@ public interface OWLSignature
             "Entity type " + type + " is not valid for entity presence check");
     }
 
+    /**
+     * Gets the entities of the specified type in the signature.
+     *
+     * @param type type of entity to retrieve
+     * @param <T> entity class
+     * @return the entities of the specified type in the signature
+     */
+    @SuppressWarnings("unchecked")
+    default <T extends OWLEntity> Stream<T> entitiesOfTypeInSignature(EntityType<T> type) {
+        if (EntityType.CLASS.equals(type)) {
+            return (Stream<T>) classesInSignature();
+        }
+        if (EntityType.DATA_PROPERTY.equals(type)) {
+            return (Stream<T>) dataPropertiesInSignature();
+        }
+        if (EntityType.OBJECT_PROPERTY.equals(type)) {
+            return (Stream<T>) objectPropertiesInSignature();
+        }
+        if (EntityType.ANNOTATION_PROPERTY.equals(type)) {
+            return (Stream<T>) annotationPropertiesInSignature();
+        }
+        if (EntityType.DATATYPE.equals(type)) {
+            return (Stream<T>) datatypesInSignature();
+        }
+        if (EntityType.NAMED_INDIVIDUAL.equals(type)) {
+            return (Stream<T>) individualsInSignature();
+        }
+        throw new IllegalArgumentException("Entity type " + type + " is not valid for signature");
+    }
+
+    /**
+     * Gets the entities of the specified type in the signature whose IRI starts with the specified
+     * prefix, e.g., all classes with IRIs starting with
+     * {@code "http://purl.obolibrary.org/obo/GO_"}. The default implementation filters the
+     * signature; ontology implementations may use an index.
+     *
+     * @param type type of entity to retrieve
+     * @param prefix start of the IRIs to match; the prefix can end anywhere, not only at the end of
+     *        a namespace
+     * @param <T> entity class
+     * @return the matching entities, sorted by IRI string
+     */
+    default <T extends OWLEntity> Stream<T> entitiesInSignatureWithIRIPrefix(EntityType<T> type,
+        String prefix) {
+        return entitiesOfTypeInSignature(type)
+            .filter(e -> e.getIRI().toString().startsWith(prefix))
+            .sorted(Comparator.comparing(OWLEntity::getIRI, CharSequence::compare));
+    }
+
+    /**
+     * Counts the entities of the specified type in the signature whose IRI starts with the
+     * specified prefix.
+     *
+     * @param type type of entity to count
+     * @param prefix start of the IRIs to match
+     * @return number of matching entities
+     */
+    default int countEntitiesInSignatureWithIRIPrefix(EntityType<?> type, String prefix) {
+        return (int) entitiesOfTypeInSignature(type)
+            .filter(e -> e.getIRI().toString().startsWith(prefix)).count();
+    }
+
+    /**
+     * Counts the entities of the specified type in the signature by IRI namespace.
+     *
+     * @param type type of entity to count
+     * @return number of entities in each namespace, sorted by namespace
+     */
+    default Map<String, Integer> entityCountsByNamespace(EntityType<?> type) {
+        return entitiesOfTypeInSignature(type).collect(Collectors.groupingBy(
+            e -> e.getIRI().getNamespace(), TreeMap::new, Collectors.summingInt(e -> 1)));
+    }
+
     /**
      * Determine whether the instance has entities of the specified type in its signature or in its
      * import closure - e.g., whether an ontology has classes, object properties, or named
@@ -14,11 +14,14 @@ package org.semanticweb.owlapi.model;
 
 import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
 import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asSet;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asUnorderedSet;
 
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Stream;
 
+import org.semanticweb.owlapi.util.StructuralFingerprint;
+
 /**
  * Represent a rule. A rule consists of a head and a body. Both the head and the body consist of a
  * conjunction of atoms.
@@ -43,6 +46,13 @@ public interface SWRLRule extends OWLLogicalAxiom, SWRLObject {
         return OWLObject.hashIteration(hash, annotationsAsList().hashCode());
     }
 
+    @Override
+    default long initFingerprint() {
+        // as for hashCode(), the order of head and body must not affect the fingerprint
+        return StructuralFingerprint.of(typeIndex(), Stream.of(asUnorderedSet(body()),
+            asUnorderedSet(head()), annotationsAsList()));
+    }
+
     @Override
     default Stream<?> componentsWithoutAnnotations() {
         return Stream.of(bodyList(), headList());
@@ -75,6 +75,43 @@ public enum ConfigurationOptions {
      * If set to false, trim will
      * only happen on explicit call.*/
     TRIM_TO_SIZE                        (Boolean.TRUE),
+    /**True if all lazy axiom indexes
+     * should be built in parallel
+     * after load, so that the first
+     * queries do not pay for them.*/
+    WARM_UP_INDEXES                     (Boolean.FALSE),
+    /**Space separated names of the
+     * axiom types whose indexes are
+     * built after load when
+     * WARM_UP_INDEXES is true, e.g.
+     * {@code SubClassOf ClassAssertion}.
+     * Empty for all axiom types.*/
+    WARM_UP_AXIOM_TYPES                 (""),
+    /**Number of threads used to load
+     * the imports of an ontology. With
+     * more than one thread, imports are
+     * fetched and parsed concurrently
+     * and the load returns once the
+     * whole imports closure is loaded;
+     * otherwise each import is loaded
+     * in turn by the parser.*/
+    IMPORTS_LOADING_THREADS             (Integer.valueOf(1)),
+    /**Number of threads used to parse
+     * a document, for formats whose
+     * parsers can split the input;
+     * currently functional syntax,
+     * N-Triples and N-Quads. With one
+     * thread, documents are parsed
+     * serially.*/
+    PARSING_THREADS                     (Integer.valueOf(1)),
+    /**True if Turtle documents
+     * should be parsed by a lexer
+     * that scans a large buffer and
+     * creates no token objects,
+     * instead of the parser generated
+     * by JavaCC. Both report the same
+     * triples.*/
+    BUFFERED_TURTLE_PARSER              (Boolean.FALSE),
     /** True if annotations on entities
      * included in modules should be 
      * skipped. By default annotations 
@@ -91,6 +128,65 @@ public enum ConfigurationOptions {
     ALLOW_DUPLICATES_IN_CONSTRUCT_SETS  (Boolean.FALSE),
     /**Max number of elements for caches.*/
     CACHE_SIZE                          (Integer.valueOf(2048)),
+    /** True if axiom indexes
+     * should store entities and
+     * axioms as int ids in
+     * compressed sparse rows
+     * rather than in hash maps.
+     * Saves memory on large
+     * ontologies at some cost
+     * on lookups. Read when an
+     * ontology is created.*/
+    COMPACT_INDEXES                     (Boolean.FALSE),
+    /** True if axiom index lookups
+     * should not lock: readers see
+     * copy on write rows in a
+     * concurrent map, writers are
+     * still serialized. Useful when
+     * many threads query a loaded
+     * ontology. Ignored if
+     * COMPACT_INDEXES is true. Read
+     * when an ontology is created.*/
+    LOCK_FREE_INDEXES                   (Boolean.FALSE),
+    /** True if each axiom should
+     * keep its signature in sorted
+     * arrays computed on first use
+     * and stored on the axiom,
+     * instead of in global caches
+     * bounded by CACHE_SIZE. Read
+     * once, when the first OWL
+     * object is created.*/
+    COMPACT_SIGNATURES                  (Boolean.FALSE),
+    /** True if the data factory
+     * should keep one instance of
+     * each entity and annotation
+     * for as long as it is reachable,
+     * in weak value tables, instead
+     * of in caches bounded by
+     * CACHE_SIZE. Read once, when
+     * the data factory is loaded.*/
+    CANONICAL_ENTITIES                  (Boolean.FALSE),
+    /** True if the data factory
+     * should also keep one instance
+     * of each anonymous class
+     * expression, data range and
+     * annotation for as long as it
+     * is reachable, so that equal
+     * expressions parsed from
+     * different axioms share memory.
+     * Read once, when the data
+     * factory is loaded.*/
+    CANONICAL_EXPRESSIONS               (Boolean.FALSE),
+    /** Algorithm used to compress
+     * long literals when literal
+     * compression is enabled: GZIP
+     * or LZ. LZ compresses less but
+     * decompresses much faster.
+     * Recently decompressed values
+     * are cached, up to CACHE_SIZE.
+     * Read once, when the first
+     * compressed literal is created.*/
+    LITERAL_COMPRESSION                 ("GZIP"),
     /** False if named graph IRIs should
      * not be created for formats like
      * TriG and RDF/JSON. This is the 
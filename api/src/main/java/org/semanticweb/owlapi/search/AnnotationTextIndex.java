@@ -0,0 +1,481 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.search;
+
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.OWLAnnotationAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLAnnotationProperty;
+import org.semanticweb.owlapi.model.OWLAnnotationSubject;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLLiteral;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
+import org.semanticweb.owlapi.model.OWLOntologyChangeListener;
+
+/**
+ * In memory inverted index over the literal values of annotation assertions in an ontology, for
+ * ranked prefix, substring and fuzzy searches such as label autocompletion. Values are lower cased
+ * and reduced to words separated by single spaces; the index maps each word, and each three
+ * character sequence of the padded value, to a sorted array of document ids. The index registers
+ * itself as a change listener with the ontology manager and follows additions and removals of
+ * annotation assertions in the ontology, not in its imports; call {@link #dispose()} to stop
+ * listening. Methods are synchronized, so searches can run while the ontology changes.
+ *
+ * @author ignazio
+ * @since 5.5.1
+ */
+public class AnnotationTextIndex implements OWLOntologyChangeListener {
+
+    private final OWLOntology ontology;
+    private final Set<OWLAnnotationProperty> properties;
+    /** Indexed axioms by document id; null for free ids. */
+    private final List<OWLAnnotationAssertionAxiom> documents = new ArrayList<>();
+    /** Normalized values by document id. */
+    private final List<String> texts = new ArrayList<>();
+    private final Map<OWLAnnotationAssertionAxiom, Integer> ids = new HashMap<>();
+    private final ArrayDeque<Integer> freeIds = new ArrayDeque<>();
+    private final TreeMap<String, Postings> words = new TreeMap<>();
+    private final Map<Long, Postings> trigrams = new HashMap<>();
+
+    /**
+     * Builds an index of all annotation assertions with literal values.
+     *
+     * @param ontology ontology to index
+     */
+    public AnnotationTextIndex(OWLOntology ontology) {
+        this(ontology, Collections.emptySet());
+    }
+
+    /**
+     * @param ontology ontology to index
+     * @param properties annotation properties whose values should be indexed, e.g., labels and
+     *        synonyms; empty for all properties
+     */
+    public AnnotationTextIndex(OWLOntology ontology,
+        Collection<OWLAnnotationProperty> properties) {
+        this.ontology = checkNotNull(ontology, "ontology cannot be null");
+        this.properties = new HashSet<>(checkNotNull(properties, "properties cannot be null"));
+        ontology.axioms(AxiomType.ANNOTATION_ASSERTION).forEach(this::add);
+        ontology.getOWLOntologyManager().addOntologyChangeListener(this);
+    }
+
+    /**
+     * Stops following changes to the ontology.
+     */
+    public void dispose() {
+        ontology.getOWLOntologyManager().removeOntologyChangeListener(this);
+    }
+
+    /**
+     * @return number of indexed annotation assertions
+     */
+    public synchronized int size() {
+        return ids.size();
+    }
+
+    @Override
+    public synchronized void ontologiesChanged(List<? extends OWLOntologyChange> changes) {
+        for (OWLOntologyChange change : changes) {
+            if (!change.isAxiomChange() || change.getOntology() != ontology) {
+                continue;
+            }
+            OWLAxiom axiom = change.getAxiom();
+            if (!(axiom instanceof OWLAnnotationAssertionAxiom)) {
+                continue;
+            }
+            if (change.isAddAxiom()) {
+                add((OWLAnnotationAssertionAxiom) axiom);
+            } else {
+                remove((OWLAnnotationAssertionAxiom) axiom);
+            }
+        }
+    }
+
+    /**
+     * Finds values with words starting with each of the words in the query, e.g.,
+     * {@code "car arr"} matches {@code "Cardiac arrest"}. Values that start with the whole query,
+     * and values mostly covered by the query, rank first.
+     *
+     * @param query text to complete
+     * @param limit max number of matches
+     * @return matches, best first
+     */
+    public synchronized List<Match> prefix(String query, int limit) {
+        String q = normalize(query);
+        if (q.isEmpty()) {
+            return Collections.emptyList();
+        }
+        String[] queryWords = q.split(" ");
+        BitSet candidates = withPrefix(queryWords[0]);
+        for (int i = 1; i < queryWords.length; i++) {
+            candidates.and(withPrefix(queryWords[i]));
+        }
+        List<Match> matches = new ArrayList<>();
+        for (int id = candidates.nextSetBit(0); id >= 0; id = candidates.nextSetBit(id + 1)) {
+            String text = texts.get(id);
+            double score = (double) q.length() / text.length() + (text.startsWith(q) ? 1 : 0);
+            matches.add(new Match(documents.get(id), score));
+        }
+        return top(matches, limit);
+    }
+
+    /**
+     * Finds values containing the query, ignoring case and punctuation. Values where the query
+     * starts a word, and values mostly covered by the query, rank first.
+     *
+     * @param query text to find
+     * @param limit max number of matches
+     * @return matches, best first
+     */
+    public synchronized List<Match> substring(String query, int limit) {
+        String q = normalize(query);
+        if (q.isEmpty()) {
+            return Collections.emptyList();
+        }
+        BitSet candidates = all();
+        for (int i = 0; i + 3 <= q.length(); i++) {
+            Postings p = trigrams.get(Long.valueOf(trigram(q, i)));
+            if (p == null) {
+                return Collections.emptyList();
+            }
+            BitSet withTrigram = new BitSet();
+            p.addTo(withTrigram);
+            candidates.and(withTrigram);
+        }
+        List<Match> matches = new ArrayList<>();
+        for (int id = candidates.nextSetBit(0); id >= 0; id = candidates.nextSetBit(id + 1)) {
+            String text = texts.get(id);
+            int index = text.indexOf(q);
+            if (index < 0) {
+                continue;
+            }
+            double score = (double) q.length() / text.length();
+            if (index == 0) {
+                score += 1;
+            } else if (text.charAt(index - 1) == ' ') {
+                score += 0.5;
+            }
+            matches.add(new Match(documents.get(id), score));
+        }
+        return top(matches, limit);
+    }
+
+    /**
+     * Finds values, or words in values, within a number of edits (insertions, deletions or
+     * substitutions of one character) from the query, ignoring case and punctuation. Candidates
+     * are found through shared trigrams before edit distances are computed. Closer matches rank
+     * first.
+     *
+     * @param query text to find
+     * @param maxEdits max edit distance
+     * @param limit max number of matches
+     * @return matches, best first; scores are {@code 1 / (1 + distance)}
+     */
+    public synchronized List<Match> fuzzy(String query, int maxEdits, int limit) {
+        if (maxEdits < 0) {
+            throw new IllegalArgumentException("maxEdits cannot be negative: " + maxEdits);
+        }
+        String q = normalize(query);
+        if (q.isEmpty()) {
+            return Collections.emptyList();
+        }
+        String padded = ' ' + q + ' ';
+        Set<Long> grams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(Long.valueOf(trigram(padded, i)));
+        }
+        // each edit changes at most three trigrams
+        int threshold = grams.size() - 3 * maxEdits;
+        BitSet candidates;
+        if (threshold <= 0) {
+            candidates = all();
+        } else {
+            int[] shared = new int[documents.size()];
+            grams.forEach(g -> {
+                Postings p = trigrams.get(g);
+                if (p != null) {
+                    p.count(shared);
+                }
+            });
+            candidates = new BitSet();
+            for (int id = 0; id < shared.length; id++) {
+                if (shared[id] >= threshold) {
+                    candidates.set(id);
+                }
+            }
+        }
+        List<Match> matches = new ArrayList<>();
+        for (int id = candidates.nextSetBit(0); id >= 0; id = candidates.nextSetBit(id + 1)) {
+            String text = texts.get(id);
+            int distance = distance(q, text, maxEdits);
+            for (String word : text.split(" ")) {
+                distance = Math.min(distance, distance(q, word, maxEdits));
+            }
+            if (distance <= maxEdits) {
+                matches.add(new Match(documents.get(id), 1D / (1 + distance)));
+            }
+        }
+        return top(matches, limit);
+    }
+
+    private BitSet withPrefix(String prefix) {
+        BitSet set = new BitSet();
+        words.subMap(prefix, prefix + Character.MAX_VALUE).values().forEach(p -> p.addTo(set));
+        return set;
+    }
+
+    private BitSet all() {
+        BitSet all = new BitSet();
+        ids.values().forEach(all::set);
+        return all;
+    }
+
+    private static List<Match> top(List<Match> matches, int limit) {
+        matches.sort(Comparator.comparingDouble(Match::getScore).reversed()
+            .thenComparing(m -> m.getValue().getLiteral()));
+        return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+    }
+
+    /**
+     * Lower case, with every run of characters that are not letters or digits replaced by a
+     * single space, and no leading or trailing space.
+     */
+    static String normalize(String value) {
+        String lower = value.toLowerCase(Locale.ROOT);
+        StringBuilder b = new StringBuilder(lower.length());
+        boolean space = false;
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (space && b.length() > 0) {
+                    b.append(' ');
+                }
+                b.append(c);
+                space = false;
+            } else {
+                space = true;
+            }
+        }
+        return b.toString();
+    }
+
+    /** Three characters packed in a long, to avoid a string per trigram key. */
+    private static long trigram(String s, int start) {
+        return (long) s.charAt(start) << 32 | (long) s.charAt(start + 1) << 16
+            | s.charAt(start + 2);
+    }
+
+    /**
+     * Levenshtein distance, or {@code max + 1} if the distance is larger than {@code max}.
+     */
+    static int distance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return max + 1;
+        }
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1], previous[j]) + 1,
+                    previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[b.length()], max + 1);
+    }
+
+    private void add(OWLAnnotationAssertionAxiom ax) {
+        OWLLiteral literal = ax.getValue().asLiteral().orElse(null);
+        if (literal == null || ids.containsKey(ax)
+            || !properties.isEmpty() && !properties.contains(ax.getProperty())) {
+            return;
+        }
+        String text = normalize(literal.getLiteral());
+        if (text.isEmpty()) {
+            return;
+        }
+        int id;
+        Integer free = freeIds.poll();
+        if (free == null) {
+            id = documents.size();
+            documents.add(ax);
+            texts.add(text);
+        } else {
+            id = free.intValue();
+            documents.set(id, ax);
+            texts.set(id, text);
+        }
+        ids.put(ax, Integer.valueOf(id));
+        for (String word : new HashSet<>(Arrays.asList(text.split(" ")))) {
+            words.computeIfAbsent(word, k -> new Postings()).add(id);
+        }
+        keys(text).forEach(k -> trigrams.computeIfAbsent(k, x -> new Postings()).add(id));
+    }
+
+    private void remove(OWLAnnotationAssertionAxiom ax) {
+        Integer removed = ids.remove(ax);
+        if (removed == null) {
+            return;
+        }
+        int id = removed.intValue();
+        String text = texts.get(id);
+        for (String word : new HashSet<>(Arrays.asList(text.split(" ")))) {
+            remove(words, word, id);
+        }
+        keys(text).forEach(k -> remove(trigrams, k, id));
+        documents.set(id, null);
+        texts.set(id, null);
+        freeIds.add(removed);
+    }
+
+    private static <K> void remove(Map<K, Postings> map, K key, int id) {
+        Postings p = map.get(key);
+        if (p != null && p.remove(id)) {
+            map.remove(key);
+        }
+    }
+
+    private static Set<Long> keys(String text) {
+        String padded = ' ' + text + ' ';
+        Set<Long> keys = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            keys.add(Long.valueOf(trigram(padded, i)));
+        }
+        return keys;
+    }
+
+    /**
+     * Sorted, growable array of document ids. Ids are mostly assigned in increasing order, so
+     * additions are mostly appends.
+     */
+    private static final class Postings {
+
+        private int[] ids = new int[2];
+        private int size;
+
+        void add(int id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                return;
+            }
+            int insertion = -index - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, insertion, ids, insertion + 1, size - insertion);
+            ids[insertion] = id;
+            size++;
+        }
+
+        /**
+         * @return true if no ids are left
+         */
+        boolean remove(int id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+                size--;
+            }
+            return size == 0;
+        }
+
+        void addTo(BitSet set) {
+            for (int i = 0; i < size; i++) {
+                set.set(ids[i]);
+            }
+        }
+
+        void count(int[] counts) {
+            for (int i = 0; i < size; i++) {
+                counts[ids[i]]++;
+            }
+        }
+    }
+
+    /**
+     * An annotation assertion matching a search, with its score; higher scores are better matches.
+     */
+    public static final class Match {
+
+        private final OWLAnnotationAssertionAxiom axiom;
+        private final double score;
+
+        Match(OWLAnnotationAssertionAxiom axiom, double score) {
+            this.axiom = axiom;
+            this.score = score;
+        }
+
+        /**
+         * @return the matching axiom
+         */
+        public OWLAnnotationAssertionAxiom getAxiom() {
+            return axiom;
+        }
+
+        /**
+         * @return the annotated subject
+         */
+        public OWLAnnotationSubject getSubject() {
+            return axiom.getSubject();
+        }
+
+        /**
+         * @return the matching value
+         */
+        public OWLLiteral getValue() {
+            return axiom.getValue().asLiteral().get();
+        }
+
+        /**
+         * @return score of the match; only meaningful in comparison with other matches for the
+         *         same search
+         */
+        public double getScore() {
+            return score;
+        }
+
+        @Override
+        public String toString() {
+            return axiom + " " + score;
+        }
+    }
+}
@@ -239,6 +239,75 @@ public class EntitySearcher {
         return ontology.annotationAssertionAxioms(e);
     }
 
+    /**
+     * Finds the subjects annotated with a literal with the specified lexical form, e.g., the
+     * entities with a specific label. Ontologies that keep an index of annotation values answer
+     * without scanning all annotation assertions.
+     *
+     * @param annotationProperty The annotation property
+     * @param lexicalForm lexical form of the literal, matched exactly
+     * @param lang language tag of the literal, matched ignoring case; empty for literals without a
+     *        language tag, null for any language tag
+     * @param ontology The ontology to examine for annotation axioms
+     * @return the subjects of the matching annotation assertions, without duplicates
+     */
+    public static Stream<OWLAnnotationSubject> getSubjectsByAnnotationValue(
+        OWLAnnotationProperty annotationProperty, String lexicalForm, @Nullable String lang,
+        OWLOntology ontology) {
+        return ontology.annotationAssertionAxiomsByValue(annotationProperty, lexicalForm, lang)
+            .map(OWLAnnotationAssertionAxiom::getSubject).distinct();
+    }
+
+    /**
+     * Finds the subjects annotated with a literal with the specified lexical form, e.g., the
+     * entities with a specific label.
+     *
+     * @param annotationProperty The annotation property
+     * @param lexicalForm lexical form of the literal, matched exactly
+     * @param lang language tag of the literal, matched ignoring case; empty for literals without a
+     *        language tag, null for any language tag
+     * @param ontologies The ontologies to examine for annotation axioms
+     * @return the subjects of the matching annotation assertions, without duplicates
+     */
+    public static Stream<OWLAnnotationSubject> getSubjectsByAnnotationValue(
+        OWLAnnotationProperty annotationProperty, String lexicalForm, @Nullable String lang,
+        Stream<OWLOntology> ontologies) {
+        return ontologies
+            .flatMap(o -> o.annotationAssertionAxiomsByValue(annotationProperty, lexicalForm, lang))
+            .map(OWLAnnotationAssertionAxiom::getSubject).distinct();
+    }
+
+    /**
+     * Finds the subjects annotated with a literal with the specified lexical form, ignoring case,
+     * in any language.
+     *
+     * @param annotationProperty The annotation property
+     * @param value lexical form of the literal, matched ignoring case
+     * @param ontology The ontology to examine for annotation axioms
+     * @return the subjects of the matching annotation assertions, without duplicates
+     */
+    public static Stream<OWLAnnotationSubject> getSubjectsByAnnotationValueIgnoreCase(
+        OWLAnnotationProperty annotationProperty, String value, OWLOntology ontology) {
+        return ontology.annotationAssertionAxiomsByValueIgnoreCase(annotationProperty, value)
+            .map(OWLAnnotationAssertionAxiom::getSubject).distinct();
+    }
+
+    /**
+     * Finds the subjects annotated with a literal starting with the specified prefix, ignoring
+     * case, in any language; useful for completion of labels and synonyms.
+     *
+     * @param annotationProperty The annotation property
+     * @param prefix start of the lexical form of the literal, matched ignoring case
+     * @param ontology The ontology to examine for annotation axioms
+     * @return the subjects of the matching annotation assertions, without duplicates, in order of
+     *         lexical form ignoring case
+     */
+    public static Stream<OWLAnnotationSubject> getSubjectsByAnnotationValuePrefix(
+        OWLAnnotationProperty annotationProperty, String prefix, OWLOntology ontology) {
+        return ontology.annotationAssertionAxiomsByValuePrefix(annotationProperty, prefix)
+            .map(OWLAnnotationAssertionAxiom::getSubject).distinct();
+    }
+
     /**
      * Gets the properties which are asserted to be sub-properties of e in the specified ontology.
      *
@@ -0,0 +1,135 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.util;
+
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
+
+/**
+ * A bounded table of interned namespaces. Lookups can be made on a slice of a character sequence,
+ * so that a parser can find the namespace of an IRI in its input buffer without creating a string
+ * first; a string is only created when the namespace is not in the table. The table has a fixed
+ * number of slots, organized in sets of two; a namespace can only live in the set its hash selects,
+ * and a new namespace evicts the older of the two entries when its set is full. Memory use is
+ * therefore bounded by the capacity, and adding a namespace costs the same whatever the size of the
+ * table. Lookups and additions do not lock: strings are immutable, so a racing reader sees either
+ * the old or the new entry of a slot, and at worst creates a string that is equal but not
+ * identical to the interned one.
+ *
+ * @author ignazio
+ * @since 5.5.1
+ */
+public final class NamespaceTable {
+
+    private final String[] slots;
+    private final int mask;
+
+    /**
+     * @param capacity max number of namespaces to intern; rounded up to a power of two. With
+     *        capacity 0, nothing is interned
+     */
+    public NamespaceTable(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity cannot be negative: " + capacity);
+        }
+        int length = capacity == 0 ? 0
+            : Math.max(2, Integer.highestOneBit(Math.min(capacity, 1 << 30) - 1) << 1);
+        slots = new String[length];
+        // clear the lowest bit: the two slots of a set are adjacent
+        mask = (length - 1) & ~1;
+    }
+
+    /**
+     * @return max number of namespaces kept in the table
+     */
+    public int capacity() {
+        return slots.length;
+    }
+
+    /**
+     * @param chars namespace to intern
+     * @return the interned copy of the namespace
+     */
+    public String intern(CharSequence chars) {
+        return intern(chars, 0, chars.length());
+    }
+
+    /**
+     * @param chars characters containing the namespace
+     * @param start index of the first character of the namespace
+     * @param end index after the last character of the namespace
+     * @return the interned namespace, added to the table if it was not there; the namespace it
+     *         evicts, if any, is no longer shared with later lookups
+     */
+    public String intern(CharSequence chars, int start, int end) {
+        checkRange(chars, start, end);
+        if (slots.length == 0) {
+            return chars.subSequence(start, end).toString();
+        }
+        int first = spread(hash(chars, start, end)) & mask;
+        String recent = slots[first];
+        if (recent != null && matches(recent, chars, start, end)) {
+            return recent;
+        }
+        String older = slots[first + 1];
+        if (older != null && matches(older, chars, start, end)) {
+            // keep the most recently used entry first, so that it is evicted last
+            slots[first + 1] = recent;
+            slots[first] = older;
+            return older;
+        }
+        String name = chars.subSequence(start, end).toString();
+        slots[first + 1] = recent;
+        slots[first] = name;
+        return name;
+    }
+
+    private static void checkRange(CharSequence chars, int start, int end) {
+        checkNotNull(chars, "chars cannot be null");
+        if (start < 0 || end > chars.length() || start > end) {
+            throw new IndexOutOfBoundsException(
+                "start " + start + ", end " + end + ", length " + chars.length());
+        }
+    }
+
+    /**
+     * Same value as {@code String::hashCode} on the slice, so that strings hash the same way
+     * whatever the source.
+     */
+    private static int hash(CharSequence chars, int start, int end) {
+        int h = 0;
+        for (int i = start; i < end; i++) {
+            h = 31 * h + chars.charAt(i);
+        }
+        return h;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static boolean matches(String name, CharSequence chars, int start, int end) {
+        int length = end - start;
+        if (name.length() != length) {
+            return false;
+        }
+        if (chars instanceof String) {
+            return name.regionMatches(0, (String) chars, start, length);
+        }
+        for (int i = 0; i < length; i++) {
+            if (name.charAt(i) != chars.charAt(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -24,6 +24,7 @@ import java.util.stream.Stream;
 
 import org.semanticweb.owlapi.model.AddAxiom;
 import org.semanticweb.owlapi.model.AddOntologyAnnotation;
+import org.semanticweb.owlapi.model.EntityType;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLAnnotation;
 import org.semanticweb.owlapi.model.OWLAxiom;
@@ -159,4 +160,27 @@ public class OWLEntityRenamer {
         }
         return changes;
     }
+
+    /**
+     * Changes the IRIs of all entities whose IRI starts with a prefix, replacing the prefix, e.g.,
+     * to move all {@code GO_} classes to a new namespace. Entities are found through
+     * {@link OWLOntology#entitiesInSignatureWithIRIPrefix(EntityType, String)}, so ontologies with
+     * a sorted IRI index do not scan their signature.
+     *
+     * @param prefix IRI prefix to replace
+     * @param newPrefix replacement for the prefix
+     * @return list of changes
+     */
+    public List<OWLOntologyChange> changeIRIPrefix(String prefix, String newPrefix) {
+        checkNotNull(prefix, "prefix cannot be null");
+        checkNotNull(newPrefix, "newPrefix cannot be null");
+        Map<OWLEntity, IRI> entity2IRIMap = new HashMap<>();
+        for (OWLOntology ont : ontologies) {
+            for (EntityType<?> type : EntityType.values()) {
+                ont.entitiesInSignatureWithIRIPrefix(type, prefix).forEach(e -> entity2IRIMap.put(e,
+                    IRI.create(newPrefix + e.getIRI().toString().substring(prefix.length()))));
+            }
+        }
+        return changeIRI(entity2IRIMap);
+    }
 }
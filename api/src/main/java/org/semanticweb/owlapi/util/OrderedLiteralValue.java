@@ -0,0 +1,271 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.util;
+
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAccessor;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.model.OWLDataPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLDatatype;
+import org.semanticweb.owlapi.model.OWLLiteral;
+import org.semanticweb.owlapi.vocab.OWL2Datatype;
+
+/**
+ * The value of a literal of an ordered datatype, parsed once so that it can be compared and
+ * indexed. Numbers of all xsd numeric datatypes share one value space and compare by value, so
+ * {@code "40"^^xsd:integer}, {@code "40.0"^^xsd:decimal} and {@code "4E1"^^xsd:double} are equal;
+ * xsd:dateTime and xsd:dateTimeStamp values are instants, with date times without a timezone taken
+ * as UTC. Values in different spaces are not comparable with each other in the XSD sense; here
+ * numbers sort before date times.
+ *
+ * @author ignazio
+ * @since 5.5.1
+ */
+public final class OrderedLiteralValue implements Comparable<OrderedLiteralValue> {
+
+    /** Value spaces with a total order. */
+    public enum Space {
+        /** xsd:decimal, xsd:double, xsd:float and all integer datatypes. */
+        NUMBER,
+        /** xsd:dateTime and xsd:dateTimeStamp. */
+        DATE_TIME
+    }
+
+    private final Space space;
+    /** -1 or 1 for negative and positive infinity, 0 for finite values. */
+    private final int infinity;
+    @Nullable
+    private final BigDecimal number;
+    @Nullable
+    private final Instant instant;
+
+    private OrderedLiteralValue(Space space, int infinity, @Nullable BigDecimal number,
+        @Nullable Instant instant) {
+        this.space = space;
+        this.infinity = infinity;
+        this.number = number;
+        this.instant = instant;
+    }
+
+    /**
+     * @param literal literal to parse
+     * @return the value of the literal; empty if its datatype is not ordered, if the lexical form
+     *         is not valid, or if the value is NaN
+     */
+    public static Optional<OrderedLiteralValue> of(OWLLiteral literal) {
+        checkNotNull(literal, "literal cannot be null");
+        OWLDatatype datatype = literal.getDatatype();
+        if (!datatype.isBuiltIn()) {
+            return Optional.empty();
+        }
+        OWL2Datatype builtIn = datatype.getBuiltInDatatype();
+        String lexical = literal.getLiteral().trim();
+        try {
+            if (builtIn == OWL2Datatype.XSD_DOUBLE || builtIn == OWL2Datatype.XSD_FLOAT) {
+                return floatingPoint(lexical);
+            }
+            if (builtIn.isNumeric() && builtIn != OWL2Datatype.OWL_REAL
+                && builtIn != OWL2Datatype.OWL_RATIONAL) {
+                return Optional.of(number(new BigDecimal(lexical)));
+            }
+            if (builtIn == OWL2Datatype.XSD_DATE_TIME
+                || builtIn == OWL2Datatype.XSD_DATE_TIME_STAMP) {
+                return Optional.of(dateTime(lexical));
+            }
+        } catch (@SuppressWarnings("unused") NumberFormatException | DateTimeParseException e) {
+            // malformed literals have no value
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * @param value a number
+     * @return value in the number space
+     */
+    public static OrderedLiteralValue number(BigDecimal value) {
+        return new OrderedLiteralValue(Space.NUMBER, 0, checkNotNull(value, "value cannot be null"),
+            null);
+    }
+
+    /**
+     * @param value an instant
+     * @return value in the date time space
+     */
+    public static OrderedLiteralValue instant(Instant value) {
+        return new OrderedLiteralValue(Space.DATE_TIME, 0, null,
+            checkNotNull(value, "value cannot be null"));
+    }
+
+    /**
+     * @param space value space
+     * @return a value lower than all values in the space
+     */
+    public static OrderedLiteralValue lowest(Space space) {
+        return new OrderedLiteralValue(space, -1, null, null);
+    }
+
+    /**
+     * @param space value space
+     * @return a value higher than all values in the space
+     */
+    public static OrderedLiteralValue highest(Space space) {
+        return new OrderedLiteralValue(space, 1, null, null);
+    }
+
+    /**
+     * @param from lower bound
+     * @param to upper bound
+     * @throws IllegalArgumentException if the bounds are in different value spaces
+     */
+    public static void checkBounds(OrderedLiteralValue from, OrderedLiteralValue to) {
+        checkNotNull(from, "from cannot be null");
+        checkNotNull(to, "to cannot be null");
+        if (from.space != to.space) {
+            throw new IllegalArgumentException(
+                "Bounds must be in the same value space: " + from.space + ", " + to.space);
+        }
+    }
+
+    /**
+     * Sorts data property assertions by value without an index; each value is parsed once.
+     *
+     * @param axioms assertions to filter and sort
+     * @param from lower bound
+     * @param fromInclusive true if values equal to the lower bound are included
+     * @param to upper bound, in the same space as the lower bound
+     * @param toInclusive true if values equal to the upper bound are included
+     * @param descending true for descending order of value, false for ascending order
+     * @return assertions with values between the bounds, sorted by value
+     */
+    public static Stream<OWLDataPropertyAssertionAxiom> sortByValue(
+        Stream<OWLDataPropertyAssertionAxiom> axioms, OrderedLiteralValue from,
+        boolean fromInclusive, OrderedLiteralValue to, boolean toInclusive, boolean descending) {
+        checkBounds(from, to);
+        Comparator<Map.Entry<OrderedLiteralValue, OWLDataPropertyAssertionAxiom>> order =
+            Map.Entry.comparingByKey();
+        return axioms
+            .map(ax -> of(ax.getObject()).map(v -> new SimpleImmutableEntry<>(v, ax)))
+            .filter(Optional::isPresent).map(Optional::get)
+            .filter(e -> within(e.getKey(), from, fromInclusive, to, toInclusive))
+            .sorted(descending ? order.reversed() : order).map(Map.Entry::getValue);
+    }
+
+    private static boolean within(OrderedLiteralValue value, OrderedLiteralValue from,
+        boolean fromInclusive, OrderedLiteralValue to, boolean toInclusive) {
+        int lower = value.compareTo(from);
+        int upper = value.compareTo(to);
+        return (lower > 0 || fromInclusive && lower == 0)
+            && (upper < 0 || toInclusive && upper == 0);
+    }
+
+    private static Optional<OrderedLiteralValue> floatingPoint(String lexical) {
+        switch (lexical) {
+            case "INF":
+            case "+INF":
+                return Optional.of(highest(Space.NUMBER));
+            case "-INF":
+                return Optional.of(lowest(Space.NUMBER));
+            case "NaN":
+                return Optional.empty();
+            default:
+                // the lexical form is used, not the nearest double, so that "0.1"^^xsd:double
+                // equals "0.1"^^xsd:decimal
+                return Optional.of(number(new BigDecimal(lexical)));
+        }
+    }
+
+    private static OrderedLiteralValue dateTime(String lexical) {
+        TemporalAccessor parsed = DateTimeFormatter.ISO_DATE_TIME.parseBest(lexical,
+            OffsetDateTime::from, LocalDateTime::from);
+        if (parsed instanceof OffsetDateTime) {
+            return instant(((OffsetDateTime) parsed).toInstant());
+        }
+        return instant(((LocalDateTime) parsed).toInstant(ZoneOffset.UTC));
+    }
+
+    /**
+     * @return value space
+     */
+    public Space getSpace() {
+        return space;
+    }
+
+    /**
+     * @return the value as a number, if finite and in the number space
+     */
+    public Optional<BigDecimal> asNumber() {
+        return Optional.ofNullable(number);
+    }
+
+    /**
+     * @return the value as an instant, if in the date time space
+     */
+    public Optional<Instant> asInstant() {
+        return Optional.ofNullable(instant);
+    }
+
+    @Override
+    public int compareTo(OrderedLiteralValue o) {
+        int diff = space.compareTo(o.space);
+        if (diff != 0) {
+            return diff;
+        }
+        if (infinity != 0 || o.infinity != 0) {
+            return Integer.compare(infinity, o.infinity);
+        }
+        if (number != null) {
+            return number.compareTo(o.number);
+        }
+        return OWLAPIPreconditions.verifyNotNull(instant).compareTo(o.instant);
+    }
+
+    @Override
+    public boolean equals(@Nullable Object obj) {
+        return obj instanceof OrderedLiteralValue && compareTo((OrderedLiteralValue) obj) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        if (number != null) {
+            // 40 and 40.0 are equal, so the scale cannot be part of the hash code
+            return number.signum() == 0 ? 0 : number.stripTrailingZeros().hashCode();
+        }
+        if (instant != null) {
+            return instant.hashCode();
+        }
+        return space.hashCode() * 31 + infinity;
+    }
+
+    @Override
+    public String toString() {
+        if (infinity != 0) {
+            return (infinity < 0 ? "-INF" : "INF") + " (" + space + ')';
+        }
+        return String.valueOf(number != null ? number.toPlainString() : instant);
+    }
+}
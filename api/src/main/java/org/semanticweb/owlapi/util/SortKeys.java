@@ -0,0 +1,282 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLObject;
+
+/**
+ * Sorts OWL objects in their natural order, mostly with primitive comparisons. Before sorting, each
+ * object gets a 64 bit key encoding the start of what {@code compareTo()} looks at: the type
+ * indexes of the object and of its first components, down to the first IRI, then the IRI
+ * namespace and the characters of its remainder. Type indexes, namespaces and characters are
+ * replaced by their rank among the values found in the objects being sorted, so that they need few
+ * bits. Two objects whose keys differ are in the order of their keys; only objects whose keys are
+ * equal as far as both go are compared with {@code compareTo()}. The result is therefore the same
+ * as a sort in natural order.
+ *
+ * @author ignazio
+ * @since 5.5.1
+ */
+public final class SortKeys {
+
+    /** Below this size, keys are not worth computing. */
+    static final int THRESHOLD = 64;
+    /** Low bits of a key hold the number of valid bits in the rest of the key. */
+    private static final int LENGTH_BITS = 6;
+    private static final int CONTENT_BITS = 64 - LENGTH_BITS;
+    /** Max number of type indexes on the path to the first IRI. */
+    private static final int MAX_DEPTH = 8;
+
+    private SortKeys() {
+        // utility class
+    }
+
+    /**
+     * @param objects objects to sort
+     * @param <T> type of the objects
+     * @return the objects, sorted in natural order. Unlike {@code Stream::sorted}, the input stream
+     *         is consumed when this method is called.
+     */
+    public static <T extends OWLObject> Stream<T> sorted(Stream<T> objects) {
+        List<T> list = objects.collect(Collectors.toCollection(ArrayList::new));
+        sort(list);
+        return list.stream();
+    }
+
+    /**
+     * Sorts a list in natural order.
+     *
+     * @param list list to sort
+     * @param <T> type of the objects
+     */
+    public static <T extends OWLObject> void sort(List<T> list) {
+        if (list.size() < THRESHOLD) {
+            list.sort(null);
+            return;
+        }
+        Keyed<T>[] keyed = keys(list);
+        Arrays.sort(keyed);
+        for (int i = 0; i < keyed.length; i++) {
+            list.set(i, keyed[i].value);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends OWLObject> Keyed<T>[] keys(List<T> list) {
+        Path[] paths = new Path[list.size()];
+        Ranks ranks = new Ranks();
+        for (int i = 0; i < paths.length; i++) {
+            paths[i] = new Path(list.get(i));
+            ranks.add(paths[i]);
+        }
+        ranks.freeze();
+        Keyed<T>[] keyed = new Keyed[paths.length];
+        for (int i = 0; i < paths.length; i++) {
+            keyed[i] = new Keyed<>(list.get(i), ranks.key(paths[i]));
+        }
+        return keyed;
+    }
+
+    /**
+     * Bits needed for the ranks of n distinct values.
+     */
+    static int bits(int n) {
+        return n <= 1 ? 0 : 32 - Integer.numberOfLeadingZeros(n - 1);
+    }
+
+    /**
+     * Type indexes of an object and its first components, and the IRI reached, if any.
+     */
+    private static final class Path {
+
+        final int[] types = new int[MAX_DEPTH];
+        int depth = 0;
+        @Nullable
+        IRI iri;
+
+        Path(OWLObject o) {
+            Object current = o;
+            while (depth < MAX_DEPTH && current instanceof OWLObject) {
+                OWLObject object = (OWLObject) current;
+                types[depth++] = object.typeIndex();
+                if (object.isIRI()) {
+                    iri = (IRI) object;
+                    return;
+                }
+                Iterator<?> components = object.components().iterator();
+                if (!components.hasNext()) {
+                    return;
+                }
+                current = first(components.next());
+            }
+        }
+
+        /**
+         * Collections and streams are compared element by element, so their first element decides.
+         */
+        @Nullable
+        private static Object first(@Nullable Object component) {
+            Object o = component;
+            while (o instanceof Collection || o instanceof Stream) {
+                Iterator<?> i = o instanceof Collection ? ((Collection<?>) o).iterator()
+                    : ((Stream<?>) o).iterator();
+                o = i.hasNext() ? i.next() : null;
+            }
+            return o;
+        }
+    }
+
+    /**
+     * Ranks of the type indexes, namespaces and characters in a set of paths.
+     */
+    private static final class Ranks {
+
+        private final Map<Integer, Integer> typeRanks = new HashMap<>();
+        private final Map<String, Integer> namespaceRanks = new HashMap<>();
+        private boolean[] chars = new boolean[0];
+        private char minChar = Character.MAX_VALUE;
+        private char[] charRanks = new char[0];
+        private int typeBits;
+        private int namespaceBits;
+        private int charBits;
+
+        void add(Path path) {
+            for (int i = 0; i < path.depth; i++) {
+                typeRanks.put(Integer.valueOf(path.types[i]), null);
+            }
+            IRI iri = path.iri;
+            if (iri != null) {
+                namespaceRanks.put(iri.getNamespace(), null);
+                String remainder = iri.getRemainder().orElse("");
+                for (int i = 0; i < remainder.length(); i++) {
+                    char c = remainder.charAt(i);
+                    if (c >= chars.length) {
+                        chars = Arrays.copyOf(chars, Math.max(c + 1, chars.length * 2));
+                    }
+                    chars[c] = true;
+                    if (c < minChar) {
+                        minChar = c;
+                    }
+                }
+            }
+        }
+
+        void freeze() {
+            typeBits = bits(rank(typeRanks));
+            namespaceBits = bits(rank(namespaceRanks));
+            int rank = 0;
+            if (minChar < chars.length) {
+                charRanks = new char[chars.length - minChar];
+                for (int c = minChar; c < chars.length; c++) {
+                    if (chars[c]) {
+                        // 0 is the end of the remainder
+                        charRanks[c - minChar] = (char) ++rank;
+                    }
+                }
+            }
+            charBits = bits(rank + 1);
+        }
+
+        private static <K extends Comparable<K>> int rank(Map<K, Integer> ranks) {
+            Object[] keys = ranks.keySet().toArray();
+            Arrays.sort(keys);
+            for (int i = 0; i < keys.length; i++) {
+                @SuppressWarnings("unchecked")
+                K key = (K) keys[i];
+                ranks.put(key, Integer.valueOf(i));
+            }
+            return keys.length;
+        }
+
+        long key(Path path) {
+            KeyBuilder key = new KeyBuilder();
+            for (int i = 0; i < path.depth; i++) {
+                if (!key.add(typeRanks.get(Integer.valueOf(path.types[i])).intValue(), typeBits)) {
+                    return key.key();
+                }
+            }
+            IRI iri = path.iri;
+            if (iri == null
+                || !key.add(namespaceRanks.get(iri.getNamespace()).intValue(), namespaceBits)) {
+                return key.key();
+            }
+            String remainder = iri.getRemainder().orElse("");
+            for (int i = 0; i < remainder.length(); i++) {
+                if (!key.add(charRanks[remainder.charAt(i) - minChar], charBits)) {
+                    return key.key();
+                }
+            }
+            key.add(0, charBits);
+            return key.key();
+        }
+    }
+
+    private static final class KeyBuilder {
+
+        private long content;
+        private int used;
+
+        boolean add(int value, int width) {
+            if (used + width > CONTENT_BITS) {
+                return false;
+            }
+            used += width;
+            if (width > 0) {
+                content |= (long) value << (64 - used);
+            }
+            return true;
+        }
+
+        long key() {
+            return content | used;
+        }
+    }
+
+    private static final class Keyed<T extends OWLObject> implements Comparable<Keyed<T>> {
+
+        final T value;
+        final long key;
+
+        Keyed(T value, long key) {
+            this.value = value;
+            this.key = key;
+        }
+
+        @Override
+        public int compareTo(Keyed<T> o) {
+            int bits = Math.min((int) (key & ((1 << LENGTH_BITS) - 1)),
+                (int) (o.key & ((1 << LENGTH_BITS) - 1)));
+            if (bits > 0) {
+                long a = key >>> (64 - bits);
+                long b = o.key >>> (64 - bits);
+                if (a != b) {
+                    return a < b ? -1 : 1;
+                }
+            }
+            return value.compareTo(o.value);
+        }
+    }
+}
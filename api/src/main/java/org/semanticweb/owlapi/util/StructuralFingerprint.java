@@ -0,0 +1,141 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.util;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.model.OWLObject;
+
+/**
+ * 64 bit structural fingerprints for OWL objects. A fingerprint is computed from the type index of
+ * an object and from its components, with the same rules used by {@code equals()}: streams and
+ * lists are hashed in order, sets regardless of order, OWL objects through their own
+ * fingerprints. Equal objects therefore have equal fingerprints, while different objects have
+ * equal fingerprints only by accident, which at 64 bits is rare enough to use fingerprints as keys
+ * for deduplication or caches, as long as a match is confirmed with {@code equals()} where
+ * collisions matter.
+ *
+ * @author ignazio
+ * @since 5.5.1
+ */
+public final class StructuralFingerprint {
+
+    private static final long SEED = 0x9E3779B97F4A7C15L;
+    private static final long FNV_OFFSET = 0xCBF29CE484222325L;
+    private static final long FNV_PRIME = 0x100000001B3L;
+
+    private StructuralFingerprint() {
+        // utility class
+    }
+
+    /**
+     * @param typeIndex type index of the object
+     * @param components components of the object
+     * @return fingerprint for an object with the specified type and components
+     */
+    public static long of(int typeIndex, Stream<?> components) {
+        return ordered(mix(SEED + typeIndex), components.iterator());
+    }
+
+    /**
+     * @param component a component of an OWL object: another OWL object, a stream or collection of
+     *        components, a string, or any other value
+     * @return fingerprint of the component
+     */
+    public static long of(@Nullable Object component) {
+        if (component == null) {
+            return 0;
+        }
+        if (component instanceof OWLObject) {
+            return ((OWLObject) component).fingerprint();
+        }
+        if (component instanceof CharSequence) {
+            return of((CharSequence) component);
+        }
+        if (component instanceof Stream) {
+            return ordered(SEED, ((Stream<?>) component).iterator());
+        }
+        if (component instanceof Set) {
+            return unordered((Set<?>) component);
+        }
+        if (component instanceof Collection) {
+            return ordered(SEED, ((Collection<?>) component).iterator());
+        }
+        if (component instanceof Optional) {
+            return of(((Optional<?>) component).orElse(null));
+        }
+        if (component instanceof Enum) {
+            // enum hash codes are not stable across runs
+            return of(((Enum<?>) component).name());
+        }
+        return mix(component.hashCode());
+    }
+
+    /**
+     * @param chars characters to hash
+     * @return fingerprint of the characters
+     */
+    public static long of(CharSequence chars) {
+        return mix(chars, FNV_OFFSET);
+    }
+
+    /**
+     * @param first first part of the sequence to hash
+     * @param second second part of the sequence to hash
+     * @return fingerprint of the concatenation of the two sequences, computed without
+     *         concatenating them
+     */
+    public static long of(CharSequence first, CharSequence second) {
+        return mix(second, mix(first, FNV_OFFSET));
+    }
+
+    private static long mix(CharSequence chars, long seed) {
+        long h = seed;
+        for (int i = 0; i < chars.length(); i++) {
+            h = (h ^ chars.charAt(i)) * FNV_PRIME;
+        }
+        return h;
+    }
+
+    private static long ordered(long seed, Iterator<?> components) {
+        long h = seed;
+        while (components.hasNext()) {
+            h = mix(h * SEED + of(components.next()));
+        }
+        return h;
+    }
+
+    private static long unordered(Set<?> components) {
+        long sum = 0;
+        for (Object o : components) {
+            sum += mix(of(o));
+        }
+        return mix(sum + components.size());
+    }
+
+    /**
+     * Finalization step of SplitMix64; spreads every input bit over the output.
+     */
+    private static long mix(long value) {
+        long z = value;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,78 @@
+package org.semanticweb.owlapi.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.model.IRI;
+
+class DocumentFormatDetectorTestCase {
+
+    private static String first(String head) {
+        List<String> keys = DocumentFormatDetector.detect(head);
+        return keys.isEmpty() ? "" : keys.get(0);
+    }
+
+    @Test
+    void shouldDetectXmlFormatsFromRootElement() {
+        assertEquals("RDF/XML Syntax", first("<?xml version=\"1.0\"?>\n"
+            + "<!DOCTYPE rdf:RDF [\n<!ENTITY owl \"http://www.w3.org/2002/07/owl#\" >\n]>\n"
+            + "<!-- comment -->\n"
+            + "<rdf:RDF xmlns:rdf=\"http://www.w3.org/1999/02/22-rdf-syntax-ns#\">"));
+        assertEquals("OWL/XML Syntax", first("<?xml version=\"1.0\"?>\n"
+            + "<Ontology xmlns=\"http://www.w3.org/2002/07/owl#\" ontologyIRI=\"urn:test:o\">"));
+        assertEquals("TriX", first("<TriX xmlns=\"http://www.w3.org/2004/03/trix/trix-1/\">"));
+        assertEquals("RDFa", first("<!DOCTYPE html>\n<html prefix=\"ex: urn:test:\">"));
+    }
+
+    @Test
+    void shouldDetectTextFormatsFromFirstKeyword() {
+        assertEquals("Turtle Syntax", first("# comment\n@prefix ex: <urn:test:> .\n"));
+        assertEquals("Turtle Syntax", first("PREFIX ex: <urn:test:>\nex:a a ex:C ."));
+        assertEquals("OWL Functional Syntax",
+            first("Prefix(:=<urn:test:>)\nOntology(<urn:test:o>)"));
+        assertEquals("OWL Functional Syntax", first("Ontology (<urn:test:o>\n)"));
+        assertEquals("Manchester OWL Syntax", first("Prefix: : <urn:test:>\nOntology: <urn:o>"));
+        assertEquals("Manchester OWL Syntax", first("Ontology: <urn:test:o>\nClass: A"));
+        assertEquals("OBO Format", first("format-version: 1.2\nontology: test\n"));
+        assertEquals("OBO Format", first("! comment\n[Term]\nid: X:1\n"));
+        assertEquals("JSON-LD", first("{ \"@context\": {} }"));
+        assertEquals("KRSS2 Syntax", first("(define-concept A B)"));
+    }
+
+    @Test
+    void shouldDetectTriplesFromIrisOnOneLine() {
+        assertEquals("N-Triples", first("<urn:test:a> <urn:test:p> <urn:test:b> .\n"));
+        assertEquals("N-Triples", first("_:b0 <urn:test:p> \"x\" .\n"));
+        assertEquals("N-Triples", first("<urn:test:a> a <urn:test:C> .\n"));
+    }
+
+    @Test
+    void shouldNotGuessUnknownContent() {
+        assertTrue(DocumentFormatDetector.detect("").isEmpty());
+        assertTrue(DocumentFormatDetector.detect("   \n# only a comment\n").isEmpty());
+        assertTrue(DocumentFormatDetector.detect("hello world").isEmpty());
+        assertTrue(DocumentFormatDetector.detect(new IRIDocumentSource(IRI.create("urn:test:o")))
+            .isEmpty());
+    }
+
+    @Test
+    void shouldHonourByteOrderMarks() {
+        String text = "@prefix ex: <urn:test:> .";
+        byte[] utf16 = ("\uFEFF" + text).getBytes(StandardCharsets.UTF_16LE);
+        assertEquals("Turtle Syntax",
+            DocumentFormatDetector.detect(DocumentFormatDetector.decode(utf16, utf16.length))
+                .get(0));
+        byte[] utf8 = ("\uFEFF" + text).getBytes(StandardCharsets.UTF_8);
+        assertEquals(text, DocumentFormatDetector.decode(utf8, utf8.length).toString());
+    }
+
+    @Test
+    void shouldReadHeadFromDocumentSource() {
+        StringDocumentSource source = new StringDocumentSource("Ontology(<urn:test:o>)");
+        assertEquals("OWL Functional Syntax", DocumentFormatDetector.detect(source).get(0));
+    }
+}
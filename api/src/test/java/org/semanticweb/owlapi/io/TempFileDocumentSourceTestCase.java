@@ -0,0 +1,110 @@
+package org.semanticweb.owlapi.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.formats.TurtleDocumentFormat;
+import org.semanticweb.owlapi.model.IRI;
+
+@SuppressWarnings("resource")
+class TempFileDocumentSourceTestCase {
+
+    private static final IRI DOCUMENT = IRI.create("urn:test#", "test");
+    private static final String INPUT = "@prefix ex: <urn:test#> .\nex:a ex:p \"èé\" .\n";
+
+    private static String read(InputStream in) throws IOException {
+        return IOUtils.toString(in, StandardCharsets.UTF_8);
+    }
+
+    private static InputStream input() {
+        return new ByteArrayInputStream(INPUT.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void shouldReplayStreamFromTemporaryCopy() throws IOException {
+        TempFileDocumentSource source = new TempFileDocumentSource(input());
+        assertEquals(INPUT.getBytes(StandardCharsets.UTF_8).length, source.size());
+        assertEquals(INPUT, read(source.getInputStream().get()));
+        assertEquals(INPUT, read(source.getInputStream().get()));
+        assertFalse(source.getReader().isPresent());
+        assertFalse(source.hasAlredyFailedOnStreams());
+    }
+
+    @Test
+    void shouldReadAcrossSegments() throws IOException {
+        TempFileDocumentSource source =
+            new TempFileDocumentSource(input(), DOCUMENT, null, null, false, 7);
+        assertEquals(INPUT, read(source.getInputStream().get()));
+        InputStream in = source.getInputStream().get();
+        assertEquals(10, in.skip(10));
+        assertEquals(INPUT.substring(10), read(in));
+    }
+
+    @Test
+    void shouldKeepGzippedCopyCompressed() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(INPUT.getBytes(StandardCharsets.UTF_8));
+        }
+        TempFileDocumentSource source = new TempFileDocumentSource(
+            new ByteArrayInputStream(bytes.toByteArray()), DOCUMENT, null, null, true);
+        assertEquals(bytes.size(), source.size());
+        assertEquals(INPUT, read(source.getInputStream().get()));
+        assertEquals(INPUT, read(source.getInputStream().get()));
+    }
+
+    @Test
+    void shouldReplayReaderAsUTF8() throws IOException {
+        TempFileDocumentSource source = new TempFileDocumentSource(new StringReader(INPUT));
+        assertFalse(source.getInputStream().isPresent());
+        assertEquals(INPUT, IOUtils.toString(source.getReader().get()));
+        assertEquals(INPUT, IOUtils.toString(source.getReader().get()));
+    }
+
+    @Test
+    void shouldReadInputOnlyOnceWhenFormatIsKnown() throws IOException {
+        InputStream in = input();
+        TempFileDocumentSource source =
+            new TempFileDocumentSource(in, DOCUMENT, new TurtleDocumentFormat(), null, false);
+        assertEquals(0, source.size());
+        assertTrue(in == source.getInputStream().get());
+        assertFalse(source.getInputStream().isPresent());
+        assertTrue(source.hasAlredyFailedOnStreams());
+        Reader reader = new StringReader(INPUT);
+        source = new TempFileDocumentSource(reader, DOCUMENT, new TurtleDocumentFormat(), null);
+        assertTrue(reader == source.getReader().get());
+        assertFalse(source.getReader().isPresent());
+    }
+
+    @Test
+    void shouldCopyDirectInputOnRequest() throws IOException {
+        TempFileDocumentSource source =
+            new TempFileDocumentSource(input(), DOCUMENT, new TurtleDocumentFormat(), null, false);
+        assertTrue(source.copyInput());
+        assertEquals(INPUT.getBytes(StandardCharsets.UTF_8).length, source.size());
+        assertEquals(INPUT, read(source.getInputStream().get()));
+        assertEquals(INPUT, read(source.getInputStream().get()));
+        assertTrue(source.copyInput());
+        source = new TempFileDocumentSource(new StringReader(INPUT), DOCUMENT,
+            new TurtleDocumentFormat(), null);
+        assertTrue(source.copyInput());
+        assertEquals(INPUT, IOUtils.toString(source.getReader().get()));
+        assertEquals(INPUT, IOUtils.toString(source.getReader().get()));
+        source =
+            new TempFileDocumentSource(input(), DOCUMENT, new TurtleDocumentFormat(), null, false);
+        source.getInputStream();
+        assertFalse(source.copyInput());
+    }
+}
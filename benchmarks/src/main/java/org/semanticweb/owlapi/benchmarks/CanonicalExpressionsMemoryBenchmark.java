@@ -0,0 +1,34 @@
+package org.semanticweb.owlapi.benchmarks;
+
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+
+import org.semanticweb.owlapi.model.parameters.ConfigurationOptions;
+
+import uk.ac.manchester.cs.owl.owlapi.OWLDataFactoryImpl;
+
+/**
+ * Memory profile with entities, annotations and anonymous expressions interned; compare the heap
+ * dump with the one produced by {@link FullGalenMemoryBenchmark} or
+ * {@link NCBITaxonMemoryBenchmark} for the same input. Hit rates of the interners are printed after
+ * the dump.
+ */
+@SuppressWarnings("javadoc")
+public class CanonicalExpressionsMemoryBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        String prefix = "org.semanticweb.owlapi.model.parameters.ConfigurationOptions.";
+        System.setProperty(prefix + ConfigurationOptions.CANONICAL_ENTITIES.name(), "true");
+        System.setProperty(prefix + ConfigurationOptions.CANONICAL_EXPRESSIONS.name(), "true");
+        String filename = "/Users/ignazio/full-galen.owl";
+        if (args.length > 0) {
+            filename = args[0];
+        }
+        Path ontologyPath = FileSystems.getDefault().getPath(filename);
+        MemoryBenchmark.memoryProfile(ontologyPath,
+            FileSystems.getDefault().getPath(args.length > 1 ? args[1] : "canonical.hprof"));
+        new OWLDataFactoryImpl().getInternerMetrics().values()
+            .forEach(m -> System.out.println(m.name() + ": " + m.size() + " live, "
+                + m.hitCount() + " hits, " + m.missCount() + " misses"));
+    }
+}
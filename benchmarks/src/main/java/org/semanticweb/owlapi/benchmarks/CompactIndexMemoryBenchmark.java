@@ -0,0 +1,29 @@
+package org.semanticweb.owlapi.benchmarks;
+
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+
+import org.semanticweb.owlapi.model.parameters.ConfigurationOptions;
+
+/**
+ * Memory profile with compact indexes enabled; compare the heap dump with the one produced by
+ * {@link NCBITaxonMemoryBenchmark} for the same input.
+ */
+@SuppressWarnings("javadoc")
+public class CompactIndexMemoryBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        System.setProperty(
+            "org.semanticweb.owlapi.model.parameters.ConfigurationOptions."
+                + ConfigurationOptions.COMPACT_INDEXES.name(),
+            "true");
+        String filename =
+            "/Users/ignazio/workspace/benchmarks/ncbitaxon/src/main/resources/ncbitaxon.rdf.ofn.gz";
+        if (args.length > 0) {
+            filename = args[0];
+        }
+        Path ontologyPath = FileSystems.getDefault().getPath(filename);
+        MemoryBenchmark.memoryProfile(ontologyPath,
+            FileSystems.getDefault().getPath(args.length > 1 ? args[1] : "compact.hprof"));
+    }
+}
@@ -0,0 +1,90 @@
+package org.semanticweb.owlapi.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.formats.FunctionalSyntaxDocumentFormat;
+import org.semanticweb.owlapi.formats.ManchesterSyntaxDocumentFormat;
+import org.semanticweb.owlapi.formats.TurtleDocumentFormat;
+import org.semanticweb.owlapi.io.DocumentFormatDetector;
+import org.semanticweb.owlapi.io.StringDocumentSource;
+import org.semanticweb.owlapi.io.StringDocumentTarget;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLDocumentFormat;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.OWLOntologyStorageException;
+
+/**
+ * Load latency for documents with no file extension, MIME type or format: the parsers are ranked
+ * by {@link DocumentFormatDetector}. Compare with the same documents loaded with their format
+ * set, which selects the right parser directly, to see what detection and any wrong guesses cost.
+ */
+@SuppressWarnings("javadoc")
+@State(Scope.Benchmark)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class FormatDetectionBenchmark {
+
+    private static final String NS = "http://www.example.org/benchmark/detection#";
+    @Param({"Turtle", "Manchester", "Functional"})
+    public String syntax;
+    @Param({"10000"})
+    public int classes;
+    private String document;
+    private OWLDocumentFormat format;
+
+    @Setup(Level.Trial)
+    public void setUp() throws OWLOntologyCreationException, OWLOntologyStorageException {
+        OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+        OWLDataFactory df = manager.getOWLDataFactory();
+        OWLOntology ontology = manager.createOntology(IRI.create(NS));
+        for (int i = 1; i < classes; i++) {
+            manager.addAxiom(ontology, df.getOWLSubClassOfAxiom(df.getOWLClass(NS, "C" + i),
+                df.getOWLClass(NS, "C" + i / 2)));
+        }
+        if ("Turtle".equals(syntax)) {
+            format = new TurtleDocumentFormat();
+        } else if ("Manchester".equals(syntax)) {
+            format = new ManchesterSyntaxDocumentFormat();
+        } else {
+            format = new FunctionalSyntaxDocumentFormat();
+        }
+        StringDocumentTarget target = new StringDocumentTarget();
+        manager.saveOntology(ontology, format, target);
+        document = target.toString();
+    }
+
+    @Benchmark
+    public int detect() {
+        return DocumentFormatDetector.detect(document.substring(0,
+            Math.min(document.length(), DocumentFormatDetector.HEAD_SIZE))).size();
+    }
+
+    @Benchmark
+    public int loadWithoutFormat() throws OWLOntologyCreationException {
+        return OWLManager.createOWLOntologyManager()
+            .loadOntologyFromOntologyDocument(new StringDocumentSource(document)).getAxiomCount();
+    }
+
+    @Benchmark
+    public int loadWithFormat() throws OWLOntologyCreationException {
+        return OWLManager.createOWLOntologyManager()
+            .loadOntologyFromOntologyDocument(new StringDocumentSource(document,
+                IRI.create(NS, "document"), format, null))
+            .getAxiomCount();
+    }
+}
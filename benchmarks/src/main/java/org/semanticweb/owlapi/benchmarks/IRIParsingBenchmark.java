@@ -0,0 +1,114 @@
+package org.semanticweb.owlapi.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.formats.FunctionalSyntaxDocumentFormat;
+import org.semanticweb.owlapi.formats.TurtleDocumentFormat;
+import org.semanticweb.owlapi.io.StringDocumentSource;
+import org.semanticweb.owlapi.io.StringDocumentTarget;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.OWLOntologyStorageException;
+
+/**
+ * Measures IRI creation on its own, from strings and from slices of a buffer, and as part of
+ * parsing Turtle and functional syntax documents with many IRIs in a few namespaces.
+ */
+@SuppressWarnings("javadoc")
+@State(Scope.Benchmark)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class IRIParsingBenchmark {
+
+    private static final String NS = "http://www.example.org/benchmark/iri/";
+    @Param({"50000"})
+    public int classes;
+    @Param({"20"})
+    public int namespaces;
+    private String turtle;
+    private String functional;
+    /** All IRIs in one buffer, each between angle brackets as in a document. */
+    private String buffer;
+    private int[] starts;
+    private int[] ends;
+
+    @Setup(Level.Trial)
+    public void setUp() throws OWLOntologyCreationException, OWLOntologyStorageException {
+        OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+        OWLDataFactory df = manager.getOWLDataFactory();
+        OWLOntology ontology = manager.createOntology(IRI.create(NS));
+        StringBuilder sb = new StringBuilder();
+        starts = new int[classes];
+        ends = new int[classes];
+        for (int i = 1; i < classes; i++) {
+            IRI iri = iri(i);
+            manager.addAxiom(ontology, df.getOWLSubClassOfAxiom(df.getOWLClass(iri),
+                df.getOWLClass(iri(i / 2))));
+            sb.append('<');
+            starts[i] = sb.length();
+            sb.append(iri);
+            ends[i] = sb.length();
+            sb.append("> ");
+        }
+        buffer = sb.toString();
+        StringDocumentTarget target = new StringDocumentTarget();
+        manager.saveOntology(ontology, new TurtleDocumentFormat(), target);
+        turtle = target.toString();
+        target = new StringDocumentTarget();
+        manager.saveOntology(ontology, new FunctionalSyntaxDocumentFormat(), target);
+        functional = target.toString();
+    }
+
+    private IRI iri(int i) {
+        return IRI.create(NS + "ns" + i % namespaces + '#', "C" + i);
+    }
+
+    /**
+     * Creation as parsers did it: copy the IRI out of the buffer, then split the copy.
+     */
+    @Benchmark
+    public int createFromSubstring() {
+        int hash = 0;
+        for (int i = 1; i < classes; i++) {
+            hash += IRI.create(buffer.substring(starts[i], ends[i])).hashCode();
+        }
+        return hash;
+    }
+
+    @Benchmark
+    public int createFromSlice() {
+        int hash = 0;
+        for (int i = 1; i < classes; i++) {
+            hash += IRI.create(buffer, starts[i], ends[i]).hashCode();
+        }
+        return hash;
+    }
+
+    @Benchmark
+    public int parseTurtle() throws OWLOntologyCreationException {
+        return OWLManager.createOWLOntologyManager()
+            .loadOntologyFromOntologyDocument(new StringDocumentSource(turtle)).getAxiomCount();
+    }
+
+    @Benchmark
+    public int parseFunctional() throws OWLOntologyCreationException {
+        return OWLManager.createOWLOntologyManager()
+            .loadOntologyFromOntologyDocument(new StringDocumentSource(functional))
+            .getAxiomCount();
+    }
+}
@@ -0,0 +1,81 @@
+package org.semanticweb.owlapi.benchmarks;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import uk.ac.manchester.cs.owl.owlapi.LiteralCompression;
+
+/**
+ * Compares the algorithms available for long literals on definition like text: cost of
+ * compressing and decompressing, and compressed size, which is printed at setup.
+ */
+@SuppressWarnings("javadoc")
+@State(Scope.Benchmark)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class LiteralCompressionBenchmark {
+
+    private static final String[] WORDS = {"a", "the", "protein", "complex", "that", "is", "part",
+        "of", "cell", "membrane", "binds", "to", "any", "process", "which", "results", "in",
+        "regulation", "activity", "molecular", "function", "located"};
+    @Param({"GZIP", "LZ"})
+    public String algorithm;
+    @Param({"10000"})
+    public int literals;
+    private LiteralCompression compression;
+    private String[] texts;
+    private byte[][] compressed;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        compression = LiteralCompression.valueOf(algorithm);
+        Random random = new Random(42);
+        texts = new String[literals];
+        compressed = new byte[literals][];
+        long raw = 0;
+        long size = 0;
+        for (int i = 0; i < literals; i++) {
+            StringBuilder b = new StringBuilder();
+            int length = 161 + random.nextInt(600);
+            while (b.length() < length) {
+                b.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+            }
+            texts[i] = b.toString();
+            compressed[i] = compression.compress(texts[i]);
+            raw += texts[i].length();
+            size += compressed[i].length;
+        }
+        System.out.println(algorithm + ": " + raw + " characters in " + size + " bytes");
+    }
+
+    @Benchmark
+    public int compress() throws IOException {
+        int total = 0;
+        for (String s : texts) {
+            total += compression.compress(s).length;
+        }
+        return total;
+    }
+
+    @Benchmark
+    public int decompress() throws IOException {
+        int total = 0;
+        for (byte[] b : compressed) {
+            total += compression.decompress(b).length();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,102 @@
+package org.semanticweb.owlapi.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.parameters.ConfigurationOptions;
+
+import uk.ac.manchester.cs.owlapi.modularity.ModuleType;
+import uk.ac.manchester.cs.owlapi.modularity.SyntacticLocalityModuleExtractor;
+
+/**
+ * Compares signature access with global signature caches and with signatures stored on each
+ * axiom. COMPACT_SIGNATURES is read once per JVM, so each value of the parameter runs in its own
+ * fork and sets the property before the first OWL object is created.
+ */
+@SuppressWarnings("javadoc")
+@State(Scope.Benchmark)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SignatureBenchmark {
+
+    private static final String NS = "urn:benchmark:signature#";
+    @Param({"false", "true"})
+    public String compactSignatures;
+    @Param({"100000"})
+    public int classes;
+    private OWLOntologyManager manager;
+    private OWLOntology ontology;
+    private List<OWLAxiom> axioms;
+    private Set<OWLEntity> seed;
+
+    @Setup(Level.Trial)
+    public void setUp() throws OWLOntologyCreationException {
+        System.setProperty("org.semanticweb.owlapi.model.parameters.ConfigurationOptions."
+            + ConfigurationOptions.COMPACT_SIGNATURES.name(), compactSignatures);
+        manager = OWLManager.createOWLOntologyManager();
+        OWLDataFactory df = manager.getOWLDataFactory();
+        ontology = manager.createOntology(IRI.create(NS));
+        OWLObjectProperty p = df.getOWLObjectProperty(IRI.create(NS, "p"));
+        axioms = new ArrayList<>();
+        // a chain of subclasses with existential restrictions on the previous classes
+        for (int i = 1; i < classes; i++) {
+            OWLClass c = df.getOWLClass(IRI.create(NS, "C" + i));
+            OWLClass parent = df.getOWLClass(IRI.create(NS, "C" + i / 2));
+            OWLClass filler = df.getOWLClass(IRI.create(NS, "C" + (i - 1)));
+            axioms.add(df.getOWLSubClassOfAxiom(c,
+                df.getOWLObjectIntersectionOf(parent, df.getOWLObjectSomeValuesFrom(p, filler))));
+        }
+        manager.addAxiomsInBulk(ontology, axioms.stream());
+        seed = new TreeSet<>();
+        for (int i = 0; i < 10; i++) {
+            seed.add(df.getOWLClass(IRI.create(NS, "C" + i * (classes / 10))));
+        }
+    }
+
+    /**
+     * Access pattern of renderers: each axiom is asked for its entities, by type, several times.
+     */
+    @Benchmark
+    public long renderingLikeScan() {
+        long count = 0;
+        for (OWLAxiom ax : axioms) {
+            count += ax.classesInSignature().count();
+            count += ax.objectPropertiesInSignature().count();
+            count += ax.signature().count();
+            if (ax.containsEntityInSignature(ax.classesInSignature().findFirst().get())) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int starModule() {
+        return new SyntacticLocalityModuleExtractor(manager, ontology, ModuleType.STAR)
+            .extract(seed).size();
+    }
+}
@@ -0,0 +1,104 @@
+package org.semanticweb.owlapi.benchmarks;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.formats.TurtleDocumentFormat;
+import org.semanticweb.owlapi.io.StringDocumentSource;
+import org.semanticweb.owlapi.io.StringDocumentTarget;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.OWLOntologyStorageException;
+import org.semanticweb.owlapi.rdf.turtle.parser.BufferedTurtleParser;
+import org.semanticweb.owlapi.rdf.turtle.parser.NullTripleHandler;
+import org.semanticweb.owlapi.rdf.turtle.parser.TurtleParser;
+
+/**
+ * Compares the JavaCC Turtle parser with the buffered one, on their own with a handler that
+ * discards triples, and as part of loading the document. The size of the document is printed at
+ * setup; divide it by the average time to get the throughput in MB/s.
+ */
+@SuppressWarnings("javadoc")
+@State(Scope.Benchmark)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TurtleParsingBenchmark {
+
+    private static final String NS = "http://www.example.org/benchmark/turtle#";
+    private static final IRI BASE = IRI.create(NS);
+    @Param({"100000"})
+    public int classes;
+    private String turtle;
+
+    @Setup(Level.Trial)
+    public void setUp() throws OWLOntologyCreationException, OWLOntologyStorageException {
+        OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+        OWLDataFactory df = manager.getOWLDataFactory();
+        OWLOntology ontology = manager.createOntology(BASE);
+        for (int i = 1; i < classes; i++) {
+            OWLClass c = df.getOWLClass(NS, "C" + i);
+            manager.addAxiom(ontology,
+                df.getOWLSubClassOfAxiom(c, df.getOWLClass(NS, "C" + i / 2)));
+            manager.addAxiom(ontology, df.getOWLAnnotationAssertionAxiom(c.getIRI(),
+                df.getRDFSLabel(df.getOWLLiteral("class \"" + i + "\" label", "en"))));
+            manager.addAxiom(ontology, df.getOWLSubClassOfAxiom(c, df.getOWLObjectSomeValuesFrom(
+                df.getOWLObjectProperty(NS, "p" + i % 10), df.getOWLClass(NS, "C" + i / 3))));
+        }
+        StringDocumentTarget target = new StringDocumentTarget();
+        manager.saveOntology(ontology, new TurtleDocumentFormat(), target);
+        turtle = target.toString();
+        System.out.printf("%nTurtle document: %.2f MB%n",
+            Double.valueOf(turtle.getBytes(StandardCharsets.UTF_8).length / 1048576D));
+    }
+
+    @Benchmark
+    public Object parseJavaCC() throws IOException {
+        TurtleParser parser =
+            new TurtleParser(new StringReader(turtle), new NullTripleHandler(), BASE);
+        parser.parseDocument();
+        return parser;
+    }
+
+    @Benchmark
+    public Object parseBuffered() throws IOException {
+        BufferedTurtleParser parser =
+            new BufferedTurtleParser(new StringReader(turtle), new NullTripleHandler(), BASE);
+        parser.parseDocument();
+        return parser;
+    }
+
+    @Benchmark
+    public int loadJavaCC() throws OWLOntologyCreationException {
+        return OWLManager.createOWLOntologyManager()
+            .loadOntologyFromOntologyDocument(new StringDocumentSource(turtle),
+                new OWLOntologyLoaderConfiguration())
+            .getAxiomCount();
+    }
+
+    @Benchmark
+    public int loadBuffered() throws OWLOntologyCreationException {
+        return OWLManager.createOWLOntologyManager()
+            .loadOntologyFromOntologyDocument(new StringDocumentSource(turtle),
+                new OWLOntologyLoaderConfiguration().setUseBufferedTurtleParser(true))
+            .getAxiomCount();
+    }
+}
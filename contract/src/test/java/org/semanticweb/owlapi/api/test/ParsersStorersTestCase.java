@@ -29,6 +29,8 @@ import org.semanticweb.owlapi.formats.KRSS2DocumentFormat;
 import org.semanticweb.owlapi.formats.KRSSDocumentFormat;
 import org.semanticweb.owlapi.formats.LatexDocumentFormat;
 import org.semanticweb.owlapi.formats.ManchesterSyntaxDocumentFormat;
+import org.semanticweb.owlapi.formats.NativeNQuadsDocumentFormat;
+import org.semanticweb.owlapi.formats.NativeNTriplesDocumentFormat;
 import org.semanticweb.owlapi.formats.OWLXMLDocumentFormat;
 import org.semanticweb.owlapi.formats.RDFXMLDocumentFormat;
 import org.semanticweb.owlapi.formats.TurtleDocumentFormat;
@@ -57,6 +59,10 @@ import org.semanticweb.owlapi.model.parameters.AxiomAnnotations;
 import org.semanticweb.owlapi.model.parameters.Imports;
 import org.semanticweb.owlapi.owlxml.parser.OWLXMLParserFactory;
 import org.semanticweb.owlapi.owlxml.renderer.OWLXMLStorerFactory;
+import org.semanticweb.owlapi.rdf.ntriples.parser.NQuadsOntologyParserFactory;
+import org.semanticweb.owlapi.rdf.ntriples.parser.NTriplesOntologyParserFactory;
+import org.semanticweb.owlapi.rdf.ntriples.renderer.NQuadsStorerFactory;
+import org.semanticweb.owlapi.rdf.ntriples.renderer.NTriplesStorerFactory;
 import org.semanticweb.owlapi.rdf.rdfxml.parser.RDFXMLParserFactory;
 import org.semanticweb.owlapi.rdf.rdfxml.renderer.RDFXMLStorerFactory;
 import org.semanticweb.owlapi.rdf.turtle.parser.TurtleOntologyParserFactory;
@@ -170,6 +176,20 @@ class ParsersStorersTestCase extends TestBase {
             new TurtleDocumentFormat(), true, true, true, true);
     }
 
+    @ParameterizedTest
+    @MethodSource("getData")
+    void testNTriples(OWLAxiom ax) {
+        test(ax, new NTriplesStorerFactory(), new NTriplesOntologyParserFactory(),
+            new NativeNTriplesDocumentFormat(), true, true, true, true);
+    }
+
+    @ParameterizedTest
+    @MethodSource("getData")
+    void testNQuads(OWLAxiom ax) {
+        test(ax, new NQuadsStorerFactory(), new NQuadsOntologyParserFactory(),
+            new NativeNQuadsDocumentFormat(), true, true, true, true);
+    }
+
     @ParameterizedTest
     @MethodSource("getData")
     void testFSS(OWLAxiom ax) {
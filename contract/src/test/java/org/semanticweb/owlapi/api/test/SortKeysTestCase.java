@@ -0,0 +1,107 @@
+package org.semanticweb.owlapi.api.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLIndividual;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.util.SortKeys;
+
+import uk.ac.manchester.cs.owl.owlapi.OWLDataFactoryImpl;
+
+class SortKeysTestCase {
+
+    // namespace order differs from the order of the full IRIs
+    private static final String[] NAMESPACES = {"urn:test:a#", "urn:test:a#b/", "urn:test:",
+        "urn:test:ab#", "http://example.org/été/", "http://example.org/"};
+    private static final String[] NAMES = {"A", "AB", "B", "b1", "x", "é", "Zé", "_9", "a-b", ""};
+    private final OWLDataFactory df = new OWLDataFactoryImpl();
+    private final Random random = new Random(42);
+
+    private IRI iri() {
+        return IRI.create(NAMESPACES[random.nextInt(NAMESPACES.length)],
+            NAMES[random.nextInt(NAMES.length)] + random.nextInt(3));
+    }
+
+    private OWLEntity entity() {
+        switch (random.nextInt(4)) {
+            case 0:
+                return df.getOWLClass(iri());
+            case 1:
+                return df.getOWLObjectProperty(iri());
+            case 2:
+                return df.getOWLNamedIndividual(iri());
+            default:
+                return df.getOWLDataProperty(iri());
+        }
+    }
+
+    private OWLObject axiom() {
+        OWLClass c = df.getOWLClass(iri());
+        OWLObjectProperty p = df.getOWLObjectProperty(iri());
+        OWLIndividual i = random.nextBoolean() ? df.getOWLNamedIndividual(iri())
+            : df.getOWLAnonymousIndividual("_:b" + random.nextInt(5));
+        switch (random.nextInt(6)) {
+            case 0:
+                return df.getOWLSubClassOfAxiom(c, df.getOWLClass(iri()));
+            case 1:
+                return df.getOWLSubClassOfAxiom(df.getOWLObjectSomeValuesFrom(p, c), c);
+            case 2:
+                return df.getOWLClassAssertionAxiom(c, i);
+            case 3:
+                return df.getOWLDeclarationAxiom(entity());
+            case 4:
+                return df.getOWLAnnotationAssertionAxiom(iri(),
+                    df.getRDFSLabel(Integer.toString(random.nextInt(9))));
+            default:
+                return df.getOWLObjectPropertyAssertionAxiom(p, i, df.getOWLNamedIndividual(iri()));
+        }
+    }
+
+    private static void assertSameOrder(List<? extends OWLObject> objects) {
+        List<OWLObject> expected = new ArrayList<>(objects);
+        Collections.sort(expected);
+        List<OWLObject> actual = new ArrayList<>(objects);
+        SortKeys.sort(actual);
+        assertEquals(expected, actual);
+        assertEquals(expected, SortKeys.sorted(objects.stream()).collect(Collectors.toList()));
+    }
+
+    @Test
+    void shouldSortEntitiesInNaturalOrder() {
+        List<OWLEntity> entities = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            entities.add(entity());
+        }
+        assertSameOrder(entities);
+    }
+
+    @Test
+    void shouldSortAxiomsInNaturalOrder() {
+        List<OWLObject> axioms = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            axioms.add(axiom());
+        }
+        assertSameOrder(axioms);
+    }
+
+    @Test
+    void shouldSortIRIsInNaturalOrder() {
+        List<IRI> iris = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            iris.add(iri());
+        }
+        assertSameOrder(iris);
+    }
+}
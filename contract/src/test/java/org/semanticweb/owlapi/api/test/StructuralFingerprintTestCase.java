@@ -0,0 +1,106 @@
+package org.semanticweb.owlapi.api.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyID;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.SWRLAtom;
+import org.semanticweb.owlapi.model.SWRLVariable;
+import org.semanticweb.owlapi.model.SetOntologyID;
+import org.semanticweb.owlapi.vocab.OWL2Datatype;
+
+import uk.ac.manchester.cs.owl.owlapi.OWLDataFactoryImpl;
+
+class StructuralFingerprintTestCase {
+
+    private static final String NS = "urn:test:fingerprint#";
+    private final OWLDataFactory df = new OWLDataFactoryImpl();
+    private final OWLClass a = df.getOWLClass(IRI.create(NS, "A"));
+    private final OWLClass b = df.getOWLClass(IRI.create(NS, "B"));
+    private final OWLObjectProperty p = df.getOWLObjectProperty(IRI.create(NS, "p"));
+
+    private OWLAxiom axiom(OWLClass sub, OWLClass filler) {
+        return df.getOWLSubClassOfAxiom(sub,
+            df.getOWLObjectIntersectionOf(b, df.getOWLObjectSomeValuesFrom(p, filler)),
+            Arrays.asList(df.getRDFSComment("comment"), df.getRDFSLabel("label")));
+    }
+
+    @Test
+    void shouldMatchForEqualObjects() {
+        OWLAxiom ax1 = axiom(a, a);
+        OWLAxiom ax2 = axiom(df.getOWLClass(IRI.create(NS + "A")), a);
+        assertEquals(ax1, ax2);
+        assertEquals(ax1.fingerprint(), ax2.fingerprint());
+        assertEquals(IRI.create(NS, "A").fingerprint(), IRI.create(NS + "A").fingerprint());
+        assertEquals(df.getOWLLiteral(1).fingerprint(),
+            df.getOWLLiteral("1", df.getIntegerOWLDatatype()).fingerprint());
+        assertEquals(OWL2Datatype.XSD_INTEGER.getDatatype(df).fingerprint(),
+            df.getOWLDatatype(OWL2Datatype.XSD_INTEGER.getIRI()).fingerprint());
+    }
+
+    @Test
+    void shouldDifferForDifferentObjects() {
+        Set<Long> fingerprints = new HashSet<>();
+        fingerprints.add(Long.valueOf(axiom(a, a).fingerprint()));
+        fingerprints.add(Long.valueOf(axiom(a, b).fingerprint()));
+        fingerprints.add(Long.valueOf(axiom(b, a).fingerprint()));
+        fingerprints.add(Long.valueOf(axiom(a, a).getAxiomWithoutAnnotations().fingerprint()));
+        // same IRI, different entity types
+        fingerprints.add(Long.valueOf(a.fingerprint()));
+        fingerprints.add(Long.valueOf(df.getOWLNamedIndividual(a.getIRI()).fingerprint()));
+        assertEquals(6, fingerprints.size());
+    }
+
+    @Test
+    void shouldUseFingerprintsInEquals() {
+        OWLAxiom ax1 = axiom(a, a);
+        OWLAxiom ax2 = axiom(a, b);
+        ax1.fingerprint();
+        ax2.fingerprint();
+        assertNotEquals(ax1, ax2);
+        assertEquals(ax1, axiom(a, a));
+        OWLClassExpression ce1 = df.getOWLObjectSomeValuesFrom(p, a);
+        OWLClassExpression ce2 = df.getOWLObjectSomeValuesFrom(p, b);
+        assertNotEquals(ce1.fingerprint(), ce2.fingerprint());
+        assertNotEquals(ce1, ce2);
+        assertEquals(ce1.fingerprint(), df.getOWLObjectSomeValuesFrom(p, a).fingerprint());
+        assertEquals(ce1, df.getOWLObjectSomeValuesFrom(p, a));
+    }
+
+    @Test
+    void shouldIgnoreRuleAtomOrder() {
+        SWRLVariable x = df.getSWRLVariable(IRI.create(NS, "x"));
+        SWRLAtom atomA = df.getSWRLClassAtom(a, x);
+        SWRLAtom atomB = df.getSWRLClassAtom(b, x);
+        SWRLAtom head = df.getSWRLClassAtom(df.getOWLObjectSomeValuesFrom(p, a), x);
+        OWLAxiom rule1 = df.getSWRLRule(Arrays.asList(atomA, atomB), Arrays.asList(head));
+        OWLAxiom rule2 = df.getSWRLRule(Arrays.asList(atomB, atomA), Arrays.asList(head));
+        assertEquals(rule1, rule2);
+        assertEquals(rule1.fingerprint(), rule2.fingerprint());
+    }
+
+    @Test
+    void shouldRecomputeOntologyFingerprintWhenIdChanges() throws OWLOntologyCreationException {
+        OWLOntologyManager m = OWLManager.createOWLOntologyManager();
+        OWLOntology o = m.createOntology(IRI.create(NS, "o1"));
+        long before = o.fingerprint();
+        assertEquals(before, o.fingerprint());
+        m.applyChange(new SetOntologyID(o, new OWLOntologyID(IRI.create(NS, "o2"))));
+        assertNotEquals(before, o.fingerprint());
+    }
+}
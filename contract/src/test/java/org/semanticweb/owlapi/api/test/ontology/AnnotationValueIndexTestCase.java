@@ -0,0 +1,108 @@
+package org.semanticweb.owlapi.api.test.ontology;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.semanticweb.owlapi.search.EntitySearcher.getSubjectsByAnnotationValue;
+import static org.semanticweb.owlapi.search.EntitySearcher.getSubjectsByAnnotationValueIgnoreCase;
+import static org.semanticweb.owlapi.search.EntitySearcher.getSubjectsByAnnotationValuePrefix;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asUnorderedSet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.model.OWLAnnotationAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLAnnotationProperty;
+import org.semanticweb.owlapi.model.OWLAnnotationSubject;
+import org.semanticweb.owlapi.model.OWLOntology;
+
+class AnnotationValueIndexTestCase extends TestBase {
+
+    private final OWLAnnotationProperty label = RDFSLabel();
+    private final OWLAnnotationAssertionAxiom pizzaEn =
+        AnnotationAssertion(label, A.getIRI(), Literal("Pizza", "en"));
+    private final OWLAnnotationAssertionAxiom pizza =
+        AnnotationAssertion(label, B.getIRI(), Literal("pizza"));
+    private final OWLAnnotationAssertionAxiom pizzeria =
+        AnnotationAssertion(label, C.getIRI(), Literal("Pizzeria", "it"));
+    private final OWLAnnotationAssertionAxiom xref =
+        AnnotationAssertion(hasDbXref, D.getIRI(), Literal("Pizza"));
+    private final OWLAnnotationAssertionAxiom iriValue =
+        AnnotationAssertion(label, E.getIRI(), iri("Pizza"));
+
+    private OWLOntology labels() {
+        OWLOntology o = create("labels");
+        o.add(pizzaEn, pizza, pizzeria, xref, iriValue);
+        return o;
+    }
+
+    @Test
+    void shouldFindExactLabels() {
+        OWLOntology o = labels();
+        assertEquals(Collections.singletonList(pizzaEn),
+            asList(o.annotationAssertionAxiomsByValue(label, "Pizza", null)));
+        assertEquals(Collections.singletonList(pizzaEn),
+            asList(o.annotationAssertionAxiomsByValue(label, "Pizza", "EN")));
+        assertEquals(0, o.annotationAssertionAxiomsByValue(label, "Pizza", "").count());
+        assertEquals(Collections.singletonList(pizza),
+            asList(o.annotationAssertionAxiomsByValue(label, "pizza", "")));
+        assertEquals(Collections.<OWLAnnotationSubject>singletonList(D.getIRI()),
+            asList(getSubjectsByAnnotationValue(hasDbXref, "Pizza", null, o)));
+    }
+
+    @Test
+    void shouldFindLabelsIgnoringCase() {
+        OWLOntology o = labels();
+        assertEquals(new HashSet<OWLAnnotationSubject>(Arrays.asList(A.getIRI(), B.getIRI())),
+            asUnorderedSet(getSubjectsByAnnotationValueIgnoreCase(label, "PIZZA", o)));
+        assertEquals(0, o.annotationAssertionAxiomsByValueIgnoreCase(label, "pizz").count());
+    }
+
+    @Test
+    void shouldFindLabelsByPrefix() {
+        OWLOntology o = labels();
+        assertEquals(3, o.annotationAssertionAxiomsByValuePrefix(label, "PIZ").count());
+        assertEquals(Collections.singletonList(pizzeria),
+            asList(o.annotationAssertionAxiomsByValuePrefix(label, "pizze")));
+        assertEquals(C.getIRI(), asList(getSubjectsByAnnotationValuePrefix(label, "p", o)).get(2));
+    }
+
+    @Test
+    void shouldFollowChangesAfterFirstQuery() {
+        OWLOntology o = labels();
+        assertEquals(1, o.annotationAssertionAxiomsByValue(label, "pizza", null).count());
+        OWLAnnotationAssertionAxiom renamed =
+            AnnotationAssertion(label, B.getIRI(), Literal("Pizza", "en"));
+        o.remove(pizza);
+        o.add(renamed);
+        assertEquals(0, o.annotationAssertionAxiomsByValue(label, "pizza", null).count());
+        assertEquals(new HashSet<>(Arrays.asList(pizzaEn, renamed)),
+            asUnorderedSet(o.annotationAssertionAxiomsByValue(label, "Pizza", "en")));
+        OWLOntology other = create("other");
+        other.add(AnnotationAssertion(label, A.getIRI(), Literal("Pizza", "en")));
+        assertEquals(new HashSet<OWLAnnotationSubject>(Arrays.asList(A.getIRI(), B.getIRI())),
+            asUnorderedSet(
+                getSubjectsByAnnotationValue(label, "Pizza", "en", Stream.of(o, other))));
+    }
+
+    @Test
+    void shouldIndexManyEqualLabels() {
+        OWLOntology o = create("equalLabels");
+        List<OWLAnnotationAssertionAxiom> axioms = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            axioms.add(AnnotationAssertion(label, iri("s" + i), Literal("same")));
+        }
+        o.add(axioms);
+        assertEquals(20000, o.annotationAssertionAxiomsByValue(label, "same", null).count());
+        o.remove(axioms.subList(0, 19995));
+        assertEquals(new HashSet<>(axioms.subList(19995, 20000)),
+            asUnorderedSet(o.annotationAssertionAxiomsByValueIgnoreCase(label, "SAME")));
+        o.remove(axioms.subList(19995, 20000));
+        assertEquals(0, o.annotationAssertionAxiomsByValuePrefix(label, "s").count());
+    }
+}
@@ -0,0 +1,92 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.api.test.ontology;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asUnorderedSet;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLAxiomBulkLoader;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
+import org.semanticweb.owlapi.model.OWLOntologyChangeListener;
+import org.semanticweb.owlapi.model.parameters.ChangeApplied;
+
+class BulkLoadTestCase extends TestBase {
+
+    @Test
+    void shouldAddAxiomsAndNotifyOnce() {
+        OWLOntology o = create("bulk");
+        o.add(SubClassOf(A, B));
+        // initialize an index before the load, so that it must be updated
+        assertEquals(1, o.subClassAxiomsForSubClass(A).count());
+        List<List<? extends OWLOntologyChange>> events = new ArrayList<>();
+        OWLOntologyChangeListener listener = events::add;
+        m.addOntologyChangeListener(listener);
+        ChangeApplied result = m.addAxiomsInBulk(o, Stream.of(SubClassOf(A, B), SubClassOf(A, C),
+            ClassAssertion(A, I), Declaration(A), ObjectPropertyAssertion(P, I, J)));
+        m.removeOntologyChangeListener(listener);
+        assertEquals(ChangeApplied.SUCCESSFULLY, result);
+        assertEquals(1, events.size());
+        assertEquals(4, events.get(0).size());
+        assertTrue(events.get(0).stream().allMatch(OWLOntologyChange::isAddAxiom));
+        assertEquals(5, o.getAxiomCount());
+        assertEquals(asUnorderedSet(o.subClassAxiomsForSubClass(A)),
+            set(SubClassOf(A, B), SubClassOf(A, C)));
+        assertEquals(asUnorderedSet(o.classAssertionAxioms(I)), set(ClassAssertion(A, I)));
+        assertTrue(o.isDeclared(A));
+        assertTrue(o.containsEntityInSignature(P));
+    }
+
+    @Test
+    void shouldRebuildInitializedIndexesAfterLargeCommit() {
+        OWLOntology o = create("bulkRebuild");
+        o.add(SubClassOf(A, B));
+        assertEquals(1, o.subClassAxiomsForSuperClass(B).count());
+        List<OWLAxiom> axioms = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            axioms.add(SubClassOf(Class(iri("urn:test:bulk#", "C" + i)), B));
+        }
+        m.addAxiomsInBulk(o, axioms.stream());
+        assertEquals(101, o.subClassAxiomsForSuperClass(B).count());
+        assertEquals(1, o.subClassAxiomsForSubClass(A).count());
+        o.remove(SubClassOf(A, B));
+        assertEquals(asUnorderedSet(axioms.stream()),
+            asUnorderedSet(o.subClassAxiomsForSuperClass(B)));
+        assertTrue(o.containsEntityInSignature(Class(iri("urn:test:bulk#", "C99"))));
+    }
+
+    @Test
+    void shouldReportNoOperationForKnownAxioms() {
+        OWLOntology o = create("bulkNoOp");
+        o.add(SubClassOf(A, B));
+        assertEquals(ChangeApplied.NO_OPERATION, m.addAxiomsInBulk(o, Stream.of(SubClassOf(A, B))));
+    }
+
+    @Test
+    void shouldCommitOnlyOnce() {
+        OWLAxiomBulkLoader loader = m.bulkLoader(create("bulkOnce")).add(SubClassOf(A, B));
+        assertEquals(1, loader.size());
+        loader.commit();
+        assertThrows(IllegalStateException.class, loader::commit);
+        assertThrows(IllegalStateException.class, () -> loader.add(SubClassOf(A, C)));
+    }
+}
@@ -0,0 +1,122 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.api.test.ontology;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.semanticweb.owlapi.model.parameters.Imports.EXCLUDED;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asUnorderedSet;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
+import org.semanticweb.owlapi.model.parameters.ConfigurationOptions;
+
+class CompactIndexesTestCase extends TestBase {
+
+    private static final String PROPERTY =
+        "org.semanticweb.owlapi.model.parameters.ConfigurationOptions."
+            + ConfigurationOptions.COMPACT_INDEXES.name();
+
+    @BeforeEach
+    void setCompact() {
+        System.setProperty(PROPERTY, "true");
+    }
+
+    @AfterEach
+    void clearCompact() {
+        System.clearProperty(PROPERTY);
+    }
+
+    @Test
+    void shouldIndexAndRemoveAxioms() {
+        OWLOntology o = create("compact");
+        o.add(SubClassOf(A, B), SubClassOf(A, C), SubClassOf(B, C), ClassAssertion(A, I),
+            Declaration(A));
+        assertEquals(asUnorderedSet(o.subClassAxiomsForSubClass(A)),
+            set(SubClassOf(A, B), SubClassOf(A, C)));
+        assertEquals(2, o.subClassAxiomsForSuperClass(C).count());
+        assertTrue(o.isDeclared(A));
+        assertTrue(o.containsClassInSignature(B.getIRI()));
+        o.remove(SubClassOf(A, C));
+        assertEquals(asUnorderedSet(o.subClassAxiomsForSubClass(A)), set(SubClassOf(A, B)));
+        assertEquals(2, o.getAxiomCount(AxiomType.SUBCLASS_OF));
+        o.remove(SubClassOf(A, B));
+        assertFalse(o.subClassAxiomsForSubClass(A).findAny().isPresent());
+        assertEquals(1, o.classAssertionAxioms(I).count());
+    }
+
+    @Test
+    void shouldKeepIndexesConsistentAcrossCompactions() {
+        OWLOntology o = create("compactions");
+        List<OWLAxiom> axioms = new ArrayList<>();
+        for (int index = 0; index < 5000; index++) {
+            OWLClass sub = Class(iri("urn:test:compact#", "C" + index));
+            axioms.add(SubClassOf(sub, A));
+        }
+        o.add(axioms);
+        assertEquals(5000, o.subClassAxiomsForSuperClass(A).count());
+        o.remove(axioms.subList(0, 2500));
+        assertEquals(asUnorderedSet(axioms.subList(2500, 5000).stream()),
+            asUnorderedSet(o.subClassAxiomsForSuperClass(A)));
+        assertEquals(2500, o.getAxiomCount(AxiomType.SUBCLASS_OF, EXCLUDED));
+        o.add(axioms.subList(0, 10));
+        assertEquals(2510, o.subClassAxiomsForSuperClass(A).count());
+    }
+
+    @Test
+    void shouldKeepReturnedValuesAfterRemoval() {
+        OWLOntology o = create("detached");
+        o.add(SubClassOf(A, C), SubClassOf(B, C), SubClassOf(D, C));
+        Stream<OWLSubClassOfAxiom> before = o.subClassAxiomsForSuperClass(C);
+        o.remove(SubClassOf(A, C), SubClassOf(B, C));
+        o.add(SubClassOf(E, F));
+        assertEquals(set(SubClassOf(A, C), SubClassOf(B, C), SubClassOf(D, C)),
+            asUnorderedSet(before));
+    }
+
+    @Test
+    void shouldReadIndexModeAgainOnDeserialization() throws IOException, ClassNotFoundException {
+        OWLOntology o = create("serialized");
+        o.add(SubClassOf(A, B), SubClassOf(A, C), ClassAssertion(A, I));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ObjectOutputStream stream = new ObjectOutputStream(out)) {
+            stream.writeObject(o.getOWLOntologyManager());
+        }
+        System.clearProperty(PROPERTY);
+        try (ObjectInputStream in =
+            new ObjectInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            OWLOntology copy = ((OWLOntologyManager) in.readObject()).getOntology(o.getOntologyID());
+            assertEquals(asUnorderedSet(o.axioms()), asUnorderedSet(copy.axioms()));
+            assertEquals(2, copy.subClassAxiomsForSubClass(A).count());
+            assertEquals(1, copy.classAssertionAxioms(I).count());
+        }
+    }
+}
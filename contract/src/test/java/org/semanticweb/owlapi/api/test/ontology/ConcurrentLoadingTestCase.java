@@ -0,0 +1,255 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.api.test.ontology;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asUnorderedSet;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.MissingImportHandlingStrategy;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderListener;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.OWLRuntimeException;
+import org.semanticweb.owlapi.model.UnloadableImportException;
+import org.semanticweb.owlapi.util.SimpleIRIMapper;
+
+class ConcurrentLoadingTestCase extends TestBase {
+
+    private static final String NS = "urn:test:load:";
+    private static final String RDF_ROOT = "<?xml version=\"1.0\"?>\n"
+        + "<rdf:RDF xmlns:rdf=\"http://www.w3.org/1999/02/22-rdf-syntax-ns#\"\n"
+        + " xmlns:owl=\"http://www.w3.org/2002/07/owl#\" xmlns:t=\"urn:test:terms#\">\n"
+        + "<owl:Ontology rdf:about=\"" + NS + "rdfroot\">\n"
+        + "<owl:imports rdf:resource=\"" + NS + "vocabulary\"/>\n</owl:Ontology>\n";
+    private final OWLOntologyManager manager = OWLManager.createConcurrentOWLOntologyManager();
+
+    private void document(String name, String... imported) throws IOException {
+        StringBuilder b = new StringBuilder("Ontology(<").append(NS).append(name).append(">\n");
+        for (String i : imported) {
+            b.append("Import(<").append(NS).append(i).append(">)\n");
+        }
+        for (int i = 0; i < 100; i++) {
+            b.append("SubClassOf(<urn:test:c#").append(name).append(i).append("> <urn:test:c#")
+                .append(name).append(i + 1).append(">)\n");
+        }
+        b.append(')');
+        File f = new File(folder, name + ".ofn");
+        Files.write(f.toPath(), b.toString().getBytes(StandardCharsets.UTF_8));
+        manager.getIRIMappers().add(new SimpleIRIMapper(IRI.create(NS + name), IRI.create(f)));
+    }
+
+    private List<OWLOntology> loadAll(List<String> names) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<OWLOntology>> futures = new ArrayList<>();
+            for (String name : names) {
+                futures.add(executor.submit(() -> manager.loadOntology(IRI.create(NS + name))));
+            }
+            List<OWLOntology> loaded = new ArrayList<>();
+            for (Future<OWLOntology> f : futures) {
+                loaded.add(f.get(60, TimeUnit.SECONDS));
+            }
+            return loaded;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void shouldLoadIndependentDocumentsConcurrently() throws Exception {
+        document("shared");
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            document("o" + i, "shared");
+            names.add("o" + i);
+            names.add("o" + i);
+        }
+        AtomicInteger started = new AtomicInteger();
+        AtomicInteger finished = new AtomicInteger();
+        manager.addOntologyLoaderListener(new OWLOntologyLoaderListener() {
+
+            @Override
+            public void startedLoadingOntology(LoadingStartedEvent event) {
+                started.incrementAndGet();
+            }
+
+            @Override
+            public void finishedLoadingOntology(LoadingFinishedEvent event) {
+                finished.incrementAndGet();
+            }
+        });
+        List<OWLOntology> loaded = loadAll(names);
+        assertEquals(11, manager.getOntologies().size());
+        assertEquals(started.get(), finished.get());
+        for (OWLOntology o : loaded) {
+            assertEquals(100, o.getLogicalAxiomCount());
+            assertEquals(2, o.importsClosure().count());
+        }
+    }
+
+    @Test
+    void shouldLoadCyclicImportsFromDifferentThreads() throws Exception {
+        document("a", "b");
+        document("b", "a");
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            names.add("a");
+            names.add("b");
+        }
+        loadAll(names);
+        assertEquals(2, manager.getOntologies().size());
+        OWLOntology a = manager.getOntology(IRI.create(NS + "a"));
+        assertNotNull(a);
+        assertEquals(2, a.importsClosure().count());
+        // an import skipped because of the cycle is linked when the other load completes
+        OWLOntology b = manager.getOntology(IRI.create(NS + "b"));
+        assertNotNull(b);
+        assertEquals(2, b.importsClosure().count());
+    }
+
+    private List<String> importsTree() throws IOException {
+        document("leaf");
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            document("i" + i, "leaf", "root");
+            names.add("i" + i);
+        }
+        return names;
+    }
+
+    @Test
+    void shouldLoadImportsClosureConcurrently() throws Exception {
+        document("root", importsTree().toArray(new String[0]));
+        manager.setOntologyLoaderConfiguration(
+            new OWLOntologyLoaderConfiguration().setImportsLoadingThreads(4));
+        OWLOntology root = manager.loadOntology(IRI.create(NS + "root"));
+        assertEquals(14, manager.getOntologies().size());
+        assertEquals(14, root.importsClosure().count());
+        assertEquals(14 * 100,
+            root.importsClosure().mapToInt(OWLOntology::getLogicalAxiomCount).sum());
+    }
+
+    @Test
+    void shouldThrowOnMissingConcurrentImport() throws Exception {
+        List<String> names = importsTree();
+        names.add("missing");
+        document("root", names.toArray(new String[0]));
+        manager.getIRIMappers().add(new SimpleIRIMapper(IRI.create(NS + "missing"),
+            IRI.create(new File(folder, "missing.ofn"))));
+        manager.setOntologyLoaderConfiguration(
+            new OWLOntologyLoaderConfiguration().setImportsLoadingThreads(4));
+        assertThrows(UnloadableImportException.class,
+            () -> manager.loadOntology(IRI.create(NS + "root")));
+        assertNull(manager.getOntology(IRI.create(NS + "root")));
+    }
+
+    @Test
+    void shouldReportMissingConcurrentImportSilently() throws Exception {
+        List<String> names = importsTree();
+        names.add("missing");
+        document("root", names.toArray(new String[0]));
+        manager.getIRIMappers().add(new SimpleIRIMapper(IRI.create(NS + "missing"),
+            IRI.create(new File(folder, "missing.ofn"))));
+        manager.setOntologyLoaderConfiguration(new OWLOntologyLoaderConfiguration()
+            .setImportsLoadingThreads(4)
+            .setMissingImportHandlingStrategy(MissingImportHandlingStrategy.SILENT));
+        AtomicInteger missing = new AtomicInteger();
+        manager.addMissingImportListener(e -> missing.incrementAndGet());
+        OWLOntology root = manager.loadOntology(IRI.create(NS + "root"));
+        assertEquals(1, missing.get());
+        assertEquals(14, root.importsClosure().count());
+    }
+
+    private OWLOntology loadRDFRoot(int threads) throws Exception {
+        StringBuilder vocabulary = new StringBuilder("Ontology(<").append(NS)
+            .append("vocabulary>\nDeclaration(ObjectProperty(<urn:test:terms#p>))\n");
+        StringBuilder root = new StringBuilder(RDF_ROOT);
+        for (int i = 0; i < 500; i++) {
+            vocabulary.append("SubClassOf(<urn:test:terms#C").append(i)
+                .append("> <urn:test:terms#C").append(i + 1).append(">)\n");
+            root.append("<owl:NamedIndividual rdf:about=\"urn:test:terms#i").append(i)
+                .append("\"><t:p rdf:resource=\"urn:test:terms#j").append(i)
+                .append("\"/></owl:NamedIndividual>\n");
+        }
+        OWLOntologyManager m = OWLManager.createConcurrentOWLOntologyManager();
+        map(m, "vocabulary", vocabulary.append(')').toString());
+        map(m, "rdfroot", root.append("</rdf:RDF>").toString());
+        m.setOntologyLoaderConfiguration(
+            new OWLOntologyLoaderConfiguration().setImportsLoadingThreads(threads));
+        return m.loadOntology(IRI.create(NS + "rdfroot"));
+    }
+
+    private void map(OWLOntologyManager m, String name, String content) throws IOException {
+        File f = new File(folder, name + ".owl");
+        Files.write(f.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        m.getIRIMappers().add(new SimpleIRIMapper(IRI.create(NS + name), IRI.create(f)));
+    }
+
+    @Test
+    void shouldTypeImportedPropertiesInRDFWhenLoadingImportsConcurrently() throws Exception {
+        OWLOntology serial = loadRDFRoot(1);
+        OWLOntology concurrent = loadRDFRoot(4);
+        assertEquals(500, serial.axioms(AxiomType.OBJECT_PROPERTY_ASSERTION).count());
+        assertEquals(asUnorderedSet(serial.axioms()), asUnorderedSet(concurrent.axioms()));
+    }
+
+    @Test
+    void shouldLoadImportsSeriallyWhenHoldingManagerLock() throws Exception {
+        document("root", importsTree().toArray(new String[0]));
+        manager.setOntologyLoaderConfiguration(
+            new OWLOntologyLoaderConfiguration().setImportsLoadingThreads(4));
+        OWLOntology trigger = manager.createOntology(IRI.create(NS + "trigger"));
+        List<OWLOntology> loaded = new ArrayList<>();
+        AtomicBoolean triggered = new AtomicBoolean();
+        // change listeners are called while the manager write lock is held
+        manager.addOntologyChangeListener(changes -> {
+            if (triggered.getAndSet(true)) {
+                return;
+            }
+            try {
+                loaded.add(manager.loadOntology(IRI.create(NS + "root")));
+            } catch (OWLOntologyCreationException e) {
+                throw new OWLRuntimeException(e);
+            }
+        });
+        assertTimeoutPreemptively(Duration.ofSeconds(60),
+            () -> trigger.add(Declaration(Class(IRI.create(NS + "C")))));
+        assertEquals(1, loaded.size());
+        assertEquals(14, loaded.get(0).importsClosure().count());
+    }
+}
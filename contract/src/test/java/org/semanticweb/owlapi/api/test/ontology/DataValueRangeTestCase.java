@@ -0,0 +1,116 @@
+package org.semanticweb.owlapi.api.test.ontology;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
+import static org.semanticweb.owlapi.util.OrderedLiteralValue.highest;
+import static org.semanticweb.owlapi.util.OrderedLiteralValue.lowest;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.model.OWLDataPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.util.OrderedLiteralValue;
+import org.semanticweb.owlapi.util.OrderedLiteralValue.Space;
+import org.semanticweb.owlapi.vocab.OWL2Datatype;
+
+class DataValueRangeTestCase extends TestBase {
+
+    private final OWLDataPropertyAssertionAxiom age42 =
+        DataPropertyAssertion(DP, I, Literal("42", OWL2Datatype.XSD_INTEGER));
+    private final OWLDataPropertyAssertionAxiom age40 =
+        DataPropertyAssertion(DP, J, Literal("40.0", OWL2Datatype.XSD_DECIMAL));
+    private final OWLDataPropertyAssertionAxiom age41 =
+        DataPropertyAssertion(DP, k, Literal("4.1E1", OWL2Datatype.XSD_DOUBLE));
+    private final OWLDataPropertyAssertionAxiom notANumber =
+        DataPropertyAssertion(DP, l, Literal("NaN", OWL2Datatype.XSD_DOUBLE));
+    private final OWLDataPropertyAssertionAxiom text =
+        DataPropertyAssertion(DP, indA, Literal("old"));
+    private final OWLDataPropertyAssertionAxiom otherProperty =
+        DataPropertyAssertion(DQ, I, Literal("45", OWL2Datatype.XSD_INT));
+
+    private static OrderedLiteralValue number(int i) {
+        return OrderedLiteralValue.number(BigDecimal.valueOf(i));
+    }
+
+    private OWLOntology ages() {
+        OWLOntology o = create("ages");
+        o.add(age42, age40, age41, notANumber, text, otherProperty);
+        return o;
+    }
+
+    @Test
+    void shouldFindValuesInRange() {
+        OWLOntology o = ages();
+        assertEquals(Arrays.asList(age41, age42), asList(o.dataPropertyAssertionAxiomsInRange(DP,
+            number(40), false, highest(Space.NUMBER), true)));
+        assertEquals(Arrays.asList(age40, age41), asList(o.dataPropertyAssertionAxiomsInRange(DP,
+            lowest(Space.NUMBER), true, number(41), true)));
+        assertEquals(0, o.dataPropertyAssertionAxiomsInRange(DP, number(43), true, number(40), true)
+            .count());
+        assertEquals(0, o.dataPropertyAssertionAxiomsInRange(DP, lowest(Space.DATE_TIME), true,
+            highest(Space.DATE_TIME), true).count());
+    }
+
+    @Test
+    void shouldReturnTopValues() {
+        OWLOntology o = ages();
+        assertEquals(Arrays.asList(age42, age41),
+            o.dataPropertyAssertionAxiomsSortedByValue(DP, Space.NUMBER, true).limit(2)
+                .collect(Collectors.toList()));
+        assertEquals(Arrays.asList(age40, age41, age42),
+            asList(o.dataPropertyAssertionAxiomsSortedByValue(DP, Space.NUMBER, false)));
+    }
+
+    @Test
+    void shouldFollowChangesAfterFirstQuery() {
+        OWLOntology o = ages();
+        assertEquals(3, o.dataPropertyAssertionAxiomsSortedByValue(DP, Space.NUMBER, true).count());
+        OWLDataPropertyAssertionAxiom age50 =
+            DataPropertyAssertion(DP, l, Literal("50", OWL2Datatype.XSD_SHORT));
+        o.add(age50);
+        o.remove(age42);
+        assertEquals(Arrays.asList(age50, age41, age40),
+            asList(o.dataPropertyAssertionAxiomsSortedByValue(DP, Space.NUMBER, true)));
+        assertFalse(o.dataPropertyAssertionAxiomsInRange(DP, number(42), true, number(42), true)
+            .findAny().isPresent());
+    }
+
+    @Test
+    void shouldCompareDateTimesAcrossTimezones() {
+        OWLOntology o = create("dates");
+        OWLDataPropertyAssertionAxiom early = DataPropertyAssertion(DR, I,
+            Literal("2020-01-01T10:00:00+02:00", OWL2Datatype.XSD_DATE_TIME));
+        OWLDataPropertyAssertionAxiom late = DataPropertyAssertion(DR, J,
+            Literal("2020-01-01T09:00:00", OWL2Datatype.XSD_DATE_TIME));
+        o.add(late, early);
+        OrderedLiteralValue from =
+            OrderedLiteralValue.instant(Instant.parse("2020-01-01T08:30:00Z"));
+        assertEquals(Arrays.asList(late), asList(o.dataPropertyAssertionAxiomsInRange(DR, from,
+            true, highest(Space.DATE_TIME), true)));
+        assertEquals(Arrays.asList(early, late),
+            asList(o.dataPropertyAssertionAxiomsSortedByValue(DR, Space.DATE_TIME, false)));
+    }
+
+    @Test
+    void shouldRejectBoundsInDifferentSpaces() {
+        OWLOntology o = ages();
+        assertThrows(IllegalArgumentException.class, () -> o.dataPropertyAssertionAxiomsInRange(DP,
+            number(1), true, highest(Space.DATE_TIME), true));
+    }
+
+    @Test
+    void shouldCompareNumbersByValue() {
+        assertEquals(OrderedLiteralValue.of(Literal("40", OWL2Datatype.XSD_INTEGER)),
+            OrderedLiteralValue.of(Literal("4E1", OWL2Datatype.XSD_DOUBLE)));
+        assertEquals(OrderedLiteralValue.of(Literal("40.00", OWL2Datatype.XSD_DECIMAL)).hashCode(),
+            OrderedLiteralValue.of(Literal("40", OWL2Datatype.XSD_INT)).hashCode());
+        assertFalse(OrderedLiteralValue.of(Literal("forty", OWL2Datatype.XSD_INTEGER)).isPresent());
+    }
+}
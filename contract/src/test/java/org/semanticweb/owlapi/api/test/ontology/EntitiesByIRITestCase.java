@@ -0,0 +1,57 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.api.test.ontology;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+
+class EntitiesByIRITestCase extends TestBase {
+
+    private final OWLObjectProperty punned = ObjectProperty(A.getIRI());
+
+    @Test
+    void shouldFindPunnedEntitiesByIRI() {
+        OWLOntology o = create("byIRI");
+        o.add(SubClassOf(A, B), ObjectPropertyAssertion(punned, I, J), ClassAssertion(A, I));
+        assertEquals(Arrays.asList(A, punned), asList(o.entitiesInSignature(A.getIRI())));
+        assertTrue(o.containsClassInSignature(A.getIRI()));
+        assertTrue(o.containsObjectPropertyInSignature(A.getIRI()));
+        assertFalse(o.containsDataPropertyInSignature(A.getIRI()));
+        assertTrue(o.containsEntityInSignature(I.getIRI()));
+        assertFalse(o.containsEntityInSignature(P.getIRI()));
+    }
+
+    @Test
+    void shouldDropEntitiesWhenLastReferenceIsRemoved() {
+        OWLOntology o = create("byIRIRemove");
+        o.add(SubClassOf(A, B), ClassAssertion(A, I), ObjectPropertyAssertion(punned, I, J));
+        o.remove(SubClassOf(A, B));
+        assertTrue(o.containsClassInSignature(A.getIRI()));
+        assertFalse(o.containsClassInSignature(B.getIRI()));
+        o.remove(ClassAssertion(A, I));
+        assertFalse(o.containsClassInSignature(A.getIRI()));
+        assertEquals(Arrays.asList(punned), asList(o.entitiesInSignature(A.getIRI())));
+        o.remove(ObjectPropertyAssertion(punned, I, J));
+        assertEquals(0, o.entitiesInSignature(A.getIRI()).count());
+        assertFalse(o.containsEntityInSignature(I.getIRI()));
+    }
+}
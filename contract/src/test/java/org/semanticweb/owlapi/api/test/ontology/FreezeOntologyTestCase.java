@@ -0,0 +1,89 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.api.test.ontology;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asUnorderedSet;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.model.AddImport;
+import org.semanticweb.owlapi.model.EntityType;
+import org.semanticweb.owlapi.model.ImmutableOWLOntologyChangeException;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.parameters.Imports;
+
+class FreezeOntologyTestCase extends TestBase {
+
+    @Test
+    void shouldAnswerQueriesLikeTheOriginal() {
+        OWLOntology o = create("freeze");
+        o.add(SubClassOf(A, B), SubClassOf(A, C), EquivalentClasses(B, C), Declaration(A),
+            ClassAssertion(A, I), ObjectPropertyAssertion(P, I, J));
+        OWLOntology frozen = m.freezeOntology(o);
+        assertTrue(m.contains(frozen));
+        assertEquals(6, frozen.getAxiomCount());
+        assertEquals(asUnorderedSet(frozen.subClassAxiomsForSubClass(A)),
+            set(SubClassOf(A, B), SubClassOf(A, C)));
+        assertEquals(asUnorderedSet(frozen.equivalentClassesAxioms(B)),
+            set(EquivalentClasses(B, C)));
+        assertEquals(asUnorderedSet(frozen.classAssertionAxioms(I)), set(ClassAssertion(A, I)));
+        assertTrue(frozen.isDeclared(A));
+        assertTrue(frozen.containsAxiom(SubClassOf(A, B)));
+        assertFalse(frozen.containsAxiom(SubClassOf(B, A)));
+        assertTrue(frozen.containsEntityInSignature(P));
+        assertSame(frozen, m.freezeOntology(frozen));
+    }
+
+    @Test
+    void shouldRejectChanges() {
+        OWLOntology frozen = m.freezeOntology(create("frozen"));
+        assertThrows(ImmutableOWLOntologyChangeException.class,
+            () -> m.addAxiom(frozen, SubClassOf(A, B)));
+    }
+
+    @Test
+    void shouldBuildQueryIndexesAndDetachOriginal() {
+        OWLOntology o = create("indexes");
+        o.add(SubClassOf(A, B), AnnotationAssertion(RDFSLabel(), A.getIRI(), Literal("Apple")));
+        OWLOntology frozen = m.freezeOntology(o);
+        assertEquals(set(AnnotationAssertion(RDFSLabel(), A.getIRI(), Literal("Apple"))),
+            asUnorderedSet(
+                frozen.annotationAssertionAxiomsByValueIgnoreCase(RDFSLabel(), "apple")));
+        assertEquals(set(A, B), asUnorderedSet(
+            frozen.entitiesInSignatureWithIRIPrefix(EntityType.CLASS, A.getIRI().getNamespace())));
+        // the original keeps its content, but is no longer managed
+        assertEquals(2, o.getAxiomCount());
+        assertThrows(IllegalStateException.class, o::getOWLOntologyManager);
+    }
+
+    @Test
+    void shouldFreezeImportsClosure() {
+        OWLOntology imported = create("frozenImported");
+        imported.add(SubClassOf(B, C));
+        OWLOntology o = create("frozenImporting");
+        o.applyChange(new AddImport(o,
+            ImportsDeclaration(imported.getOntologyID().getOntologyIRI().get())));
+        o.add(SubClassOf(A, B));
+        OWLOntology frozen = m.freezeOntology(o);
+        imported.add(SubClassOf(B, D));
+        assertEquals(set(SubClassOf(A, B), SubClassOf(B, C)),
+            asUnorderedSet(frozen.axioms(Imports.INCLUDED)));
+        assertTrue(frozen.importsClosure().noneMatch(x -> x == imported));
+        assertSame(imported, m.getOntology(imported.getOntologyID()));
+    }
+}
@@ -0,0 +1,99 @@
+package org.semanticweb.owlapi.api.test.ontology;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.model.AddOntologyAnnotation;
+import org.semanticweb.owlapi.model.EntityType;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDatatype;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.util.OWLEntityRenamer;
+
+class IRIPrefixIndexTestCase extends TestBase {
+
+    private static final String OBO = "http://purl.obolibrary.org/obo/";
+    private final OWLClass go2 = Class(iri(OBO, "GO_0000002"));
+    private final OWLClass go1 = Class(iri(OBO, "GO_0000001"));
+    private final OWLClass go10 = Class(iri(OBO, "GO_0000010"));
+    private final OWLClass uberon = Class(iri(OBO, "UBERON_0000001"));
+    private final OWLObjectProperty partOf = ObjectProperty(iri(OBO, "GO_part_of"));
+
+    private OWLOntology obo() {
+        OWLOntology o = create("obo");
+        o.add(SubClassOf(go2, go1), SubClassOf(go10, go1), SubClassOf(uberon, A),
+            SubObjectPropertyOf(partOf, partOf));
+        return o;
+    }
+
+    @Test
+    void shouldScanEntitiesByPrefix() {
+        OWLOntology o = obo();
+        assertEquals(Arrays.asList(go1, go2, go10),
+            asList(o.entitiesInSignatureWithIRIPrefix(EntityType.CLASS, OBO + "GO_")));
+        assertEquals(Arrays.asList(go1, go2),
+            asList(o.entitiesInSignatureWithIRIPrefix(EntityType.CLASS, OBO + "GO_000000")));
+        assertEquals(3, o.countEntitiesInSignatureWithIRIPrefix(EntityType.CLASS, OBO + "GO_"));
+        assertEquals(4, o.countEntitiesInSignatureWithIRIPrefix(EntityType.CLASS, OBO));
+        assertEquals(1,
+            o.countEntitiesInSignatureWithIRIPrefix(EntityType.OBJECT_PROPERTY, OBO + "GO_"));
+        assertEquals(0, o.countEntitiesInSignatureWithIRIPrefix(EntityType.CLASS, OBO + "GO_1"));
+    }
+
+    @Test
+    void shouldCountEntitiesByNamespace() {
+        OWLOntology o = obo();
+        Map<String, Integer> expected = new HashMap<>();
+        expected.put(OBO, Integer.valueOf(4));
+        expected.put(A.getIRI().getNamespace(), Integer.valueOf(1));
+        assertEquals(expected, o.entityCountsByNamespace(EntityType.CLASS));
+        assertEquals(Collections.emptyMap(), o.entityCountsByNamespace(EntityType.DATATYPE));
+    }
+
+    @Test
+    void shouldIncludeDatatypesOfOntologyAnnotations() {
+        OWLOntology o = obo();
+        OWLDatatype date = Datatype(iri(OBO, "date"));
+        m.applyChange(
+            new AddOntologyAnnotation(o, Annotation(RDFSComment(), Literal("2020-01-01", date))));
+        assertEquals(Arrays.asList(date),
+            asList(o.entitiesInSignatureWithIRIPrefix(EntityType.DATATYPE, OBO)));
+        assertEquals(1, o.countEntitiesInSignatureWithIRIPrefix(EntityType.DATATYPE, OBO));
+        assertEquals(Integer.valueOf(1), o.entityCountsByNamespace(EntityType.DATATYPE).get(OBO));
+    }
+
+    @Test
+    void shouldFollowChangesAfterFirstQuery() {
+        OWLOntology o = obo();
+        assertEquals(3, o.countEntitiesInSignatureWithIRIPrefix(EntityType.CLASS, OBO + "GO_"));
+        OWLClass go3 = Class(iri(OBO, "GO_0000003"));
+        o.remove(SubClassOf(go2, go1));
+        o.add(ClassAssertion(go3, I));
+        assertEquals(Arrays.asList(go1, go3, go10),
+            asList(o.entitiesInSignatureWithIRIPrefix(EntityType.CLASS, OBO + "GO_")));
+        assertEquals(Integer.valueOf(4), o.entityCountsByNamespace(EntityType.CLASS).get(OBO));
+    }
+
+    @Test
+    void shouldRenameEntitiesByPrefix() {
+        OWLOntology o = obo();
+        String target = "urn:go#";
+        o.getOWLOntologyManager().applyChanges(new OWLEntityRenamer(m, Collections.singleton(o))
+            .changeIRIPrefix(OBO + "GO_", target + "GO"));
+        assertEquals(
+            Arrays.asList(Class(iri(target, "GO0000001")), Class(iri(target, "GO0000002")),
+                Class(iri(target, "GO0000010"))),
+            asList(o.entitiesInSignatureWithIRIPrefix(EntityType.CLASS, target)));
+        assertEquals(Arrays.asList(uberon),
+            asList(o.entitiesInSignatureWithIRIPrefix(EntityType.CLASS, OBO)));
+        assertEquals(0, o.countEntitiesInSignatureWithIRIPrefix(EntityType.OBJECT_PROPERTY, OBO));
+    }
+}
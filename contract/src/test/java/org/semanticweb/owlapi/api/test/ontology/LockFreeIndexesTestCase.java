@@ -0,0 +1,92 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.api.test.ontology;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asUnorderedSet;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.parameters.ConfigurationOptions;
+
+class LockFreeIndexesTestCase extends TestBase {
+
+    private static final String PROPERTY =
+        "org.semanticweb.owlapi.model.parameters.ConfigurationOptions."
+            + ConfigurationOptions.LOCK_FREE_INDEXES.name();
+
+    @BeforeEach
+    void setLockFree() {
+        System.setProperty(PROPERTY, "true");
+    }
+
+    @AfterEach
+    void clearLockFree() {
+        System.clearProperty(PROPERTY);
+    }
+
+    @Test
+    void shouldIndexAndRemoveAxioms() {
+        OWLOntology o = create("lockfree");
+        o.add(SubClassOf(A, B), SubClassOf(A, C), SubClassOf(B, C), Declaration(A));
+        assertEquals(asUnorderedSet(o.subClassAxiomsForSubClass(A)),
+            set(SubClassOf(A, B), SubClassOf(A, C)));
+        assertTrue(o.isDeclared(A));
+        o.remove(SubClassOf(A, C));
+        assertEquals(asUnorderedSet(o.subClassAxiomsForSubClass(A)), set(SubClassOf(A, B)));
+        o.remove(SubClassOf(A, B));
+        assertFalse(o.subClassAxiomsForSubClass(A).findAny().isPresent());
+    }
+
+    @Test
+    void shouldReadWhileWriting() throws Exception {
+        OWLOntology o = create("lockfreeconcurrent");
+        List<OWLAxiom> axioms = new ArrayList<>();
+        for (int index = 0; index < 2000; index++) {
+            axioms.add(SubClassOf(Class(iri("urn:test:lockfree#", "C" + index)), A));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> readers = new ArrayList<>();
+            for (int reader = 0; reader < 3; reader++) {
+                readers.add(executor.submit(() -> {
+                    for (int round = 0; round < 200; round++) {
+                        o.subClassAxiomsForSuperClass(A)
+                            .forEach(ax -> assertEquals(A, ax.getSuperClass()));
+                    }
+                }));
+            }
+            executor.submit(() -> axioms.forEach(o::addAxiom)).get();
+            for (Future<?> f : readers) {
+                f.get();
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+        assertEquals(2000, o.subClassAxiomsForSuperClass(A).count());
+    }
+}
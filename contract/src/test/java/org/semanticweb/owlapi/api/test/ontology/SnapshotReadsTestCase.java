@@ -0,0 +1,98 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.api.test.ontology;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asUnorderedSet;
+
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.model.AddImport;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
+import org.semanticweb.owlapi.model.parameters.AxiomAnnotations;
+import org.semanticweb.owlapi.model.parameters.Imports;
+
+import uk.ac.manchester.cs.owl.owlapi.concurrent.ConcurrentOWLOntologyImpl;
+
+class SnapshotReadsTestCase extends TestBase {
+
+    @Test
+    void shouldKeepSnapshotStableAcrossChanges() {
+        ConcurrentOWLOntologyImpl o = (ConcurrentOWLOntologyImpl) create("snapshot");
+        o.add(SubClassOf(A, B), Declaration(A));
+        Stream<OWLSubClassOfAxiom> pending = o.snapshot().subClassAxiomsForSubClass(A);
+        Stream<OWLAxiom> all = o.snapshot().axioms();
+        assertSame(o.snapshot(), o.snapshot());
+        o.add(SubClassOf(A, C));
+        o.remove(Declaration(A));
+        assertEquals(set(SubClassOf(A, B)), asUnorderedSet(pending));
+        assertEquals(set(SubClassOf(A, B), Declaration(A)), asUnorderedSet(all));
+        assertEquals(set(SubClassOf(A, B), SubClassOf(A, C)),
+            asUnorderedSet(o.snapshot().subClassAxiomsForSubClass(A)));
+        assertEquals(2, o.snapshot().getAxiomCount());
+    }
+
+    @Test
+    void shouldPublishNewVersionOnChange() {
+        ConcurrentOWLOntologyImpl o = (ConcurrentOWLOntologyImpl) create("versions");
+        o.add(SubClassOf(A, B));
+        Object first = o.snapshot();
+        o.add(SubClassOf(B, C));
+        assertNotSame(first, o.snapshot());
+    }
+
+    @Test
+    void shouldFreezeImportsClosureWithOntology() {
+        ConcurrentOWLOntologyImpl o = (ConcurrentOWLOntologyImpl) create("importing");
+        OWLOntology imported = create("imported");
+        imported.add(SubClassOf(B, C));
+        o.applyChange(new AddImport(o,
+            ImportsDeclaration(imported.getOntologyID().getOntologyIRI().get())));
+        o.add(SubClassOf(A, B));
+        OWLOntology snapshot = o.snapshot();
+        imported.add(SubClassOf(B, D));
+        assertEquals(set(SubClassOf(A, B), SubClassOf(B, C)),
+            asUnorderedSet(snapshot.axioms(Imports.INCLUDED)));
+        assertEquals(2, snapshot.importsClosure().count());
+        assertTrue(snapshot.importsClosure().noneMatch(x -> x == o || x == imported));
+        assertEquals(1, snapshot.directImports().filter(x -> x.getAxiomCount() == 1).count());
+        assertTrue(snapshot.containsAxiom(SubClassOf(B, C), Imports.INCLUDED,
+            AxiomAnnotations.CONSIDER_AXIOM_ANNOTATIONS));
+    }
+
+    @Test
+    void shouldPublishNewVersionOnChangeToImportedOntology() {
+        ConcurrentOWLOntologyImpl o = (ConcurrentOWLOntologyImpl) create("importingChanged");
+        OWLOntology imported = create("importedChanged");
+        imported.add(SubClassOf(B, C));
+        o.applyChange(new AddImport(o,
+            ImportsDeclaration(imported.getOntologyID().getOntologyIRI().get())));
+        o.add(SubClassOf(A, B));
+        OWLOntology first = o.snapshot();
+        assertSame(first, o.snapshot());
+        imported.add(SubClassOf(B, D));
+        OWLOntology second = o.snapshot();
+        assertNotSame(first, second);
+        assertEquals(set(SubClassOf(A, B), SubClassOf(B, C), SubClassOf(B, D)),
+            asUnorderedSet(second.axioms(Imports.INCLUDED)));
+        assertEquals(set(SubClassOf(A, B), SubClassOf(B, C)),
+            asUnorderedSet(first.axioms(Imports.INCLUDED)));
+    }
+}
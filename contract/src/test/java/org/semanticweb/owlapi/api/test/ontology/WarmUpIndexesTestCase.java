@@ -0,0 +1,78 @@
+package org.semanticweb.owlapi.api.test.ontology;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asUnorderedSet;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.io.StringDocumentSource;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+
+import uk.ac.manchester.cs.owl.owlapi.HasIndexWarmUp;
+
+class WarmUpIndexesTestCase extends TestBase {
+
+    private static final String NS = "urn:test:warm#";
+    private static final String DOCUMENT = "Prefix(:=<" + NS + ">)\nOntology(<urn:test:warm>\n"
+        + "SubClassOf(:A :B) SubClassOf(:B :C) EquivalentClasses(:A :D) DisjointClasses(:C :E)\n"
+        + "ClassAssertion(:A :i) ObjectPropertyAssertion(:p :i :j) ObjectPropertyDomain(:p :A)\n"
+        + "AnnotationAssertion(rdfs:label :A \"a\"))";
+    private final OWLClass a = Class(iri(NS, "A"));
+    private final OWLClass c = Class(iri(NS, "C"));
+    private final OWLObjectProperty p = ObjectProperty(iri(NS, "p"));
+    private final OWLNamedIndividual i = NamedIndividual(iri(NS, "i"));
+
+    private OWLOntology load(OWLOntologyLoaderConfiguration configuration) {
+        return loadFrom(new StringDocumentSource(DOCUMENT), configuration);
+    }
+
+    private static boolean built(OWLOntology o, AxiomType<?> type) {
+        return ((HasIndexWarmUp) o).isIndexBuilt(type);
+    }
+
+    @Test
+    void shouldBuildIndexesOnLoadWithSameResultsAsLazyPath() {
+        OWLOntology warm = load(new OWLOntologyLoaderConfiguration().setWarmUpIndexes(true));
+        OWLOntology lazy = load(new OWLOntologyLoaderConfiguration());
+        for (AxiomType<?> type : AxiomType.AXIOM_TYPES) {
+            assertTrue(built(warm, type), type.getName());
+        }
+        assertFalse(built(lazy, AxiomType.OBJECT_PROPERTY_DOMAIN));
+        assertEquals(asUnorderedSet(lazy.objectPropertyDomainAxioms(p)),
+            asUnorderedSet(warm.objectPropertyDomainAxioms(p)));
+        assertTrue(built(lazy, AxiomType.OBJECT_PROPERTY_DOMAIN));
+        assertEquals(asUnorderedSet(lazy.subClassAxiomsForSubClass(a)),
+            asUnorderedSet(warm.subClassAxiomsForSubClass(a)));
+        assertEquals(asUnorderedSet(lazy.subClassAxiomsForSuperClass(c)),
+            asUnorderedSet(warm.subClassAxiomsForSuperClass(c)));
+        assertEquals(asUnorderedSet(lazy.axioms(a)), asUnorderedSet(warm.axioms(a)));
+        assertEquals(asUnorderedSet(lazy.disjointClassesAxioms(c)),
+            asUnorderedSet(warm.disjointClassesAxioms(c)));
+        assertEquals(asUnorderedSet(lazy.classAssertionAxioms(i)),
+            asUnorderedSet(warm.classAssertionAxioms(i)));
+        assertEquals(asUnorderedSet(lazy.objectPropertyAssertionAxioms(i)),
+            asUnorderedSet(warm.objectPropertyAssertionAxioms(i)));
+        assertEquals(asUnorderedSet(lazy.annotationAssertionAxioms(a.getIRI())),
+            asUnorderedSet(warm.annotationAssertionAxioms(a.getIRI())));
+        assertEquals(asUnorderedSet(lazy.axioms()), asUnorderedSet(warm.axioms()));
+    }
+
+    @Test
+    void shouldBuildOnlyConfiguredIndexes() {
+        OWLOntology o = load(new OWLOntologyLoaderConfiguration().setWarmUpIndexes(true)
+            .setWarmUpAxiomTypes(Arrays.asList(AxiomType.SUBCLASS_OF, AxiomType.CLASS_ASSERTION)));
+        assertTrue(built(o, AxiomType.SUBCLASS_OF));
+        assertTrue(built(o, AxiomType.CLASS_ASSERTION));
+        assertFalse(built(o, AxiomType.OBJECT_PROPERTY_DOMAIN));
+        assertFalse(built(o, AxiomType.OBJECT_PROPERTY_ASSERTION));
+    }
+}
@@ -0,0 +1,86 @@
+package org.semanticweb.owlapi.api.test.searcher;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.model.OWLAnnotationAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLAnnotationSubject;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.search.AnnotationTextIndex;
+import org.semanticweb.owlapi.search.AnnotationTextIndex.Match;
+
+class AnnotationTextIndexTestCase extends TestBase {
+
+    private final OWLAnnotationAssertionAxiom arrest =
+        AnnotationAssertion(RDFSLabel(), A.getIRI(), Literal("Cardiac arrest", "en"));
+    private final OWLAnnotationAssertionAxiom cardiology =
+        AnnotationAssertion(RDFSLabel(), B.getIRI(), Literal("Cardiology"));
+    private final OWLAnnotationAssertionAxiom failure =
+        AnnotationAssertion(RDFSLabel(), C.getIRI(), Literal("heart failure (disorder)"));
+    private final OWLAnnotationAssertionAxiom synonym =
+        AnnotationAssertion(hasDbXref, D.getIRI(), Literal("cardiac-arrest"));
+
+    private OWLOntology ontology() {
+        OWLOntology o = create("text");
+        o.add(arrest, cardiology, failure, synonym);
+        return o;
+    }
+
+    private static List<OWLAnnotationSubject> subjects(List<Match> matches) {
+        return matches.stream().map(Match::getSubject).collect(Collectors.toList());
+    }
+
+    @Test
+    void shouldCompletePrefixes() {
+        AnnotationTextIndex index = new AnnotationTextIndex(ontology());
+        assertEquals(4, index.size());
+        // shorter values rank first; ties are sorted by value
+        assertEquals(Arrays.asList(B.getIRI(), A.getIRI(), D.getIRI()),
+            subjects(index.prefix("Cardi", 10)));
+        assertEquals(Arrays.asList(A.getIRI(), D.getIRI()), subjects(index.prefix("car arr", 10)));
+        assertEquals(Collections.singletonList(B.getIRI()), subjects(index.prefix("car", 1)));
+        assertTrue(index.prefix("arrhythmia", 10).isEmpty());
+    }
+
+    @Test
+    void shouldFindSubstrings() {
+        AnnotationTextIndex index = new AnnotationTextIndex(ontology());
+        assertEquals(Arrays.asList(C.getIRI()), subjects(index.substring("FAIL", 10)));
+        assertEquals(Arrays.asList(C.getIRI()), subjects(index.substring("rt fa", 10)));
+        assertEquals(Arrays.asList(B.getIRI()), subjects(index.substring("olo", 10)));
+        assertTrue(index.substring("cardiacs", 10).isEmpty());
+    }
+
+    @Test
+    void shouldFindMisspelledWords() {
+        AnnotationTextIndex index = new AnnotationTextIndex(ontology());
+        assertEquals(Arrays.asList(B.getIRI()), subjects(index.fuzzy("cardiolgy", 1, 10)));
+        assertEquals(Arrays.asList(C.getIRI()), subjects(index.fuzzy("hart", 1, 10)));
+        assertTrue(index.fuzzy("hart", 0, 10).isEmpty());
+        List<Match> matches = index.fuzzy("cardiak arest", 2, 10);
+        assertEquals(Arrays.asList(A.getIRI(), D.getIRI()), subjects(matches));
+        assertEquals(1D / 3, matches.get(0).getScore(), 0.0001);
+    }
+
+    @Test
+    void shouldFollowChanges() {
+        OWLOntology o = ontology();
+        AnnotationTextIndex index =
+            new AnnotationTextIndex(o, Collections.singleton(RDFSLabel()));
+        assertEquals(3, index.size());
+        o.remove(cardiology);
+        o.add(AnnotationAssertion(RDFSLabel(), E.getIRI(), Literal("Cardiomyopathy")));
+        o.add(AnnotationAssertion(hasDbXref, E.getIRI(), Literal("cardiomegaly")));
+        assertEquals(Arrays.asList(E.getIRI()), subjects(index.prefix("cardio", 10)));
+        index.dispose();
+        o.remove(arrest);
+        assertEquals(Arrays.asList(A.getIRI()), subjects(index.substring("arrest", 10)));
+    }
+}
@@ -0,0 +1,102 @@
+package org.semanticweb.owlapi.api.test.syntax;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.io.StringDocumentSource;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+import org.semanticweb.owlapi.rdf.turtle.parser.BufferedTurtleParser;
+import org.semanticweb.owlapi.rdf.turtle.parser.NullTripleHandler;
+import org.semanticweb.owlapi.rdf.turtle.parser.ParseException;
+import org.semanticweb.owlapi.rdf.turtle.parser.TurtleLexer;
+
+class BufferedTurtleParserTestCase extends TestBase {
+
+    private static String document() {
+        StringBuilder b = new StringBuilder("@prefix : <urn:test:buffered#> .\n")
+            .append("@prefix owl: <http://www.w3.org/2002/07/owl#> .\n")
+            .append("@prefix rdf: <http://www.w3.org/1999/02/22-rdf-syntax-ns#> .\n")
+            .append("@prefix rdfs: <http://www.w3.org/2000/01/rdf-schema#> .\n")
+            .append("@prefix xsd: <http://www.w3.org/2001/XMLSchema#> .\n")
+            .append("@base <http://example.org/base/doc> .\n")
+            .append("<urn:test:buffered> a owl:Ontology ; rdfs:comment \"\"\"long\n")
+            .append("comment with \"quotes\" and # no comment\"\"\" .\n")
+            .append(":p a owl:ObjectProperty . :d a owl:DatatypeProperty . # comment\n")
+            .append("<relative> a owl:Class ; rdfs:label 'single \\'quoted\\''@en-GB ;\n")
+            .append("    rdfs:subClassOf [ a owl:Restriction ; owl:onProperty :p ;\n")
+            .append("        owl:someValuesFrom :A ] ; .\n")
+            .append(":U a owl:Class ; owl:unionOf ( :A :B <relative> ) .\n")
+            .append(":i a owl:NamedIndividual , :A ; :d 1 , -2.5 , 3E4 , true , false ;\n")
+            .append("    :d \"x\\u0041\"^^xsd:string , \"typed\"^^<")
+            .append("http://www.w3.org/2001/XMLSchema#token> .\n")
+            .append(":j a owl:NamedIndividual ; :p _:b1 . _:b1 a :A .\n");
+        for (int i = 1; i < 5000; i++) {
+            b.append(":C").append(i).append(" a owl:Class ; rdfs:subClassOf :C").append(i / 2)
+                .append(" ; rdfs:label \"class \\\"").append(i).append("\\\"\"@en .\n");
+        }
+        return b.toString();
+    }
+
+    private static Set<OWLAxiom> named(OWLOntology o) {
+        return o.axioms().filter(ax -> !ax.anonymousIndividuals().findAny().isPresent())
+            .collect(Collectors.toSet());
+    }
+
+    @Test
+    void shouldParseSameAxiomsAsJavaCCParser() {
+        String document = document();
+        OWLOntology javacc = loadFrom(new StringDocumentSource(document),
+            new OWLOntologyLoaderConfiguration());
+        OWLOntology buffered = loadFrom(new StringDocumentSource(document),
+            new OWLOntologyLoaderConfiguration().setUseBufferedTurtleParser(true));
+        assertEquals(javacc.getOntologyID(), buffered.getOntologyID());
+        assertEquals(javacc.getAxiomCount(), buffered.getAxiomCount());
+        assertEquals(named(javacc), named(buffered));
+        assertTrue(
+            buffered.containsClassInSignature(IRI.create("http://example.org/base/relative")));
+        assertEquals(
+            javacc.getOWLOntologyManager().getOntologyFormat(javacc).asPrefixOWLDocumentFormat()
+                .getPrefixName2PrefixMap(),
+            buffered.getOWLOntologyManager().getOntologyFormat(buffered)
+                .asPrefixOWLDocumentFormat().getPrefixName2PrefixMap());
+    }
+
+    @Test
+    void shouldRejectUndeclaredPrefix() {
+        BufferedTurtleParser parser = new BufferedTurtleParser(
+            new StringReader("@prefix : <urn:a#> .\n:a :b\n  ex:c ."), new NullTripleHandler(),
+            IRI.create("urn:test:doc"));
+        ParseException e = assertThrows(ParseException.class, parser::parseDocument);
+        assertTrue(e.getMessage().contains("ex:"), e.getMessage());
+        assertTrue(e.getMessage().contains("line 3"), e.getMessage());
+    }
+
+    @Test
+    void shouldTokenizeNumbersAndNames() throws IOException {
+        TurtleLexer lexer = new TurtleLexer(new StringReader("1. 2.5 .5e1 ex:a.b. _:x a"));
+        assertEquals(TurtleLexer.INTEGER, lexer.next());
+        assertEquals(TurtleLexer.DOT, lexer.next());
+        assertEquals(TurtleLexer.DECIMAL, lexer.next());
+        assertEquals("2.5", lexer.text());
+        assertEquals(TurtleLexer.DOUBLE, lexer.next());
+        assertEquals(TurtleLexer.PNAME, lexer.next());
+        assertEquals("ex:", lexer.prefix());
+        assertEquals("a.b", lexer.localName());
+        assertEquals(TurtleLexer.DOT, lexer.next());
+        assertEquals(TurtleLexer.BLANK_NODE, lexer.next());
+        assertEquals("_:x", lexer.text());
+        assertEquals(TurtleLexer.A, lexer.next());
+        assertEquals(TurtleLexer.EOF, lexer.next());
+    }
+}
@@ -0,0 +1,62 @@
+package org.semanticweb.owlapi.api.test.syntax;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.formats.FunctionalSyntaxDocumentFormat;
+import org.semanticweb.owlapi.formats.LatexDocumentFormat;
+import org.semanticweb.owlapi.formats.ManchesterSyntaxDocumentFormat;
+import org.semanticweb.owlapi.formats.TurtleDocumentFormat;
+import org.semanticweb.owlapi.io.TempFileDocumentSource;
+import org.semanticweb.owlapi.model.OWLOntology;
+
+class FormatDetectionTestCase extends TestBase {
+
+    @Test
+    void shouldLoadTurtleWithoutFormatWithTurtleParser() {
+        OWLOntology o = loadFrom("@prefix owl: <http://www.w3.org/2002/07/owl#> .\n"
+            + "@prefix rdfs: <http://www.w3.org/2000/01/rdf-schema#> .\n"
+            + "<urn:test:o> a owl:Ontology .\n<urn:test:A> a owl:Class .\n"
+            + "<urn:test:B> a owl:Class ; rdfs:subClassOf <urn:test:A> .\n");
+        assertEquals(TurtleDocumentFormat.class,
+            o.getOWLOntologyManager().getOntologyFormat(o).getClass());
+        assertEquals(3, o.getAxiomCount());
+    }
+
+    @Test
+    void shouldLoadManchesterSyntaxWithoutFormatWithManchesterParser() {
+        OWLOntology o = loadFrom("Prefix: : <urn:test:>\nOntology: <urn:test:o>\n"
+            + "Class: :A\nClass: :B\n    SubClassOf: :A\n");
+        assertEquals(ManchesterSyntaxDocumentFormat.class,
+            o.getOWLOntologyManager().getOntologyFormat(o).getClass());
+        assertEquals(3, o.getAxiomCount());
+    }
+
+    @Test
+    void shouldLoadFunctionalSyntaxWithoutFormatWithFunctionalParser() {
+        OWLOntology o = loadFrom("Prefix(:=<urn:test:>)\nOntology(<urn:test:o>\n"
+            + "Declaration(Class(:A))\nSubClassOf(:B :A)\n)");
+        assertEquals(FunctionalSyntaxDocumentFormat.class,
+            o.getOWLOntologyManager().getOntologyFormat(o).getClass());
+        assertTrue(o.containsAxiom(
+            SubClassOf(Class(iri("urn:test:", "B")), Class(iri("urn:test:", "A")))));
+    }
+
+    @Test
+    void shouldDetectFormatOfTempFileSourceWithoutParserForItsFormat() {
+        String turtle = "@prefix owl: <http://www.w3.org/2002/07/owl#> .\n"
+            + "<urn:test:o> a owl:Ontology .\n<urn:test:A> a owl:Class .\n";
+        // no parser supports the declared format: the input is copied before detection
+        OWLOntology o = loadFrom(new TempFileDocumentSource(
+            new ByteArrayInputStream(turtle.getBytes(StandardCharsets.UTF_8)),
+            iri("urn:test:", "temp"), new LatexDocumentFormat(), null, false));
+        assertEquals(TurtleDocumentFormat.class,
+            o.getOWLOntologyManager().getOntologyFormat(o).getClass());
+        assertEquals(1, o.getAxiomCount());
+    }
+}
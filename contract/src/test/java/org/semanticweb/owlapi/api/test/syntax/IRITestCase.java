@@ -1,5 +1,7 @@
 package org.semanticweb.owlapi.api.test.syntax;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -24,6 +26,7 @@ import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLDocumentFormat;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLRuntimeException;
+import org.semanticweb.owlapi.util.NamespaceTable;
 
 class IRITestCase extends TestBase {
 
@@ -38,6 +41,47 @@ class IRITestCase extends TestBase {
         loadFrom(TestFiles.BAD_TRIG, new TrigDocumentFormat());
     }
 
+    @Test
+    void shouldCreateSameIRIFromSlice() {
+        String[] values = {"http://example.org/ontology#A", "http://example.org/1", "urn:test:a1b",
+            "_:genid1", "abc", " https://example.org/bad-url", "", "http://example.org/#"};
+        for (String value : values) {
+            String buffer = "<" + value + "> .";
+            IRI fromSlice = IRI.create(buffer, 1, value.length() + 1);
+            IRI fromString = IRI.create(value);
+            assertEquals(fromString, fromSlice);
+            assertEquals(fromString.getNamespace(), fromSlice.getNamespace());
+            assertEquals(fromString.getRemainder(), fromSlice.getRemainder());
+        }
+    }
+
+    @Test
+    void shouldShareNamespacesAcrossBuffers() {
+        IRI first = IRI.create(new StringBuilder("<http://example.org/shared#A>"), 1, 28);
+        IRI second = IRI.create("http://example.org/shared#B");
+        assertSame(first.getNamespace(), second.getNamespace());
+    }
+
+    @Test
+    void shouldEvictNamespacesWhenTableIsFull() {
+        NamespaceTable table = new NamespaceTable(4);
+        assertEquals(4, table.capacity());
+        for (int i = 0; i < 100; i++) {
+            String namespace = "http://example.org/" + i + "#";
+            String interned = table.intern(new StringBuilder(namespace));
+            assertEquals(namespace, interned);
+            assertSame(interned, table.intern(namespace));
+        }
+        assertEquals(0, new NamespaceTable(0).capacity());
+        assertEquals("urn:a", new NamespaceTable(0).intern("urn:a"));
+    }
+
+    @Test
+    void shouldRejectSliceOutOfBounds() {
+        assertThrows(IndexOutOfBoundsException.class, () -> IRI.create("urn:test:a", 3, 11));
+        assertThrows(IndexOutOfBoundsException.class, () -> IRI.create("urn:test:a", 5, 4));
+    }
+
     protected void shouldFail(String bad, OWLDocumentFormat f2) {
         assertThrows(OWLRuntimeException.class, () -> loadFrom(bad, f2));
     }
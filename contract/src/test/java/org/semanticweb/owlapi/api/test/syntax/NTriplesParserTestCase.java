@@ -0,0 +1,149 @@
+package org.semanticweb.owlapi.api.test.syntax;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asUnorderedSet;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.formats.NQuadsDocumentFormat;
+import org.semanticweb.owlapi.formats.NativeNQuadsDocumentFormat;
+import org.semanticweb.owlapi.formats.NTriplesDocumentFormat;
+import org.semanticweb.owlapi.formats.NativeNTriplesDocumentFormat;
+import org.semanticweb.owlapi.io.OWLParserException;
+import org.semanticweb.owlapi.io.StringDocumentSource;
+import org.semanticweb.owlapi.io.TempFileDocumentSource;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAnnotationProperty;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+import org.semanticweb.owlapi.rdf.ntriples.parser.NTriplesOntologyParser;
+import org.semanticweb.owlapi.rdf.ntriples.renderer.NTriplesStorer;
+
+class NTriplesParserTestCase extends TestBase {
+
+    private static final String NS = "urn:test:ntriples#";
+    private static final String OWL = "http://www.w3.org/2002/07/owl#";
+    private static final String RDF_TYPE = "<http://www.w3.org/1999/02/22-rdf-syntax-ns#type>";
+    private static final String SUB_CLASS_OF = "<http://www.w3.org/2000/01/rdf-schema#subClassOf>";
+    private static final String LABEL = "<http://www.w3.org/2000/01/rdf-schema#label>";
+
+    private static String iri(String name) {
+        return "<" + NS + name + ">";
+    }
+
+    private static String document(int classes) {
+        StringBuilder b = new StringBuilder("# generated\n")
+            .append("<urn:test:ntriples> ").append(RDF_TYPE).append(" <").append(OWL)
+            .append("Ontology> .\n");
+        for (int i = 1; i < classes; i++) {
+            b.append(iri("C" + i)).append(' ').append(RDF_TYPE).append(" <").append(OWL)
+                .append("Class> .\n");
+            b.append(iri("C" + i)).append(' ').append(SUB_CLASS_OF).append(' ')
+                .append(iri("C" + i / 2)).append(" .\n");
+            b.append(iri("C" + i)).append('\t').append(LABEL).append(" \"class \\\"")
+                .append(i).append("\\\"\"@en .\r\n");
+        }
+        return b.toString();
+    }
+
+    private static OWLOntologyLoaderConfiguration threads(int threads) {
+        return new OWLOntologyLoaderConfiguration().setParsingThreads(threads);
+    }
+
+    @Test
+    void shouldParseSameAxiomsWithSeveralThreads() {
+        // more than one chunk of a million characters
+        String document = document(12000);
+        OWLOntology serial =
+            loadFrom(document, new NativeNTriplesDocumentFormat(), threads(1));
+        OWLOntology parallel =
+            loadFrom(document, new NativeNTriplesDocumentFormat(), threads(4));
+        assertEquals(IRI.create("urn:test:ntriples"),
+            serial.getOntologyID().getOntologyIRI().get());
+        assertEquals(serial.getOntologyID(), parallel.getOntologyID());
+        assertEquals(asUnorderedSet(serial.axioms()), asUnorderedSet(parallel.axioms()));
+        OWLClass c = df.getOWLClass(NS, "C7");
+        assertTrue(serial.containsAxiom(df.getOWLAnnotationAssertionAxiom(c.getIRI(),
+            df.getRDFSLabel(df.getOWLLiteral("class \"7\"", "en")))));
+    }
+
+    @Test
+    void shouldParseLiteralsBlankNodesAndGraphs() {
+        String document = iri("d") + ' ' + RDF_TYPE + " <" + OWL + "DatatypeProperty> <urn:g> .\n"
+            + iri("a") + ' ' + RDF_TYPE + " <" + OWL + "AnnotationProperty> .\n" + iri("i")
+            + ' ' + RDF_TYPE + " <" + OWL + "NamedIndividual> _:g1 .\n" + iri("i") + ' '
+            + iri("d") + " \"42\"^^<http://www.w3.org/2001/XMLSchema#integer> . # comment\n"
+            + iri("i") + ' ' + iri("a") + " \"caf\\u00E9\\tbar\" .\n\n"
+            + "_:b1 " + RDF_TYPE + ' ' + iri("C") + " .\n" + "_:b1 " + RDF_TYPE + " <" + OWL
+            + "NamedIndividual> .\n" + "_:b1 " + iri("d") + " \"x\"@en-GB.\n";
+        OWLOntology o = loadFrom(document, new NativeNQuadsDocumentFormat(), threads(1));
+        OWLDataProperty d = df.getOWLDataProperty(NS, "d");
+        OWLAnnotationProperty a = df.getOWLAnnotationProperty(NS, "a");
+        OWLNamedIndividual i = df.getOWLNamedIndividual(NS, "i");
+        assertTrue(o.containsAxiom(df.getOWLDataPropertyAssertionAxiom(d, i, 42)));
+        assertTrue(o.containsAxiom(df.getOWLAnnotationAssertionAxiom(a, i.getIRI(),
+            df.getOWLLiteral("caf\u00E9\tbar"))));
+        assertEquals(1, o.referencedAnonymousIndividuals().count());
+        assertTrue(o.dataPropertyAssertionAxioms(o.referencedAnonymousIndividuals().findAny()
+            .get()).anyMatch(ax -> ax.getObject().equals(df.getOWLLiteral("x", "en-GB"))));
+    }
+
+    @Test
+    void shouldReportErrorLineFromAnyChunk() {
+        String document = document(12000);
+        int lines = document.split("\n").length;
+        String bad = document + iri("x") + ' ' + RDF_TYPE + " < urn:bad> .\n";
+        for (int n : new int[] {1, 4}) {
+            OWLParserException e = assertThrows(OWLParserException.class,
+                () -> new NTriplesOntologyParser().parse(new StringDocumentSource(bad),
+                    createAnon(), threads(n)));
+            assertEquals(lines + 1, e.getLineNumber(), e.getMessage());
+        }
+    }
+
+    @Test
+    void shouldCopyTempFileSourceForFallbackParser() {
+        String document = document(100);
+        TempFileDocumentSource source = new TempFileDocumentSource(
+            new ByteArrayInputStream(document.getBytes(StandardCharsets.UTF_8)),
+            IRI.create("urn:test:ntriples"), new NTriplesDocumentFormat(), null, false);
+        OWLOntology o = loadFrom(source);
+        // the native and the Rio parser share the format key, so the input must be replayable
+        assertEquals(document.length(), source.size());
+        assertEquals(asUnorderedSet(loadFrom(document, new NTriplesDocumentFormat()).axioms()),
+            asUnorderedSet(o.axioms()));
+    }
+
+    @Test
+    void shouldRoundTripThroughStorer() {
+        OWLClass c = df.getOWLClass(NS, "C");
+        OWLOntology o = o(df.getOWLSubClassOfAxiom(c,
+            df.getOWLObjectSomeValuesFrom(df.getOWLObjectProperty(NS, "p"),
+                df.getOWLClass(NS, "with space"))),
+            df.getOWLAnnotationAssertionAxiom(c.getIRI(),
+                df.getRDFSComment(df.getOWLLiteral("line\nbreak \"quoted\" \\"))),
+            df.getOWLClassAssertionAxiom(c, df.getOWLAnonymousIndividual()));
+        String saved = saveOntology(o, new NativeNTriplesDocumentFormat()).toString();
+        assertTrue(saved.contains("\"line\\nbreak \\\"quoted\\\" \\\\\""), saved);
+        assertTrue(saved.contains("<" + NS + "with\\u0020space>"), saved);
+        roundTripOntology(o, new NativeNTriplesDocumentFormat());
+        roundTripOntology(o, new NativeNQuadsDocumentFormat());
+    }
+
+    @Test
+    void shouldLeaveRioFormatsToRioStorers() {
+        assertTrue(new NTriplesStorer().canStoreOntology(new NativeNTriplesDocumentFormat()));
+        assertFalse(new NTriplesStorer().canStoreOntology(new NTriplesDocumentFormat()));
+        assertTrue(new NTriplesStorer(true).canStoreOntology(new NativeNQuadsDocumentFormat()));
+        assertFalse(new NTriplesStorer(true).canStoreOntology(new NQuadsDocumentFormat()));
+    }
+}
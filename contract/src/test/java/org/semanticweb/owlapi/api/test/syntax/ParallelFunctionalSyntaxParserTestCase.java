@@ -0,0 +1,69 @@
+package org.semanticweb.owlapi.api.test.syntax;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asUnorderedSet;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.io.StringDocumentSource;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClassAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLObjectPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+
+class ParallelFunctionalSyntaxParserTestCase extends TestBase {
+
+    private static String document() {
+        StringBuilder b = new StringBuilder("Prefix(:=<urn:test:parallel#>)\n")
+            .append("# a comment with Ontology( and )\n").append("Ontology(<urn:test:parallel>\n")
+            .append("Annotation(rdfs:comment \"not an axiom (really)\")\n")
+            .append("ClassAssertion(:A _:x)\n");
+        for (int i = 1; i < 10000; i++) {
+            b.append("SubClassOf(:C").append(i).append(" :C").append(i / 2).append(")\n");
+            b.append("AnnotationAssertion(rdfs:label :C").append(i).append(" \"class \\\"")
+                .append(i).append("\\\" (#)\"@en) # comment )\n");
+        }
+        b.append("SubClassOf(:D#1 <urn:test:parallel#D>)\n");
+        b.append("ObjectPropertyAssertion(:p _:x :i)\n)\n");
+        return b.toString();
+    }
+
+    private static Set<OWLAxiom> named(OWLOntology o) {
+        return o.axioms().filter(ax -> !ax.anonymousIndividuals().findAny().isPresent())
+            .collect(Collectors.toSet());
+    }
+
+    @Test
+    void shouldParseSameAxiomsAsSerialParser() {
+        String document = document();
+        OWLOntology serial = loadFrom(new StringDocumentSource(document),
+            new OWLOntologyLoaderConfiguration());
+        OWLOntology parallel = loadFrom(new StringDocumentSource(document),
+            new OWLOntologyLoaderConfiguration().setParsingThreads(4));
+        assertEquals(serial.getOntologyID(), parallel.getOntologyID());
+        assertEquals(asUnorderedSet(serial.annotations()), asUnorderedSet(parallel.annotations()));
+        assertEquals(serial.getAxiomCount(), parallel.getAxiomCount());
+        assertEquals(named(serial), named(parallel));
+        assertEquals(
+            serial.getOWLOntologyManager().getOntologyFormat(serial).asPrefixOWLDocumentFormat()
+                .getPrefixName2PrefixMap(),
+            parallel.getOWLOntologyManager().getOntologyFormat(parallel)
+                .asPrefixOWLDocumentFormat().getPrefixName2PrefixMap());
+    }
+
+    @Test
+    void shouldShareAnonymousIndividualsAcrossChunks() {
+        OWLOntology o = loadFrom(new StringDocumentSource(document()),
+            new OWLOntologyLoaderConfiguration().setParsingThreads(4));
+        OWLClassAssertionAxiom first =
+            o.axioms(AxiomType.CLASS_ASSERTION).findFirst().orElseThrow(AssertionError::new);
+        OWLObjectPropertyAssertionAxiom last = o.axioms(AxiomType.OBJECT_PROPERTY_ASSERTION)
+            .findFirst().orElseThrow(AssertionError::new);
+        assertEquals(first.getIndividual(), last.getSubject());
+    }
+}
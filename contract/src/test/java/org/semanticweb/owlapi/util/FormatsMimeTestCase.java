@@ -45,12 +45,14 @@ class FormatsMimeTestCase {
             Arguments.of(new org.semanticweb.owlapi.rdf.rdfxml.parser.RDFXMLParserFactory(),                            "RDF/XML Syntax",       APPLICATION_RDF_XML,        l(APPLICATION_RDF_XML,      APPLICATION_XML,        TEXT_XML)),
             Arguments.of(new org.semanticweb.owlapi.rio.RioRDFXMLParserFactory(),                                       "RDF/XML",              APPLICATION_RDF_XML,        l(APPLICATION_RDF_XML,      APPLICATION_XML,        TEXT_XML)),
             Arguments.of(new org.semanticweb.owlapi.rio.RioNQuadsParserFactory(),                                       "N-Quads",              "application/n-quads",      l("application/n-quads",    "text/x-nquads",        "text/nquads")),
+            Arguments.of(new org.semanticweb.owlapi.rdf.ntriples.parser.NQuadsOntologyParserFactory(),                  "N-Quads",              "application/n-quads",      l("application/n-quads",    "text/x-nquads",        "text/nquads")),
             Arguments.of(new org.semanticweb.owlapi.rio.RioRDFaParserFactory(),                                         "RDFa",                 "application/xhtml+xml",    l("application/xhtml+xml",  "application/html",     "text/html")),
             Arguments.of(new org.semanticweb.owlapi.rdf.turtle.parser.TurtleOntologyParserFactory(),                    "Turtle Syntax",        TEXT_TURTLE,                l(TEXT_TURTLE,              "application/x-turtle")),
             Arguments.of(new org.semanticweb.owlapi.rio.RioTurtleParserFactory(),                                       "Turtle",               TEXT_TURTLE,                l(TEXT_TURTLE,              "application/x-turtle")),
             Arguments.of(new org.semanticweb.owlapi.rio.RioN3ParserFactory(),                                           "N3",                   "text/n3",                  l("text/n3",                "text/rdf+n3")),
             Arguments.of(new org.semanticweb.owlapi.owlxml.parser.OWLXMLParserFactory(),                                "OWL/XML Syntax",       APPLICATION_OWL_XML,        l(APPLICATION_OWL_XML,      TEXT_XML)),
             Arguments.of(new org.semanticweb.owlapi.rio.RioNTriplesParserFactory(),                                     "N-Triples",            "application/n-triples",    l("application/n-triples",  "text/plain")),
+            Arguments.of(new org.semanticweb.owlapi.rdf.ntriples.parser.NTriplesOntologyParserFactory(),                "N-Triples",            "application/n-triples",    l("application/n-triples",  "text/plain")),
             Arguments.of(new org.semanticweb.owlapi.rio.RioTrigParserFactory(),                                         "TriG",                 "application/trig",         l("application/trig",       "application/x-trig")),
             Arguments.of(new org.semanticweb.owlapi.manchestersyntax.parser.ManchesterOWLSyntaxOntologyParserFactory(), "Manchester OWL Syntax","text/owl-manchester",      l("text/owl-manchester")),
             Arguments.of(new org.semanticweb.owlapi.functional.parser.OWLFunctionalSyntaxOWLParserFactory(),            "OWL Functional Syntax",TEXT_OWL_FUNCTIONAL,        l(TEXT_OWL_FUNCTIONAL)),
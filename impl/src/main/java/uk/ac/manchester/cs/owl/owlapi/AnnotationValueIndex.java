@@ -0,0 +1,153 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.model.OWLAnnotationAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLAnnotationProperty;
+import org.semanticweb.owlapi.model.OWLLiteral;
+
+/**
+ * Reverse index of annotation assertions with literal values, by annotation property and lexical
+ * form, for lookups such as finding the entities with a given label. Exact lookups go through a
+ * hash map; case insensitive and prefix lookups go through a sorted map of lower case lexical
+ * forms. The assertions of a key are a small array replaced on every change, or a concurrent set
+ * once there are many, so lookups take no lock and indexing n labels that are equal takes linear
+ * time.
+ *
+ * @author ignazio
+ * @since 5.5.1
+ */
+public class AnnotationValueIndex {
+
+    private final ConcurrentHashMap<OWLAnnotationProperty, Rows> rows = new ConcurrentHashMap<>();
+
+    private static final class Rows {
+
+        final ConcurrentHashMap<String, AxiomRow<OWLAnnotationAssertionAxiom>> exact =
+            new ConcurrentHashMap<>();
+        final ConcurrentSkipListMap<String, AxiomRow<OWLAnnotationAssertionAxiom>> folded =
+            new ConcurrentSkipListMap<>();
+    }
+
+    /**
+     * @param value lexical form
+     * @return the form used for case insensitive lookups
+     */
+    public static String fold(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @param ax assertion to add; no effect if its value is not a literal
+     */
+    public void add(OWLAnnotationAssertionAxiom ax) {
+        OWLLiteral literal = ax.getValue().asLiteral().orElse(null);
+        if (literal == null) {
+            return;
+        }
+        Rows r = rows.computeIfAbsent(ax.getProperty(), p -> new Rows());
+        String lexical = literal.getLiteral();
+        add(r.exact, lexical, ax);
+        add(r.folded, fold(lexical), ax);
+    }
+
+    /**
+     * @param ax assertion to remove; no effect if not present
+     */
+    public void remove(OWLAnnotationAssertionAxiom ax) {
+        OWLLiteral literal = ax.getValue().asLiteral().orElse(null);
+        Rows r = rows.get(ax.getProperty());
+        if (literal == null || r == null) {
+            return;
+        }
+        String lexical = literal.getLiteral();
+        remove(r.exact, lexical, ax);
+        remove(r.folded, fold(lexical), ax);
+    }
+
+    private static void add(ConcurrentMap<String, AxiomRow<OWLAnnotationAssertionAxiom>> map,
+        String key, OWLAnnotationAssertionAxiom ax) {
+        map.merge(key, AxiomRow.of(ax), (r, added) -> r.with(ax));
+    }
+
+    private static void remove(ConcurrentMap<String, AxiomRow<OWLAnnotationAssertionAxiom>> map,
+        String key, OWLAnnotationAssertionAxiom ax) {
+        map.computeIfPresent(key, (k, r) -> r.without(ax));
+    }
+
+    /**
+     * @param property annotation property
+     * @param lexicalForm lexical form to match exactly
+     * @param lang language tag to match, ignoring case; empty for no language tag, null for any
+     * @return assertions with a matching literal value
+     */
+    public Stream<OWLAnnotationAssertionAxiom> exact(OWLAnnotationProperty property,
+        String lexicalForm, @Nullable String lang) {
+        Rows r = rows.get(property);
+        if (r == null) {
+            return Stream.empty();
+        }
+        AxiomRow<OWLAnnotationAssertionAxiom> row = r.exact.get(lexicalForm);
+        if (row == null) {
+            return Stream.empty();
+        }
+        Stream<OWLAnnotationAssertionAxiom> s = row.stream();
+        if (lang == null) {
+            return s;
+        }
+        return s.filter(ax -> ax.getValue().asLiteral()
+            .filter(l -> l.getLang().equalsIgnoreCase(lang)).isPresent());
+    }
+
+    /**
+     * @param property annotation property
+     * @param value lexical form to match, ignoring case
+     * @return assertions with a matching literal value, in any language
+     */
+    public Stream<OWLAnnotationAssertionAxiom> ignoreCase(OWLAnnotationProperty property,
+        String value) {
+        Rows r = rows.get(property);
+        if (r == null) {
+            return Stream.empty();
+        }
+        AxiomRow<OWLAnnotationAssertionAxiom> row = r.folded.get(fold(value));
+        return row == null ? Stream.empty() : row.stream();
+    }
+
+    /**
+     * @param property annotation property
+     * @param prefix start of the lexical forms to match, ignoring case
+     * @return assertions with a matching literal value, in any language, sorted by lower case
+     *         lexical form
+     */
+    public Stream<OWLAnnotationAssertionAxiom> prefix(OWLAnnotationProperty property,
+        String prefix) {
+        Rows r = rows.get(property);
+        if (r == null) {
+            return Stream.empty();
+        }
+        String start = fold(prefix);
+        return r.folded.tailMap(start, true).entrySet().stream()
+            .takeWhile(e -> e.getKey().startsWith(start)).map(Map.Entry::getValue)
+            .flatMap(AxiomRow::stream);
+    }
+}
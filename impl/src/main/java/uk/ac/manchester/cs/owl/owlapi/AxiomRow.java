@@ -0,0 +1,148 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+
+/**
+ * Row of axioms in the value indexes. Small rows are arrays replaced on every change; rows
+ * growing past {@link #MAX_ARRAY_ROW} axioms become concurrent sets changed in place, so that
+ * adding many axioms with the same key takes linear time. Reads take no lock in both cases.
+ * Changes are expected to be serialized by the caller, e.g., by the ontology lock; the remapping
+ * functions of concurrent maps may apply them more than once, which has no effect.
+ *
+ * @param <A> axiom type
+ * @author ignazio
+ */
+abstract class AxiomRow<A extends OWLAxiom> {
+
+    /** Largest row kept as an array. */
+    static final int MAX_ARRAY_ROW = 8;
+
+    /**
+     * @param ax axiom
+     * @param <A> axiom type
+     * @return row containing only the axiom
+     */
+    static <A extends OWLAxiom> AxiomRow<A> of(A ax) {
+        return new ArrayRow<>(new Object[] {ax});
+    }
+
+    /**
+     * @param ax axiom to add
+     * @return row containing the axioms of this row and {@code ax}; this row if it changes in
+     *         place or already contains the axiom
+     */
+    abstract AxiomRow<A> with(A ax);
+
+    /**
+     * @param ax axiom to remove
+     * @return row containing the axioms of this row but {@code ax}, or null if it would be empty;
+     *         this row if it changes in place or does not contain the axiom
+     */
+    @Nullable
+    abstract AxiomRow<A> without(A ax);
+
+    /**
+     * @return the axioms in the row
+     */
+    abstract Stream<A> stream();
+
+    private static final class ArrayRow<A extends OWLAxiom> extends AxiomRow<A> {
+
+        private final Object[] axioms;
+
+        ArrayRow(Object[] axioms) {
+            this.axioms = axioms;
+        }
+
+        private int indexOf(A ax) {
+            for (int i = 0; i < axioms.length; i++) {
+                if (axioms[i].equals(ax)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        AxiomRow<A> with(A ax) {
+            if (indexOf(ax) >= 0) {
+                return this;
+            }
+            if (axioms.length == MAX_ARRAY_ROW) {
+                return new SetRow<>(this, ax);
+            }
+            Object[] updated = Arrays.copyOf(axioms, axioms.length + 1);
+            updated[axioms.length] = ax;
+            return new ArrayRow<>(updated);
+        }
+
+        @Override
+        @Nullable
+        AxiomRow<A> without(A ax) {
+            int index = indexOf(ax);
+            if (index < 0) {
+                return this;
+            }
+            if (axioms.length == 1) {
+                return null;
+            }
+            Object[] updated = new Object[axioms.length - 1];
+            System.arraycopy(axioms, 0, updated, 0, index);
+            System.arraycopy(axioms, index + 1, updated, index, updated.length - index);
+            return new ArrayRow<>(updated);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        Stream<A> stream() {
+            return Arrays.stream(axioms).map(ax -> (A) ax);
+        }
+    }
+
+    private static final class SetRow<A extends OWLAxiom> extends AxiomRow<A> {
+
+        private final Set<A> axioms = ConcurrentHashMap.newKeySet();
+
+        SetRow(ArrayRow<A> row, A ax) {
+            row.stream().forEach(axioms::add);
+            axioms.add(ax);
+        }
+
+        @Override
+        AxiomRow<A> with(A ax) {
+            axioms.add(ax);
+            return this;
+        }
+
+        @Override
+        @Nullable
+        AxiomRow<A> without(A ax) {
+            axioms.remove(ax);
+            return axioms.isEmpty() ? null : this;
+        }
+
+        @Override
+        Stream<A> stream() {
+            return axioms.stream();
+        }
+    }
+}
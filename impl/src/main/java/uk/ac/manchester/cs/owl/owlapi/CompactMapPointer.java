@@ -0,0 +1,496 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLAxiomVisitorEx;
+
+/**
+ * A map pointer that stores keys and values as int ids from dictionaries shared by all pointers in
+ * the same {@link Internals}. The map is kept in compressed sparse row form: a sorted array of key
+ * ids, an array of row offsets and a single array of value ids, each row sorted. Changes made after
+ * the last compaction are kept in pending rows and merged back into the arrays once enough changes
+ * accumulate, or when {@link #trimToSize()} is called. Lookups return views over the id arrays;
+ * object collections are only built when values are returned to callers, since ids are reused
+ * once the axioms they stand for are removed.
+ *
+ * @author ignazio
+ * @param <K> key
+ * @param <V> value
+ */
+public class CompactMapPointer<K, V extends OWLAxiom> extends MapPointer<K, V>
+    implements HasTrimToSize {
+
+    private static final int[] NO_IDS = new int[0];
+    private static final int MIN_CHANGES_BEFORE_COMPACTION = 1024;
+    private final ObjectIdDictionary<Object> keyIds;
+    private final ObjectIdDictionary<OWLAxiom> valueIds;
+    private int[] rowKeys = NO_IDS;
+    private int[] rowOffsets = {0};
+    private int[] columns = NO_IDS;
+    @Nullable
+    private PendingRows pending;
+    private int changes = 0;
+
+    /**
+     * @param t type of axioms contained
+     * @param v visitor
+     * @param initialized true if initialized
+     * @param i internals containing this pointer
+     * @param valueWithness witness for the value type
+     * @param keyIds dictionary for keys
+     * @param valueIds dictionary for values
+     */
+    public CompactMapPointer(@Nullable AxiomType<?> t, @Nullable OWLAxiomVisitorEx<?> v,
+        boolean initialized, Internals i, Class<V> valueWithness,
+        ObjectIdDictionary<Object> keyIds, ObjectIdDictionary<OWLAxiom> valueIds) {
+        super(t, v, initialized, i, valueWithness);
+        this.keyIds = keyIds;
+        this.valueIds = valueIds;
+    }
+
+    @Override
+    public synchronized MapPointer<K, V> init() {
+        if (isInitialized()) {
+            return this;
+        }
+        super.init();
+        compact();
+        return this;
+    }
+
+    @Override
+    public synchronized void trimToSize() {
+        compact();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return isInitialized() + " compact map with " + size + " entries";
+    }
+
+    @Override
+    @Nullable
+    protected Collection<V> lookup(K k) {
+        int key = keyIds.find(k);
+        if (key < 0) {
+            return null;
+        }
+        int[] row = pendingRow(key);
+        if (row != null) {
+            return row[0] == 0 ? null : view(row, 1, row[0] + 1);
+        }
+        int b = Arrays.binarySearch(rowKeys, key);
+        if (b < 0) {
+            return null;
+        }
+        return view(columns, rowOffsets[b], rowOffsets[b + 1]);
+    }
+
+    @Override
+    protected boolean hasKey(K k) {
+        return count(k) > 0;
+    }
+
+    @Override
+    protected int count(K k) {
+        int key = keyIds.find(k);
+        if (key < 0) {
+            return 0;
+        }
+        int[] row = pendingRow(key);
+        if (row != null) {
+            return row[0];
+        }
+        int b = Arrays.binarySearch(rowKeys, key);
+        if (b < 0) {
+            return 0;
+        }
+        return rowOffsets[b + 1] - rowOffsets[b];
+    }
+
+    @Override
+    protected boolean containsEntry(K k, V v) {
+        int key = keyIds.find(k);
+        int value = valueIds.find(v);
+        if (key < 0 || value < 0) {
+            return false;
+        }
+        int[] row = pendingRow(key);
+        if (row != null) {
+            return Arrays.binarySearch(row, 1, row[0] + 1, value) >= 0;
+        }
+        int b = Arrays.binarySearch(rowKeys, key);
+        return b >= 0 && Arrays.binarySearch(columns, rowOffsets[b], rowOffsets[b + 1], value) >= 0;
+    }
+
+    @Override
+    protected void forEachKey(Consumer<K> consumer) {
+        forEachRowKey(key -> consumer.accept(key(key)));
+    }
+
+    @Override
+    protected Stream<V> values() {
+        List<V> l = new ArrayList<>(size);
+        forEachRowKey(key -> {
+            int[] row = pendingRow(key);
+            if (row != null) {
+                addValues(l, row, 1, row[0] + 1);
+            } else {
+                int b = Arrays.binarySearch(rowKeys, key);
+                addValues(l, columns, rowOffsets[b], rowOffsets[b + 1]);
+            }
+        });
+        return l.stream();
+    }
+
+    @Override
+    protected boolean putInternal(@Nullable K k, V v) {
+        if (k == null) {
+            return false;
+        }
+        int key = keyIds.acquire(k);
+        int value = valueIds.acquire(v);
+        int[] row = editableRow(key);
+        int n = row[0];
+        int position = n + 1;
+        // ids for new axioms are usually larger than any id already in the row
+        if (n > 0 && row[n] >= value) {
+            int found = Arrays.binarySearch(row, 1, n + 1, value);
+            if (found >= 0) {
+                keyIds.release(key);
+                valueIds.release(value);
+                return false;
+            }
+            position = -found - 1;
+        }
+        if (n + 1 == row.length) {
+            row = Arrays.copyOf(row, row.length + (row.length >> 1) + 1);
+            verifyPending().put(key, row);
+        }
+        System.arraycopy(row, position, row, position + 1, n + 1 - position);
+        row[position] = value;
+        row[0] = n + 1;
+        size++;
+        changed();
+        return true;
+    }
+
+    @Override
+    protected void clearInternal() {
+        forEachRowKey(key -> {
+            int[] row = pendingRow(key);
+            if (row != null) {
+                releaseAll(key, row, 1, row[0] + 1);
+            } else {
+                int b = Arrays.binarySearch(rowKeys, key);
+                releaseAll(key, columns, rowOffsets[b], rowOffsets[b + 1]);
+            }
+        });
+        rowKeys = NO_IDS;
+        rowOffsets = new int[] {0};
+        columns = NO_IDS;
+        pending = null;
+        changes = 0;
+    }
+
+    private void releaseAll(int key, int[] ids, int from, int to) {
+        for (int index = from; index < to; index++) {
+            keyIds.release(key);
+            valueIds.release(ids[index]);
+        }
+    }
+
+    @Override
+    protected boolean removeInternal(K k, V v) {
+        int key = keyIds.find(k);
+        int value = valueIds.find(v);
+        if (key < 0 || value < 0 || !containsEntry(k, v)) {
+            return false;
+        }
+        int[] row = editableRow(key);
+        int n = row[0];
+        int position = Arrays.binarySearch(row, 1, n + 1, value);
+        System.arraycopy(row, position + 1, row, position, n - position);
+        row[0] = n - 1;
+        size--;
+        keyIds.release(key);
+        valueIds.release(value);
+        changed();
+        return true;
+    }
+
+    @Override
+    protected Collection<V> detach(Collection<V> t) {
+        return t instanceof IdView ? new ArrayList<>(t) : t;
+    }
+
+    @SuppressWarnings("unchecked")
+    private K key(int id) {
+        return (K) keyIds.get(id);
+    }
+
+    private List<V> view(int[] ids, int from, int to) {
+        return new IdView(ids, from, to);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void addValues(List<V> l, int[] ids, int from, int to) {
+        for (int index = from; index < to; index++) {
+            l.add((V) valueIds.get(ids[index]));
+        }
+    }
+
+    @Nullable
+    private int[] pendingRow(int key) {
+        PendingRows p = pending;
+        return p == null ? null : p.get(key);
+    }
+
+    private PendingRows verifyPending() {
+        PendingRows p = pending;
+        if (p == null) {
+            p = new PendingRows();
+            pending = p;
+        }
+        return p;
+    }
+
+    /**
+     * @param key key id
+     * @return the pending row for the key, copied from the compressed rows if necessary. Element
+     *         zero of a pending row holds the row length.
+     */
+    private int[] editableRow(int key) {
+        PendingRows p = verifyPending();
+        int[] row = p.get(key);
+        if (row != null) {
+            return row;
+        }
+        int b = Arrays.binarySearch(rowKeys, key);
+        int from = b < 0 ? 0 : rowOffsets[b];
+        int length = b < 0 ? 0 : rowOffsets[b + 1] - from;
+        row = new int[length + 2 + (length >> 2)];
+        row[0] = length;
+        System.arraycopy(columns, from, row, 1, length);
+        p.put(key, row);
+        return row;
+    }
+
+    private void changed() {
+        // compaction costs O(size), so it is only done after O(size) changes
+        if (++changes > MIN_CHANGES_BEFORE_COMPACTION + (columns.length >> 2)) {
+            compact();
+        }
+    }
+
+    /**
+     * Visits, in id order, the ids of all keys with at least one value.
+     */
+    private void forEachRowKey(IntConsumer consumer) {
+        PendingRows p = pending;
+        int[] pendingKeys = p == null ? NO_IDS : p.sortedKeys();
+        int b = 0;
+        int q = 0;
+        while (b < rowKeys.length || q < pendingKeys.length) {
+            if (q == pendingKeys.length
+                || b < rowKeys.length && rowKeys[b] < pendingKeys[q]) {
+                consumer.accept(rowKeys[b++]);
+            } else {
+                int key = pendingKeys[q++];
+                if (b < rowKeys.length && rowKeys[b] == key) {
+                    b++;
+                }
+                int[] row = pendingRow(key);
+                if (row != null && row[0] > 0) {
+                    consumer.accept(key);
+                }
+            }
+        }
+    }
+
+    private void compact() {
+        if (pending == null) {
+            return;
+        }
+        int[] newKeys = new int[rowKeys.length + verifyPending().size()];
+        int[] newOffsets = new int[newKeys.length + 1];
+        int[] newColumns = new int[size];
+        int[] k = {0};
+        forEachRowKey(key -> {
+            int[] row = pendingRow(key);
+            int offset = newOffsets[k[0]];
+            int length;
+            if (row != null) {
+                length = row[0];
+                System.arraycopy(row, 1, newColumns, offset, length);
+            } else {
+                int b = Arrays.binarySearch(rowKeys, key);
+                length = rowOffsets[b + 1] - rowOffsets[b];
+                System.arraycopy(columns, rowOffsets[b], newColumns, offset, length);
+            }
+            newKeys[k[0]] = key;
+            newOffsets[++k[0]] = offset + length;
+        });
+        rowKeys = Arrays.copyOf(newKeys, k[0]);
+        rowOffsets = Arrays.copyOf(newOffsets, k[0] + 1);
+        columns = newColumns;
+        pending = null;
+        changes = 0;
+    }
+
+    /**
+     * Read only list of the values whose ids are in a slice of an id array. Compressed rows are
+     * never changed in place, but pending rows are, so views are only valid until the next change.
+     */
+    private class IdView extends AbstractList<V> implements RandomAccess {
+
+        private final int[] ids;
+        private final int from;
+        private final int to;
+
+        IdView(int[] ids, int from, int to) {
+            this.ids = ids;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V get(int index) {
+            if (index < 0 || index >= to - from) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size());
+            }
+            return (V) valueIds.get(ids[from + index]);
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+
+        @Override
+        public boolean contains(@Nullable Object o) {
+            int value = valueIds.find(o);
+            return value >= 0 && Arrays.binarySearch(ids, from, to, value) >= 0;
+        }
+    }
+
+    @FunctionalInterface
+    private interface IntConsumer {
+
+        void accept(int i);
+    }
+
+    /**
+     * Open addressing table from key ids to pending rows.
+     */
+    static class PendingRows {
+
+        private int[] ids = empty(16);
+        private int[][] rows = new int[16][];
+        private int count = 0;
+
+        private static int[] empty(int size) {
+            int[] s = new int[size];
+            Arrays.fill(s, -1);
+            return s;
+        }
+
+        private static int mix(int key) {
+            int x = key * 0x9E3779B9;
+            return x ^ (x >>> 16);
+        }
+
+        int size() {
+            return count;
+        }
+
+        /**
+         * @return longest distance between the home slot of a key and the slot it is stored in
+         */
+        int longestProbe() {
+            int mask = ids.length - 1;
+            int longest = 0;
+            for (int i = 0; i < ids.length; i++) {
+                if (ids[i] != -1) {
+                    longest = Math.max(longest, (i - mix(ids[i])) & mask);
+                }
+            }
+            return longest;
+        }
+
+        @Nullable
+        int[] get(int key) {
+            int mask = ids.length - 1;
+            for (int i = mix(key) & mask;; i = (i + 1) & mask) {
+                if (ids[i] == key) {
+                    return rows[i];
+                }
+                if (ids[i] == -1) {
+                    return null;
+                }
+            }
+        }
+
+        void put(int key, int[] row) {
+            int mask = ids.length - 1;
+            int i = mix(key) & mask;
+            while (ids[i] != -1 && ids[i] != key) {
+                i = (i + 1) & mask;
+            }
+            if (ids[i] == key) {
+                rows[i] = row;
+                return;
+            }
+            ids[i] = key;
+            rows[i] = row;
+            if (++count * 4 >= ids.length * 3) {
+                int[] oldIds = ids;
+                int[][] oldRows = rows;
+                ids = empty(oldIds.length * 2);
+                rows = new int[oldIds.length * 2][];
+                count = 0;
+                for (int j = 0; j < oldIds.length; j++) {
+                    if (oldIds[j] != -1) {
+                        put(oldIds[j], oldRows[j]);
+                    }
+                }
+            }
+        }
+
+        int[] sortedKeys() {
+            int[] keys = new int[count];
+            int k = 0;
+            for (int id : ids) {
+                if (id != -1) {
+                    keys[k++] = id;
+                }
+            }
+            Arrays.sort(keys);
+            return keys;
+        }
+    }
+}
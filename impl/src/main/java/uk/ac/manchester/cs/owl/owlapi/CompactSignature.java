@@ -0,0 +1,152 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.semanticweb.owlapi.model.OWLAnnotationProperty;
+import org.semanticweb.owlapi.model.OWLAnonymousIndividual;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLDatatype;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+
+/**
+ * Signature of an object, stored as sorted arrays. Entities sort by type first, so the entities of
+ * each type are a contiguous range of the entity array; the ranges are found once, when the
+ * signature is built. Instances are immutable.
+ *
+ * @author ignazio
+ */
+final class CompactSignature {
+
+    private static final int CHARACTERISTICS = Spliterator.DISTINCT | Spliterator.IMMUTABLE
+        | Spliterator.NONNULL | Spliterator.SORTED | Spliterator.SIZED | Spliterator.ORDERED;
+    private static final OWLEntity[] NO_ENTITIES = new OWLEntity[0];
+    private static final OWLAnonymousIndividual[] NO_ANONYMOUS = new OWLAnonymousIndividual[0];
+    static final CompactSignature EMPTY = new CompactSignature(NO_ENTITIES, NO_ANONYMOUS);
+    private static final int CLASSES = 0;
+    private static final int OBJECT_PROPERTIES = 1;
+    private static final int DATA_PROPERTIES = 2;
+    private static final int INDIVIDUALS = 3;
+    private static final int ANNOTATION_PROPERTIES = 4;
+    private static final int DATATYPES = 5;
+    private final OWLEntity[] entities;
+    private final OWLAnonymousIndividual[] anonymousIndividuals;
+    /** Start of the range for each entity type; the range ends where the next one starts. */
+    private final int[] starts = new int[DATATYPES + 2];
+
+    private CompactSignature(OWLEntity[] entities, OWLAnonymousIndividual[] anonymousIndividuals) {
+        this.entities = entities;
+        this.anonymousIndividuals = anonymousIndividuals;
+        int position = 0;
+        for (int type = CLASSES; type <= DATATYPES; type++) {
+            starts[type] = position;
+            while (position < entities.length && index(entities[position]) == type) {
+                position++;
+            }
+        }
+        starts[DATATYPES + 1] = position;
+    }
+
+    /**
+     * @param o object whose signature should be computed
+     * @return the signature of the object
+     */
+    static CompactSignature of(OWLObjectImpl o) {
+        OWLEntity[] e = o.addSignatureEntitiesToSet(new TreeSet<>()).toArray(NO_ENTITIES);
+        OWLAnonymousIndividual[] a =
+            o.addAnonymousIndividualsToSet(new TreeSet<>()).toArray(NO_ANONYMOUS);
+        if (e.length == 0 && a.length == 0) {
+            return EMPTY;
+        }
+        return new CompactSignature(e, a);
+    }
+
+    private static int index(OWLEntity e) {
+        if (e.isOWLClass()) {
+            return CLASSES;
+        }
+        if (e.isOWLObjectProperty()) {
+            return OBJECT_PROPERTIES;
+        }
+        if (e.isOWLDataProperty()) {
+            return DATA_PROPERTIES;
+        }
+        if (e.isOWLNamedIndividual()) {
+            return INDIVIDUALS;
+        }
+        if (e.isOWLAnnotationProperty()) {
+            return ANNOTATION_PROPERTIES;
+        }
+        return DATATYPES;
+    }
+
+    private static <T extends OWLObject> Stream<T> range(T[] array, int from, int to) {
+        if (from == to) {
+            return Stream.empty();
+        }
+        return StreamSupport.stream(Spliterators.spliterator(array, from, to, CHARACTERISTICS),
+            false);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends OWLEntity> Stream<T> ofType(int type) {
+        return (Stream<T>) range(entities, starts[type], starts[type + 1]);
+    }
+
+    Stream<OWLEntity> signature() {
+        return range(entities, 0, entities.length);
+    }
+
+    Stream<OWLAnonymousIndividual> anonymousIndividuals() {
+        return range(anonymousIndividuals, 0, anonymousIndividuals.length);
+    }
+
+    boolean contains(OWLEntity e) {
+        int type = index(e);
+        return Arrays.binarySearch(entities, starts[type], starts[type + 1], e) >= 0;
+    }
+
+    Stream<OWLClass> classes() {
+        return ofType(CLASSES);
+    }
+
+    Stream<OWLObjectProperty> objectProperties() {
+        return ofType(OBJECT_PROPERTIES);
+    }
+
+    Stream<OWLDataProperty> dataProperties() {
+        return ofType(DATA_PROPERTIES);
+    }
+
+    Stream<OWLNamedIndividual> individuals() {
+        return ofType(INDIVIDUALS);
+    }
+
+    Stream<OWLAnnotationProperty> annotationProperties() {
+        return ofType(ANNOTATION_PROPERTIES);
+    }
+
+    Stream<OWLDatatype> datatypes() {
+        return ofType(DATATYPES);
+    }
+}
@@ -0,0 +1,106 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLDataPropertyAssertionAxiom;
+import org.semanticweb.owlapi.util.OrderedLiteralValue;
+import org.semanticweb.owlapi.util.OrderedLiteralValue.Space;
+
+/**
+ * Index of data property assertions by property and by value of the asserted literal, for range
+ * and top-k queries. Only literals with an ordered value (see {@link OrderedLiteralValue}) are
+ * indexed; each value is parsed once, when its assertion is added. Values are kept in a sorted map
+ * per property; the assertions of a value are a small array replaced on every change, or a
+ * concurrent set once there are many, so lookups take no lock and adding n assertions with the
+ * same value takes linear time.
+ *
+ * @author ignazio
+ * @since 5.5.1
+ */
+public class DataValueIndex {
+
+    private final ConcurrentHashMap<OWLDataProperty,
+        ConcurrentSkipListMap<OrderedLiteralValue, AxiomRow<OWLDataPropertyAssertionAxiom>>> rows =
+            new ConcurrentHashMap<>();
+
+    /**
+     * @param ax assertion to add; no effect if its literal has no ordered value
+     */
+    public void add(OWLDataPropertyAssertionAxiom ax) {
+        OrderedLiteralValue.of(ax.getObject()).ifPresent(value -> rows
+            .computeIfAbsent(ax.getProperty().asOWLDataProperty(),
+                p -> new ConcurrentSkipListMap<>())
+            .merge(value, AxiomRow.of(ax), (r, added) -> r.with(ax)));
+    }
+
+    /**
+     * @param ax assertion to remove; no effect if not present
+     */
+    public void remove(OWLDataPropertyAssertionAxiom ax) {
+        NavigableMap<OrderedLiteralValue, AxiomRow<OWLDataPropertyAssertionAxiom>> values =
+            rows.get(ax.getProperty().asOWLDataProperty());
+        if (values == null) {
+            return;
+        }
+        OrderedLiteralValue.of(ax.getObject())
+            .ifPresent(value -> values.computeIfPresent(value, (v, r) -> r.without(ax)));
+    }
+
+    /**
+     * @param property property to look up
+     * @param from lower bound
+     * @param fromInclusive true if values equal to the lower bound are included
+     * @param to upper bound
+     * @param toInclusive true if values equal to the upper bound are included
+     * @return assertions with values between the bounds, in ascending order of value
+     */
+    public Stream<OWLDataPropertyAssertionAxiom> range(OWLDataProperty property,
+        OrderedLiteralValue from, boolean fromInclusive, OrderedLiteralValue to,
+        boolean toInclusive) {
+        ConcurrentSkipListMap<OrderedLiteralValue, AxiomRow<OWLDataPropertyAssertionAxiom>> values =
+            rows.get(property);
+        if (values == null || from.compareTo(to) > 0) {
+            return Stream.empty();
+        }
+        return values.subMap(from, fromInclusive, to, toInclusive).values().stream()
+            .flatMap(AxiomRow::stream);
+    }
+
+    /**
+     * @param property property to look up
+     * @param space value space to return
+     * @param descending true for descending order of value, false for ascending order
+     * @return all assertions with values in the space, sorted by value
+     */
+    public Stream<OWLDataPropertyAssertionAxiom> sorted(OWLDataProperty property, Space space,
+        boolean descending) {
+        ConcurrentSkipListMap<OrderedLiteralValue, AxiomRow<OWLDataPropertyAssertionAxiom>> values =
+            rows.get(property);
+        if (values == null) {
+            return Stream.empty();
+        }
+        NavigableMap<OrderedLiteralValue, AxiomRow<OWLDataPropertyAssertionAxiom>> inSpace =
+            values.subMap(OrderedLiteralValue.lowest(space), true,
+                OrderedLiteralValue.highest(space), true);
+        if (descending) {
+            inSpace = inSpace.descendingMap();
+        }
+        return inSpace.values().stream().flatMap(AxiomRow::stream);
+    }
+}
@@ -0,0 +1,168 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.model.IRI;
+
+/**
+ * Per document locks used by the manager while loading ontologies. Loading a document only
+ * excludes other loads of the same document, so independent documents can be parsed at the same
+ * time. Locks are reentrant, so an ontology that cyclically imports itself through the same thread
+ * does not block. If two threads would end up waiting on each other (e.g., one loads A importing B
+ * while the other loads B importing A), the thread whose wait would close the cycle is refused the
+ * lock instead of waiting forever; the manager then treats the import as one that is already being
+ * loaded, which is what happens with cyclic imports on a single thread. Threads waiting for an
+ * import load to complete on another thread are recorded as well, so that cycles through those
+ * waits are also detected.
+ * <p>
+ * Every wait is registered, and checked for cycles, before the thread blocks; since a cycle can
+ * only be closed by a new wait, waiting threads never need to check again.
+ *
+ * @author ignazio
+ */
+final class DocumentLoadLocks {
+
+    // all fields are guarded by this
+    private final Map<IRI, Owner> owners = new HashMap<>();
+    /** Document or load each blocked thread waits for. */
+    private final Map<Thread, Object> waiting = new HashMap<>();
+
+    /**
+     * A load running on some thread, which other threads can wait for.
+     */
+    interface Load {
+
+        /**
+         * @return the thread running the load, or null if the load is not running
+         */
+        @Nullable
+        Thread runner();
+    }
+
+    /**
+     * Acquire the lock for a document.
+     *
+     * @param documentIRI document to lock
+     * @param holdsManagerLock true if the calling thread holds the manager write lock; in this case
+     *        waiting for another thread's load would never terminate, so the lock is refused
+     * @return true if the lock was acquired, false if waiting for it would deadlock
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    synchronized boolean lock(IRI documentIRI, boolean holdsManagerLock)
+        throws InterruptedException {
+        Thread current = Thread.currentThread();
+        Owner owner = owners.get(documentIRI);
+        while (owner != null && owner.thread != current) {
+            if (holdsManagerLock || waitsFor(owner.thread, current)) {
+                return false;
+            }
+            waiting.put(current, documentIRI);
+            try {
+                wait();
+            } finally {
+                waiting.remove(current);
+            }
+            owner = owners.get(documentIRI);
+        }
+        if (owner == null) {
+            owners.put(documentIRI, new Owner(current));
+        } else {
+            owner.holds++;
+        }
+        return true;
+    }
+
+    /**
+     * Release the lock for a document.
+     *
+     * @param documentIRI document to unlock
+     */
+    synchronized void unlock(IRI documentIRI) {
+        Owner owner = owners.get(documentIRI);
+        if (owner == null || owner.thread != Thread.currentThread()) {
+            return;
+        }
+        if (--owner.holds == 0) {
+            owners.remove(documentIRI);
+            notifyAll();
+        }
+    }
+
+    /**
+     * Record that the current thread is about to wait for a load running on another thread.
+     *
+     * @param load load to wait for
+     * @return false if the thread running the load waits, directly or through other threads, for
+     *         the current thread; the wait is not recorded and the caller must not wait
+     */
+    synchronized boolean startWaiting(Load load) {
+        Thread current = Thread.currentThread();
+        if (waitsFor(load.runner(), current)) {
+            return false;
+        }
+        waiting.put(current, load);
+        return true;
+    }
+
+    /**
+     * Record that the current thread no longer waits for a load.
+     */
+    synchronized void stopWaiting() {
+        waiting.remove(Thread.currentThread());
+    }
+
+    /**
+     * Follows the chain of threads and the documents or loads they wait for.
+     *
+     * @param start first thread in the chain
+     * @param target thread to look for
+     * @return true if {@code start} is, or waits for, {@code target}
+     */
+    private boolean waitsFor(@Nullable Thread start, Thread target) {
+        Set<Thread> visited = new HashSet<>();
+        Thread t = start;
+        while (t != null && visited.add(t)) {
+            if (t == target) {
+                return true;
+            }
+            t = ownerOf(waiting.get(t));
+        }
+        return false;
+    }
+
+    @Nullable
+    private Thread ownerOf(@Nullable Object waitedFor) {
+        if (waitedFor instanceof Load) {
+            return ((Load) waitedFor).runner();
+        }
+        Owner owner = owners.get(waitedFor);
+        return owner == null ? null : owner.thread;
+    }
+
+    private static class Owner {
+
+        final Thread thread;
+        int holds = 1;
+
+        Owner(Thread thread) {
+            this.thread = thread;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.OWLAnnotation;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLAxiomVisitorEx;
+import org.semanticweb.owlapi.model.OWLImportsDeclaration;
+import org.semanticweb.owlapi.model.OWLOntology;
+
+/**
+ * Internals for an immutable ontology. The content of the source ontology is indexed once, all lazy
+ * indexes are initialized, and every index is then replaced with a {@link FrozenMapPointer}; the
+ * sets of imports, ontology annotations and general axioms are replaced with sorted lists. The
+ * indexes by IRI prefix and by literal value, built on first query for other ontologies, are built
+ * here as well. After construction no index can change and reads take no locks.
+ *
+ * @author ignazio
+ */
+public class FrozenInternals extends Internals {
+
+    /**
+     * @param source ontology to copy
+     */
+    public FrozenInternals(OWLOntology source) {
+        this(source.importsDeclarations(), source.annotations(), source.axioms());
+    }
+
+    /**
+     * @param importsDeclarations imports declarations to copy
+     * @param ontologyAnnotations ontology annotations to copy
+     * @param axioms axioms to copy
+     */
+    public FrozenInternals(Stream<OWLImportsDeclaration> importsDeclarations,
+        Stream<OWLAnnotation> ontologyAnnotations, Stream<OWLAxiom> axioms) {
+        importsDeclarations.forEach(this::addImportsDeclaration);
+        ontologyAnnotations.forEach(this::addOntologyAnnotation);
+        axioms.forEach(this::addAxiom);
+        importsDeclarations = new FrozenSetPointer<>(importsDeclarations);
+        ontologyAnnotations = new FrozenSetPointer<>(ontologyAnnotations);
+        generalClassAxioms = new FrozenSetPointer<>(generalClassAxioms);
+        propertyChainSubPropertyAxioms = new FrozenSetPointer<>(propertyChainSubPropertyAxioms);
+        // lazy indexes are initialized from axiomsByType, which must be frozen last
+        classAssertionAxiomsByClass = freeze(classAssertionAxiomsByClass);
+        annotationAssertionAxiomsBySubject = freeze(annotationAssertionAxiomsBySubject);
+        subClassAxiomsBySubPosition = freeze(subClassAxiomsBySubPosition);
+        subClassAxiomsBySuperPosition = freeze(subClassAxiomsBySuperPosition);
+        objectSubPropertyAxiomsBySubPosition = freeze(objectSubPropertyAxiomsBySubPosition);
+        objectSubPropertyAxiomsBySuperPosition = freeze(objectSubPropertyAxiomsBySuperPosition);
+        dataSubPropertyAxiomsBySubPosition = freeze(dataSubPropertyAxiomsBySubPosition);
+        dataSubPropertyAxiomsBySuperPosition = freeze(dataSubPropertyAxiomsBySuperPosition);
+        equivalentClassesAxiomsByClass = freeze(equivalentClassesAxiomsByClass);
+        disjointClassesAxiomsByClass = freeze(disjointClassesAxiomsByClass);
+        disjointUnionAxiomsByClass = freeze(disjointUnionAxiomsByClass);
+        hasKeyAxiomsByClass = freeze(hasKeyAxiomsByClass);
+        equivalentObjectPropertyAxiomsByProperty = freeze(equivalentObjectPropertyAxiomsByProperty);
+        disjointObjectPropertyAxiomsByProperty = freeze(disjointObjectPropertyAxiomsByProperty);
+        objectPropertyDomainAxiomsByProperty = freeze(objectPropertyDomainAxiomsByProperty);
+        objectPropertyRangeAxiomsByProperty = freeze(objectPropertyRangeAxiomsByProperty);
+        functionalObjectPropertyAxiomsByProperty = freeze(functionalObjectPropertyAxiomsByProperty);
+        inverseFunctionalPropertyAxiomsByProperty =
+            freeze(inverseFunctionalPropertyAxiomsByProperty);
+        symmetricPropertyAxiomsByProperty = freeze(symmetricPropertyAxiomsByProperty);
+        asymmetricPropertyAxiomsByProperty = freeze(asymmetricPropertyAxiomsByProperty);
+        reflexivePropertyAxiomsByProperty = freeze(reflexivePropertyAxiomsByProperty);
+        irreflexivePropertyAxiomsByProperty = freeze(irreflexivePropertyAxiomsByProperty);
+        transitivePropertyAxiomsByProperty = freeze(transitivePropertyAxiomsByProperty);
+        inversePropertyAxiomsByProperty = freeze(inversePropertyAxiomsByProperty);
+        equivalentDataPropertyAxiomsByProperty = freeze(equivalentDataPropertyAxiomsByProperty);
+        disjointDataPropertyAxiomsByProperty = freeze(disjointDataPropertyAxiomsByProperty);
+        dataPropertyDomainAxiomsByProperty = freeze(dataPropertyDomainAxiomsByProperty);
+        dataPropertyRangeAxiomsByProperty = freeze(dataPropertyRangeAxiomsByProperty);
+        functionalDataPropertyAxiomsByProperty = freeze(functionalDataPropertyAxiomsByProperty);
+        classAssertionAxiomsByIndividual = freeze(classAssertionAxiomsByIndividual);
+        objectPropertyAssertionsByIndividual = freeze(objectPropertyAssertionsByIndividual);
+        dataPropertyAssertionsByIndividual = freeze(dataPropertyAssertionsByIndividual);
+        negativeObjectPropertyAssertionAxiomsByIndividual =
+            freeze(negativeObjectPropertyAssertionAxiomsByIndividual);
+        negativeDataPropertyAssertionAxiomsByIndividual =
+            freeze(negativeDataPropertyAssertionAxiomsByIndividual);
+        differentIndividualsAxiomsByIndividual = freeze(differentIndividualsAxiomsByIndividual);
+        sameIndividualsAxiomsByIndividual = freeze(sameIndividualsAxiomsByIndividual);
+        classAxiomsByClass = freeze(classAxiomsByClass);
+        owlClassReferences = freeze(owlClassReferences);
+        owlObjectPropertyReferences = freeze(owlObjectPropertyReferences);
+        owlDataPropertyReferences = freeze(owlDataPropertyReferences);
+        owlIndividualReferences = freeze(owlIndividualReferences);
+        owlAnonymousIndividualReferences = freeze(owlAnonymousIndividualReferences);
+        owlDatatypeReferences = freeze(owlDatatypeReferences);
+        owlAnnotationPropertyReferences = freeze(owlAnnotationPropertyReferences);
+        declarationsByEntity = freeze(declarationsByEntity);
+        axiomsByType = freeze(axiomsByType);
+        // indexes otherwise built on first query; afterwards nothing can change them
+        entitiesByIRI.buildSorted();
+        getDataPropertyAssertionsByValue();
+        getAnnotationAssertionsByValue();
+    }
+
+    @Override
+    protected <K, V extends OWLAxiom> MapPointer<K, V> buildLazy(AxiomType<?> t,
+        OWLAxiomVisitorEx<?> v, Class<V> valueWithness) {
+        // pointers built during construction are only used to compute the frozen ones
+        return new MapPointer<>(t, v, false, this, valueWithness);
+    }
+
+    @Override
+    protected <K, V extends OWLAxiom> MapPointer<K, V> build(@Nullable AxiomType<?> t,
+        @Nullable OWLAxiomVisitorEx<?> v, Class<V> valueWithness) {
+        return new MapPointer<>(t, v, true, this, valueWithness);
+    }
+
+    private <K, V extends OWLAxiom> MapPointer<K, V> freeze(MapPointer<K, V> p) {
+        return new FrozenMapPointer<>(p, this);
+    }
+
+    @Override
+    public void trimToSize() {
+        // nothing to trim
+    }
+
+    /**
+     * Set pointer whose content never changes.
+     */
+    protected class FrozenSetPointer<K extends Serializable> extends SetPointer<K> {
+
+        private final List<K> sorted;
+
+        FrozenSetPointer(SetPointer<K> source) {
+            sorted = asList(source.stream());
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return sorted.isEmpty();
+        }
+
+        @Override
+        public boolean add(K k) {
+            return false;
+        }
+
+        @Override
+        public boolean remove(K k) {
+            return false;
+        }
+
+        @Override
+        public Stream<K> stream() {
+            return sorted.stream();
+        }
+    }
+}
@@ -0,0 +1,376 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.streamFromSorted;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.util.OWLAxiomSearchFilter;
+
+/**
+ * An immutable map pointer, copied from a fully initialized pointer. Keys are kept in a sorted
+ * array, with an open addressing table of positions for lookups; values are kept in a single array,
+ * each row sorted, so that containment checks are binary searches. Nothing is computed lazily and
+ * no method takes a lock. Attempts to add or remove values have no effect.
+ *
+ * @author ignazio
+ * @param <K> key
+ * @param <V> value
+ */
+public class FrozenMapPointer<K, V extends OWLAxiom> extends MapPointer<K, V> {
+
+    private static final int EMPTY = -1;
+    private final Object[] keys;
+    private final int[] offsets;
+    private final Object[] columns;
+    private final int[] slots;
+    private final boolean keysSorted;
+    private final boolean rowsSorted;
+    private final Set<IRI> iris;
+
+    /**
+     * @param source pointer to copy; it is initialized if needed
+     * @param i internals containing this pointer
+     */
+    @SuppressWarnings("unchecked")
+    public FrozenMapPointer(MapPointer<K, V> source, Internals i) {
+        super(null, null, true, i, (Class<V>) OWLAxiom.class);
+        source.init();
+        List<K> keyList = asList(source.keySet());
+        keysSorted = sort(keyList);
+        keys = keyList.toArray();
+        offsets = new int[keys.length + 1];
+        List<Object> values = new ArrayList<>(source.size());
+        boolean sorted = true;
+        for (int index = 0; index < keys.length; index++) {
+            List<V> row = asList(source.getValues(keyList.get(index)));
+            sorted &= sort(row);
+            values.addAll(row);
+            offsets[index + 1] = values.size();
+        }
+        columns = values.toArray();
+        rowsSorted = sorted;
+        size = columns.length;
+        slots = new int[tableSize(keys.length)];
+        Arrays.fill(slots, EMPTY);
+        for (int index = 0; index < keys.length; index++) {
+            int slot = slot(keys[index]);
+            while (slots[slot] != EMPTY) {
+                slot = (slot + 1) & (slots.length - 1);
+            }
+            slots[slot] = index;
+        }
+        Set<IRI> set = new HashSet<>();
+        for (K k : keyList) {
+            consumer(set, k);
+        }
+        iris = set;
+    }
+
+    private static int tableSize(int count) {
+        int capacity = 2;
+        while (capacity < count * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static boolean sort(List<?> list) {
+        try {
+            list.sort(null);
+            return true;
+        } catch (ClassCastException | IllegalArgumentException e) {
+            // keys or values without a consistent order; leave them unsorted
+            return false;
+        }
+    }
+
+    private int slot(Object k) {
+        int h = k.hashCode() * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & (slots.length - 1);
+    }
+
+    private int row(@Nullable Object k) {
+        if (k == null) {
+            return EMPTY;
+        }
+        int slot = slot(k);
+        while (slots[slot] != EMPTY) {
+            int index = slots[slot];
+            if (keys[index].equals(k)) {
+                return index;
+            }
+            slot = (slot + 1) & (slots.length - 1);
+        }
+        return EMPTY;
+    }
+
+    @Override
+    public boolean isInitialized() {
+        return true;
+    }
+
+    @Override
+    public MapPointer<K, V> init() {
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "frozen" + Arrays.toString(keys);
+    }
+
+    @Override
+    public boolean containsReference(K e) {
+        return hasKey(e);
+    }
+
+    @Override
+    public boolean containsReference(IRI e) {
+        return iris.contains(e);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Stream<K> keySet() {
+        if (keysSorted) {
+            return (Stream<K>) streamFromSorted(keys);
+        }
+        return (Stream<K>) Arrays.stream(keys);
+    }
+
+    @Override
+    public Stream<V> getValues(K key) {
+        return values(key, null);
+    }
+
+    @Override
+    public void forEach(K key, Consumer<V> function) {
+        Collection<V> t = lookup(key);
+        if (t != null) {
+            t.forEach(function);
+        }
+    }
+
+    @Override
+    public boolean matchOnValues(K key, Predicate<V> function) {
+        Collection<V> t = lookup(key);
+        return t != null && t.stream().anyMatch(function);
+    }
+
+    @Override
+    public Collection<V> getValuesAsCollection(K key) {
+        Collection<V> t = lookup(key);
+        if (t == null) {
+            return Collections.emptyList();
+        }
+        return t;
+    }
+
+    @Override
+    public int countValues(K key) {
+        return count(key);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <O extends V> Stream<O> values(K key, @Nullable Class<O> classType) {
+        Collection<V> t = lookup(key);
+        if (t == null) {
+            return Stream.empty();
+        }
+        return (Stream<O>) t.stream();
+    }
+
+    @Override
+    public <T> Collection<OWLAxiom> filterAxioms(OWLAxiomSearchFilter filter, T key) {
+        List<OWLAxiom> toReturn = new ArrayList<>();
+        for (AxiomType<?> at : filter.getAxiomTypes()) {
+            // This method is only used for MapPointer<AxiomType, OWLAxiom>
+            @SuppressWarnings("unchecked")
+            Collection<V> collection = lookup((K) at);
+            if (collection != null) {
+                collection.stream().filter(x -> filter.pass(x, key)).forEach(toReturn::add);
+            }
+        }
+        return toReturn;
+    }
+
+    @Override
+    public boolean put(K key, V value) {
+        return false;
+    }
+
+    @Override
+    public boolean remove(K key, V value) {
+        return false;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return hasKey(key);
+    }
+
+    @Override
+    public boolean contains(K key, V value) {
+        return containsEntry(key, value);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Stream<V> getAllValues() {
+        return Arrays.stream(columns).map(x -> (V) x);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    @Nullable
+    protected Collection<V> lookup(@Nullable K k) {
+        int row = row(k);
+        if (row == EMPTY) {
+            return null;
+        }
+        return new Row<>(columns, offsets[row], offsets[row + 1]);
+    }
+
+    @Override
+    protected boolean hasKey(@Nullable K k) {
+        return row(k) != EMPTY;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void forEachKey(Consumer<K> consumer) {
+        for (Object k : keys) {
+            consumer.accept((K) k);
+        }
+    }
+
+    @Override
+    protected int count(K k) {
+        int row = row(k);
+        if (row == EMPTY) {
+            return 0;
+        }
+        return offsets[row + 1] - offsets[row];
+    }
+
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    protected boolean containsEntry(K k, V v) {
+        int row = row(k);
+        if (row == EMPTY) {
+            return false;
+        }
+        int from = offsets[row];
+        int to = offsets[row + 1];
+        if (!rowsSorted) {
+            for (int index = from; index < to; index++) {
+                if (columns[index].equals(v)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        int found = Arrays.binarySearch(columns, from, to, v);
+        if (found < 0) {
+            return false;
+        }
+        // compareTo might return 0 for objects that are not equal; check all candidates
+        Comparable c = v;
+        for (int index = found; index >= from && c.compareTo(columns[index]) == 0; index--) {
+            if (columns[index].equals(v)) {
+                return true;
+            }
+        }
+        for (int index = found + 1; index < to && c.compareTo(columns[index]) == 0; index++) {
+            if (columns[index].equals(v)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected Stream<V> values() {
+        return Arrays.stream(columns).map(x -> (V) x);
+    }
+
+    @Override
+    protected boolean putInternal(@Nullable K k, V v) {
+        return false;
+    }
+
+    @Override
+    protected boolean removeInternal(K k, V v) {
+        return false;
+    }
+
+    /**
+     * Read only view of a row.
+     */
+    private static class Row<V> extends AbstractList<V> implements RandomAccess {
+
+        private final Object[] columns;
+        private final int from;
+        private final int to;
+
+        Row(Object[] columns, int from, int to) {
+            this.columns = columns;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V get(int index) {
+            if (index < 0 || index >= to - from) {
+                throw new IndexOutOfBoundsException(Integer.toString(index));
+            }
+            return (V) columns[from + index];
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+    }
+}
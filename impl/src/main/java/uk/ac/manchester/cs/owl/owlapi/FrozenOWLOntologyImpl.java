@@ -0,0 +1,272 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.verifyNotNull;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asSet;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.streamFromSorted;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.model.HasAnnotationPropertiesInSignature;
+import org.semanticweb.owlapi.model.HasDatatypesInSignature;
+import org.semanticweb.owlapi.model.OWLAnnotation;
+import org.semanticweb.owlapi.model.OWLAnnotationProperty;
+import org.semanticweb.owlapi.model.OWLAnonymousIndividual;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLDatatype;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyID;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.parameters.Navigation;
+
+/**
+ * An immutable, fully indexed copy of an ontology. All indexes are built when the copy is created
+ * and stored in {@link FrozenInternals}; signatures are computed once, so that no read needs the
+ * shared signature caches or any lock. The ontology is not an {@link
+ * org.semanticweb.owlapi.model.OWLMutableOntology}: changes applied through the manager are
+ * rejected. Copies made with
+ * {@link #withImportsClosure(OWLOntologyManager, OWLOntology, OWLOntology)} also answer imports
+ * queries from frozen copies of their imports closure.
+ *
+ * @author ignazio
+ */
+public class FrozenOWLOntologyImpl extends OWLImmutableOntologyImpl {
+
+    private final List<OWLClass> classes;
+    private final List<OWLObjectProperty> objectProperties;
+    private final List<OWLDataProperty> dataProperties;
+    private final List<OWLNamedIndividual> individuals;
+    private final List<OWLDatatype> datatypes;
+    private final List<OWLAnnotationProperty> annotationProperties;
+    private final List<OWLAnonymousIndividual> anonymousIndividuals;
+    private final Set<OWLEntity> signature;
+    // set once, before the copy is published, when the imports closure is frozen as well
+    @Nullable
+    private List<OWLOntology> frozenDirectImports;
+    private List<OWLOntology> frozenImportsClosure = Collections.emptyList();
+
+    /**
+     * @param manager ontology manager
+     * @param source ontology to copy
+     */
+    public FrozenOWLOntologyImpl(OWLOntologyManager manager, OWLOntology source) {
+        this(manager, source.getOntologyID(), new FrozenInternals(source));
+    }
+
+    /**
+     * @param manager ontology manager
+     * @param ontologyID ontology id
+     * @param internals frozen content of the ontology
+     */
+    public FrozenOWLOntologyImpl(OWLOntologyManager manager, OWLOntologyID ontologyID,
+        FrozenInternals internals) {
+        super(manager, ontologyID, internals);
+        classes = asList(ints.get(OWLClass.class, OWLAxiom.class).get().keySet());
+        objectProperties = asList(ints.get(OWLObjectProperty.class, OWLAxiom.class).get().keySet());
+        dataProperties = asList(ints.get(OWLDataProperty.class, OWLAxiom.class).get().keySet());
+        individuals = asList(ints.get(OWLNamedIndividual.class, OWLAxiom.class).get().keySet());
+        anonymousIndividuals =
+            asList(ints.get(OWLAnonymousIndividual.class, OWLAxiom.class).get().keySet());
+        datatypes = asList(Stream
+            .concat(ints.get(OWLDatatype.class, OWLAxiom.class).get().keySet(),
+                ints.getOntologyAnnotations().flatMap(HasDatatypesInSignature::datatypesInSignature))
+            .distinct().sorted());
+        annotationProperties = asList(Stream.concat(
+            ints.get(OWLAnnotationProperty.class, OWLAxiom.class, Navigation.IN_SUB_POSITION).get()
+                .keySet(),
+            ints.getOntologyAnnotations()
+                .flatMap(HasAnnotationPropertiesInSignature::annotationPropertiesInSignature))
+            .distinct().sorted());
+        Stream<OWLEntity> stream = Stream.of(classes.stream(), objectProperties.stream(),
+            dataProperties.stream(), individuals.stream(), datatypes.stream(),
+            annotationProperties.stream(), annotations().flatMap(OWLAnnotation::signature))
+            .flatMap(x -> x);
+        signature = asSet(stream.distinct().sorted());
+    }
+
+    /**
+     * Copy sharing the indexes and signature of another frozen ontology, so that the same content
+     * can be linked into more than one imports closure.
+     *
+     * @param content frozen ontology to share
+     */
+    private FrozenOWLOntologyImpl(FrozenOWLOntologyImpl content) {
+        super(content.getOWLOntologyManager(), content.getOntologyID(), content.ints);
+        classes = content.classes;
+        objectProperties = content.objectProperties;
+        dataProperties = content.dataProperties;
+        individuals = content.individuals;
+        datatypes = content.datatypes;
+        annotationProperties = content.annotationProperties;
+        anonymousIndividuals = content.anonymousIndividuals;
+        signature = content.signature;
+    }
+
+    /**
+     * Copies an ontology together with its imports closure. Each ontology in the closure is
+     * copied once and the copies refer to each other, so that imports queries on the result, and
+     * queries with {@link org.semanticweb.owlapi.model.parameters.Imports#INCLUDED}, see the
+     * closure as it was when the copy was made and never reach the live ontologies.
+     *
+     * @param manager manager of the ontologies in the closure
+     * @param root ontology whose imports closure is copied; if {@code manager} does not manage
+     *        it, only its own content is copied
+     * @param content ontology to copy the axioms of {@code root} from; usually {@code root}
+     *        itself, or the unsynchronized ontology it wraps
+     * @return the copy of {@code root}
+     */
+    public static FrozenOWLOntologyImpl withImportsClosure(OWLOntologyManager manager,
+        OWLOntology root, OWLOntology content) {
+        if (!manager.contains(root)) {
+            return new FrozenOWLOntologyImpl(manager, content);
+        }
+        Map<OWLOntology, FrozenOWLOntologyImpl> contents = new IdentityHashMap<>();
+        Map<OWLOntology, List<OWLOntology>> directImports = new IdentityHashMap<>();
+        List<OWLOntology> closure = asList(manager.importsClosure(root));
+        if (!closure.contains(root)) {
+            closure.add(0, root);
+        }
+        closure.forEach(o -> {
+            contents.put(o, new FrozenOWLOntologyImpl(manager, o == root ? content : o));
+            directImports.put(o, asList(manager.directImports(o)));
+        });
+        return linkImportsClosure(root, contents, directImports);
+    }
+
+    /**
+     * Links frozen ontologies into an imports closure. Each content is shared, not copied again:
+     * the same frozen content can be linked into any number of closures, so that a new closure
+     * only needs new copies of the ontologies that changed.
+     *
+     * @param root ontology whose imports closure is linked
+     * @param contents frozen content of each ontology in the closure, including {@code root}, by
+     *        live ontology
+     * @param directImports live direct imports of each ontology in the closure; imports with no
+     *        content are left out of the closure
+     * @return the copy of {@code root}
+     */
+    public static FrozenOWLOntologyImpl linkImportsClosure(OWLOntology root,
+        Map<OWLOntology, FrozenOWLOntologyImpl> contents,
+        Map<OWLOntology, List<OWLOntology>> directImports) {
+        Map<OWLOntology, FrozenOWLOntologyImpl> copies = new IdentityHashMap<>();
+        contents.forEach((o, c) -> copies.put(o, new FrozenOWLOntologyImpl(c)));
+        copies.forEach((o, copy) -> {
+            copy.frozenDirectImports = asList(directImports.getOrDefault(o, Collections.emptyList())
+                .stream().map(copies::get).filter(Objects::nonNull).sorted());
+            copy.frozenImportsClosure =
+                asList(closure(o, directImports).stream().map(copies::get).sorted());
+        });
+        return verifyNotNull(copies.get(root));
+    }
+
+    private static Set<OWLOntology> closure(OWLOntology o,
+        Map<OWLOntology, List<OWLOntology>> directImports) {
+        Set<OWLOntology> closure = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<OWLOntology> toVisit = new ArrayList<>();
+        toVisit.add(o);
+        while (!toVisit.isEmpty()) {
+            OWLOntology next = toVisit.remove(toVisit.size() - 1);
+            List<OWLOntology> imports = directImports.get(next);
+            if (imports != null && closure.add(next)) {
+                toVisit.addAll(imports);
+            }
+        }
+        return closure;
+    }
+
+    @Override
+    public Stream<OWLOntology> directImports() {
+        List<OWLOntology> list = frozenDirectImports;
+        if (list == null) {
+            return super.directImports();
+        }
+        return list.stream();
+    }
+
+    @Override
+    public Stream<OWLOntology> imports() {
+        if (frozenDirectImports == null) {
+            return super.imports();
+        }
+        return frozenImportsClosure.stream().filter(o -> o != this);
+    }
+
+    @Override
+    public Stream<OWLOntology> importsClosure() {
+        if (frozenDirectImports == null) {
+            return super.importsClosure();
+        }
+        return frozenImportsClosure.stream();
+    }
+
+    @Override
+    public boolean containsEntityInSignature(OWLEntity owlEntity) {
+        return signature.contains(owlEntity);
+    }
+
+    @Override
+    public Stream<OWLEntity> signature() {
+        return streamFromSorted(signature);
+    }
+
+    @Override
+    public Stream<OWLAnonymousIndividual> anonymousIndividuals() {
+        return streamFromSorted(anonymousIndividuals);
+    }
+
+    @Override
+    public Stream<OWLClass> classesInSignature() {
+        return streamFromSorted(classes);
+    }
+
+    @Override
+    public Stream<OWLDataProperty> dataPropertiesInSignature() {
+        return streamFromSorted(dataProperties);
+    }
+
+    @Override
+    public Stream<OWLObjectProperty> objectPropertiesInSignature() {
+        return streamFromSorted(objectProperties);
+    }
+
+    @Override
+    public Stream<OWLNamedIndividual> individualsInSignature() {
+        return streamFromSorted(individuals);
+    }
+
+    @Override
+    public Stream<OWLDatatype> datatypesInSignature() {
+        return streamFromSorted(datatypes);
+    }
+
+    @Override
+    public Stream<OWLAnnotationProperty> annotationPropertiesInSignature() {
+        return streamFromSorted(annotationProperties);
+    }
+}
@@ -0,0 +1,25 @@
+package uk.ac.manchester.cs.owl.owlapi;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+
+/**
+ * Implemented by ontologies that can add many axioms at once, bypassing per axiom change
+ * application.
+ *
+ * @author ignazio
+ */
+@FunctionalInterface
+public interface HasBulkAxiomAddition {
+
+    /**
+     * Add axioms directly to the ontology. No change events are generated; the caller is
+     * responsible for notifying listeners.
+     *
+     * @param buffers axioms to add, one collection per axiom type
+     * @return the axioms that were not already in the ontology
+     */
+    List<OWLAxiom> addAxiomsInBulk(Collection<? extends Collection<OWLAxiom>> buffers);
+}
@@ -0,0 +1,27 @@
+package uk.ac.manchester.cs.owl.owlapi;
+
+import java.util.Collection;
+
+import org.semanticweb.owlapi.model.AxiomType;
+
+/**
+ * Implemented by ontologies whose axiom indexes are built lazily.
+ *
+ * @author ignazio
+ */
+public interface HasIndexWarmUp {
+
+    /**
+     * Build, in parallel, the lazy indexes for the specified axiom types, so that later queries do
+     * not pay for building them.
+     *
+     * @param types axiom types whose indexes should be built
+     */
+    void warmUpIndexes(Collection<AxiomType<?>> types);
+
+    /**
+     * @param type axiom type
+     * @return true if all the lazy indexes for axioms of the specified type have been built
+     */
+    boolean isIndexBuilt(AxiomType<?> type);
+}
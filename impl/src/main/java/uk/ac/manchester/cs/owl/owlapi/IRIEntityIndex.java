@@ -0,0 +1,243 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.model.EntityType;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLEntity;
+
+/**
+ * Index from IRI to the entities with that IRI, one per entity type at most. Rows are small sorted
+ * arrays, replaced on every change, so lookups take no lock and always see a consistent row.
+ * Callers decide when an entity enters or leaves the signature; this index does not count
+ * references. On the first prefix or namespace query, a second index is built with the entities of
+ * each type sorted by IRI string and counted by namespace; it is kept up to date after that, so
+ * that prefix scans and counts take time proportional to the number of results.
+ *
+ * @author ignazio
+ */
+public class IRIEntityIndex {
+
+    private static final OWLEntity[] NONE = new OWLEntity[0];
+    private final ConcurrentHashMap<IRI, OWLEntity[]> rows = new ConcurrentHashMap<>();
+    @Nullable
+    private volatile Map<EntityType<?>, Sorted> sorted;
+
+    /**
+     * Entities of one type sorted by IRI string, and counts of entities per namespace.
+     */
+    private static final class Sorted {
+
+        final ConcurrentSkipListMap<CharSequence, OWLEntity> entities =
+            new ConcurrentSkipListMap<>(CharSequence::compare);
+        final ConcurrentHashMap<String, Integer> namespaces = new ConcurrentHashMap<>();
+
+        void add(OWLEntity e) {
+            if (entities.putIfAbsent(e.getIRI(), e) == null) {
+                namespaces.merge(e.getIRI().getNamespace(), Integer.valueOf(1),
+                    (a, b) -> Integer.valueOf(a.intValue() + b.intValue()));
+            }
+        }
+
+        void remove(OWLEntity e) {
+            if (entities.remove(e.getIRI(), e)) {
+                namespaces.computeIfPresent(e.getIRI().getNamespace(),
+                    (k, v) -> v.intValue() == 1 ? null : Integer.valueOf(v.intValue() - 1));
+            }
+        }
+
+        NavigableMap<CharSequence, OWLEntity> range(String prefix) {
+            String upper = successor(prefix);
+            if (upper == null) {
+                return entities.tailMap(prefix, true);
+            }
+            return entities.subMap(prefix, true, upper, false);
+        }
+    }
+
+    /**
+     * @return the smallest string larger than all strings starting with prefix, or null if there
+     *         is none
+     */
+    @Nullable
+    static String successor(String prefix) {
+        for (int i = prefix.length() - 1; i >= 0; i--) {
+            char c = prefix.charAt(i);
+            if (c != Character.MAX_VALUE) {
+                return prefix.substring(0, i) + (char) (c + 1);
+            }
+        }
+        return null;
+    }
+
+    private Map<EntityType<?>, Sorted> sorted() {
+        Map<EntityType<?>, Sorted> map = sorted;
+        if (map == null) {
+            synchronized (this) {
+                map = sorted;
+                if (map == null) {
+                    map = new HashMap<>();
+                    for (EntityType<?> type : EntityType.values()) {
+                        map.put(type, new Sorted());
+                    }
+                    for (OWLEntity[] row : rows.values()) {
+                        for (OWLEntity e : row) {
+                            map.get(e.getEntityType()).add(e);
+                        }
+                    }
+                    sorted = map;
+                }
+            }
+        }
+        return map;
+    }
+
+    private static int indexOf(OWLEntity[] row, OWLEntity e) {
+        for (int i = 0; i < row.length; i++) {
+            if (row[i].equals(e)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param e entity to add; no effect if already present
+     */
+    public void add(OWLEntity e) {
+        OWLEntity[] row = rows.get(e.getIRI());
+        if (row != null && indexOf(row, e) >= 0) {
+            return;
+        }
+        rows.compute(e.getIRI(), (iri, r) -> {
+            if (r == null) {
+                return new OWLEntity[] {e};
+            }
+            if (indexOf(r, e) >= 0) {
+                return r;
+            }
+            OWLEntity[] updated = Arrays.copyOf(r, r.length + 1);
+            updated[r.length] = e;
+            Arrays.sort(updated);
+            return updated;
+        });
+        Map<EntityType<?>, Sorted> map = sorted;
+        if (map != null) {
+            map.get(e.getEntityType()).add(e);
+        }
+    }
+
+    /**
+     * @param e entity to remove; no effect if not present
+     */
+    public void remove(OWLEntity e) {
+        rows.computeIfPresent(e.getIRI(), (iri, r) -> {
+            int index = indexOf(r, e);
+            if (index < 0) {
+                return r;
+            }
+            if (r.length == 1) {
+                return null;
+            }
+            OWLEntity[] updated = new OWLEntity[r.length - 1];
+            System.arraycopy(r, 0, updated, 0, index);
+            System.arraycopy(r, index + 1, updated, index, updated.length - index);
+            return updated;
+        });
+        Map<EntityType<?>, Sorted> map = sorted;
+        if (map != null) {
+            map.get(e.getEntityType()).remove(e);
+        }
+    }
+
+    /**
+     * @param iri iri to look up
+     * @return sorted entities with the iri
+     */
+    public Stream<OWLEntity> entities(IRI iri) {
+        return Arrays.stream(rows.getOrDefault(iri, NONE));
+    }
+
+    /**
+     * @param iri iri to look up
+     * @param type entity type to look for
+     * @return true if an entity of the specified type has the iri
+     */
+    public boolean contains(IRI iri, EntityType<?> type) {
+        OWLEntity[] row = rows.get(iri);
+        if (row == null) {
+            return false;
+        }
+        for (OWLEntity e : row) {
+            if (e.isType(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param iri iri to look up
+     * @return true if any entity has the iri
+     */
+    public boolean contains(IRI iri) {
+        return rows.containsKey(iri);
+    }
+
+    /**
+     * @param type entity type to look for
+     * @param prefix start of the IRIs to look for, e.g.,
+     *        {@code "http://purl.obolibrary.org/obo/GO_"}
+     * @return entities of the specified type whose IRI starts with the prefix, sorted by IRI string
+     */
+    public Stream<OWLEntity> entitiesWithPrefix(EntityType<?> type, String prefix) {
+        return sorted().get(type).range(prefix).values().stream();
+    }
+
+    /**
+     * @param type entity type to look for
+     * @param prefix start of the IRIs to look for
+     * @return number of entities of the specified type whose IRI starts with the prefix
+     */
+    public int countWithPrefix(EntityType<?> type, String prefix) {
+        return sorted().get(type).range(prefix).size();
+    }
+
+    /**
+     * Builds the entities sorted by IRI string now, instead of on the first prefix or namespace
+     * query.
+     */
+    public void buildSorted() {
+        sorted();
+    }
+
+    /**
+     * @param type entity type to look for
+     * @return number of entities of the specified type in each namespace, sorted by namespace
+     */
+    public Map<String, Integer> countsByNamespace(EntityType<?> type) {
+        return Collections.unmodifiableMap(new TreeMap<>(sorted().get(type).namespaces));
+    }
+}
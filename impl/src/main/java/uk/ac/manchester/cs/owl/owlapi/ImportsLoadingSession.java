@@ -0,0 +1,225 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import java.util.Collection;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Imports closure of an ontology being loaded concurrently. Import requests made while parsing
+ * the root ontology, or any of its imports, are submitted to a pool shared by the manager instead
+ * of being loaded by the parser; the thread that started the load waits for all of them before
+ * returning.
+ * <p>
+ * A parser that needs the imported ontologies while parsing, e.g., to type the entities in RDF
+ * triples, calls {@link #awaitRequestedImports()}: this waits for the imports requested by the load
+ * running on the calling thread, and for the imports those loads request in turn. Loads that have
+ * not started yet are run by the waiting thread, so a bounded pool cannot starve; since every load
+ * is requested by exactly one other load, waits follow a tree and cannot form a cycle.
+ *
+ * @author ignazio
+ */
+final class ImportsLoadingSession {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ImportsLoadingSession.class);
+    private final Executor executor;
+    private final DocumentLoadLocks documentLoadLocks;
+    private final Queue<ImportLoad> pending = new ConcurrentLinkedQueue<>();
+    private final Queue<ImportLoad> rootRequests = new ConcurrentLinkedQueue<>();
+    private final Queue<RuntimeException> failures = new ConcurrentLinkedQueue<>();
+    private final Queue<OWLOntology> toRepair = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<ImportLoad> running = new ThreadLocal<>();
+
+    /**
+     * @param executor pool running the import loads
+     * @param documentLoadLocks document locks of the manager; waits for import loads are recorded
+     *        there, so that cycles between document locks and import loads are detected
+     */
+    ImportsLoadingSession(Executor executor, DocumentLoadLocks documentLoadLocks) {
+        this.executor = executor;
+        this.documentLoadLocks = documentLoadLocks;
+    }
+
+    /**
+     * @param task import load to run; a runtime exception thrown by the task is reported by
+     *        {@link #await()}
+     */
+    void submit(Runnable task) {
+        ImportLoad load = new ImportLoad(task);
+        ImportLoad requester = running.get();
+        (requester == null ? rootRequests : requester.requests).add(load);
+        pending.add(load);
+        executor.execute(load);
+    }
+
+    /**
+     * Waits for the imports requested by the load running on this thread, and for the imports
+     * requested by those loads, recursively. Imports requested from other branches of the
+     * imports closure, e.g., cyclic imports, are not waited for.
+     */
+    void awaitRequestedImports() {
+        ImportLoad requester = running.get();
+        for (ImportLoad load : requester == null ? rootRequests : requester.requests) {
+            awaitTree(load);
+        }
+    }
+
+    private void awaitTree(ImportLoad load) {
+        if (!awaitLoad(load)) {
+            return;
+        }
+        // requests are only added while the load runs, so they are all known at this point
+        for (ImportLoad requested : load.requests) {
+            awaitTree(requested);
+        }
+    }
+
+    /**
+     * @return false if the load did not complete, because the thread was interrupted or because
+     *         the thread running the load waits for a document this thread is loading
+     */
+    private boolean awaitLoad(ImportLoad load) {
+        // no op if the load has already started on another thread
+        load.run();
+        if (!documentLoadLocks.startWaiting(load)) {
+            LOGGER.warn("Import waits for a document loaded by {}; parsing continues without it",
+                Thread.currentThread().getName());
+            return false;
+        }
+        try {
+            load.future.get();
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | CancellationException e) {
+            // failures are collected by the load and reported by await()
+            return false;
+        } finally {
+            documentLoadLocks.stopWaiting();
+        }
+    }
+
+    /**
+     * @param o ontology whose illegal punnings must be repaired once its imports closure has been
+     *        loaded
+     */
+    void repairPunningsLater(OWLOntology o) {
+        toRepair.add(o);
+    }
+
+    /**
+     * @return ontologies whose illegal punnings must be repaired
+     */
+    Collection<OWLOntology> ontologiesToRepair() {
+        return toRepair;
+    }
+
+    /**
+     * Waits for all import loads, including the ones requested while waiting.
+     *
+     * @throws OWLOntologyCreationException if the thread is interrupted
+     * @throws RuntimeException the first failure of an import load, e.g., an
+     *         {@link org.semanticweb.owlapi.model.UnloadableImportException}
+     */
+    void await() throws OWLOntologyCreationException {
+        // a load adds the loads for its imports before completing, so an empty queue means
+        // that nothing is left to load
+        ImportLoad load = pending.poll();
+        while (load != null) {
+            load.run();
+            try {
+                load.future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new OWLOntologyCreationException("Interrupted while loading imports", e);
+            } catch (ExecutionException | CancellationException e) {
+                // failures are collected by the load
+            }
+            load = pending.poll();
+        }
+        RuntimeException failure = failures.peek();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Cancels the loads that have not completed, without waiting for them.
+     */
+    void shutdown() {
+        ImportLoad load = pending.poll();
+        while (load != null) {
+            load.future.cancel(true);
+            load = pending.poll();
+        }
+    }
+
+    /**
+     * An import load, run either by the pool or by a thread waiting for it.
+     */
+    private final class ImportLoad implements Runnable, DocumentLoadLocks.Load {
+
+        final Queue<ImportLoad> requests = new ConcurrentLinkedQueue<>();
+        private final Runnable task;
+        private final FutureTask<Void> future = new FutureTask<>(this::load, null);
+        @Nullable
+        private volatile Thread runner;
+
+        ImportLoad(Runnable task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            // no op unless this thread is the first to run the load
+            future.run();
+        }
+
+        @Override
+        @Nullable
+        public Thread runner() {
+            return runner;
+        }
+
+        private void load() {
+            ImportLoad previous = running.get();
+            running.set(this);
+            runner = Thread.currentThread();
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                failures.add(e);
+            } finally {
+                runner = null;
+                if (previous == null) {
+                    running.remove();
+                } else {
+                    running.set(previous);
+                }
+            }
+        }
+    }
+}
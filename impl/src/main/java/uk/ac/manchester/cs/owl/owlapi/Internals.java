@@ -49,6 +49,7 @@ import static org.semanticweb.owlapi.util.CollectionFactory.createSyncSet;
 import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
 import static org.semanticweb.owlapi.util.OWLAPIPreconditions.emptyOptional;
 import static org.semanticweb.owlapi.util.OWLAPIPreconditions.optional;
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.verifyNotNull;
 import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
 import static uk.ac.manchester.cs.owl.owlapi.InitVisitorFactory.ANNOTSUPERNAMED;
 import static uk.ac.manchester.cs.owl.owlapi.InitVisitorFactory.CLASSCOLLECTIONS;
@@ -70,9 +71,12 @@ import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Stream;
 
@@ -137,6 +141,7 @@ import org.semanticweb.owlapi.model.OWLSubObjectPropertyOfAxiom;
 import org.semanticweb.owlapi.model.OWLSubPropertyChainOfAxiom;
 import org.semanticweb.owlapi.model.OWLSymmetricObjectPropertyAxiom;
 import org.semanticweb.owlapi.model.OWLTransitiveObjectPropertyAxiom;
+import org.semanticweb.owlapi.model.parameters.ConfigurationOptions;
 import org.semanticweb.owlapi.model.parameters.Navigation;
 import org.semanticweb.owlapi.search.Filters;
 import org.semanticweb.owlapi.util.AbstractCollector;
@@ -150,6 +155,13 @@ import org.slf4j.LoggerFactory;
 public class Internals implements Serializable {
 
     protected static final Logger LOGGER = LoggerFactory.getLogger(Internals.class);
+    // index modes are read when the indexes are built, on creation and on deserialization
+    private transient boolean compactIndexes = option(ConfigurationOptions.COMPACT_INDEXES);
+    private transient boolean lockFreeIndexes = option(ConfigurationOptions.LOCK_FREE_INDEXES);
+    private transient ObjectIdDictionary<Object> keyIds = new ObjectIdDictionary<>();
+    private transient ObjectIdDictionary<OWLAxiom> axiomIds = new ObjectIdDictionary<>();
+    private transient List<HasTrimToSize> compactPointers = new ArrayList<>();
+    private transient List<MapPointer<?, ?>> lazyPointers = new ArrayList<>();
     //@formatter:off
     private final AddAxiomVisitor addChangeVisitor = new AddAxiomVisitor();
     private final RemoveAxiomVisitor removeChangeVisitor = new RemoveAxiomVisitor();
@@ -207,6 +219,13 @@ public class Internals implements Serializable {
     protected transient MapPointer<OWLDatatype, OWLAxiom>           owlDatatypeReferences = build(OWLAxiom.class);
     protected transient MapPointer<OWLAnnotationProperty, OWLAxiom> owlAnnotationPropertyReferences = build(OWLAxiom.class);
     protected transient MapPointer<OWLEntity, OWLDeclarationAxiom>  declarationsByEntity = build(OWLDeclarationAxiom.class);
+    protected transient IRIEntityIndex                               entitiesByIRI = new IRIEntityIndex();
+    /** Built on first range query, then kept up to date; null until then. */
+    @Nullable
+    protected transient volatile DataValueIndex                      dataPropertyAssertionsByValue;
+    /** Built on first annotation value query, then kept up to date; null until then. */
+    @Nullable
+    protected transient volatile AnnotationValueIndex                annotationAssertionsByValue;
     //@formatter:on
 
     @Nullable
@@ -224,9 +243,19 @@ public class Internals implements Serializable {
         return p.contains(k, v);
     }
 
+    private static boolean option(ConfigurationOptions option) {
+        return option.getValue(Boolean.class, Collections.emptyMap()).booleanValue();
+    }
+
     @SuppressWarnings("null")
     private void readObject(ObjectInputStream stream) throws IOException, ClassNotFoundException {
         stream.defaultReadObject();
+        compactIndexes = option(ConfigurationOptions.COMPACT_INDEXES);
+        lockFreeIndexes = option(ConfigurationOptions.LOCK_FREE_INDEXES);
+        keyIds = new ObjectIdDictionary<>();
+        axiomIds = new ObjectIdDictionary<>();
+        compactPointers = new ArrayList<>();
+        lazyPointers = new ArrayList<>();
         axiomsByType = build(OWLAxiom.class);
         owlClassReferences = build(OWLAxiom.class);
         owlObjectPropertyReferences = build(OWLAxiom.class);
@@ -236,6 +265,7 @@ public class Internals implements Serializable {
         owlDatatypeReferences = build(OWLAxiom.class);
         owlAnnotationPropertyReferences = build(OWLAxiom.class);
         declarationsByEntity = build(OWLDeclarationAxiom.class);
+        entitiesByIRI = new IRIEntityIndex();
         classAssertionAxiomsByClass =
             buildLazy(CLASS_ASSERTION, CLASSEXPRESSIONS, OWLClassAssertionAxiom.class);
         annotationAssertionAxiomsBySubject =
@@ -350,7 +380,7 @@ public class Internals implements Serializable {
      * @return true if a class with this iri exists
      */
     public boolean containsClassInSignature(IRI i) {
-        return owlClassReferences.containsReference(i);
+        return entitiesByIRI.contains(i, EntityType.CLASS);
     }
 
     /**
@@ -358,7 +388,7 @@ public class Internals implements Serializable {
      * @return true if an object property with this iri exists
      */
     public boolean containsObjectPropertyInSignature(IRI i) {
-        return owlObjectPropertyReferences.containsReference(i);
+        return entitiesByIRI.contains(i, EntityType.OBJECT_PROPERTY);
     }
 
     /**
@@ -366,7 +396,7 @@ public class Internals implements Serializable {
      * @return true if a data property with this iri exists
      */
     public boolean containsDataPropertyInSignature(IRI i) {
-        return owlDataPropertyReferences.containsReference(i);
+        return entitiesByIRI.contains(i, EntityType.DATA_PROPERTY);
     }
 
     /**
@@ -374,7 +404,7 @@ public class Internals implements Serializable {
      * @return true if an annotation property with this iri exists
      */
     public boolean containsAnnotationPropertyInSignature(IRI i) {
-        return owlAnnotationPropertyReferences.containsReference(i);
+        return entitiesByIRI.contains(i, EntityType.ANNOTATION_PROPERTY);
     }
 
     /**
@@ -382,7 +412,7 @@ public class Internals implements Serializable {
      * @return true if a individual with this iri exists
      */
     public boolean containsIndividualInSignature(IRI i) {
-        return owlIndividualReferences.containsReference(i);
+        return entitiesByIRI.contains(i, EntityType.NAMED_INDIVIDUAL);
     }
 
     /**
@@ -390,7 +420,90 @@ public class Internals implements Serializable {
      * @return true if a datatype with this iri exists
      */
     public boolean containsDatatypeInSignature(IRI i) {
-        return owlDatatypeReferences.containsReference(i);
+        return entitiesByIRI.contains(i, EntityType.DATATYPE);
+    }
+
+    /**
+     * @param i iri
+     * @return entities with this iri referred by axioms, sorted
+     */
+    public Stream<OWLEntity> entitiesInSignature(IRI i) {
+        return entitiesByIRI.entities(i);
+    }
+
+    /**
+     * @param type entity type
+     * @param prefix IRI prefix
+     * @return entities of the type referred by axioms whose IRI starts with the prefix, sorted by
+     *         IRI string
+     */
+    public Stream<OWLEntity> entitiesWithIRIPrefix(EntityType<?> type, String prefix) {
+        return entitiesByIRI.entitiesWithPrefix(type, prefix);
+    }
+
+    /**
+     * @param type entity type
+     * @param prefix IRI prefix
+     * @return number of entities of the type referred by axioms whose IRI starts with the prefix
+     */
+    public int countEntitiesWithIRIPrefix(EntityType<?> type, String prefix) {
+        return entitiesByIRI.countWithPrefix(type, prefix);
+    }
+
+    /**
+     * @param type entity type
+     * @return number of entities of the type referred by axioms in each namespace
+     */
+    public Map<String, Integer> entityCountsByNamespace(EntityType<?> type) {
+        return entitiesByIRI.countsByNamespace(type);
+    }
+
+    /**
+     * @return index of data property assertions by property and value; built from the data property
+     *         assertions in the ontology on first use, and kept up to date after that
+     */
+    public DataValueIndex getDataPropertyAssertionsByValue() {
+        DataValueIndex index = dataPropertyAssertionsByValue;
+        if (index == null) {
+            synchronized (this) {
+                index = dataPropertyAssertionsByValue;
+                if (index == null) {
+                    index = new DataValueIndex();
+                    axiomsByType.values(DATA_PROPERTY_ASSERTION,
+                        OWLDataPropertyAssertionAxiom.class).forEach(index::add);
+                    dataPropertyAssertionsByValue = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * @return index of annotation assertions by property and literal value; built from the
+     *         annotation assertions in the ontology on first use, and kept up to date after that
+     */
+    public AnnotationValueIndex getAnnotationAssertionsByValue() {
+        AnnotationValueIndex index = annotationAssertionsByValue;
+        if (index == null) {
+            synchronized (this) {
+                index = annotationAssertionsByValue;
+                if (index == null) {
+                    index = new AnnotationValueIndex();
+                    axiomsByType.values(ANNOTATION_ASSERTION, OWLAnnotationAssertionAxiom.class)
+                        .forEach(index::add);
+                    annotationAssertionsByValue = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * @param i iri
+     * @return true if an entity with this iri is referred by axioms
+     */
+    public boolean containsEntityInSignature(IRI i) {
+        return entitiesByIRI.contains(i);
     }
 
     /**
@@ -622,7 +735,24 @@ public class Internals implements Serializable {
 
     protected <K, V extends OWLAxiom> MapPointer<K, V> buildLazy(AxiomType<?> t,
         OWLAxiomVisitorEx<?> v, Class<V> valueWithness) {
-        return new MapPointer<>(t, v, false, this, valueWithness);
+        MapPointer<K, V> p;
+        if (compactIndexes) {
+            p = buildCompact(t, v, false, valueWithness);
+        } else if (lockFreeIndexes) {
+            p = new SnapshotMapPointer<>(t, v, false, this, valueWithness);
+        } else {
+            p = new MapPointer<>(t, v, false, this, valueWithness);
+        }
+        lazyPointers.add(p);
+        return p;
+    }
+
+    protected <K, V extends OWLAxiom> MapPointer<K, V> buildCompact(@Nullable AxiomType<?> t,
+        @Nullable OWLAxiomVisitorEx<?> v, boolean initialized, Class<V> valueWithness) {
+        CompactMapPointer<K, V> p =
+            new CompactMapPointer<>(t, v, initialized, this, valueWithness, keyIds, axiomIds);
+        compactPointers.add(p);
+        return p;
     }
 
     protected ClassAxiomByClassPointer buildClassAxiomByClass() {
@@ -631,9 +761,58 @@ public class Internals implements Serializable {
 
     protected <K, V extends OWLAxiom> MapPointer<K, V> build(@Nullable AxiomType<?> t,
         @Nullable OWLAxiomVisitorEx<?> v, Class<V> valueWithness) {
+        if (compactIndexes) {
+            return buildCompact(t, v, true, valueWithness);
+        }
+        if (lockFreeIndexes) {
+            return new SnapshotMapPointer<>(t, v, true, this, valueWithness);
+        }
         return new MapPointer<>(t, v, true, this, valueWithness);
     }
 
+    /**
+     * Compacts the indexes, if compact indexes are in use; no effect otherwise.
+     */
+    public void trimToSize() {
+        compactPointers.forEach(HasTrimToSize::trimToSize);
+    }
+
+    /**
+     * Builds the lazy indexes for the specified axiom types in parallel on the common fork join
+     * pool, and waits for them to be ready. The index of class axioms by class depends on four other
+     * indexes and is built after them.
+     *
+     * @param types axiom types whose indexes should be built
+     */
+    public void warmUpIndexes(Collection<AxiomType<?>> types) {
+        List<MapPointer<?, ?>> toBuild = asList(lazyPointers.stream()
+            .filter(p -> !p.isInitialized() && types.contains(p.getType())));
+        if (!toBuild.isEmpty()) {
+            ForkJoinPool.commonPool().submit(() -> toBuild.parallelStream().forEach(MapPointer::init))
+                .join();
+        }
+        if (types.stream().anyMatch(Internals::isClassAxiomType)) {
+            classAxiomsByClass.init();
+        }
+    }
+
+    private static boolean isClassAxiomType(AxiomType<?> type) {
+        return type == SUBCLASS_OF || type == EQUIVALENT_CLASSES || type == DISJOINT_CLASSES
+            || type == DISJOINT_UNION;
+    }
+
+    /**
+     * @param type axiom type
+     * @return true if all the lazy indexes for axioms of the type have been built
+     */
+    public boolean isIndexBuilt(AxiomType<?> type) {
+        if (isClassAxiomType(type) && !classAxiomsByClass.isInitialized()) {
+            return false;
+        }
+        return lazyPointers.stream().filter(p -> type.equals(p.getType()))
+            .allMatch(MapPointer::isInitialized);
+    }
+
     /**
      * @param axiom axiom to add
      * @return true if the axiom was not already included
@@ -642,49 +821,48 @@ public class Internals implements Serializable {
         checkNotNull(axiom, "axiom cannot be null");
         if (axiomsByType.put(axiom.getAxiomType(), axiom)) {
             axiom.accept(addChangeVisitor);
-            AbstractCollector referenceAdder = new AbstractCollector() {
-
-                @Override
-                public void visit(OWLClass ce) {
-                    owlClassReferences.put(ce, axiom);
-                }
-
-                @Override
-                public void visit(OWLObjectProperty property) {
-                    owlObjectPropertyReferences.put(property, axiom);
-                }
-
-                @Override
-                public void visit(OWLDataProperty property) {
-                    owlDataPropertyReferences.put(property, axiom);
-                }
-
-                @Override
-                public void visit(OWLNamedIndividual individual) {
-                    owlIndividualReferences.put(individual, axiom);
-                }
-
-                @Override
-                public void visit(OWLAnnotationProperty property) {
-                    owlAnnotationPropertyReferences.put(property, axiom);
-                }
-
-                @Override
-                public void visit(OWLDatatype node) {
-                    owlDatatypeReferences.put(node, axiom);
-                }
-
-                @Override
-                public void visit(OWLAnonymousIndividual individual) {
-                    owlAnonymousIndividualReferences.put(individual, axiom);
-                }
-            };
-            axiom.accept(referenceAdder);
+            new ReferenceAdder().index(axiom);
             return true;
         }
         return false;
     }
 
+    /**
+     * Adds axioms grouped by type. Lazy indexes that are not initialized yet are left alone and
+     * will be built from the axioms by type index on first use. An initialized lazy index is
+     * discarded when its buffer holds at least as many axioms as the index, and built again once
+     * all the axioms have been added; smaller buffers update it axiom by axiom. One reference
+     * collector is reused for all axioms.
+     *
+     * @param buffers axioms to add, one collection per axiom type
+     * @return the axioms that were not already included
+     */
+    public List<OWLAxiom> addAxiomsInBulk(Collection<? extends Collection<OWLAxiom>> buffers) {
+        List<MapPointer<?, ?>> discarded = new ArrayList<>();
+        for (Collection<OWLAxiom> buffer : buffers) {
+            if (!buffer.isEmpty()) {
+                AxiomType<?> type = buffer.iterator().next().getAxiomType();
+                lazyPointers.stream()
+                    .filter(p -> type.equals(p.getType()) && p.isInitialized()
+                        && buffer.size() >= p.size() && p.discard())
+                    .forEach(discarded::add);
+            }
+        }
+        List<OWLAxiom> added = new ArrayList<>();
+        ReferenceAdder referenceAdder = new ReferenceAdder();
+        for (Collection<OWLAxiom> buffer : buffers) {
+            for (OWLAxiom axiom : buffer) {
+                if (axiomsByType.put(axiom.getAxiomType(), axiom)) {
+                    axiom.accept(addChangeVisitor);
+                    referenceAdder.index(axiom);
+                    added.add(axiom);
+                }
+            }
+        }
+        discarded.forEach(MapPointer::init);
+        return added;
+    }
+
     /**
      * @param axiom axiom to remove
      * @return true if removed
@@ -698,31 +876,49 @@ public class Internals implements Serializable {
                 @Override
                 public void visit(OWLClass ce) {
                     owlClassReferences.remove(ce, axiom);
+                    if (!owlClassReferences.containsKey(ce)) {
+                        entitiesByIRI.remove(ce);
+                    }
                 }
 
                 @Override
                 public void visit(OWLObjectProperty property) {
                     owlObjectPropertyReferences.remove(property, axiom);
+                    if (!owlObjectPropertyReferences.containsKey(property)) {
+                        entitiesByIRI.remove(property);
+                    }
                 }
 
                 @Override
                 public void visit(OWLDataProperty property) {
                     owlDataPropertyReferences.remove(property, axiom);
+                    if (!owlDataPropertyReferences.containsKey(property)) {
+                        entitiesByIRI.remove(property);
+                    }
                 }
 
                 @Override
                 public void visit(OWLNamedIndividual individual) {
                     owlIndividualReferences.remove(individual, axiom);
+                    if (!owlIndividualReferences.containsKey(individual)) {
+                        entitiesByIRI.remove(individual);
+                    }
                 }
 
                 @Override
                 public void visit(OWLAnnotationProperty property) {
                     owlAnnotationPropertyReferences.remove(property, axiom);
+                    if (!owlAnnotationPropertyReferences.containsKey(property)) {
+                        entitiesByIRI.remove(property);
+                    }
                 }
 
                 @Override
                 public void visit(OWLDatatype node) {
                     owlDatatypeReferences.remove(node, axiom);
+                    if (!owlDatatypeReferences.containsKey(node)) {
+                        entitiesByIRI.remove(node);
+                    }
                 }
 
                 @Override
@@ -984,6 +1180,68 @@ public class Internals implements Serializable {
         }
     }
 
+    /**
+     * Adds the entities referenced by an axiom to the reference indexes. A collector can be reused
+     * for several axioms; the axiom being indexed is set before each visit.
+     */
+    private class ReferenceAdder extends AbstractCollector {
+
+        @Nullable
+        private OWLAxiom axiom;
+
+        ReferenceAdder() {}
+
+        void index(OWLAxiom a) {
+            axiom = a;
+            a.accept(this);
+        }
+
+        private OWLAxiom current() {
+            return verifyNotNull(axiom);
+        }
+
+        @Override
+        public void visit(OWLClass ce) {
+            owlClassReferences.put(ce, current());
+            entitiesByIRI.add(ce);
+        }
+
+        @Override
+        public void visit(OWLObjectProperty property) {
+            owlObjectPropertyReferences.put(property, current());
+            entitiesByIRI.add(property);
+        }
+
+        @Override
+        public void visit(OWLDataProperty property) {
+            owlDataPropertyReferences.put(property, current());
+            entitiesByIRI.add(property);
+        }
+
+        @Override
+        public void visit(OWLNamedIndividual individual) {
+            owlIndividualReferences.put(individual, current());
+            entitiesByIRI.add(individual);
+        }
+
+        @Override
+        public void visit(OWLAnnotationProperty property) {
+            owlAnnotationPropertyReferences.put(property, current());
+            entitiesByIRI.add(property);
+        }
+
+        @Override
+        public void visit(OWLDatatype node) {
+            owlDatatypeReferences.put(node, current());
+            entitiesByIRI.add(node);
+        }
+
+        @Override
+        public void visit(OWLAnonymousIndividual individual) {
+            owlAnonymousIndividualReferences.put(individual, current());
+        }
+    }
+
     protected class SetPointer<K extends Serializable> implements Serializable {
 
         private final Set<K> set = createSyncSet();
@@ -1140,6 +1398,10 @@ public class Internals implements Serializable {
         @Override
         public void visit(OWLAnnotationAssertionAxiom axiom) {
             annotationAssertionAxiomsBySubject.put(axiom.getSubject(), axiom);
+            AnnotationValueIndex byValue = annotationAssertionsByValue;
+            if (byValue != null) {
+                byValue.add(axiom);
+            }
         }
 
         @Override
@@ -1193,6 +1455,10 @@ public class Internals implements Serializable {
         @Override
         public void visit(OWLDataPropertyAssertionAxiom axiom) {
             dataPropertyAssertionsByIndividual.put(axiom.getSubject(), axiom);
+            DataValueIndex byValue = dataPropertyAssertionsByValue;
+            if (byValue != null) {
+                byValue.add(axiom);
+            }
         }
 
         @Override
@@ -1353,6 +1619,10 @@ public class Internals implements Serializable {
         @Override
         public void visit(OWLAnnotationAssertionAxiom axiom) {
             annotationAssertionAxiomsBySubject.remove(axiom.getSubject(), axiom);
+            AnnotationValueIndex byValue = annotationAssertionsByValue;
+            if (byValue != null) {
+                byValue.remove(axiom);
+            }
         }
 
         @Override
@@ -1408,6 +1678,10 @@ public class Internals implements Serializable {
         @Override
         public void visit(OWLDataPropertyAssertionAxiom axiom) {
             dataPropertyAssertionsByIndividual.remove(axiom.getSubject(), axiom);
+            DataValueIndex byValue = dataPropertyAssertionsByValue;
+            if (byValue != null) {
+                byValue.remove(axiom);
+            }
         }
 
         @Override
@@ -0,0 +1,171 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A byte oriented LZ77 codec in the LZ4 block format, preceded by the decoded length as a varint.
+ * Compression uses a small hash table of four byte sequences and stops at the first match found;
+ * decompression is a loop of array copies, much cheaper than inflating a gzip stream.
+ *
+ * @author ignazio
+ * @since 5.5.1
+ */
+final class LZCodec {
+
+    private static final int MIN_MATCH = 4;
+    /** The last bytes are always literals, so that matches never run past the input. */
+    private static final int LAST_LITERALS = 5;
+    private static final int MAX_OFFSET = 0xFFFF;
+    private static final int MAX_HASH_BITS = 12;
+
+    private LZCodec() {}
+
+    /**
+     * @param src bytes to compress
+     * @return compressed bytes
+     */
+    static byte[] compress(byte[] src) {
+        int n = src.length;
+        byte[] out = new byte[5 + n + n / 255 + 16];
+        int o = writeVarInt(out, 0, n);
+        int bits = Math.min(MAX_HASH_BITS, Math.max(6, 32 - Integer.numberOfLeadingZeros(n)));
+        int[] table = new int[1 << bits];
+        int limit = n - LAST_LITERALS;
+        int anchor = 0;
+        int i = 0;
+        while (i + MIN_MATCH <= limit) {
+            int sequence = readInt(src, i);
+            int h = (sequence * -1640531535) >>> (32 - bits);
+            int ref = table[h] - 1;
+            table[h] = i + 1;
+            if (ref >= 0 && i - ref <= MAX_OFFSET && readInt(src, ref) == sequence) {
+                int length = MIN_MATCH;
+                while (i + length < limit && src[ref + length] == src[i + length]) {
+                    length++;
+                }
+                o = writeLiterals(out, o, src, anchor, i - anchor, length - MIN_MATCH);
+                out[o++] = (byte) (i - ref);
+                out[o++] = (byte) ((i - ref) >>> 8);
+                if (length - MIN_MATCH >= 15) {
+                    o = writeLength(out, o, length - MIN_MATCH - 15);
+                }
+                i += length;
+                anchor = i;
+            } else {
+                i++;
+            }
+        }
+        o = writeLiterals(out, o, src, anchor, n - anchor, 0);
+        return Arrays.copyOf(out, o);
+    }
+
+    /**
+     * @param src bytes created by {@link #compress(byte[])}
+     * @return decompressed bytes
+     * @throws IOException if the input is not valid
+     */
+    static byte[] decompress(byte[] src) throws IOException {
+        try {
+            int n = 0;
+            int i = 0;
+            for (int shift = 0;; shift += 7) {
+                byte b = src[i++];
+                n |= (b & 0x7F) << shift;
+                if (b >= 0) {
+                    break;
+                }
+            }
+            byte[] out = new byte[n];
+            int o = 0;
+            while (true) {
+                int token = src[i++] & 0xFF;
+                int literals = token >>> 4;
+                if (literals == 15) {
+                    int b;
+                    do {
+                        b = src[i++] & 0xFF;
+                        literals += b;
+                    } while (b == 255);
+                }
+                System.arraycopy(src, i, out, o, literals);
+                i += literals;
+                o += literals;
+                if (o == n) {
+                    return out;
+                }
+                int offset = (src[i++] & 0xFF) | (src[i++] & 0xFF) << 8;
+                int length = token & 0x0F;
+                if (length == 15) {
+                    int b;
+                    do {
+                        b = src[i++] & 0xFF;
+                        length += b;
+                    } while (b == 255);
+                }
+                length += MIN_MATCH;
+                int ref = o - offset;
+                if (offset == 0 || ref < 0) {
+                    throw new IOException("Invalid offset " + offset + " at " + o);
+                }
+                // the match can overlap the bytes being written, so copy one byte at a time
+                for (int end = o + length; o < end; o++, ref++) {
+                    out[o] = out[ref];
+                }
+            }
+        } catch (IndexOutOfBoundsException | NegativeArraySizeException e) {
+            throw new IOException("Truncated or corrupted input", e);
+        }
+    }
+
+    private static int readInt(byte[] b, int i) {
+        return (b[i] & 0xFF) | (b[i + 1] & 0xFF) << 8 | (b[i + 2] & 0xFF) << 16 | b[i + 3] << 24;
+    }
+
+    private static int writeVarInt(byte[] out, int o, int value) {
+        int v = value;
+        while ((v & ~0x7F) != 0) {
+            out[o++] = (byte) (v & 0x7F | 0x80);
+            v >>>= 7;
+        }
+        out[o++] = (byte) v;
+        return o;
+    }
+
+    private static int writeLength(byte[] out, int o, int length) {
+        int l = length;
+        while (l >= 255) {
+            out[o++] = (byte) 255;
+            l -= 255;
+        }
+        out[o++] = (byte) l;
+        return o;
+    }
+
+    /**
+     * Write the token and the literals of a sequence; the match length in the token is the
+     * specified one, capped at 15.
+     */
+    private static int writeLiterals(byte[] out, int o, byte[] src, int start, int count,
+        int matchLength) {
+        int p = o;
+        out[p++] = (byte) (Math.min(count, 15) << 4 | Math.min(matchLength, 15));
+        if (count >= 15) {
+            p = writeLength(out, p, count - 15);
+        }
+        System.arraycopy(src, start, out, p, count);
+        return p + count;
+    }
+}
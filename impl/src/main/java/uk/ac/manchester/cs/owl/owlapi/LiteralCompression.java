@@ -0,0 +1,148 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.model.parameters.ConfigurationOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Algorithms available to {@link OWLLiteralImpl} for long lexical forms, selected with
+ * {@link ConfigurationOptions#LITERAL_COMPRESSION} when literal compression is enabled (see
+ * {@link CompressionEnabled}).
+ *
+ * @author ignazio
+ * @since 5.5.1
+ */
+public enum LiteralCompression {
+    /** UTF-16 text in a gzip stream; compact, but slow to decompress. */
+    GZIP {
+        private static final String COMPRESSED_ENCODING = "UTF-16";
+
+        @Override
+        public byte[] compress(String s) throws IOException {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            GZIPOutputStream zipout = new GZIPOutputStream(out);
+            Writer writer = new OutputStreamWriter(zipout, COMPRESSED_ENCODING);
+            writer.write(s);
+            writer.flush();
+            zipout.finish();
+            zipout.flush();
+            return out.toByteArray();
+        }
+
+        @Override
+        public String decompress(byte[] bytes) throws IOException {
+            ByteArrayInputStream in = new ByteArrayInputStream(bytes);
+            GZIPInputStream zipin = new GZIPInputStream(in);
+            Reader reader = new InputStreamReader(zipin, COMPRESSED_ENCODING);
+            StringBuilder b = new StringBuilder();
+            int c = reader.read();
+            while (c > -1) {
+                b.append((char) c);
+                c = reader.read();
+            }
+            return b.toString();
+        }
+    },
+    /**
+     * UTF-8 text compressed with a fast LZ77 codec; compresses less than gzip on prose, but
+     * decompression is an order of magnitude cheaper and needs no stream objects.
+     */
+    LZ {
+        @Override
+        public byte[] compress(String s) {
+            return LZCodec.compress(s.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public String decompress(byte[] bytes) throws IOException {
+            return new String(LZCodec.decompress(bytes), StandardCharsets.UTF_8);
+        }
+    };
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LiteralCompression.class);
+
+    /**
+     * @param s text to compress
+     * @return compressed text
+     * @throws IOException if compression fails
+     */
+    public abstract byte[] compress(String s) throws IOException;
+
+    /**
+     * @param bytes output of {@link #compress(String)} for this algorithm
+     * @return the original text
+     * @throws IOException if the input is not valid
+     */
+    public abstract String decompress(byte[] bytes) throws IOException;
+
+    /**
+     * @param s text to compress
+     * @return compressed text, or null if compression fails or does not save memory over keeping
+     *         the string
+     */
+    @Nullable
+    byte[] compressIfSmaller(String s) {
+        try {
+            byte[] bytes = compress(s);
+            return bytes.length < stringBytes(s) ? bytes : null;
+        } catch (@SuppressWarnings("unused") IOException e) {
+            // some problem happened - defaulting to no compression
+            return null;
+        }
+    }
+
+    /**
+     * Bytes used by the characters of a string: one per character if they all fit in Latin-1,
+     * two otherwise.
+     */
+    private static int stringBytes(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) > 0xFF) {
+                return 2 * s.length();
+            }
+        }
+        return s.length();
+    }
+
+    /**
+     * @return the algorithm set in the configuration, {@link #GZIP} if not set or not known
+     */
+    static LiteralCompression configured() {
+        String name = ConfigurationOptions.LITERAL_COMPRESSION
+            .getValue(String.class, Collections.emptyMap()).trim().toUpperCase(Locale.ROOT);
+        for (LiteralCompression c : values()) {
+            if (c.name().equals(name)) {
+                return c;
+            }
+        }
+        LOGGER.warn("Unknown literal compression {}, using {}", name, GZIP);
+        return GZIP;
+    }
+}
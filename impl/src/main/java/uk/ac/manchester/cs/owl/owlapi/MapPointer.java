@@ -64,7 +64,7 @@ public class MapPointer<K, V extends OWLAxiom> {
     protected final Internals i;
     @Nullable
     private SoftReference<Set<IRI>> iris;
-    private int size = 0;
+    protected int size = 0;
     private final ObjectObjectHashMap<K, Collection<V>> map = new ObjectObjectHashMap<>(17, 0.75F);
     private final Class<V> valueWithness;
 
@@ -98,7 +98,7 @@ public class MapPointer<K, V extends OWLAxiom> {
      * @return true if an entity with the same iri as the input exists in the collection
      */
     public synchronized boolean containsReference(K e) {
-        return map.containsKey(e);
+        return hasKey(e);
     }
 
     /**
@@ -118,8 +118,7 @@ public class MapPointer<K, V extends OWLAxiom> {
 
     private Set<IRI> initSet() {
         Set<IRI> set = CollectionFactory.createSet();
-        ObjectProcedure<K> consumer = k -> consumer(set, k);
-        map.keys().forEach(consumer);
+        forEachKey(k -> consumer(set, k));
         iris = new SoftReference<>(set);
         return set;
     }
@@ -132,6 +131,15 @@ public class MapPointer<K, V extends OWLAxiom> {
         }
     }
 
+    /**
+     * @return type of axioms contained, or null if this pointer is not built from axioms of a
+     *         single type
+     */
+    @Nullable
+    public AxiomType<?> getType() {
+        return type;
+    }
+
     /**
      * @return true if initialized
      */
@@ -153,17 +161,37 @@ public class MapPointer<K, V extends OWLAxiom> {
         }
         AxiomType<?> t = type;
         assert t != null;
+        // work on a snapshot, so that the axioms by type index is not locked while this index is
+        // built and other indexes can be initialized concurrently
+        Collection<OWLAxiom> axioms = i.getAxiomsByType().getValuesAsCollection(t);
         if (visitor instanceof InitVisitor) {
             InitVisitor<K> v = (InitVisitor<K>) visitor;
-            i.getAxiomsByType().forEach(t, ax -> putInternal(ax.accept(v), (V) ax));
+            axioms.forEach(ax -> putInternal(ax.accept(v), (V) ax));
         } else if (visitor instanceof InitCollectionVisitor) {
             InitCollectionVisitor<K> v = (InitCollectionVisitor<K>) visitor;
-            i.getAxiomsByType().forEach(t,
-                ax -> ax.accept(v).forEach(key -> putInternal(key, (V) ax)));
+            axioms.forEach(ax -> ax.accept(v).forEach(key -> putInternal(key, (V) ax)));
         }
         return this;
     }
 
+    /**
+     * Discards the content of an index built from axioms of one type, so that the next
+     * {@link #init()} builds it again from the axioms by type index in one pass.
+     *
+     * @return true if the content was discarded; false if the index was not built, or cannot be
+     *         built again
+     */
+    public synchronized boolean discard() {
+        if (!initialized || visitor == null || type == null) {
+            return false;
+        }
+        initialized = false;
+        iris = null;
+        clearInternal();
+        size = 0;
+        return true;
+    }
+
     @Override
     public synchronized String toString() {
         return initialized + map.toString();
@@ -175,8 +203,7 @@ public class MapPointer<K, V extends OWLAxiom> {
     public synchronized Stream<K> keySet() {
         init();
         List<K> l = new ArrayList<>();
-        Consumer<ObjectCursor<K>> p = c -> l.add(c.value);
-        map.keys().forEach(p);
+        forEachKey(l::add);
         return l.stream();
     }
 
@@ -186,7 +213,7 @@ public class MapPointer<K, V extends OWLAxiom> {
      */
     public synchronized Stream<V> getValues(K key) {
         init();
-        Collection<V> t = map.get(key);
+        Collection<V> t = lookup(key);
         if (t == null) {
             return Stream.empty();
         }
@@ -196,7 +223,7 @@ public class MapPointer<K, V extends OWLAxiom> {
         if (t instanceof HPPCSet) {
             return new ArrayList<>(t).stream();
         }
-        return t.stream();
+        return detach(t).stream();
     }
 
     /**
@@ -224,7 +251,7 @@ public class MapPointer<K, V extends OWLAxiom> {
      */
     public synchronized Collection<V> getValuesAsCollection(K key) {
         init();
-        Collection<V> t = map.get(key);
+        Collection<V> t = lookup(key);
         if (t == null) {
             return Collections.emptyList();
         }
@@ -234,7 +261,7 @@ public class MapPointer<K, V extends OWLAxiom> {
         if (t instanceof HPPCSet) {
             return new ArrayList<>(t);
         }
-        return t;
+        return detach(t);
     }
 
     /**
@@ -246,8 +273,8 @@ public class MapPointer<K, V extends OWLAxiom> {
         return count(key);
     }
 
-    private int count(K k) {
-        Collection<V> t = map.get(k);
+    protected int count(K k) {
+        Collection<V> t = lookup(k);
         if (t == null) {
             return 0;
         }
@@ -264,7 +291,7 @@ public class MapPointer<K, V extends OWLAxiom> {
     public synchronized <O extends V> Stream<O> values(K key,
         @SuppressWarnings("unused") Class<O> classType) {
         init();
-        Collection<V> t = map.get(key);
+        Collection<V> t = lookup(key);
         if (t == null) {
             return Stream.empty();
         }
@@ -274,7 +301,7 @@ public class MapPointer<K, V extends OWLAxiom> {
         if (t instanceof HPPCSet) {
             return (Stream<O>) new ArrayList<>(t).stream();
         }
-        return (Stream<O>) t.stream();
+        return (Stream<O>) detach(t).stream();
     }
 
     /**
@@ -289,7 +316,7 @@ public class MapPointer<K, V extends OWLAxiom> {
         for (AxiomType<?> at : filter.getAxiomTypes()) {
             // This method is only used for MapPointer<AxiomType, OWLAxiom>
             @SuppressWarnings("unchecked")
-            Collection<V> collection = map.get((K) at);
+            Collection<V> collection = lookup((K) at);
             if (collection != null) {
                 collection.stream().filter(x -> filter.pass(x, key)).forEach(toReturn::add);
             }
@@ -330,7 +357,7 @@ public class MapPointer<K, V extends OWLAxiom> {
      */
     public synchronized boolean containsKey(K key) {
         init();
-        return map.containsKey(key);
+        return hasKey(key);
     }
 
     /**
@@ -367,7 +394,48 @@ public class MapPointer<K, V extends OWLAxiom> {
         return size == 0;
     }
 
-    private boolean putInternal(@Nullable K k, V v) {
+    /**
+     * @param k key to look up
+     * @return the stored values for the key, or null if the key is not present
+     */
+    @Nullable
+    protected Collection<V> lookup(K k) {
+        return map.get(k);
+    }
+
+    /**
+     * @param t values returned by {@link #lookup(Object)}
+     * @return values that stay valid when the map changes, for collections and streams returned to
+     *         callers; lookups used while the pointer is locked do not need this
+     */
+    protected Collection<V> detach(Collection<V> t) {
+        return t;
+    }
+
+    /**
+     * @param k key to look up
+     * @return true if the key is present
+     */
+    protected boolean hasKey(K k) {
+        return map.containsKey(k);
+    }
+
+    /**
+     * @param consumer consumer to apply to all keys
+     */
+    protected void forEachKey(Consumer<K> consumer) {
+        ObjectProcedure<K> p = consumer::accept;
+        map.keys().forEach(p);
+    }
+
+    /**
+     * Removes all keys and values.
+     */
+    protected void clearInternal() {
+        map.clear();
+    }
+
+    protected boolean putInternal(@Nullable K k, V v) {
         if (k == null) {
             return false;
         }
@@ -402,15 +470,15 @@ public class MapPointer<K, V extends OWLAxiom> {
         return added;
     }
 
-    private boolean containsEntry(K k, V v) {
-        Collection<V> t = map.get(k);
+    protected boolean containsEntry(K k, V v) {
+        Collection<V> t = lookup(k);
         if (t == null) {
             return false;
         }
         return t.contains(v);
     }
 
-    private boolean removeInternal(K k, V v) {
+    protected boolean removeInternal(K k, V v) {
         Collection<V> t = map.get(k);
         if (t == null) {
             return false;
@@ -434,7 +502,7 @@ public class MapPointer<K, V extends OWLAxiom> {
         return removed;
     }
 
-    private Stream<V> values() {
+    protected Stream<V> values() {
         List<V> l = new ArrayList<>();
         Consumer<ObjectCursor<Collection<V>>> c = q -> l.addAll(q.value);
         map.values().forEach(c);
@@ -442,7 +510,7 @@ public class MapPointer<K, V extends OWLAxiom> {
     }
 
     private Stream<V> get(K k) {
-        Collection<V> t = map.get(k);
+        Collection<V> t = lookup(k);
         if (t == null) {
             return Stream.empty();
         }
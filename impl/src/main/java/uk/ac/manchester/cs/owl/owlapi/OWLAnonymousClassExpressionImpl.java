@@ -27,6 +27,22 @@ import org.semanticweb.owlapi.util.NNF;
 public abstract class OWLAnonymousClassExpressionImpl extends OWLClassExpressionImpl
     implements OWLAnonymousClassExpression {
 
+    /** Structural fingerprint, 0 until computed. */
+    private transient long fingerprint = 0;
+
+    @Override
+    public long fingerprint() {
+        if (fingerprint == 0) {
+            fingerprint = storable(initFingerprint());
+        }
+        return fingerprint;
+    }
+
+    @Override
+    long computedFingerprint() {
+        return fingerprint;
+    }
+
     @Override
     public boolean isOWLThing() {
         return false;
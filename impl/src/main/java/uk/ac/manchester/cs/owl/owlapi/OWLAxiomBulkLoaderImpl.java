@@ -0,0 +1,85 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLAxiomBulkLoader;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.parameters.ChangeApplied;
+
+/**
+ * Bulk loader that buffers axioms in one list per axiom type and hands them to its manager on
+ * commit.
+ *
+ * @author ignazio
+ */
+public class OWLAxiomBulkLoaderImpl implements OWLAxiomBulkLoader {
+
+    private final OWLOntologyManagerImpl manager;
+    private final OWLOntology ontology;
+    @Nullable
+    private Map<AxiomType<?>, List<OWLAxiom>> buffers = new TreeMap<>();
+    private int size = 0;
+
+    /**
+     * @param manager manager that will apply the axioms
+     * @param ontology ontology to add axioms to
+     */
+    protected OWLAxiomBulkLoaderImpl(OWLOntologyManagerImpl manager, OWLOntology ontology) {
+        this.manager = checkNotNull(manager, "manager cannot be null");
+        this.ontology = checkNotNull(ontology, "ontology cannot be null");
+    }
+
+    private Map<AxiomType<?>, List<OWLAxiom>> buffers() {
+        Map<AxiomType<?>, List<OWLAxiom>> b = buffers;
+        if (b == null) {
+            throw new IllegalStateException("Bulk loader already committed");
+        }
+        return b;
+    }
+
+    @Override
+    public OWLOntology getOntology() {
+        return ontology;
+    }
+
+    @Override
+    public OWLAxiomBulkLoader add(OWLAxiom axiom) {
+        checkNotNull(axiom, "axiom cannot be null");
+        buffers().computeIfAbsent(axiom.getAxiomType(), t -> new ArrayList<>()).add(axiom);
+        size++;
+        return this;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public ChangeApplied commit() {
+        Map<AxiomType<?>, List<OWLAxiom>> b = buffers();
+        buffers = null;
+        return manager.commitBulkLoad(ontology, b.values(), size);
+    }
+}
@@ -20,6 +20,8 @@ import java.util.Collection;
 import java.util.List;
 import java.util.stream.Stream;
 
+import javax.annotation.Nullable;
+
 import org.semanticweb.owlapi.model.OWLAnnotation;
 import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.util.NNF;
@@ -31,6 +33,10 @@ import org.semanticweb.owlapi.util.NNF;
 public abstract class OWLAxiomImpl extends OWLObjectImpl implements OWLAxiom {
 
     protected final List<OWLAnnotation> annotations;
+    @Nullable
+    private transient volatile CompactSignature compactSignature;
+    /** Structural fingerprint, 0 until computed. */
+    private transient long fingerprint = 0;
 
     /**
      * @param annotations annotations on the axiom
@@ -40,6 +46,36 @@ public abstract class OWLAxiomImpl extends OWLObjectImpl implements OWLAxiom {
         this.annotations = sorted(OWLAnnotation.class, annotations);
     }
 
+    /**
+     * Concurrent first calls might compute the signature more than once, with equal results.
+     */
+    @Override
+    @Nullable
+    CompactSignature compactSignature() {
+        if (!COMPACT_SIGNATURES) {
+            return null;
+        }
+        CompactSignature s = compactSignature;
+        if (s == null) {
+            s = CompactSignature.of(this);
+            compactSignature = s;
+        }
+        return s;
+    }
+
+    @Override
+    public long fingerprint() {
+        if (fingerprint == 0) {
+            fingerprint = storable(initFingerprint());
+        }
+        return fingerprint;
+    }
+
+    @Override
+    long computedFingerprint() {
+        return fingerprint;
+    }
+
     @Override
     public Stream<OWLAnnotation> annotations() {
         return streamFromSorted(annotations);
@@ -1,7 +1,9 @@
 package uk.ac.manchester.cs.owl.owlapi;
 
+import java.util.Collection;
 import java.util.stream.Stream;
 
+import org.semanticweb.owlapi.model.AxiomType;
 import org.semanticweb.owlapi.model.OWLAnnotationProperty;
 import org.semanticweb.owlapi.model.OWLAnnotationPropertyDomainAxiom;
 import org.semanticweb.owlapi.model.OWLAnnotationPropertyRangeAxiom;
@@ -16,14 +18,34 @@ import org.semanticweb.owlapi.search.Filters;
  * @since 4.0.0
  */
 public abstract class OWLAxiomIndexImpl extends OWLObjectImpl
-    implements OWLAxiomIndex, HasTrimToSize {
+    implements OWLAxiomIndex, HasTrimToSize, HasIndexWarmUp {
 
-    protected final Internals ints = new Internals();
+    protected final Internals ints;
+
+    protected OWLAxiomIndexImpl() {
+        this(new Internals());
+    }
+
+    /**
+     * @param ints internals to use for indexing
+     */
+    protected OWLAxiomIndexImpl(Internals ints) {
+        this.ints = ints;
+    }
 
     @Override
     public void trimToSize() {
-        // no longer useful
-        // ints.trimToSize();
+        ints.trimToSize();
+    }
+
+    @Override
+    public void warmUpIndexes(Collection<AxiomType<?>> types) {
+        ints.warmUpIndexes(types);
+    }
+
+    @Override
+    public boolean isIndexBuilt(AxiomType<?> type) {
+        return ints.isIndexBuilt(type);
     }
 
     @Override
@@ -41,6 +41,7 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -234,6 +235,16 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable, ClassPr
         this.config = config;
     }
 
+    /**
+     * @param config configuration object
+     * @param internals internals to use instead of the default ones; replaced by the default ones
+     *        on deserialization
+     */
+    OWLDataFactoryImpl(OWLOntologyLoaderConfiguration config, OWLDataFactoryInternals internals) {
+        this.config = config;
+        dataFactoryInternals = internals;
+    }
+
     private static void checkAnnotations(Collection<OWLAnnotation> o) {
         checkIterableNotNull(o, ANNOTATIONS_CANNOT_BE_NULL, true);
     }
@@ -248,6 +259,15 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable, ClassPr
         dataFactoryInternals.purge();
     }
 
+    /**
+     * @return statistics of the tables keeping canonical entities and annotations, by table name.
+     *         Only populated if {@code ConfigurationOptions.CANONICAL_ENTITIES} is true; the
+     *         tables are shared by all data factories.
+     */
+    public Map<String, InternerMetrics> getInternerMetrics() {
+        return dataFactoryInternals.internerMetrics();
+    }
+
     @Override
     public <E extends OWLEntity> E getOWLEntity(EntityType<E> entityType, IRI iri) {
         checkNotNull(entityType, ENTITY_TYPE_CANNOT_BE_NULL);
@@ -373,13 +393,13 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable, ClassPr
 
     @Override
     public OWLDataOneOf getOWLDataOneOf(Stream<? extends OWLLiteral> values) {
-        return new OWLDataOneOfImpl(values);
+        return dataFactoryInternals.intern(new OWLDataOneOfImpl(values));
     }
 
     @Override
     public OWLDataComplementOf getOWLDataComplementOf(OWLDataRange dataRange) {
         checkNotNull(dataRange, DATA_RANGE_CANNOT_BE_NULL);
-        return new OWLDataComplementOfImpl(dataRange);
+        return dataFactoryInternals.intern(new OWLDataComplementOfImpl(dataRange));
     }
 
     @Override
@@ -397,12 +417,14 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable, ClassPr
     @Override
     public OWLDataIntersectionOf getOWLDataIntersectionOf(
         Stream<? extends OWLDataRange> dataRanges) {
-        return new OWLDataIntersectionOfImpl(sortedList(OWLDataRange.class, dataRanges));
+        return dataFactoryInternals.intern(
+            new OWLDataIntersectionOfImpl(sortedList(OWLDataRange.class, dataRanges)));
     }
 
     @Override
     public OWLDataUnionOf getOWLDataUnionOf(Stream<? extends OWLDataRange> dataRanges) {
-        return new OWLDataUnionOfImpl(sortedList(OWLDataRange.class, dataRanges));
+        return dataFactoryInternals.intern(
+            new OWLDataUnionOfImpl(sortedList(OWLDataRange.class, dataRanges)));
     }
 
     @Override
@@ -410,7 +432,8 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable, ClassPr
         Collection<OWLFacetRestriction> facetRestrictions) {
         checkNotNull(dataType, DATATYPE_CANNOT_BE_NULL);
         checkIterableNotNull(facetRestrictions, "facets", true);
-        return new OWLDatatypeRestrictionImpl(dataType, facetRestrictions);
+        return dataFactoryInternals.intern(
+            new OWLDatatypeRestrictionImpl(dataType, facetRestrictions));
     }
 
     @Override
@@ -419,8 +442,8 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable, ClassPr
         checkNotNull(dataType, DATATYPE_CANNOT_BE_NULL);
         checkNotNull(facet, FACET_CANNOT_BE_NULL);
         checkNotNull(typedLiteral, TYPED_CONSTANT_CANNOT_BE_NULL);
-        return new OWLDatatypeRestrictionImpl(dataType,
-            CollectionFactory.createSet(getOWLFacetRestriction(facet, typedLiteral)));
+        return dataFactoryInternals.intern(new OWLDatatypeRestrictionImpl(dataType,
+            CollectionFactory.createSet(getOWLFacetRestriction(facet, typedLiteral))));
     }
 
     @Override
@@ -433,14 +456,15 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable, ClassPr
     @Override
     public OWLObjectIntersectionOf getOWLObjectIntersectionOf(
         Stream<? extends OWLClassExpression> operands) {
-        return new OWLObjectIntersectionOfImpl(sortedList(OWLClassExpression.class, operands));
+        return dataFactoryInternals.intern(
+            new OWLObjectIntersectionOfImpl(sortedList(OWLClassExpression.class, operands)));
     }
 
     @Override
     public OWLObjectIntersectionOf getOWLObjectIntersectionOf(
         Collection<? extends OWLClassExpression> operands) {
-        return new OWLObjectIntersectionOfImpl(
-            sortedList(OWLClassExpression.class, operands.stream()));
+        return dataFactoryInternals.intern(new OWLObjectIntersectionOfImpl(
+            sortedList(OWLClassExpression.class, operands.stream())));
     }
 
     @Override
@@ -448,7 +472,7 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable, ClassPr
         OWLDataRange dataRange) {
         checkNotNull(dataRange, DATA_RANGE_CANNOT_BE_NULL);
         checkNotNull(property, PROPERTY_CANNOT_BE_NULL);
-        return new OWLDataAllValuesFromImpl(property, dataRange);
+        return dataFactoryInternals.intern(new OWLDataAllValuesFromImpl(property, dataRange));
     }
 
     @Override
@@ -462,7 +486,8 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable, ClassPr
         OWLDataPropertyExpression property) {
         checkNotNegative(cardinality, CARDINALITY_CANNOT_BE_NEGATIVE);
         checkNotNull(property, PROPERTY_CANNOT_BE_NULL);
-        return new OWLDataExactCardinalityImpl(property, cardinality, getTopDatatype());
+        return dataFactoryInternals.intern(
+            new OWLDataExactCardinalityImpl(property, cardinality, getTopDatatype()));
     }
 
     @Override
@@ -471,7 +496,8 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable, ClassPr
         checkNotNull(dataRange, DATA_RANGE_CANNOT_BE_NULL);
         checkNotNull(property, PROPERTY_CANNOT_BE_NULL);
         checkNotNegative(cardinality, CARDINALITY_CANNOT_BE_NEGATIVE);
-        return new OWLDataExactCardinalityImpl(property, cardinality, dataRange);
+        return dataFactoryInternals.intern(
+            new OWLDataExactCardinalityImpl(property, cardinality, dataRange));
     }
 
     @Override
@@ -485,7 +511,8 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable, ClassPr
         OWLDataPropertyExpression property) {
         checkNotNegative(cardinality, CARDINALITY_CANNOT_BE_NEGATIVE);
         checkNotNull(property, PROPERTY_CANNOT_BE_NULL);
-        return new OWLDataMaxCardinalityImpl(property, cardinality, getTopDatatype());
+        return dataFactoryInternals.intern(
+            new OWLDataMaxCardinalityImpl(property, cardinality, getTopDatatype()));
     }
 
     @Override
@@ -494,7 +521,8 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable, ClassPr
         checkNotNegative(cardinality, CARDINALITY_CANNOT_BE_NEGATIVE);
         checkNotNull(property, PROPERTY_CANNOT_BE_NULL);
         checkNotNull(dataRange, DATA_RANGE_CANNOT_BE_NULL);
-        return new OWLDataMaxCardinalityImpl(property, cardinality, dataRange);
+        return dataFactoryInternals.intern(
+            new OWLDataMaxCardinalityImpl(property, cardinality, dataRange));
     }
 
     @Override
@@ -508,7 +536,8 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable, ClassPr
         OWLDataPropertyExpression property) {
         checkNotNegative(cardinality, CARDINALITY_CANNOT_BE_NEGATIVE);
         checkNotNull(property, PROPERTY_CANNOT_BE_NULL);
-        return new OWLDataMinCardinalityImpl(property, cardinality, getTopDatatype());
+        return dataFactoryInternals.intern(
+            new OWLDataMinCardinalityImpl(property, cardinality, getTopDatatype()));
     }
 
     @Override
@@ -517,7 +546,8 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable, ClassPr
         checkNotNull(dataRange, DATA_RANGE_CANNOT_BE_NULL);
         checkNotNegative(cardinality, CARDINALITY_CANNOT_BE_NEGATIVE);
         checkNotNull(property, PROPERTY_CANNOT_BE_NULL);
-        return new OWLDataMinCardinalityImpl(property, cardinality, dataRange);
+        return dataFactoryInternals.intern(
+            new OWLDataMinCardinalityImpl(property, cardinality, dataRange));
     }
 
     @Override
@@ -531,7 +561,7 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable, ClassPr
         OWLDataRange dataRange) {
         checkNotNull(dataRange, DATA_RANGE_CANNOT_BE_NULL);
         checkNotNull(property, PROPERTY_CANNOT_BE_NULL);
-        return new OWLDataSomeValuesFromImpl(property, dataRange);
+        return dataFactoryInternals.intern(new OWLDataSomeValuesFromImpl(property, dataRange));
     }
 
     @Override
@@ -545,13 +575,13 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable, ClassPr
         OWLLiteral value) {
         checkNotNull(property, PROPERTY_CANNOT_BE_NULL);
         checkNotNull(value, VALUE_CANNOT_BE_NULL);
-        return new OWLDataHasValueImpl(property, value);
+        return dataFactoryInternals.intern(new OWLDataHasValueImpl(property, value));
     }
 
     @Override
     public OWLObjectComplementOf getOWLObjectComplementOf(OWLClassExpression operand) {
         checkNotNull(operand, "operand");
-        return new OWLObjectComplementOfImpl(operand);
+        return dataFactoryInternals.intern(new OWLObjectComplementOfImpl(operand));
     }
 
     @Override
@@ -559,12 +589,13 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable, ClassPr
         OWLClassExpression classExpression) {
         checkNotNull(classExpression, CLASS_EXPRESSION_CANNOT_BE_NULL);
         checkNotNull(property, PROPERTY_CANNOT_BE_NULL);
-        return new OWLObjectAllValuesFromImpl(property, classExpression);
+        return dataFactoryInternals.intern(
+            new OWLObjectAllValuesFromImpl(property, classExpression));
     }
 
     @Override
     public OWLObjectOneOf getOWLObjectOneOf(Stream<? extends OWLIndividual> values) {
-        return new OWLObjectOneOfImpl(values.map(x -> x));
+        return dataFactoryInternals.intern(new OWLObjectOneOfImpl(values.map(x -> x)));
     }
 
     @Override
@@ -572,7 +603,8 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable, ClassPr
         OWLObjectPropertyExpression property) {
         checkNotNegative(cardinality, CARDINALITY_CANNOT_BE_NEGATIVE);
         checkNotNull(property, PROPERTY_CANNOT_BE_NULL);
-        return new OWLObjectExactCardinalityImpl(property, cardinality, OWL_THING);
+        return dataFactoryInternals.intern(
+            new OWLObjectExactCardinalityImpl(property, cardinality, OWL_THING));
     }
 
     @Override
@@ -581,7 +613,8 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable, ClassPr
         checkNotNull(classExpression, CLASS_EXPRESSION_CANNOT_BE_NULL);
         checkNotNull(property, PROPERTY_CANNOT_BE_NULL);
         checkNotNegative(cardinality, CARDINALITY_CANNOT_BE_NEGATIVE);
-        return new OWLObjectExactCardinalityImpl(property, cardinality, classExpression);
+        return dataFactoryInternals.intern(
+            new OWLObjectExactCardinalityImpl(property, cardinality, classExpression));
     }
 
     @Override
@@ -589,7 +622,8 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable, ClassPr
         OWLObjectPropertyExpression property) {
         checkNotNegative(cardinality, CARDINALITY_CANNOT_BE_NEGATIVE);
         checkNotNull(property, PROPERTY_CANNOT_BE_NULL);
-        return new OWLObjectMinCardinalityImpl(property, cardinality, OWL_THING);
+        return dataFactoryInternals.intern(
+            new OWLObjectMinCardinalityImpl(property, cardinality, OWL_THING));
     }
 
     @Override
@@ -598,7 +632,8 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable, ClassPr
         checkNotNull(classExpression, CLASS_EXPRESSION_CANNOT_BE_NULL);
         checkNotNull(property, PROPERTY_CANNOT_BE_NULL);
         checkNotNegative(cardinality, CARDINALITY_CANNOT_BE_NEGATIVE);
-        return new OWLObjectMinCardinalityImpl(property, cardinality, classExpression);
+        return dataFactoryInternals.intern(
+            new OWLObjectMinCardinalityImpl(property, cardinality, classExpression));
     }
 
     @Override
@@ -606,7 +641,8 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable, ClassPr
         OWLObjectPropertyExpression property) {
         checkNotNegative(cardinality, CARDINALITY_CANNOT_BE_NEGATIVE);
         checkNotNull(property, PROPERTY_CANNOT_BE_NULL);
-        return new OWLObjectMaxCardinalityImpl(property, cardinality, OWL_THING);
+        return dataFactoryInternals.intern(
+            new OWLObjectMaxCardinalityImpl(property, cardinality, OWL_THING));
     }
 
     @Override
@@ -615,13 +651,14 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable, ClassPr
         checkNotNegative(cardinality, CARDINALITY_CANNOT_BE_NEGATIVE);
         checkNotNull(classExpression, CLASS_EXPRESSION_CANNOT_BE_NULL);
         checkNotNull(property, PROPERTY_CANNOT_BE_NULL);
-        return new OWLObjectMaxCardinalityImpl(property, cardinality, classExpression);
+        return dataFactoryInternals.intern(
+            new OWLObjectMaxCardinalityImpl(property, cardinality, classExpression));
     }
 
     @Override
     public OWLObjectHasSelf getOWLObjectHasSelf(OWLObjectPropertyExpression property) {
         checkNotNull(property, PROPERTY_CANNOT_BE_NULL);
-        return new OWLObjectHasSelfImpl(property);
+        return dataFactoryInternals.intern(new OWLObjectHasSelfImpl(property));
     }
 
     @Override
@@ -629,7 +666,8 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable, ClassPr
         OWLClassExpression classExpression) {
         checkNotNull(classExpression, CLASS_EXPRESSION_CANNOT_BE_NULL);
         checkNotNull(property, PROPERTY_CANNOT_BE_NULL);
-        return new OWLObjectSomeValuesFromImpl(property, classExpression);
+        return dataFactoryInternals.intern(
+            new OWLObjectSomeValuesFromImpl(property, classExpression));
     }
 
     @Override
@@ -637,17 +675,19 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable, ClassPr
         OWLIndividual individual) {
         checkNotNull(property, PROPERTY_CANNOT_BE_NULL);
         checkNotNull(individual, INDIVIDUAL_CANNOT_BE_NULL);
-        return new OWLObjectHasValueImpl(property, individual);
+        return dataFactoryInternals.intern(new OWLObjectHasValueImpl(property, individual));
     }
 
     @Override
     public OWLObjectUnionOf getOWLObjectUnionOf(Stream<? extends OWLClassExpression> operands) {
-        return new OWLObjectUnionOfImpl(sortedList(OWLClassExpression.class, operands));
+        return dataFactoryInternals.intern(
+            new OWLObjectUnionOfImpl(sortedList(OWLClassExpression.class, operands)));
     }
 
     @Override
     public OWLObjectUnionOf getOWLObjectUnionOf(Collection<? extends OWLClassExpression> operands) {
-        return new OWLObjectUnionOfImpl(sortedList(OWLClassExpression.class, operands.stream()));
+        return dataFactoryInternals.intern(
+            new OWLObjectUnionOfImpl(sortedList(OWLClassExpression.class, operands.stream())));
     }
 
     @Override
@@ -1043,7 +1083,9 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable, ClassPr
     @Override
     public OWLAnnotation getOWLAnnotation(OWLAnnotationProperty property,
         OWLAnnotationValue value) {
-        return new OWLAnnotationImplNotAnnotated(property, value);
+        checkNotNull(property, PROPERTY_CANNOT_BE_NULL);
+        checkNotNull(value, VALUE_CANNOT_BE_NULL);
+        return dataFactoryInternals.intern(new OWLAnnotationImplNotAnnotated(property, value));
     }
 
     @Override
@@ -13,6 +13,8 @@
 package uk.ac.manchester.cs.owl.owlapi;
 
 import java.io.Serializable;
+import java.util.Collections;
+import java.util.Map;
 import java.util.stream.Stream;
 import javax.annotation.Nullable;
 import org.semanticweb.owlapi.model.IRI;
@@ -24,6 +26,7 @@ import org.semanticweb.owlapi.model.OWLDataProperty;
 import org.semanticweb.owlapi.model.OWLDatatype;
 import org.semanticweb.owlapi.model.OWLLiteral;
 import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObject;
 import org.semanticweb.owlapi.model.OWLObjectProperty;
 
 /**
@@ -42,6 +45,24 @@ public interface OWLDataFactoryInternals extends Serializable {
      */
     void purge();
 
+    /**
+     * @return statistics of the tables keeping canonical instances, by table name; empty if
+     *         instances are not interned, or only cached
+     */
+    default Map<String, InternerMetrics> internerMetrics() {
+        return Collections.emptyMap();
+    }
+
+    /**
+     * @param object anonymous class expression, data range or annotation just created
+     * @param <T> type of the object
+     * @return an equal object, shared with earlier callers if expressions are interned; by default
+     *         the object itself
+     */
+    default <T extends OWLObject> T intern(T object) {
+        return object;
+    }
+
     /**
      * @param iri new object property IRI
      * @return a new OWLObjectProperty object, or a cached one depending on policies
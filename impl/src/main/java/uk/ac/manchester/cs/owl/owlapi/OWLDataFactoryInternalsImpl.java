@@ -13,8 +13,13 @@
 package uk.ac.manchester.cs.owl.owlapi;
 
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
+import javax.annotation.Nullable;
+
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLAnnotation;
 import org.semanticweb.owlapi.model.OWLAnnotationProperty;
@@ -22,11 +27,12 @@ import org.semanticweb.owlapi.model.OWLAnnotationValue;
 import org.semanticweb.owlapi.model.OWLClass;
 import org.semanticweb.owlapi.model.OWLDataProperty;
 import org.semanticweb.owlapi.model.OWLDatatype;
+import org.semanticweb.owlapi.model.OWLEntity;
 import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObject;
 import org.semanticweb.owlapi.model.OWLObjectProperty;
 import org.semanticweb.owlapi.model.parameters.ConfigurationOptions;
 
-import com.github.benmanes.caffeine.cache.CacheLoader;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
 
@@ -40,30 +46,110 @@ public class OWLDataFactoryInternalsImpl extends OWLDataFactoryInternalsImplNoCa
      * simply the key. As with an interner, each access constructs a new object that is discarded if
      * the key is used. Most annotations will only be used once; however some annotations may be
      * reused extremely frequently. for ontologies in the OBO family, a few annotations will be
-     * reused extremely frequently.
+     * reused extremely frequently. With CANONICAL_ENTITIES set, the caches are replaced by
+     * interners that keep every reachable instance, so that equal entities are also identical.
+     * CANONICAL_EXPRESSIONS does the same for annotations and for anonymous class expressions and
+     * data ranges.
      */
+    private static final boolean CANONICAL = ConfigurationOptions.CANONICAL_ENTITIES
+        .getValue(Boolean.class, Collections.emptyMap()).booleanValue();
+    private static final boolean CANONICAL_EXPRESSIONS = ConfigurationOptions.CANONICAL_EXPRESSIONS
+        .getValue(Boolean.class, Collections.emptyMap()).booleanValue();
+    private static final Map<String, InternerMetrics> metrics = new LinkedHashMap<>();
     //@formatter:off
-    private static final LoadingCache<IRI, OWLAnnotationProperty>   annotationProperties = builder(OWLAnnotationPropertyImpl::new);
-    private static final LoadingCache<OWLAnnotation, OWLAnnotation> annotations =          builder(OWLDataFactoryInternalsImpl::ann);
-    private static final LoadingCache<IRI, OWLClass>                classes =              builder(OWLClassImpl::new);
-    private static final LoadingCache<IRI, OWLObjectProperty>       objectProperties =     builder(OWLObjectPropertyImpl::new);
-    private static final LoadingCache<IRI, OWLDataProperty>         dataProperties =       builder(OWLDataPropertyImpl::new);
-    private static final LoadingCache<IRI, OWLDatatype>             datatypes =            builder(OWLDatatypeImpl::new);
-    private static final LoadingCache<IRI, OWLNamedIndividual>      individuals =          builder(OWLNamedIndividualImpl::new);
+    private static final Interner<IRI, OWLAnnotationProperty>   annotationProperties = entities("annotationProperties", OWLAnnotationPropertyImpl::new);
+    private static final Interner<OWLAnnotation, OWLAnnotation> annotations =          builder("annotations", CANONICAL || CANONICAL_EXPRESSIONS, OWLDataFactoryInternalsImpl::ann, OWLDataFactoryInternalsImpl::ann);
+    private static final Interner<IRI, OWLClass>                classes =              entities("classes", OWLClassImpl::new);
+    private static final Interner<IRI, OWLObjectProperty>       objectProperties =     entities("objectProperties", OWLObjectPropertyImpl::new);
+    private static final Interner<IRI, OWLDataProperty>         dataProperties =       entities("dataProperties", OWLDataPropertyImpl::new);
+    private static final Interner<IRI, OWLDatatype>             datatypes =            entities("datatypes", OWLDatatypeImpl::new);
+    private static final Interner<IRI, OWLNamedIndividual>      individuals =          entities("individuals", OWLNamedIndividualImpl::new);
+    @Nullable
+    private static final Interner<OWLObject, OWLObject>         expressions =          CANONICAL_EXPRESSIONS ? builder("expressions", true, Function.identity(), Function.identity()) : null;
     //@formatter:on
+    private final Interner<OWLAnnotation, OWLAnnotation> annotationInterner;
+    @Nullable
+    private final Interner<OWLObject, OWLObject> expressionInterner;
+
     /**
      * @param useCompression true if literals should be compressed
      */
     public OWLDataFactoryInternalsImpl(boolean useCompression) {
+        this(useCompression, CANONICAL_EXPRESSIONS);
+    }
+
+    /**
+     * @param useCompression true if literals should be compressed
+     * @param canonicalExpressions true if annotations and anonymous expressions should be interned
+     *        even if CANONICAL_EXPRESSIONS is not set; the interners are then private to this
+     *        instance and do not report metrics
+     */
+    OWLDataFactoryInternalsImpl(boolean useCompression, boolean canonicalExpressions) {
         super(useCompression);
+        if (canonicalExpressions && !CANONICAL_EXPRESSIONS) {
+            annotationInterner = weak(new WeakInterner<>("annotations",
+                OWLDataFactoryInternalsImpl::ann, OWLDataFactoryInternalsImpl::ann));
+            expressionInterner = weak(
+                new WeakInterner<>("expressions", Function.identity(), Function.identity()));
+        } else {
+            annotationInterner = annotations;
+            expressionInterner = expressions;
+        }
     }
 
     private static OWLAnnotation ann(OWLAnnotation o) {
         return o;
     }
 
-    private static <F, T> LoadingCache<F, T> builder(CacheLoader<F, T> f) {
-        return Caffeine.newBuilder().weakKeys().maximumSize(size()).build(f);
+    private static <T extends OWLEntity> Interner<IRI, T> entities(String name,
+        Function<IRI, T> f) {
+        return builder(name, CANONICAL, f, OWLEntity::getIRI);
+    }
+
+    private static <F, T> Interner<F, T> builder(String name, boolean canonical,
+        Function<F, T> f, Function<T, F> keyOf) {
+        if (canonical) {
+            WeakInterner<F, T> interner = new WeakInterner<>(name, f, keyOf);
+            metrics.put(name, interner);
+            return weak(interner);
+        }
+        LoadingCache<F, T> cache =
+            Caffeine.newBuilder().weakKeys().maximumSize(size()).build(f::apply);
+        return new Interner<F, T>() {
+            @Override
+            public T get(F key) {
+                return cache.get(key);
+            }
+
+            @Override
+            public void invalidateAll() {
+                cache.invalidateAll();
+            }
+        };
+    }
+
+    private static <F, T> Interner<F, T> weak(WeakInterner<F, T> interner) {
+        return new Interner<F, T>() {
+            @Override
+            public T get(F key) {
+                return interner.get(key);
+            }
+
+            @Override
+            public void invalidateAll() {
+                interner.clear();
+            }
+        };
+    }
+
+    /**
+     * Common view of caches and interners.
+     */
+    private interface Interner<F, T> {
+
+        T get(F key);
+
+        void invalidateAll();
     }
 
     protected static long size() {
@@ -76,6 +162,11 @@ public class OWLDataFactoryInternalsImpl extends OWLDataFactoryInternalsImplNoCa
         return classes.get(iri);
     }
 
+    @Override
+    public Map<String, InternerMetrics> internerMetrics() {
+        return Collections.unmodifiableMap(metrics);
+    }
+
     @Override
     public void purge() {
         classes.invalidateAll();
@@ -84,7 +175,26 @@ public class OWLDataFactoryInternalsImpl extends OWLDataFactoryInternalsImplNoCa
         datatypes.invalidateAll();
         individuals.invalidateAll();
         annotationProperties.invalidateAll();
-        annotations.invalidateAll();
+        annotationInterner.invalidateAll();
+        Interner<OWLObject, OWLObject> e = expressionInterner;
+        if (e != null) {
+            e.invalidateAll();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends OWLObject> T intern(T object) {
+        Interner<OWLObject, OWLObject> e = expressionInterner;
+        if (e == null) {
+            return object;
+        }
+        // annotations share the interner used by getOWLAnnotation(), whatever the implementation
+        // class; equal OWL objects have the same type, so the shared instance has the caller's type
+        if (object instanceof OWLAnnotation) {
+            return (T) annotationInterner.get((OWLAnnotation) object);
+        }
+        return (T) e.get(object);
     }
 
     @Override
@@ -115,6 +225,6 @@ public class OWLDataFactoryInternalsImpl extends OWLDataFactoryInternalsImplNoCa
     @Override
     public OWLAnnotation getOWLAnnotation(OWLAnnotationProperty property, OWLAnnotationValue value,
         Stream<OWLAnnotation> anns) {
-        return annotations.get(new OWLAnnotationImpl(property, value, anns));
+        return annotationInterner.get(new OWLAnnotationImpl(property, value, anns));
     }
 }
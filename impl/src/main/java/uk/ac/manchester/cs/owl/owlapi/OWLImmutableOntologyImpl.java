@@ -20,12 +20,14 @@ import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
 import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asSet;
 import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.empty;
 import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.streamFromSorted;
+import static org.semanticweb.owlapi.util.SortKeys.sorted;
 
 import java.io.Serializable;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
@@ -56,6 +58,7 @@ import org.semanticweb.owlapi.model.OWLClassAxiom;
 import org.semanticweb.owlapi.model.OWLClassExpression;
 import org.semanticweb.owlapi.model.OWLDataFactory;
 import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLDataPropertyAssertionAxiom;
 import org.semanticweb.owlapi.model.OWLDataPropertyAxiom;
 import org.semanticweb.owlapi.model.OWLDatatype;
 import org.semanticweb.owlapi.model.OWLDatatypeDefinitionAxiom;
@@ -80,6 +83,8 @@ import org.semanticweb.owlapi.model.parameters.Imports;
 import org.semanticweb.owlapi.model.parameters.Navigation;
 import org.semanticweb.owlapi.util.OWLAPIStreamUtils;
 import org.semanticweb.owlapi.util.OWLAxiomSearchFilter;
+import org.semanticweb.owlapi.util.OrderedLiteralValue;
+import org.semanticweb.owlapi.util.OrderedLiteralValue.Space;
 import org.semanticweb.owlapi.vocab.OWL2Datatype;
 
 import com.github.benmanes.caffeine.cache.LoadingCache;
@@ -93,13 +98,13 @@ public class OWLImmutableOntologyImpl extends OWLAxiomIndexImpl
     // @formatter:off
     protected static LoadingCache<OWLImmutableOntologyImpl, Set<OWLEntity>>              ontsignatures =                      
         build(OWLImmutableOntologyImpl::build);
-    protected static LoadingCache<OWLImmutableOntologyImpl, List<OWLAnonymousIndividual>> ontanonCaches =                    build(key -> asList(key.ints.get(OWLAnonymousIndividual.class, OWLAxiom.class).get().keySet().distinct().sorted()));
-    protected static LoadingCache<OWLImmutableOntologyImpl, List<OWLClass>>              ontclassesSignatures =              build(key -> asList(key.ints.get(OWLClass.class, OWLAxiom.class).get().keySet().distinct().sorted()));
-    protected static LoadingCache<OWLImmutableOntologyImpl, List<OWLDataProperty>>       ontdataPropertySignatures =         build(key -> asList(key.ints.get(OWLDataProperty.class, OWLAxiom.class).get().keySet().distinct().sorted()));
-    protected static LoadingCache<OWLImmutableOntologyImpl, List<OWLObjectProperty>>     ontobjectPropertySignatures =       build(key -> asList(key.ints.get(OWLObjectProperty.class, OWLAxiom.class).get().keySet().distinct().sorted()));
-    protected static LoadingCache<OWLImmutableOntologyImpl, List<OWLDatatype>>           ontdatatypeSignatures =             build(key -> asList(Stream.concat(key.ints.get(OWLDatatype.class, OWLAxiom.class).get().keySet(), key.ints.getOntologyAnnotations().flatMap(HasDatatypesInSignature::datatypesInSignature)).distinct().sorted()));
-    protected static LoadingCache<OWLImmutableOntologyImpl, List<OWLNamedIndividual>>    ontindividualSignatures =           build(key -> asList(key.ints.get(OWLNamedIndividual.class, OWLAxiom.class).get().keySet().distinct().sorted()));
-    protected static LoadingCache<OWLImmutableOntologyImpl, List<OWLAnnotationProperty>> ontannotationPropertiesSignatures = build(key -> asList(Stream.concat(key.ints.get(OWLAnnotationProperty.class, OWLAxiom.class, Navigation.IN_SUB_POSITION).get().keySet(),key.ints.getOntologyAnnotations().flatMap(HasAnnotationPropertiesInSignature::annotationPropertiesInSignature)).distinct().sorted()));
+    protected static LoadingCache<OWLImmutableOntologyImpl, List<OWLAnonymousIndividual>> ontanonCaches =                    build(key -> asList(sorted(key.ints.get(OWLAnonymousIndividual.class, OWLAxiom.class).get().keySet().distinct())));
+    protected static LoadingCache<OWLImmutableOntologyImpl, List<OWLClass>>              ontclassesSignatures =              build(key -> asList(sorted(key.ints.get(OWLClass.class, OWLAxiom.class).get().keySet().distinct())));
+    protected static LoadingCache<OWLImmutableOntologyImpl, List<OWLDataProperty>>       ontdataPropertySignatures =         build(key -> asList(sorted(key.ints.get(OWLDataProperty.class, OWLAxiom.class).get().keySet().distinct())));
+    protected static LoadingCache<OWLImmutableOntologyImpl, List<OWLObjectProperty>>     ontobjectPropertySignatures =       build(key -> asList(sorted(key.ints.get(OWLObjectProperty.class, OWLAxiom.class).get().keySet().distinct())));
+    protected static LoadingCache<OWLImmutableOntologyImpl, List<OWLDatatype>>           ontdatatypeSignatures =             build(key -> asList(sorted(Stream.concat(key.ints.get(OWLDatatype.class, OWLAxiom.class).get().keySet(), key.ints.getOntologyAnnotations().flatMap(HasDatatypesInSignature::datatypesInSignature)).distinct())));
+    protected static LoadingCache<OWLImmutableOntologyImpl, List<OWLNamedIndividual>>    ontindividualSignatures =           build(key -> asList(sorted(key.ints.get(OWLNamedIndividual.class, OWLAxiom.class).get().keySet().distinct())));
+    protected static LoadingCache<OWLImmutableOntologyImpl, List<OWLAnnotationProperty>> ontannotationPropertiesSignatures = build(key -> asList(sorted(Stream.concat(key.ints.get(OWLAnnotationProperty.class, OWLAxiom.class, Navigation.IN_SUB_POSITION).get().keySet(),key.ints.getOntologyAnnotations().flatMap(HasAnnotationPropertiesInSignature::annotationPropertiesInSignature)).distinct())));
     // @formatter:on
     protected static void invalidateOntologyCaches(OWLImmutableOntologyImpl o) {
         ontsignatures.invalidate(o);
@@ -136,6 +141,19 @@ public class OWLImmutableOntologyImpl extends OWLAxiomIndexImpl
         df = manager.getOWLDataFactory();
     }
 
+    /**
+     * @param manager ontology manager
+     * @param ontologyID ontology id
+     * @param ints internals to use for indexing
+     */
+    protected OWLImmutableOntologyImpl(OWLOntologyManager manager, OWLOntologyID ontologyID,
+        Internals ints) {
+        super(ints);
+        this.manager = checkNotNull(manager, "manager cannot be null");
+        this.ontologyID = checkNotNull(ontologyID, "ontologyID cannot be null");
+        df = manager.getOWLDataFactory();
+    }
+
     private static void add(Set<IRI> punned, Set<IRI> test, OWLEntity e) {
         if (!test.add(e.getIRI())) {
             punned.add(e.getIRI());
@@ -347,8 +365,54 @@ public class OWLImmutableOntologyImpl extends OWLAxiomIndexImpl
 
     @Override
     public Stream<OWLEntity> entitiesInSignature(IRI iri) {
-        return unsortedSignature()
-            .filter((Predicate<? super OWLEntity>) c -> c.getIRI().equals(iri)).sorted();
+        if (ints.getOntologyAnnotations().noneMatch(a -> a.getProperty().getIRI().equals(iri))) {
+            return ints.entitiesInSignature(iri);
+        }
+        return Stream
+            .concat(ints.entitiesInSignature(iri),
+                ints.getOntologyAnnotations().map(OWLAnnotation::getProperty))
+            .filter(c -> c.getIRI().equals(iri)).distinct().sorted();
+    }
+
+    /**
+     * @param type entity type
+     * @return true if the IRI index covers all entities of the type; annotation properties and
+     *         datatypes only used in ontology annotations are not in it
+     */
+    private boolean indexed(EntityType<?> type) {
+        return !EntityType.ANNOTATION_PROPERTY.equals(type) && !EntityType.DATATYPE.equals(type)
+            || !ints.getOntologyAnnotations().findAny().isPresent();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends OWLEntity> Stream<T> entitiesInSignatureWithIRIPrefix(EntityType<T> type,
+        String prefix) {
+        if (!indexed(type)) {
+            return OWLOntology.super.entitiesInSignatureWithIRIPrefix(type, prefix);
+        }
+        return (Stream<T>) ints.entitiesWithIRIPrefix(type, prefix);
+    }
+
+    @Override
+    public int countEntitiesInSignatureWithIRIPrefix(EntityType<?> type, String prefix) {
+        if (!indexed(type)) {
+            return OWLOntology.super.countEntitiesInSignatureWithIRIPrefix(type, prefix);
+        }
+        return ints.countEntitiesWithIRIPrefix(type, prefix);
+    }
+
+    @Override
+    public Map<String, Integer> entityCountsByNamespace(EntityType<?> type) {
+        if (!indexed(type)) {
+            return OWLOntology.super.entityCountsByNamespace(type);
+        }
+        return ints.entityCountsByNamespace(type);
+    }
+
+    @Override
+    public boolean containsEntityInSignature(IRI iri) {
+        return ints.containsEntityInSignature(iri);
     }
 
     @Override
@@ -662,6 +726,39 @@ public class OWLImmutableOntologyImpl extends OWLAxiomIndexImpl
             .filter(a -> a.containsEntityInSignature((OWLEntity) entity));
     }
 
+    @Override
+    public Stream<OWLDataPropertyAssertionAxiom> dataPropertyAssertionAxiomsInRange(
+        OWLDataProperty property, OrderedLiteralValue from, boolean fromInclusive,
+        OrderedLiteralValue to, boolean toInclusive) {
+        OrderedLiteralValue.checkBounds(from, to);
+        return ints.getDataPropertyAssertionsByValue().range(property, from, fromInclusive, to,
+            toInclusive);
+    }
+
+    @Override
+    public Stream<OWLDataPropertyAssertionAxiom> dataPropertyAssertionAxiomsSortedByValue(
+        OWLDataProperty property, Space space, boolean descending) {
+        return ints.getDataPropertyAssertionsByValue().sorted(property, space, descending);
+    }
+
+    @Override
+    public Stream<OWLAnnotationAssertionAxiom> annotationAssertionAxiomsByValue(
+        OWLAnnotationProperty property, String lexicalForm, @Nullable String lang) {
+        return ints.getAnnotationAssertionsByValue().exact(property, lexicalForm, lang);
+    }
+
+    @Override
+    public Stream<OWLAnnotationAssertionAxiom> annotationAssertionAxiomsByValueIgnoreCase(
+        OWLAnnotationProperty property, String value) {
+        return ints.getAnnotationAssertionsByValue().ignoreCase(property, value);
+    }
+
+    @Override
+    public Stream<OWLAnnotationAssertionAxiom> annotationAssertionAxiomsByValuePrefix(
+        OWLAnnotationProperty property, String prefix) {
+        return ints.getAnnotationAssertionsByValue().prefix(property, prefix);
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public <T extends OWLAxiom> Stream<T> axioms(OWLAxiomSearchFilter filter, Object key,
@@ -15,17 +15,10 @@ package uk.ac.manchester.cs.owl.owlapi;
 import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
 import static org.semanticweb.owlapi.util.OWLAPIPreconditions.verifyNotNull;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
-import java.io.Reader;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
-import java.io.Writer;
 import java.util.Arrays;
-import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
 
 import javax.annotation.Nullable;
 
@@ -35,9 +28,13 @@ import org.semanticweb.owlapi.model.OWLObject;
 import org.semanticweb.owlapi.model.OWLRuntimeException;
 import org.semanticweb.owlapi.vocab.OWL2Datatype;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
 /**
- * Implementation of {@link OWLLiteral} that uses compression of strings. See also
- * {@link OWLLiteralImplNoCompression}
+ * Implementation of {@link OWLLiteral} that uses compression of strings. The algorithm is chosen
+ * with {@link org.semanticweb.owlapi.model.parameters.ConfigurationOptions#LITERAL_COMPRESSION}.
+ * See also {@link OWLLiteralImplNoCompression}
  *
  * @author Matthew Horridge, The University Of Manchester, Bio-Health Informatics Group
  * @since 2.0.0
@@ -45,6 +42,7 @@ import org.semanticweb.owlapi.vocab.OWL2Datatype;
 public class OWLLiteralImpl extends OWLObjectImpl implements OWLLiteral {
 
     private static final int COMPRESSION_LIMIT = 160;
+    private static final LiteralCompression COMPRESSION = LiteralCompression.configured();
     private static final OWLDatatype RDF_PLAIN_LITERAL =
         new OWL2DatatypeImpl(OWL2Datatype.RDF_PLAIN_LITERAL);
     private static final OWLDatatype RDF_LANG_STRING =
@@ -180,58 +178,52 @@ public class OWLLiteralImpl extends OWLObjectImpl implements OWLLiteral {
     // Literal Wrapper
     private static class LiteralWrapper implements Serializable {
 
-        private static final String COMPRESSED_ENCODING = "UTF-16";
+        /** Computed value of the version without {@link #compression}, which it can still read. */
+        private static final long serialVersionUID = 3049148428984040991L;
+        /**
+         * Decompressed values of recently read literals, keyed by wrapper identity; saves
+         * decompressing the same labels on every lookup.
+         */
+        private static final Cache<LiteralWrapper, String> DECODED = Caffeine.newBuilder()
+            .weakKeys().maximumSize(OWLDataFactoryInternalsImpl.size()).build();
         @Nullable
         String l;
         @Nullable
         byte[] bytes;
+        /** Algorithm used for bytes, in case a serialized literal is read with another setting. */
+        @Nullable
+        LiteralCompression compression;
 
         LiteralWrapper(String s) {
             if (s.length() > COMPRESSION_LIMIT) {
-                try {
-                    bytes = compress(s);
-                    l = null;
-                } catch (@SuppressWarnings("unused") IOException e) {
-                    // some problem happened - defaulting to no compression
-                    l = s;
-                    bytes = null;
-                }
-            } else {
-                bytes = null;
+                compression = COMPRESSION;
+                bytes = COMPRESSION.compressIfSmaller(s);
+            }
+            if (bytes == null) {
+                compression = null;
                 l = s;
             }
         }
 
-        static byte[] compress(String s) throws IOException {
-            ByteArrayOutputStream out = new ByteArrayOutputStream();
-            GZIPOutputStream zipout = new GZIPOutputStream(out);
-            Writer writer = new OutputStreamWriter(zipout, COMPRESSED_ENCODING);
-            writer.write(s);
-            writer.flush();
-            zipout.finish();
-            zipout.flush();
-            return out.toByteArray();
-        }
-
-        static String decompress(byte[] result) throws IOException {
-            ByteArrayInputStream in = new ByteArrayInputStream(result);
-            GZIPInputStream zipin = new GZIPInputStream(in);
-            Reader reader = new InputStreamReader(zipin, COMPRESSED_ENCODING);
-            StringBuilder b = new StringBuilder();
-            int c = reader.read();
-            while (c > -1) {
-                b.append((char) c);
-                c = reader.read();
+        private void readObject(ObjectInputStream stream)
+            throws IOException, ClassNotFoundException {
+            stream.defaultReadObject();
+            // literals serialized before the algorithm was recorded were compressed with GZIP
+            if (bytes != null && compression == null) {
+                compression = LiteralCompression.GZIP;
             }
-            return b.toString();
         }
 
         String get() {
             if (l != null) {
                 return verifyNotNull(l);
             }
+            return DECODED.get(this, LiteralWrapper::decompress);
+        }
+
+        private String decompress() {
             try {
-                return decompress(verifyNotNull(bytes));
+                return verifyNotNull(compression).decompress(verifyNotNull(bytes));
             } catch (IOException e) {
                 // some problem has happened - cannot recover from this
                 throw new OWLRuntimeException(e);
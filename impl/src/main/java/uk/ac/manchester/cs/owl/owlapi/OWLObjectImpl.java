@@ -70,6 +70,14 @@ public abstract class OWLObjectImpl
     protected static LoadingCache<OWLObjectImpl, List<OWLNamedIndividual>>    individualSignatures =            build(key -> cacheSig(key, OWLEntity::isOWLNamedIndividual,     OWLEntity::asOWLNamedIndividual));
     protected static LoadingCache<OWLObjectImpl, List<OWLAnnotationProperty>> annotationPropertiesSignatures =  build(key -> cacheSig(key, OWLEntity::isOWLAnnotationProperty,  OWLEntity::asOWLAnnotationProperty));
     // @formatter:on
+    /**
+     * True if axioms keep their signature on the axiom rather than in the caches above; read once,
+     * when this class is loaded.
+     */
+    protected static final boolean COMPACT_SIGNATURES =
+        ConfigurationOptions.COMPACT_SIGNATURES.getValue(Boolean.class, Collections.emptyMap())
+            .booleanValue();
+
     static <Q, T> LoadingCache<Q, T> build(CacheLoader<Q, T> c) {
         return Caffeine.newBuilder().weakKeys().maximumSize(size()).build(c);
     }
@@ -85,48 +93,94 @@ public abstract class OWLObjectImpl
 
     protected int hashCode = 0;
 
+    /**
+     * @return the signature stored on this object, or null if signatures for this object are kept
+     *         in the caches; only axioms store their signature, and only if
+     *         {@link #COMPACT_SIGNATURES} is true
+     */
+    @Nullable
+    CompactSignature compactSignature() {
+        return null;
+    }
+
     @Override
     public Stream<OWLAnonymousIndividual> anonymousIndividuals() {
+        CompactSignature compact = compactSignature();
+        if (compact != null) {
+            return compact.anonymousIndividuals();
+        }
         return anonCaches.get(this).stream();
     }
 
     @Override
     public Stream<OWLEntity> signature() {
+        CompactSignature compact = compactSignature();
+        if (compact != null) {
+            return compact.signature();
+        }
         return signatures.get(this).stream();
     }
 
     @Override
     public boolean containsEntityInSignature(OWLEntity owlEntity) {
+        CompactSignature compact = compactSignature();
+        if (compact != null) {
+            return compact.contains(owlEntity);
+        }
         return signatures.get(this).contains(owlEntity);
     }
 
     @Override
     public Stream<OWLClass> classesInSignature() {
+        CompactSignature compact = compactSignature();
+        if (compact != null) {
+            return compact.classes();
+        }
         return streamFromSorted(classesSignatures.get(this));
     }
 
     @Override
     public Stream<OWLDataProperty> dataPropertiesInSignature() {
+        CompactSignature compact = compactSignature();
+        if (compact != null) {
+            return compact.dataProperties();
+        }
         return streamFromSorted(dataPropertySignatures.get(this));
     }
 
     @Override
     public Stream<OWLObjectProperty> objectPropertiesInSignature() {
+        CompactSignature compact = compactSignature();
+        if (compact != null) {
+            return compact.objectProperties();
+        }
         return streamFromSorted(objectPropertySignatures.get(this));
     }
 
     @Override
     public Stream<OWLNamedIndividual> individualsInSignature() {
+        CompactSignature compact = compactSignature();
+        if (compact != null) {
+            return compact.individuals();
+        }
         return streamFromSorted(individualSignatures.get(this));
     }
 
     @Override
     public Stream<OWLDatatype> datatypesInSignature() {
+        CompactSignature compact = compactSignature();
+        if (compact != null) {
+            return compact.datatypes();
+        }
         return streamFromSorted(datatypeSignatures.get(this));
     }
 
     @Override
     public Stream<OWLAnnotationProperty> annotationPropertiesInSignature() {
+        CompactSignature compact = compactSignature();
+        if (compact != null) {
+            return compact.annotationProperties();
+        }
         return streamFromSorted(annotationPropertiesSignatures.get(this));
     }
 
@@ -150,6 +204,15 @@ public abstract class OWLObjectImpl
         if (typeIndex() != other.typeIndex() || hashCode() != other.hashCode()) {
             return false;
         }
+        // fingerprints reject almost all remaining mismatches, but are only used if already
+        // computed: computing them costs as much as comparing components
+        long fingerprint = computedFingerprint();
+        if (fingerprint != 0 && other instanceof OWLObjectImpl) {
+            long otherFingerprint = ((OWLObjectImpl) other).computedFingerprint();
+            if (otherFingerprint != 0 && otherFingerprint != fingerprint) {
+                return false;
+            }
+        }
         return equalStreams(components(), other.components());
     }
 
@@ -161,6 +224,22 @@ public abstract class OWLObjectImpl
         return hashCode;
     }
 
+    /**
+     * @return the fingerprint stored on this object, or 0 if not computed yet or not stored; only
+     *         axioms and anonymous class expressions store their fingerprint
+     */
+    long computedFingerprint() {
+        return 0;
+    }
+
+    /**
+     * @param fingerprint computed fingerprint
+     * @return the fingerprint, or 1 if it is 0: 0 marks a fingerprint not yet computed
+     */
+    static long storable(long fingerprint) {
+        return fingerprint == 0 ? 1 : fingerprint;
+    }
+
     @Override
     public int compareTo(@Nullable OWLObject o) {
         checkNotNull(o);
@@ -15,9 +15,11 @@ package uk.ac.manchester.cs.owl.owlapi;
 import static org.semanticweb.owlapi.util.OWLAPIPreconditions.verifyNotNull;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -26,12 +28,14 @@ import java.util.concurrent.locks.ReadWriteLock;
 import javax.inject.Inject;
 
 import org.semanticweb.owlapi.formats.RDFXMLDocumentFormat;
+import org.semanticweb.owlapi.io.DocumentFormatDetector;
 import org.semanticweb.owlapi.io.OWLOntologyCreationIOException;
 import org.semanticweb.owlapi.io.OWLOntologyDocumentSource;
 import org.semanticweb.owlapi.io.OWLOntologyInputSourceException;
 import org.semanticweb.owlapi.io.OWLParser;
 import org.semanticweb.owlapi.io.OWLParserException;
 import org.semanticweb.owlapi.io.OWLParserFactory;
+import org.semanticweb.owlapi.io.TempFileDocumentSource;
 import org.semanticweb.owlapi.io.UnparsableOntologyException;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLDocumentFormat;
@@ -45,6 +49,8 @@ import org.semanticweb.owlapi.model.OWLOntologyManager;
 import org.semanticweb.owlapi.model.PriorityCollectionSorting;
 import org.semanticweb.owlapi.model.UnloadableImportException;
 import org.semanticweb.owlapi.util.PriorityCollection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import uk.ac.manchester.cs.AcceptHeaderBuilder;
 
@@ -53,6 +59,7 @@ import uk.ac.manchester.cs.AcceptHeaderBuilder;
  */
 public class OWLOntologyFactoryImpl implements OWLOntologyFactory {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(OWLOntologyFactoryImpl.class);
     private final Set<String> parsableSchemes =
         new HashSet<>(Arrays.asList("http", "https", "file", "ftp", "jar"));
     private final OWLOntologyBuilder ontologyBuilder;
@@ -67,7 +74,10 @@ public class OWLOntologyFactoryImpl implements OWLOntologyFactory {
 
     /**
      * Select parsers by MIME type and format of the input source, if known. If format and MIME type
-     * are not known or not matched by any parser, return all known parsers.
+     * are not known or not matched by any parser, return all known parsers, with the parsers for
+     * the formats detected from the start of the document moved to the front. Inputs that can be
+     * read only once are copied if they are going to be read more than once, i.e., if the format
+     * has to be detected or more than one parser can be tried.
      *
      * @param documentSource document source
      * @param parsers parsers
@@ -81,7 +91,7 @@ public class OWLOntologyFactoryImpl implements OWLOntologyFactory {
         Optional<OWLDocumentFormat> format = documentSource.getFormat();
         Optional<String> mimeType = documentSource.getMIMEType();
         if (!format.isPresent() && !mimeType.isPresent()) {
-            return parsers;
+            return rank(parsers, DocumentFormatDetector.detect(documentSource));
         }
         PriorityCollection<OWLParserFactory> candidateParsers = parsers;
         if (format.isPresent()) {
@@ -91,8 +101,56 @@ public class OWLOntologyFactoryImpl implements OWLOntologyFactory {
             candidateParsers = getParserCandidatesByMIME(mimeType.get(), parsers);
         }
         if (candidateParsers.isEmpty()) {
+            copyInput(documentSource);
+            return rank(parsers, DocumentFormatDetector.detect(documentSource));
+        }
+        if (candidateParsers.size() > 1) {
+            copyInput(documentSource);
+        }
+        return candidateParsers;
+    }
+
+    private static void copyInput(OWLOntologyDocumentSource documentSource) {
+        if (documentSource instanceof TempFileDocumentSource
+            && !((TempFileDocumentSource) documentSource).copyInput()) {
+            LOGGER.warn("Input for {} has already been read and cannot be read again",
+                documentSource.getDocumentIRI());
+        }
+    }
+
+    /**
+     * Move the parsers for the specified formats to the front, in the order of the format keys;
+     * the other parsers follow in their original order, so that they are still tried if the
+     * detected formats are wrong.
+     *
+     * @param parsers parsers
+     * @param formatKeys detected format keys, best match first
+     * @return ranked parsers
+     */
+    private static PriorityCollection<OWLParserFactory> rank(
+        PriorityCollection<OWLParserFactory> parsers, List<String> formatKeys) {
+        if (formatKeys.isEmpty()) {
+            return parsers;
+        }
+        List<OWLParserFactory> ranked = new ArrayList<>(parsers.size());
+        for (String key : formatKeys) {
+            for (OWLParserFactory parser : parsers) {
+                if (parser.getSupportedFormat().getKey().equals(key)) {
+                    ranked.add(parser);
+                }
+            }
+        }
+        if (ranked.isEmpty()) {
             return parsers;
         }
+        for (OWLParserFactory parser : parsers) {
+            if (!ranked.contains(parser)) {
+                ranked.add(parser);
+            }
+        }
+        PriorityCollection<OWLParserFactory> candidateParsers =
+            new PriorityCollection<>(PriorityCollectionSorting.NEVER);
+        candidateParsers.add(ranked);
         return candidateParsers;
     }
 
@@ -17,6 +17,7 @@ import static org.semanticweb.owlapi.model.parameters.ChangeApplied.SUCCESSFULLY
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 import javax.inject.Inject;
@@ -25,6 +26,7 @@ import org.semanticweb.owlapi.model.AddAxiom;
 import org.semanticweb.owlapi.model.AddImport;
 import org.semanticweb.owlapi.model.AddOntologyAnnotation;
 import org.semanticweb.owlapi.model.ChangeDetails;
+import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLMutableOntology;
 import org.semanticweb.owlapi.model.OWLOntologyChange;
 import org.semanticweb.owlapi.model.OWLOntologyChangeVisitorEx;
@@ -41,7 +43,7 @@ import org.semanticweb.owlapi.model.parameters.ChangeApplied;
  * @since 2.0.0
  */
 public class OWLOntologyImpl extends OWLImmutableOntologyImpl
-    implements OWLMutableOntology, Serializable {
+    implements OWLMutableOntology, HasBulkAxiomAddition, Serializable {
 
     /**
      * @param manager ontology manager
@@ -78,6 +80,15 @@ public class OWLOntologyImpl extends OWLImmutableOntologyImpl
         return new ChangeDetails(appliedChanges, enactedChanges);
     }
 
+    @Override
+    public List<OWLAxiom> addAxiomsInBulk(Collection<? extends Collection<OWLAxiom>> buffers) {
+        List<OWLAxiom> added = ints.addAxiomsInBulk(buffers);
+        if (!added.isEmpty()) {
+            invalidateOntologyCaches(this);
+        }
+        return added;
+    }
+
     protected class OWLOntologyChangeFilter
         implements OWLOntologyChangeVisitorEx<ChangeApplied>, Serializable {
 
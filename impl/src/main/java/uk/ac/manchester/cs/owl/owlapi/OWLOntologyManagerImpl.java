@@ -14,6 +14,7 @@ package uk.ac.manchester.cs.owl.owlapi;
 
 import static org.semanticweb.owlapi.util.CollectionFactory.createSyncList;
 import static org.semanticweb.owlapi.util.CollectionFactory.createSyncMap;
+import static org.semanticweb.owlapi.util.CollectionFactory.createSyncSet;
 import static org.semanticweb.owlapi.util.CollectionFactory.list;
 import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
 import static org.semanticweb.owlapi.util.OWLAPIPreconditions.emptyOptional;
@@ -28,6 +29,7 @@ import java.io.InputStream;
 import java.io.ObjectOutputStream;
 import java.io.OutputStream;
 import java.io.Serializable;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -38,14 +40,19 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.RandomAccess;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Stream;
 
 import javax.annotation.Nullable;
@@ -78,6 +85,7 @@ import org.semanticweb.owlapi.model.MissingImportListener;
 import org.semanticweb.owlapi.model.OWLAnnotationAxiom;
 import org.semanticweb.owlapi.model.OWLAnnotationProperty;
 import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLAxiomBulkLoader;
 import org.semanticweb.owlapi.model.OWLAxiomChange;
 import org.semanticweb.owlapi.model.OWLDataFactory;
 import org.semanticweb.owlapi.model.OWLDeclarationAxiom;
@@ -128,6 +136,13 @@ import org.slf4j.LoggerFactory;
 import uk.ac.manchester.cs.owl.owlapi.concurrent.ConcurrentPriorityCollection;
 
 /**
+ * Loads of different documents run concurrently; the manager lock is only held while the manager
+ * state is read or updated. A load started by a thread that holds the manager write lock, e.g.,
+ * from a change listener, works as before unless another thread is loading the same document: the
+ * other load cannot complete while the write lock is held, so instead of waiting forever the load
+ * fails with an {@link OWLOntologyCreationException}. An import refused for the same reason is
+ * linked to the importing ontology when the other thread's load completes.
+ *
  * @author Matthew Horridge, The University Of Manchester, Bio-Health Informatics Group
  * @since 2.0.0
  */
@@ -147,6 +162,8 @@ public class OWLOntologyManagerImpl
     protected final AtomicInteger loadCount = new AtomicInteger(0);
     protected final AtomicInteger importsLoadCount = new AtomicInteger(0);
     protected final Map<IRI, Object> importedIRIs = createSyncMap();
+    /** Imports left to loads in other threads; linked when those loads complete. */
+    protected final Set<OWLImportsDeclaration> deferredImports = createSyncSet();
     protected final OWLDataFactory dataFactory;
     protected final Map<OWLOntologyID, Set<OWLOntology>> importsClosureCache = createSyncMap();
     protected final List<MissingImportListener> missingImportsListeners = createSyncList();
@@ -157,7 +174,11 @@ public class OWLOntologyManagerImpl
     protected final PriorityCollection<OWLOntologyFactory> ontologyFactories;
     protected final PriorityCollection<OWLParserFactory> parserFactories;
     protected final PriorityCollection<OWLStorerFactory> ontologyStorers;
-    private final AtomicBoolean broadcastChanges = new AtomicBoolean(true);
+    private transient DocumentLoadLocks documentLoadLocks = new DocumentLoadLocks();
+    private transient ThreadLocal<LoadDepth> loadDepth = ThreadLocal.withInitial(LoadDepth::new);
+    private transient ThreadLocal<ImportsLoadingSession> importsSession = new ThreadLocal<>();
+    @Nullable
+    private transient ThreadPoolExecutor importsExecutor;
     private final Lock readLock;
     private final Lock writeLock;
     private final ReadWriteLock lock;
@@ -207,6 +228,7 @@ public class OWLOntologyManagerImpl
             documentIRIsByID.clear();
             impendingChangeListenerMap.clear();
             importedIRIs.clear();
+            deferredImports.clear();
             importsClosureCache.clear();
             listenerMap.clear();
             loaderListeners.clear();
@@ -899,14 +921,85 @@ public class OWLOntologyManagerImpl
         }
     }
 
+    @Override
+    public OWLOntology freezeOntology(OWLOntology ontology) {
+        writeLock.lock();
+        try {
+            if (!contains(ontology)) {
+                throw new UnknownOWLOntologyException(ontology.getOntologyID());
+            }
+            if (ontology instanceof FrozenOWLOntologyImpl) {
+                return ontology;
+            }
+            // imports queries on the copy must not reach the live ontologies and their locks
+            OWLOntology frozen = FrozenOWLOntologyImpl.withImportsClosure(this, ontology, ontology);
+            ontologiesByID.put(frozen.getOntologyID(), frozen);
+            ontology.setOWLOntologyManager(null);
+            resetImportsClosureCache();
+            return frozen;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public OWLAxiomBulkLoader bulkLoader(OWLOntology ontology) {
+        return new OWLAxiomBulkLoaderImpl(this, ontology);
+    }
+
+    /**
+     * Adds the axioms collected by a bulk loader. Ontologies that do not support bulk addition,
+     * including immutable ones, receive the axioms as regular changes.
+     *
+     * @param ont ontology to add axioms to
+     * @param buffers axioms to add, one list per axiom type
+     * @param size total number of axioms
+     * @return outcome of the addition
+     */
+    protected ChangeApplied commitBulkLoad(OWLOntology ont, Collection<List<OWLAxiom>> buffers,
+        int size) {
+        if (!(ont instanceof HasBulkAxiomAddition)) {
+            List<AddAxiom> changes = new ArrayList<>(size);
+            buffers.forEach(b -> b.forEach(ax -> changes.add(new AddAxiom(ont, ax))));
+            return applyChanges(changes);
+        }
+        writeLock.lock();
+        Collection<List<OWLAxiom>> toAdd = buffers;
+        try {
+            OWLOntologyLoaderConfiguration ontologyConfig =
+                ontologyConfigurationsByOntologyID.get(ont.getOntologyID());
+            if (ontologyConfig != null && !ontologyConfig.isLoadAnnotationAxioms()) {
+                toAdd = asList(buffers.stream()
+                    .filter(b -> !b.isEmpty() && !(b.get(0) instanceof OWLAnnotationAxiom)));
+            }
+            if (!impendingChangeListenerMap.isEmpty()) {
+                broadcastImpendingChanges(new AddAxiomList(ont, flatten(toAdd)));
+            }
+            fireBeginChanges(size);
+            List<OWLAxiom> added = ((HasBulkAxiomAddition) ont).addAxiomsInBulk(toAdd);
+            fireEndChanges();
+            // one notification for the whole load; AddAxiom changes are created on demand
+            broadcastChanges(new AddAxiomList(ont, added));
+            return added.isEmpty() ? ChangeApplied.NO_OPERATION : ChangeApplied.SUCCESSFULLY;
+        } catch (OWLOntologyChangeVetoException e) {
+            // Some listener blocked the changes.
+            broadcastOntologyChangesVetoed(new AddAxiomList(ont, flatten(toAdd)), e);
+            return ChangeApplied.UNSUCCESSFULLY;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private static List<OWLAxiom> flatten(Collection<List<OWLAxiom>> buffers) {
+        return asList(buffers.stream().flatMap(Collection::stream));
+    }
+
     @Override
     public OWLOntology loadOntology(IRI ontologyIRI) throws OWLOntologyCreationException {
         // if an ontology cyclically imports itself, the manager should not try to download from the
         // same URL twice.
-        Object value = new Object();
-        if (!importedIRIs.containsKey(ontologyIRI)) {
-            importedIRIs.put(ontologyIRI, value);
-        }
+        Object value = new PendingImport(Thread.currentThread());
+        importedIRIs.putIfAbsent(ontologyIRI, value);
         OWLOntology loadOntology =
             loadOntology(ontologyIRI, false, getOntologyLoaderConfiguration());
         importedIRIs.remove(ontologyIRI, value);
@@ -915,34 +1008,24 @@ public class OWLOntologyManagerImpl
 
     protected OWLOntology loadOntology(IRI iri, boolean allowExists,
         OWLOntologyLoaderConfiguration configuration) throws OWLOntologyCreationException {
-        writeLock.lock();
+        OWLOntology ontByID = getOntologyForLoad(iri);
+        if (ontByID != null) {
+            return ontByID;
+        }
+        OWLOntologyID id = new OWLOntologyID(optional(iri), emptyOptional());
+        IRI documentIRI = getDocumentIRIFromMappers(id);
+        if (documentIRI == null) {
+            // Nothing we can do here. We can't get a document IRI to load
+            // the ontology from.
+            throw new OntologyIRIMappingNotFoundException(iri);
+        }
+        lockDocument(documentIRI);
         try {
-            OWLOntology ontByID = null;
-            // Check for matches on the ontology IRI first
-            Optional<OWLOntologyID> findAny = ids().filter(o -> o.match(iri)).findAny();
-            if (findAny.isPresent()) {
-                ontByID = ontologiesByID.get(findAny.get());
-            }
+            // Another thread might have loaded the ontology while this thread was waiting
+            ontByID = getOntologyForLoad(iri);
             if (ontByID != null) {
                 return ontByID;
             }
-            OWLOntologyID id = new OWLOntologyID(optional(iri), emptyOptional());
-            IRI documentIRI = getDocumentIRIFromMappers(id);
-            if (documentIRI != null) {
-                if (documentIRIsByID.values().contains(documentIRI) && !allowExists) {
-                    throw new OWLOntologyDocumentAlreadyExistsException(documentIRI);
-                }
-                // The ontology might be being loaded, but its IRI might
-                // not have been set (as is probably the case with RDF/XML!)
-                OWLOntology ontByDocumentIRI = loadOntologyByDocumentIRI(documentIRI);
-                if (ontByDocumentIRI != null) {
-                    return ontByDocumentIRI;
-                }
-            } else {
-                // Nothing we can do here. We can't get a document IRI to load
-                // the ontology from.
-                throw new OntologyIRIMappingNotFoundException(iri);
-            }
             if (documentIRIsByID.values().contains(documentIRI) && !allowExists) {
                 throw new OWLOntologyDocumentAlreadyExistsException(documentIRI);
             }
@@ -954,7 +1037,43 @@ public class OWLOntologyManagerImpl
             }
             return loadOntology(iri, new IRIDocumentSource(documentIRI, null, null), configuration);
         } finally {
-            writeLock.unlock();
+            documentLoadLocks.unlock(documentIRI);
+        }
+    }
+
+    @Nullable
+    private OWLOntology getOntologyForLoad(IRI iri) {
+        readLock.lock();
+        try {
+            // Check for matches on the ontology IRI first
+            Optional<OWLOntologyID> findAny = ids().filter(o -> o.match(iri)).findAny();
+            if (findAny.isPresent()) {
+                return ontologiesByID.get(findAny.get());
+            }
+            return null;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Acquires the lock for a document; only loads of the same document are mutually exclusive.
+     *
+     * @param documentIRI document to lock
+     * @throws OWLOntologyCreationException if the lock cannot be acquired because of a cycle of
+     *         loads across threads, or because the thread is interrupted
+     */
+    private void lockDocument(IRI documentIRI) throws OWLOntologyCreationException {
+        boolean holdsManagerLock = lock instanceof ReentrantReadWriteLock
+            && ((ReentrantReadWriteLock) lock).isWriteLockedByCurrentThread();
+        try {
+            if (!documentLoadLocks.lock(documentIRI, holdsManagerLock)) {
+                throw new ConcurrentLoadCycleException(documentIRI, holdsManagerLock);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OWLOntologyCreationException(
+                "Interrupted while waiting to load " + documentIRI, e);
         }
     }
 
@@ -1039,16 +1158,81 @@ public class OWLOntologyManagerImpl
     protected OWLOntology loadOntology(@Nullable IRI ontologyIRI,
         OWLOntologyDocumentSource documentSource, OWLOntologyLoaderConfiguration configuration)
         throws OWLOntologyCreationException {
-        writeLock.lock();
+        // import loads need the manager lock to register their ontologies; a thread holding it,
+        // e.g., a change listener, would wait for them forever, so it loads its imports itself
+        if (importsSession.get() != null || configuration.getImportsLoadingThreads() < 2
+            || holdsManagerLock()) {
+            return loadDocument(ontologyIRI, documentSource, configuration);
+        }
+        // Imports requested while parsing are loaded by the session; the document lock is
+        // released before waiting for them, so that the imports can refer back to this document
+        ImportsLoadingSession session = new ImportsLoadingSession(
+            importsExecutor(configuration.getImportsLoadingThreads()), documentLoadLocks);
+        importsSession.set(session);
+        OWLOntology o = null;
+        try {
+            o = loadDocument(ontologyIRI, documentSource, configuration);
+            session.await();
+            LoadDepth depth = loadDepth.get();
+            depth.loads++;
+            try {
+                session.ontologiesToRepair().forEach(this::fixIllegalPunnings);
+            } finally {
+                depth.loads--;
+            }
+            return o;
+        } catch (OWLOntologyCreationException | RuntimeException e) {
+            // the root ontology is only kept if its whole imports closure loaded
+            if (o != null) {
+                removeOntology(o);
+            }
+            throw e;
+        } finally {
+            importsSession.remove();
+            session.shutdown();
+        }
+    }
+
+    /**
+     * @param threads number of threads requested by the load
+     * @return the pool loading imports, shared by all loads; it grows to the largest number of
+     *         threads requested, and its threads stop when idle
+     */
+    private synchronized ThreadPoolExecutor importsExecutor(int threads) {
+        ThreadPoolExecutor executor = importsExecutor;
+        if (executor == null) {
+            executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+                    Thread t = new Thread(r, "owlapi-imports-loader");
+                    t.setDaemon(true);
+                    return t;
+                });
+            executor.allowCoreThreadTimeOut(true);
+            importsExecutor = executor;
+        } else if (executor.getMaximumPoolSize() < threads) {
+            executor.setMaximumPoolSize(threads);
+            executor.setCorePoolSize(threads);
+        }
+        return executor;
+    }
+
+    private OWLOntology loadDocument(@Nullable IRI ontologyIRI,
+        OWLOntologyDocumentSource documentSource, OWLOntologyLoaderConfiguration configuration)
+        throws OWLOntologyCreationException {
+        // Only loads of the same document exclude each other; the manager lock is taken for the
+        // short sections that read or update the manager state.
+        IRI documentIRI = documentSource.getDocumentIRI();
+        lockDocument(documentIRI);
+        LoadDepth depth = loadDepth.get();
         try {
-            if (loadCount.get() != importsLoadCount.get()) {
+            if (depth.loads != depth.imports) {
                 LOGGER.warn(
                     "Runtime Warning: Parsers should load imported ontologies using the makeImportLoadRequest method.");
             }
             fireStartedLoadingEvent(new OWLOntologyID(optional(ontologyIRI), emptyOptional()),
-                documentSource.getDocumentIRI(), loadCount.get() > 0);
+                documentIRI, depth.loads > 0);
+            depth.loads++;
             loadCount.incrementAndGet();
-            broadcastChanges.set(false);
             Exception ex = null;
             OWLOntologyID idOfLoadedOntology = new OWLOntologyID();
             try {
@@ -1067,16 +1251,15 @@ public class OWLOntologyManagerImpl
                 }
                 throw e;
             } finally {
-                if (loadCount.decrementAndGet() == 0) {
-                    broadcastChanges.set(true);
-                    // Completed loading ontology and imports
-                }
-                fireFinishedLoadingEvent(idOfLoadedOntology, documentSource.getDocumentIRI(),
-                    loadCount.get() > 0, ex);
+                depth.loads--;
+                loadCount.decrementAndGet();
+                // Change broadcasting resumes when this thread completes loading ontology and
+                // imports
+                fireFinishedLoadingEvent(idOfLoadedOntology, documentIRI, depth.loads > 0, ex);
             }
-            throw new OWLOntologyFactoryNotFoundException(documentSource.getDocumentIRI());
+            throw new OWLOntologyFactoryNotFoundException(documentIRI);
         } finally {
-            writeLock.unlock();
+            documentLoadLocks.unlock(documentIRI);
         }
     }
 
@@ -1104,14 +1287,34 @@ public class OWLOntologyManagerImpl
                     OWLOntology ontology =
                         factory.loadOWLOntology(this, documentSource, this, configuration);
                     if (configuration.shouldRepairIllegalPunnings()) {
-                        fixIllegalPunnings(ontology);
+                        ImportsLoadingSession session = importsSession.get();
+                        if (session == null) {
+                            fixIllegalPunnings(ontology);
+                        } else {
+                            // the imports closure is not complete yet
+                            session.repairPunningsLater(ontology);
+                        }
                     }
                     // Store the ontology to the document IRI mapping
-                    documentIRIsByID.put(ontology.getOntologyID(), documentSource.getDocumentIRI());
-                    ontologyConfigurationsByOntologyID.put(ontology.getOntologyID(), configuration);
+                    writeLock.lock();
+                    try {
+                        documentIRIsByID.put(ontology.getOntologyID(),
+                            documentSource.getDocumentIRI());
+                        ontologyConfigurationsByOntologyID.put(ontology.getOntologyID(),
+                            configuration);
+                        linkDeferredImports(ontology.getOntologyID(),
+                            documentSource.getDocumentIRI());
+                    } finally {
+                        writeLock.unlock();
+                    }
                     if (ontology instanceof HasTrimToSize && configuration.shouldTrimToSize()) {
                         ((HasTrimToSize) ontology).trimToSize();
                     }
+                    if (ontology instanceof HasIndexWarmUp
+                        && configuration.shouldWarmUpIndexes()) {
+                        ((HasIndexWarmUp) ontology)
+                            .warmUpIndexes(configuration.getWarmUpAxiomTypes());
+                    }
                     return ontology;
                 } catch (OWLOntologyRenameException e) {
                     // We loaded an ontology from a document and the
@@ -1124,6 +1327,43 @@ public class OWLOntologyManagerImpl
         return null;
     }
 
+    /**
+     * Links the imports refused because another thread was loading them to the ontology loaded by
+     * that thread. Must be called while holding the write lock.
+     *
+     * @param id id of the loaded ontology
+     * @param documentIRI document the ontology was loaded from
+     */
+    private void linkDeferredImports(OWLOntologyID id, IRI documentIRI) {
+        if (deferredImports.isEmpty()) {
+            return;
+        }
+        List<OWLImportsDeclaration> linked = asList(deferredImports.stream()
+            .filter(d -> id.match(d.getIRI()) || documentIRI.equals(d.getIRI())));
+        for (OWLImportsDeclaration d : linked) {
+            ontologyIDsByImportsDeclaration.put(d, id);
+            importedIRIs.put(d.getIRI(), id);
+            deferredImports.remove(d);
+        }
+        if (!linked.isEmpty()) {
+            // closures computed while the import was missing must be recomputed
+            importsClosureCache.clear();
+        }
+    }
+
+    /**
+     * Links deferred imports whose loads completed before the imports were deferred.
+     */
+    private void linkLoadedDeferredImports() {
+        writeLock.lock();
+        try {
+            new ArrayList<>(documentIRIsByID.entrySet())
+                .forEach(e -> linkDeferredImports(e.getKey(), e.getValue()));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
     protected void fixIllegalPunnings(OWLOntology o) {
         Collection<IRI> illegals = OWLDocumentFormat.determineIllegalPunnings(true,
             Imports.INCLUDED.stream(o).flatMap(HasSignature::unsortedSignature),
@@ -1499,6 +1739,9 @@ public class OWLOntologyManagerImpl
         listenerMap = new ConcurrentHashMap<>();
         impendingChangeListenerMap = new ConcurrentHashMap<>();
         vetoListeners = new ArrayList<>();
+        documentLoadLocks = new DocumentLoadLocks();
+        loadDepth = ThreadLocal.withInitial(LoadDepth::new);
+        importsSession = new ThreadLocal<>();
     }
 
     private void writeObject(ObjectOutputStream stream) throws IOException {
@@ -1525,7 +1768,7 @@ public class OWLOntologyManagerImpl
     protected void broadcastChanges(List<? extends OWLOntologyChange> changes) {
         writeLock.lock();
         try {
-            if (!broadcastChanges.get()) {
+            if (loadDepth.get().loads > 0) {
                 return;
             }
             for (OWLOntologyChangeListener listener : new ArrayList<>(listenerMap.keySet())) {
@@ -1554,7 +1797,7 @@ public class OWLOntologyManagerImpl
     protected void broadcastImpendingChanges(List<? extends OWLOntologyChange> changes) {
         writeLock.lock();
         try {
-            if (!broadcastChanges.get()) {
+            if (loadDepth.get().loads > 0) {
                 return;
             }
             for (ImpendingOWLOntologyChangeListener listener : new ArrayList<>(
@@ -1655,63 +1898,124 @@ public class OWLOntologyManagerImpl
     @Nullable
     protected OWLOntology loadImports(OWLImportsDeclaration declaration,
         OWLOntologyLoaderConfiguration configuration) throws OWLOntologyCreationException {
-        writeLock.lock();
-        try {
-            importsLoadCount.incrementAndGet();
-            OWLOntology ont = null;
-            try {
-                ont = loadOntology(declaration.getIRI(), true, configuration);
-            } catch (OWLOntologyCreationException e) {
-                if (configuration
-                    .getMissingImportHandlingStrategy() == MissingImportHandlingStrategy.THROW_EXCEPTION) {
-                    throw e;
-                } else {
-                    // Silent
-                    MissingImportEvent evt = new MissingImportEvent(declaration.getIRI(), e);
-                    fireMissingImportEvent(evt);
-                }
-            } finally {
-                importsLoadCount.decrementAndGet();
+        LoadDepth depth = loadDepth.get();
+        depth.imports++;
+        importsLoadCount.incrementAndGet();
+        OWLOntology ont = null;
+        try {
+            ont = loadOntology(declaration.getIRI(), true, configuration);
+        } catch (ConcurrentLoadCycleException e) {
+            // Another thread is loading the import and waiting for an ontology this thread is
+            // loading; as with cyclic imports, the import is left to the other load and linked
+            // to this declaration when that load completes
+            LOGGER.warn("Import {} is being loaded by another thread and is not yet available: {}",
+                declaration.getIRI(), e.getMessage());
+            deferredImports.add(declaration);
+            linkLoadedDeferredImports();
+        } catch (OWLOntologyCreationException e) {
+            if (configuration
+                .getMissingImportHandlingStrategy() == MissingImportHandlingStrategy.THROW_EXCEPTION) {
+                throw e;
+            } else {
+                // Silent
+                MissingImportEvent evt = new MissingImportEvent(declaration.getIRI(), e);
+                fireMissingImportEvent(evt);
             }
-            return ont;
         } finally {
-            writeLock.unlock();
+            depth.imports--;
+            importsLoadCount.decrementAndGet();
         }
+        return ont;
     }
 
     @Override
     public void makeLoadImportRequest(OWLImportsDeclaration declaration) {
         // XXX check default
-        writeLock.lock();
+        makeLoadImportRequest(declaration, getOntologyLoaderConfiguration());
+    }
+
+    @Override
+    public void makeLoadImportRequest(OWLImportsDeclaration declaration,
+        OWLOntologyLoaderConfiguration configuration) {
+        IRI iri = declaration.getIRI();
+        if (configuration.isIgnoredImport(iri)) {
+            return;
+        }
+        // insert temporary value - we do not know the actual ID yet
+        ImportsLoadingSession session = importsSession.get();
+        Object loader = session == null ? Thread.currentThread() : session;
+        Object existing = importedIRIs.putIfAbsent(iri, new PendingImport(loader));
+        // An import already loaded, or being loaded by this thread or session (cyclic imports),
+        // is skipped; an import being loaded by another thread is requested again, so that this
+        // load waits for it to complete
+        if (existing != null && !(existing instanceof PendingImport
+            && ((PendingImport) existing).loader != loader)) {
+            return;
+        }
+        if (session != null) {
+            session.submit(() -> loadImportInSession(session, declaration, configuration));
+            return;
+        }
+        loadImport(declaration, configuration);
+    }
+
+    private void loadImportInSession(ImportsLoadingSession session,
+        OWLImportsDeclaration declaration, OWLOntologyLoaderConfiguration configuration) {
+        // the load might run on a thread that is waiting for it while loading another document
+        ImportsLoadingSession previous = importsSession.get();
+        importsSession.set(session);
+        LoadDepth depth = loadDepth.get();
+        // the import is loaded on behalf of the ontology that requested it
+        depth.loads++;
         try {
-            makeLoadImportRequest(declaration, getOntologyLoaderConfiguration());
+            loadImport(declaration, configuration);
         } finally {
-            writeLock.unlock();
+            depth.loads--;
+            if (previous == null) {
+                importsSession.remove();
+            } else {
+                importsSession.set(previous);
+            }
         }
     }
 
     @Override
-    public void makeLoadImportRequest(OWLImportsDeclaration declaration,
+    public void awaitLoadImportRequests() {
+        ImportsLoadingSession session = importsSession.get();
+        if (session == null) {
+            return;
+        }
+        if (holdsManagerLock()) {
+            // the import loads need the manager lock to register their ontologies
+            LOGGER.warn("Imports cannot be awaited while holding the manager lock");
+            return;
+        }
+        session.awaitRequestedImports();
+    }
+
+    /**
+     * @return true if the current thread holds the manager lock, for reading or writing
+     */
+    private boolean holdsManagerLock() {
+        if (lock instanceof ReentrantReadWriteLock) {
+            ReentrantReadWriteLock l = (ReentrantReadWriteLock) lock;
+            return l.isWriteLockedByCurrentThread() || l.getReadHoldCount() > 0;
+        }
+        return false;
+    }
+
+    private void loadImport(OWLImportsDeclaration declaration,
         OWLOntologyLoaderConfiguration configuration) {
-        writeLock.lock();
+        IRI iri = declaration.getIRI();
         try {
-            IRI iri = declaration.getIRI();
-            if (!configuration.isIgnoredImport(iri) && !importedIRIs.containsKey(iri)) {
-                // insert temporary value - we do not know the actual ID yet
-                importedIRIs.put(iri, new Object());
-                try {
-                    OWLOntology ont = loadImports(declaration, configuration);
-                    if (ont != null) {
-                        ontologyIDsByImportsDeclaration.put(declaration, ont.getOntologyID());
-                        importedIRIs.put(iri, ont.getOntologyID());
-                    }
-                } catch (OWLOntologyCreationException e) {
-                    // Wrap as UnloadableImportException and throw
-                    throw new UnloadableImportException(e, declaration);
-                }
+            OWLOntology ont = loadImports(declaration, configuration);
+            if (ont != null) {
+                ontologyIDsByImportsDeclaration.put(declaration, ont.getOntologyID());
+                importedIRIs.put(iri, ont.getOntologyID());
             }
-        } finally {
-            writeLock.unlock();
+        } catch (OWLOntologyCreationException e) {
+            // Wrap as UnloadableImportException and throw
+            throw new UnloadableImportException(e, declaration);
         }
     }
 
@@ -1814,7 +2118,7 @@ public class OWLOntologyManagerImpl
     protected void fireBeginChanges(int size) {
         writeLock.lock();
         try {
-            if (!broadcastChanges.get()) {
+            if (loadDepth.get().loads > 0) {
                 return;
             }
             for (OWLOntologyChangeProgressListener listener : progressListeners) {
@@ -1833,7 +2137,7 @@ public class OWLOntologyManagerImpl
     protected void fireEndChanges() {
         writeLock.lock();
         try {
-            if (!broadcastChanges.get()) {
+            if (loadDepth.get().loads > 0) {
                 return;
             }
             for (OWLOntologyChangeProgressListener listener : progressListeners) {
@@ -1852,7 +2156,7 @@ public class OWLOntologyManagerImpl
     protected void fireChangeApplied(OWLOntologyChange change) {
         writeLock.lock();
         try {
-            if (!broadcastChanges.get()) {
+            if (loadDepth.get().loads > 0) {
                 return;
             }
             if (progressListeners.isEmpty()) {
@@ -1870,4 +2174,63 @@ public class OWLOntologyManagerImpl
             writeLock.unlock();
         }
     }
+
+    /**
+     * Read only list of additions, creating each change when it is requested.
+     */
+    private static class AddAxiomList extends AbstractList<AddAxiom> implements RandomAccess {
+
+        private final OWLOntology ontology;
+        private final List<OWLAxiom> axioms;
+
+        AddAxiomList(OWLOntology ontology, List<OWLAxiom> axioms) {
+            this.ontology = ontology;
+            this.axioms = axioms;
+        }
+
+        @Override
+        public AddAxiom get(int index) {
+            return new AddAxiom(ontology, axioms.get(index));
+        }
+
+        @Override
+        public int size() {
+            return axioms.size();
+        }
+    }
+
+    /**
+     * Loads and imports in progress on a thread.
+     */
+    private static class LoadDepth {
+
+        int loads;
+        int imports;
+    }
+
+    /**
+     * Placeholder for an import whose ontology ID is not known yet.
+     */
+    private static class PendingImport {
+
+        /** Thread, or imports loading session, loading the import. */
+        final Object loader;
+
+        PendingImport(Object loader) {
+            this.loader = loader;
+        }
+    }
+
+    /**
+     * Raised when waiting for a document would deadlock with another thread's load.
+     */
+    private static class ConcurrentLoadCycleException extends OWLOntologyCreationException {
+
+        ConcurrentLoadCycleException(IRI documentIRI, boolean holdsManagerLock) {
+            super(holdsManagerLock
+                ? "Cannot wait for " + documentIRI
+                    + " to be loaded by another thread while holding the manager write lock"
+                : "Cycle of concurrent loads waiting on " + documentIRI);
+        }
+    }
 }
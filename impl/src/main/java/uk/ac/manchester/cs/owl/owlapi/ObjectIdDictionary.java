@@ -0,0 +1,176 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
+
+import java.util.Arrays;
+
+import javax.annotation.Nullable;
+
+/**
+ * Assigns dense int identifiers to objects, so that indexes can store references as primitive
+ * ints rather than object pointers. Identifiers are reference counted: an id is released, and can
+ * be reused, when no index refers to it any longer. Lookups use an open addressing table with
+ * linear probing, so no per entry objects are allocated.
+ *
+ * @author ignazio
+ * @param <T> type of the objects in the dictionary
+ */
+public class ObjectIdDictionary<T> {
+
+    private static final int EMPTY = -1;
+    /** Open addressing table; each slot holds an id or EMPTY. */
+    private int[] slots = emptySlots(16);
+    private Object[] objects = new Object[16];
+    private int[] references = new int[16];
+    /** Ids released and available for reuse, used as a stack. */
+    private int[] free = new int[8];
+    private int freeCount = 0;
+    private int next = 0;
+    private int count = 0;
+
+    private static int[] emptySlots(int size) {
+        int[] s = new int[size];
+        Arrays.fill(s, EMPTY);
+        return s;
+    }
+
+    private static int mix(int h) {
+        int x = h * 0x9E3779B9;
+        return x ^ (x >>> 16);
+    }
+
+    /**
+     * @param o object to look up
+     * @return the id of the object, or -1 if the object has no id
+     */
+    public synchronized int find(@Nullable Object o) {
+        if (o == null) {
+            return EMPTY;
+        }
+        int mask = slots.length - 1;
+        for (int i = mix(o.hashCode()) & mask;; i = (i + 1) & mask) {
+            int id = slots[i];
+            if (id == EMPTY) {
+                return EMPTY;
+            }
+            if (objects[id].equals(o)) {
+                return id;
+            }
+        }
+    }
+
+    /**
+     * Finds or creates the id for an object and increments its reference count.
+     *
+     * @param o object to look up
+     * @return the id of the object
+     */
+    public synchronized int acquire(T o) {
+        checkNotNull(o, "o cannot be null");
+        int mask = slots.length - 1;
+        int i = mix(o.hashCode()) & mask;
+        for (; slots[i] != EMPTY; i = (i + 1) & mask) {
+            int id = slots[i];
+            if (objects[id].equals(o)) {
+                references[id]++;
+                return id;
+            }
+        }
+        int id = freeCount > 0 ? free[--freeCount] : next++;
+        if (id >= objects.length) {
+            int newLength = objects.length * 2;
+            objects = Arrays.copyOf(objects, newLength);
+            references = Arrays.copyOf(references, newLength);
+        }
+        objects[id] = o;
+        references[id] = 1;
+        slots[i] = id;
+        count++;
+        if (count * 4 >= slots.length * 3) {
+            rehash(slots.length * 2);
+        }
+        return id;
+    }
+
+    /**
+     * Decrements the reference count of an id; the id is released when the count reaches zero.
+     *
+     * @param id id to release
+     */
+    public synchronized void release(int id) {
+        if (--references[id] > 0) {
+            return;
+        }
+        Object o = objects[id];
+        int mask = slots.length - 1;
+        int i = mix(o.hashCode()) & mask;
+        while (slots[i] != id) {
+            i = (i + 1) & mask;
+        }
+        // backward shift deletion keeps probe sequences intact without tombstones
+        int j = i;
+        while (true) {
+            j = (j + 1) & mask;
+            int candidate = slots[j];
+            if (candidate == EMPTY) {
+                break;
+            }
+            int home = mix(objects[candidate].hashCode()) & mask;
+            if (i <= j ? i < home && home <= j : i < home || home <= j) {
+                continue;
+            }
+            slots[i] = candidate;
+            i = j;
+        }
+        slots[i] = EMPTY;
+        objects[id] = null;
+        count--;
+        if (freeCount == free.length) {
+            free = Arrays.copyOf(free, free.length * 2);
+        }
+        free[freeCount++] = id;
+    }
+
+    /**
+     * @param id id to look up
+     * @return object with the id
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized T get(int id) {
+        return (T) objects[id];
+    }
+
+    /**
+     * @return number of objects in the dictionary
+     */
+    public synchronized int size() {
+        return count;
+    }
+
+    private void rehash(int newSize) {
+        int[] newSlots = emptySlots(newSize);
+        int mask = newSize - 1;
+        for (int id : slots) {
+            if (id != EMPTY) {
+                int i = mix(objects[id].hashCode()) & mask;
+                while (newSlots[i] != EMPTY) {
+                    i = (i + 1) & mask;
+                }
+                newSlots[i] = id;
+            }
+        }
+        slots = newSlots;
+    }
+}
@@ -0,0 +1,357 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLAxiomVisitorEx;
+import org.semanticweb.owlapi.util.OWLAxiomSearchFilter;
+
+/**
+ * A map pointer whose lookups do not take any monitor. Writers are still serialized on the pointer
+ * itself, so {@link #put(Object, OWLAxiom)} and {@link #remove(Object, OWLAxiom)} behave exactly as
+ * in {@link MapPointer}; readers go straight to a concurrent map. Small rows are immutable arrays
+ * that are replaced on every change, so a reader always iterates a consistent snapshot of the row
+ * without copying it. Rows larger than {@link #MAX_ARRAY_ROW} values are kept in concurrent sets,
+ * whose iterators are weakly consistent.
+ *
+ * @author ignazio
+ * @param <K> key
+ * @param <V> value
+ */
+public class SnapshotMapPointer<K, V extends OWLAxiom> extends MapPointer<K, V> {
+
+    /** Largest row kept as an immutable array. */
+    static final int MAX_ARRAY_ROW = 16;
+    private final ConcurrentHashMap<K, Collection<V>> rows = new ConcurrentHashMap<>(17, 0.75F);
+    private volatile boolean ready;
+    private volatile int published = 0;
+
+    /**
+     * @param t type of axioms contained
+     * @param v visitor
+     * @param initialized true if initialized
+     * @param i internals containing this pointer
+     * @param valueWithness witness for the value type
+     */
+    public SnapshotMapPointer(@Nullable AxiomType<?> t, @Nullable OWLAxiomVisitorEx<?> v,
+        boolean initialized, Internals i, Class<V> valueWithness) {
+        super(t, v, initialized, i, valueWithness);
+        ready = initialized;
+    }
+
+    @Override
+    public boolean isInitialized() {
+        return ready;
+    }
+
+    @Override
+    public MapPointer<K, V> init() {
+        if (ready) {
+            return this;
+        }
+        synchronized (this) {
+            super.init();
+            ready = true;
+        }
+        return this;
+    }
+
+    @Override
+    public boolean discard() {
+        // readers take no lock and must never see the index empty
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return ready + rows.toString();
+    }
+
+    @Override
+    public boolean containsReference(K e) {
+        return hasKey(e);
+    }
+
+    @Override
+    public Stream<K> keySet() {
+        init();
+        return rows.keySet().stream();
+    }
+
+    @Override
+    public Stream<V> getValues(K key) {
+        init();
+        return stream(lookup(key));
+    }
+
+    @Override
+    public void forEach(K key, Consumer<V> function) {
+        init();
+        Collection<V> t = lookup(key);
+        if (t != null) {
+            t.forEach(function);
+        }
+    }
+
+    @Override
+    public boolean matchOnValues(K key, Predicate<V> function) {
+        init();
+        return stream(lookup(key)).anyMatch(function);
+    }
+
+    @Override
+    public Collection<V> getValuesAsCollection(K key) {
+        init();
+        Collection<V> t = lookup(key);
+        if (t == null) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableCollection(t);
+    }
+
+    @Override
+    public int countValues(K key) {
+        init();
+        return count(key);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <O extends V> Stream<O> values(K key, Class<O> classType) {
+        init();
+        return (Stream<O>) stream(lookup(key));
+    }
+
+    @Override
+    public <T> Collection<OWLAxiom> filterAxioms(OWLAxiomSearchFilter filter, T key) {
+        init();
+        List<OWLAxiom> toReturn = new ArrayList<>();
+        for (AxiomType<?> at : filter.getAxiomTypes()) {
+            // This method is only used for MapPointer<AxiomType, OWLAxiom>
+            @SuppressWarnings("unchecked")
+            Collection<V> collection = lookup((K) at);
+            if (collection != null) {
+                collection.stream().filter(x -> filter.pass(x, key)).forEach(toReturn::add);
+            }
+        }
+        return toReturn;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        init();
+        return hasKey(key);
+    }
+
+    @Override
+    public boolean contains(K key, V value) {
+        init();
+        return containsEntry(key, value);
+    }
+
+    @Override
+    public Stream<V> getAllValues() {
+        init();
+        return values();
+    }
+
+    @Override
+    public int size() {
+        init();
+        return published;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        init();
+        return published == 0;
+    }
+
+    @Override
+    @Nullable
+    protected Collection<V> lookup(@Nullable K k) {
+        if (k == null) {
+            return null;
+        }
+        return rows.get(k);
+    }
+
+    @Override
+    protected boolean hasKey(@Nullable K k) {
+        return k != null && rows.containsKey(k);
+    }
+
+    @Override
+    protected void forEachKey(Consumer<K> consumer) {
+        rows.keySet().forEach(consumer);
+    }
+
+    @Override
+    protected Stream<V> values() {
+        return rows.values().stream().flatMap(Collection::stream);
+    }
+
+    @Override
+    protected boolean putInternal(@Nullable K k, V v) {
+        if (k == null) {
+            return false;
+        }
+        Collection<V> row = rows.get(k);
+        if (row == null) {
+            rows.put(k, new ArrayRow<>(v));
+        } else if (row instanceof ArrayRow) {
+            ArrayRow<V> array = (ArrayRow<V>) row;
+            if (array.contains(v)) {
+                return false;
+            }
+            if (array.size() < MAX_ARRAY_ROW) {
+                rows.put(k, array.with(v));
+            } else {
+                Set<V> set = ConcurrentHashMap.newKeySet(MAX_ARRAY_ROW * 2);
+                set.addAll(array);
+                set.add(v);
+                rows.put(k, set);
+            }
+        } else if (!row.add(v)) {
+            return false;
+        }
+        published = ++size;
+        return true;
+    }
+
+    @Override
+    protected boolean removeInternal(K k, V v) {
+        Collection<V> row = lookup(k);
+        if (row == null) {
+            return false;
+        }
+        if (row instanceof ArrayRow) {
+            ArrayRow<V> array = (ArrayRow<V>) row;
+            int index = array.indexOf(v);
+            if (index < 0) {
+                return false;
+            }
+            if (array.size() == 1) {
+                rows.remove(k);
+            } else {
+                rows.put(k, array.without(index));
+            }
+        } else {
+            if (!row.remove(v)) {
+                return false;
+            }
+            if (row.size() <= MAX_ARRAY_ROW / 2) {
+                rows.put(k, new ArrayRow<>(row));
+            }
+        }
+        published = --size;
+        return true;
+    }
+
+    private static <V> Stream<V> stream(@Nullable Collection<V> t) {
+        if (t == null) {
+            return Stream.empty();
+        }
+        return t.stream();
+    }
+
+    /**
+     * Immutable row backed by an array; replaced, never modified, when the row changes.
+     */
+    static final class ArrayRow<V> extends AbstractCollection<V> {
+
+        private final Object[] values;
+
+        ArrayRow(V v) {
+            values = new Object[] {v};
+        }
+
+        ArrayRow(Collection<V> c) {
+            values = c.toArray();
+        }
+
+        private ArrayRow(Object[] values) {
+            this.values = values;
+        }
+
+        ArrayRow<V> with(V v) {
+            Object[] copy = new Object[values.length + 1];
+            System.arraycopy(values, 0, copy, 0, values.length);
+            copy[values.length] = v;
+            return new ArrayRow<>(copy);
+        }
+
+        ArrayRow<V> without(int index) {
+            Object[] copy = new Object[values.length - 1];
+            System.arraycopy(values, 0, copy, 0, index);
+            System.arraycopy(values, index + 1, copy, index, copy.length - index);
+            return new ArrayRow<>(copy);
+        }
+
+        int indexOf(@Nullable Object o) {
+            for (int index = 0; index < values.length; index++) {
+                if (values[index].equals(o)) {
+                    return index;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public boolean contains(@Nullable Object o) {
+            return indexOf(o) > -1;
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+
+        @Override
+        public Iterator<V> iterator() {
+            return new Iterator<V>() {
+                private int next = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return next < values.length;
+                }
+
+                @SuppressWarnings("unchecked")
+                @Override
+                public V next() {
+                    if (next >= values.length) {
+                        throw new NoSuchElementException();
+                    }
+                    return (V) values[next++];
+                }
+            };
+        }
+    }
+}
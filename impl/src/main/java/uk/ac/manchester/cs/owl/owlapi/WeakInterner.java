@@ -0,0 +1,222 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import javax.annotation.Nullable;
+
+/**
+ * Interner that never evicts reachable instances: values are held through weak references in a
+ * hash table split in independently locked segments, so that two equal keys always get the same
+ * instance while that instance is in use somewhere, and the instance can be collected once it is
+ * not. Keys are not stored; each value must be able to produce its own key, e.g., its IRI, and
+ * entries are removed when their values have been collected.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ * @author ignazio
+ * @since 5.5.1
+ */
+final class WeakInterner<K, V> implements InternerMetrics {
+
+    private static final int SEGMENTS = 64;
+    /**
+     * Segments are chosen by the top bits of a multiplicative hash, buckets by the low bits of the
+     * spread hash, so that the segment does not fix any of the bits used for the bucket.
+     */
+    private static final int SEGMENT_SHIFT = Integer.SIZE - Integer.numberOfTrailingZeros(SEGMENTS);
+    private final String name;
+    private final Function<? super K, ? extends V> factory;
+    private final Function<? super V, ?> keyOf;
+    private final Segment[] segments = new Segment[SEGMENTS];
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param name table name, for metrics
+     * @param factory function creating the value for a key not in the table
+     * @param keyOf function returning the key of a value
+     */
+    WeakInterner(String name, Function<? super K, ? extends V> factory,
+        Function<? super V, ?> keyOf) {
+        this.name = name;
+        this.factory = factory;
+        this.keyOf = keyOf;
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment();
+        }
+    }
+
+    /**
+     * @param key key
+     * @return the canonical value for the key, created if no value is reachable for it
+     */
+    V get(K key) {
+        int h = key.hashCode();
+        int hash = h ^ (h >>> 16);
+        return segments[(h * 0x9E3779B9) >>> SEGMENT_SHIFT].get(key, hash);
+    }
+
+    /**
+     * Remove all values; values already returned stay valid, but are no longer canonical.
+     */
+    void clear() {
+        for (Segment s : segments) {
+            s.clear();
+        }
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    @Override
+    public long missCount() {
+        return misses.sum();
+    }
+
+    @Override
+    public long size() {
+        long size = 0;
+        for (Segment s : segments) {
+            size += s.count;
+        }
+        return size;
+    }
+
+    /**
+     * @return length of the longest bucket chain in any segment
+     */
+    int maxChainLength() {
+        int max = 0;
+        for (Segment s : segments) {
+            max = Math.max(max, s.maxChainLength());
+        }
+        return max;
+    }
+
+    private static final class Entry<V> extends WeakReference<V> {
+
+        final int hash;
+        @Nullable
+        Entry<V> next;
+
+        Entry(V value, int hash, @Nullable Entry<V> next, ReferenceQueue<V> queue) {
+            super(value, queue);
+            this.hash = hash;
+            this.next = next;
+        }
+    }
+
+    private final class Segment {
+
+        private final ReferenceQueue<V> queue = new ReferenceQueue<>();
+        private Entry<V>[] table = newTable(16);
+        /** Written under lock, read without for metrics only. */
+        volatile int count;
+
+        @SuppressWarnings("unchecked")
+        private Entry<V>[] newTable(int length) {
+            return new Entry[length];
+        }
+
+        synchronized V get(K key, int hash) {
+            expunge();
+            int i = hash & (table.length - 1);
+            for (Entry<V> e = table[i]; e != null; e = e.next) {
+                if (e.hash == hash) {
+                    V value = e.get();
+                    if (value != null && key.equals(keyOf.apply(value))) {
+                        hits.increment();
+                        return value;
+                    }
+                }
+            }
+            misses.increment();
+            V value = factory.apply(key);
+            table[i] = new Entry<>(value, hash, table[i], queue);
+            count++;
+            if (count > table.length - (table.length >>> 2)) {
+                resize();
+            }
+            return value;
+        }
+
+        synchronized int maxChainLength() {
+            int max = 0;
+            for (Entry<V> head : table) {
+                int length = 0;
+                for (Entry<V> e = head; e != null; e = e.next) {
+                    length++;
+                }
+                max = Math.max(max, length);
+            }
+            return max;
+        }
+
+        synchronized void clear() {
+            while (queue.poll() != null) {
+                // drain: the entries are dropped with the table
+            }
+            table = newTable(16);
+            count = 0;
+        }
+
+        private void expunge() {
+            for (Reference<? extends V> r = queue.poll(); r != null; r = queue.poll()) {
+                @SuppressWarnings("unchecked")
+                Entry<V> cleared = (Entry<V>) r;
+                int i = cleared.hash & (table.length - 1);
+                Entry<V> previous = null;
+                for (Entry<V> e = table[i]; e != null; previous = e, e = e.next) {
+                    if (e == cleared) {
+                        if (previous == null) {
+                            table[i] = e.next;
+                        } else {
+                            previous.next = e.next;
+                        }
+                        count--;
+                        break;
+                    }
+                }
+            }
+        }
+
+        private void resize() {
+            Entry<V>[] newTable = newTable(table.length * 2);
+            int mask = newTable.length - 1;
+            for (Entry<V> head : table) {
+                Entry<V> e = head;
+                while (e != null) {
+                    Entry<V> next = e.next;
+                    int i = e.hash & mask;
+                    e.next = newTable[i];
+                    newTable[i] = e;
+                    e = next;
+                }
+            }
+            table = newTable;
+        }
+    }
+}
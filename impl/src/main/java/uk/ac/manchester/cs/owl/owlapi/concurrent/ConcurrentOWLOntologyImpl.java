@@ -13,13 +13,19 @@
 package uk.ac.manchester.cs.owl.owlapi.concurrent;
 
 import static org.semanticweb.owlapi.util.OWLAPIPreconditions.verifyNotNull;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
 
 import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.BooleanSupplier;
 import java.util.function.IntSupplier;
 import java.util.function.Predicate;
@@ -30,6 +36,7 @@ import javax.annotation.Nullable;
 import javax.inject.Inject;
 
 import org.semanticweb.owlapi.io.OWLOntologyDocumentTarget;
+import org.semanticweb.owlapi.model.AddAxiom;
 import org.semanticweb.owlapi.model.AxiomType;
 import org.semanticweb.owlapi.model.ChangeDetails;
 import org.semanticweb.owlapi.model.EntityType;
@@ -112,7 +119,13 @@ import org.semanticweb.owlapi.model.parameters.ChangeApplied;
 import org.semanticweb.owlapi.model.parameters.Imports;
 import org.semanticweb.owlapi.model.parameters.Navigation;
 import org.semanticweb.owlapi.util.OWLAxiomSearchFilter;
+import org.semanticweb.owlapi.util.OrderedLiteralValue;
+import org.semanticweb.owlapi.util.OrderedLiteralValue.Space;
 
+import uk.ac.manchester.cs.owl.owlapi.FrozenInternals;
+import uk.ac.manchester.cs.owl.owlapi.FrozenOWLOntologyImpl;
+import uk.ac.manchester.cs.owl.owlapi.HasBulkAxiomAddition;
+import uk.ac.manchester.cs.owl.owlapi.HasIndexWarmUp;
 import uk.ac.manchester.cs.owl.owlapi.HasTrimToSize;
 
 /**
@@ -125,10 +138,18 @@ import uk.ac.manchester.cs.owl.owlapi.HasTrimToSize;
  * Matthew Horridge Stanford Center for Biomedical Informatics Research 03/04/15
  */
 @SuppressWarnings({"deprecation"})
-public class ConcurrentOWLOntologyImpl implements OWLMutableOntology, HasTrimToSize {
+public class ConcurrentOWLOntologyImpl
+    implements OWLMutableOntology, HasTrimToSize, HasIndexWarmUp, HasBulkAxiomAddition {
 
     private final OWLOntology delegate;
     private ReadWriteLock lock;
+    private final Lock snapshotLock = new ReentrantLock();
+    // incremented by every write, under the write lock
+    private volatile long version;
+    @Nullable
+    private transient volatile Content content;
+    @Nullable
+    private transient volatile Snapshot snapshot;
 
     /**
      * Constructs a ConcurrentOWLOntology that provides concurrent access to a delegate
@@ -161,6 +182,7 @@ public class ConcurrentOWLOntologyImpl implements OWLMutableOntology, HasTrimToS
         try {
             return t.get();
         } finally {
+            version++;
             writeLock.unlock();
         }
     }
@@ -171,10 +193,99 @@ public class ConcurrentOWLOntologyImpl implements OWLMutableOntology, HasTrimToS
         try {
             t.run();
         } finally {
+            version++;
             writeLock.unlock();
         }
     }
 
+    /**
+     * Returns an immutable version of this ontology as it is now. The version is built on the
+     * first request after a change to this ontology or to an ontology in its imports closure, and
+     * is then shared by all readers until the next change; obtaining it otherwise takes no lock.
+     * Reading from the returned ontology never takes a lock, and the streams it returns stay valid
+     * and consistent regardless of changes applied to this ontology afterwards.
+     * <p>
+     * The imports closure is frozen with the ontology: imports queries on the returned ontology,
+     * and queries with {@link Imports#INCLUDED}, read copies of the imported ontologies taken at
+     * the same time. Only the ontologies that changed since the previous version are copied
+     * again, and their content is indexed after the read lock is released: the lock is held only
+     * to read the axioms of those ontologies. Changes to imported ontologies that are not
+     * concurrent ontologies, and imports that become resolvable when another ontology is loaded,
+     * are seen by the version built after the next change to the closure.
+     *
+     * @return the current version of this ontology
+     */
+    public OWLOntology snapshot() {
+        Snapshot current = snapshot;
+        if (current != null && current.isCurrent()) {
+            return current.ontology;
+        }
+        snapshotLock.lock();
+        try {
+            current = snapshot;
+            if (current == null || !current.isCurrent()) {
+                current = buildSnapshot();
+                snapshot = current;
+            }
+            return current.ontology;
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    private Snapshot buildSnapshot() {
+        OWLOntologyManager manager = getOWLOntologyManager();
+        List<Capture> captures = withReadLock(() -> captureImportsClosure(manager));
+        Map<OWLOntology, FrozenOWLOntologyImpl> contents = new IdentityHashMap<>();
+        Map<OWLOntology, List<OWLOntology>> directImports = new IdentityHashMap<>();
+        for (Capture c : captures) {
+            contents.put(c.ontology, c.freeze(manager));
+            directImports.put(c.ontology, c.directImports);
+        }
+        return new Snapshot(FrozenOWLOntologyImpl.linkImportsClosure(this, contents, directImports),
+            captures);
+    }
+
+    private List<Capture> captureImportsClosure(OWLOntologyManager manager) {
+        if (!manager.contains(this)) {
+            return Collections.singletonList(capture(Collections.emptyList()));
+        }
+        List<OWLOntology> closure = asList(manager.importsClosure(this));
+        if (!closure.contains(this)) {
+            closure.add(0, this);
+        }
+        List<Capture> captures = new ArrayList<>(closure.size());
+        for (OWLOntology o : closure) {
+            List<OWLOntology> directImports = asList(manager.directImports(o));
+            if (o instanceof ConcurrentOWLOntologyImpl) {
+                captures.add(((ConcurrentOWLOntologyImpl) o).capture(directImports));
+            } else {
+                captures.add(new Capture(o, 0, o, directImports));
+            }
+        }
+        return captures;
+    }
+
+    private Capture capture(List<OWLOntology> directImports) {
+        return withReadLock(() -> {
+            Content c = content;
+            long v = version;
+            if (c != null && c.version == v) {
+                return new Capture(this, v, c.ontology, directImports);
+            }
+            return new Capture(this, v, delegate, directImports);
+        });
+    }
+
+    private void publishContent(long v, FrozenOWLOntologyImpl frozen) {
+        // racing readers can only publish a content older than the current one, which is then
+        // copied again by the next snapshot
+        Content c = content;
+        if (c == null || c.version < v) {
+            content = new Content(v, frozen);
+        }
+    }
+
     private <T> T withReadLock(Supplier<T> t) {
         Lock readLock = lock.readLock();
         readLock.lock();
@@ -230,6 +341,45 @@ public class ConcurrentOWLOntologyImpl implements OWLMutableOntology, HasTrimToS
         }
     }
 
+    @Override
+    public void warmUpIndexes(Collection<AxiomType<?>> types) {
+        // indexes synchronize their own initialization; readers need not wait for the warm up
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            if (delegate instanceof HasIndexWarmUp) {
+                ((HasIndexWarmUp) delegate).warmUpIndexes(types);
+            }
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isIndexBuilt(AxiomType<?> type) {
+        return delegate instanceof HasIndexWarmUp && ((HasIndexWarmUp) delegate).isIndexBuilt(type);
+    }
+
+    @Override
+    public List<OWLAxiom> addAxiomsInBulk(Collection<? extends Collection<OWLAxiom>> buffers) {
+        return withWriteLock(() -> addAxiomsInBulkInternal(buffers));
+    }
+
+    protected List<OWLAxiom> addAxiomsInBulkInternal(
+        Collection<? extends Collection<OWLAxiom>> buffers) {
+        if (delegate instanceof HasBulkAxiomAddition) {
+            return ((HasBulkAxiomAddition) delegate).addAxiomsInBulk(buffers);
+        }
+        List<OWLAxiom> added = new ArrayList<>();
+        buffers.forEach(buffer -> buffer.forEach(ax -> {
+            ChangeApplied result = delegate.applyDirectChange(new AddAxiom(delegate, ax));
+            if (result == ChangeApplied.SUCCESSFULLY) {
+                added.add(ax);
+            }
+        }));
+        return added;
+    }
+
     @Override
     public void accept(OWLNamedObjectVisitor owlNamedObjectVisitor) {
         delegate.accept(owlNamedObjectVisitor);
@@ -997,6 +1147,22 @@ public class ConcurrentOWLOntologyImpl implements OWLMutableOntology, HasTrimToS
         return withReadLock(() -> delegate.entitiesInSignature(iri));
     }
 
+    @Override
+    public <T extends OWLEntity> Stream<T> entitiesInSignatureWithIRIPrefix(EntityType<T> type,
+        String prefix) {
+        return withReadLock(() -> delegate.entitiesInSignatureWithIRIPrefix(type, prefix));
+    }
+
+    @Override
+    public int countEntitiesInSignatureWithIRIPrefix(EntityType<?> type, String prefix) {
+        return withIntReadLock(() -> delegate.countEntitiesInSignatureWithIRIPrefix(type, prefix));
+    }
+
+    @Override
+    public Map<String, Integer> entityCountsByNamespace(EntityType<?> type) {
+        return withReadLock(() -> delegate.entityCountsByNamespace(type));
+    }
+
     @Override
     public Set<OWLClass> getClassesInSignature(boolean b) {
         return withReadLock(() -> delegate.getClassesInSignature(b));
@@ -1644,6 +1810,42 @@ public class ConcurrentOWLOntologyImpl implements OWLMutableOntology, HasTrimToS
         return withReadLock(() -> delegate.dataPropertyAssertionAxioms(individual));
     }
 
+    @Override
+    public Stream<OWLDataPropertyAssertionAxiom> dataPropertyAssertionAxiomsInRange(
+        OWLDataProperty property, OrderedLiteralValue from, boolean fromInclusive,
+        OrderedLiteralValue to, boolean toInclusive) {
+        return withReadLock(() -> delegate.dataPropertyAssertionAxiomsInRange(property, from,
+            fromInclusive, to, toInclusive));
+    }
+
+    @Override
+    public Stream<OWLDataPropertyAssertionAxiom> dataPropertyAssertionAxiomsSortedByValue(
+        OWLDataProperty property, Space space, boolean descending) {
+        return withReadLock(
+            () -> delegate.dataPropertyAssertionAxiomsSortedByValue(property, space, descending));
+    }
+
+    @Override
+    public Stream<OWLAnnotationAssertionAxiom> annotationAssertionAxiomsByValue(
+        OWLAnnotationProperty property, String lexicalForm, @Nullable String lang) {
+        return withReadLock(
+            () -> delegate.annotationAssertionAxiomsByValue(property, lexicalForm, lang));
+    }
+
+    @Override
+    public Stream<OWLAnnotationAssertionAxiom> annotationAssertionAxiomsByValueIgnoreCase(
+        OWLAnnotationProperty property, String value) {
+        return withReadLock(
+            () -> delegate.annotationAssertionAxiomsByValueIgnoreCase(property, value));
+    }
+
+    @Override
+    public Stream<OWLAnnotationAssertionAxiom> annotationAssertionAxiomsByValuePrefix(
+        OWLAnnotationProperty property, String prefix) {
+        return withReadLock(
+            () -> delegate.annotationAssertionAxiomsByValuePrefix(property, prefix));
+    }
+
     @Override
     public Stream<OWLDataPropertyDomainAxiom> dataPropertyDomainAxioms(OWLDataProperty property) {
         return withReadLock(() -> delegate.dataPropertyDomainAxioms(property));
@@ -1899,4 +2101,105 @@ public class ConcurrentOWLOntologyImpl implements OWLMutableOntology, HasTrimToS
         OWLObjectPropertyExpression property) {
         return withReadLock(() -> delegate.transitiveObjectPropertyAxioms(property));
     }
+
+    /**
+     * Frozen copy of the delegate alone, without its imports closure, and the version it was
+     * copied at.
+     */
+    private static final class Content {
+
+        final long version;
+        final FrozenOWLOntologyImpl ontology;
+
+        Content(long version, FrozenOWLOntologyImpl ontology) {
+            this.version = version;
+            this.ontology = ontology;
+        }
+    }
+
+    /**
+     * Content of one ontology in the imports closure, read under the read lock and indexed after
+     * the lock is released. Ontologies that did not change since their last copy reuse it.
+     */
+    private static final class Capture {
+
+        final OWLOntology ontology;
+        final long version;
+        final List<OWLOntology> directImports;
+        @Nullable
+        final FrozenOWLOntologyImpl frozen;
+        final OWLOntologyID ontologyID;
+        final List<OWLImportsDeclaration> importsDeclarations;
+        final List<OWLAnnotation> annotations;
+        final List<OWLAxiom> axioms;
+
+        Capture(OWLOntology ontology, long version, FrozenOWLOntologyImpl frozen,
+            List<OWLOntology> directImports) {
+            this.ontology = ontology;
+            this.version = version;
+            this.directImports = directImports;
+            this.frozen = frozen;
+            ontologyID = frozen.getOntologyID();
+            importsDeclarations = Collections.emptyList();
+            annotations = Collections.emptyList();
+            axioms = Collections.emptyList();
+        }
+
+        Capture(OWLOntology ontology, long version, OWLOntology source,
+            List<OWLOntology> directImports) {
+            this.ontology = ontology;
+            this.version = version;
+            this.directImports = directImports;
+            frozen = null;
+            ontologyID = source.getOntologyID();
+            importsDeclarations = asList(source.importsDeclarations());
+            annotations = asList(source.annotations());
+            axioms = asList(source.axioms());
+        }
+
+        FrozenOWLOntologyImpl freeze(OWLOntologyManager manager) {
+            if (frozen != null) {
+                return frozen;
+            }
+            FrozenOWLOntologyImpl copy = new FrozenOWLOntologyImpl(manager, ontologyID,
+                new FrozenInternals(importsDeclarations.stream(), annotations.stream(),
+                    axioms.stream()));
+            if (ontology instanceof ConcurrentOWLOntologyImpl) {
+                ((ConcurrentOWLOntologyImpl) ontology).publishContent(version, copy);
+            }
+            return copy;
+        }
+    }
+
+    /**
+     * A published version, with the versions of the ontologies in the imports closure it was
+     * copied from; it is current while none of them changed.
+     */
+    private static final class Snapshot {
+
+        final OWLOntology ontology;
+        private final ConcurrentOWLOntologyImpl[] members;
+        private final long[] versions;
+
+        Snapshot(OWLOntology ontology, List<Capture> captures) {
+            this.ontology = ontology;
+            List<Capture> tracked = asList(
+                captures.stream().filter(c -> c.ontology instanceof ConcurrentOWLOntologyImpl));
+            members = new ConcurrentOWLOntologyImpl[tracked.size()];
+            versions = new long[tracked.size()];
+            for (int i = 0; i < members.length; i++) {
+                members[i] = (ConcurrentOWLOntologyImpl) tracked.get(i).ontology;
+                versions[i] = tracked.get(i).version;
+            }
+        }
+
+        boolean isCurrent() {
+            for (int i = 0; i < members.length; i++) {
+                if (members[i].version != versions[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
 }
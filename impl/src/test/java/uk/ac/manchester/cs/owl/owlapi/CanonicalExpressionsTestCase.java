@@ -0,0 +1,49 @@
+package uk.ac.manchester.cs.owl.owlapi;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAnnotation;
+import org.semanticweb.owlapi.model.OWLAnnotationProperty;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+
+class CanonicalExpressionsTestCase {
+
+    private static final String NS = "urn:test:canonical#";
+    private final OWLDataFactory df = new OWLDataFactoryImpl(new OWLOntologyLoaderConfiguration(),
+        new OWLDataFactoryInternalsImpl(false, true));
+    private final OWLClass a = df.getOWLClass(IRI.create(NS, "A"));
+    private final OWLObjectProperty p = df.getOWLObjectProperty(IRI.create(NS, "p"));
+    private final OWLAnnotationProperty ap = df.getOWLAnnotationProperty(IRI.create(NS, "ap"));
+
+    @Test
+    void shouldShareEqualAnnotations() {
+        OWLAnnotation first = df.getOWLAnnotation(ap, df.getOWLLiteral("value"));
+        OWLAnnotation second = df.getOWLAnnotation(ap, df.getOWLLiteral("value"));
+        assertSame(first, second);
+        assertSame(first, df.getOWLAnnotation(ap, df.getOWLLiteral("value"), Stream.empty()));
+        OWLAnnotation annotated =
+            df.getOWLAnnotation(ap, df.getOWLLiteral("value"), Stream.of(first));
+        assertSame(annotated,
+            df.getOWLAnnotation(ap, df.getOWLLiteral("value"), Stream.of(second)));
+    }
+
+    @Test
+    void shouldShareEqualClassExpressions() {
+        OWLClassExpression first =
+            df.getOWLObjectIntersectionOf(a, df.getOWLObjectSomeValuesFrom(p, a));
+        OWLClassExpression second =
+            df.getOWLObjectIntersectionOf(df.getOWLObjectSomeValuesFrom(p, a), a);
+        assertEquals(first, second);
+        assertSame(first, second);
+        assertSame(df.getOWLObjectSomeValuesFrom(p, a), df.getOWLObjectSomeValuesFrom(p, a));
+    }
+}
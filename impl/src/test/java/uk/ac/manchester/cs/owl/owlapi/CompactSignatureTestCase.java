@@ -0,0 +1,72 @@
+package uk.ac.manchester.cs.owl.owlapi;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAnnotationProperty;
+import org.semanticweb.owlapi.model.OWLAnonymousIndividual;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+
+class CompactSignatureTestCase {
+
+    private static final String NS = "urn:test:compact#";
+    private final OWLDataFactory df = new OWLDataFactoryImpl();
+    private final OWLClass a = df.getOWLClass(IRI.create(NS, "A"));
+    private final OWLClass b = df.getOWLClass(IRI.create(NS, "B"));
+    private final OWLObjectProperty p = df.getOWLObjectProperty(IRI.create(NS, "p"));
+    private final OWLDataProperty d = df.getOWLDataProperty(IRI.create(NS, "d"));
+    private final OWLNamedIndividual i = df.getOWLNamedIndividual(IRI.create(NS, "i"));
+    private final OWLAnnotationProperty ap = df.getOWLAnnotationProperty(IRI.create(NS, "ap"));
+    private final OWLAnonymousIndividual anon = df.getOWLAnonymousIndividual();
+
+    @Test
+    void shouldMatchCachedSignature() {
+        OWLAxiom ax = df.getOWLSubClassOfAxiom(a,
+            df.getOWLObjectIntersectionOf(b, df.getOWLObjectSomeValuesFrom(p, a),
+                df.getOWLDataSomeValuesFrom(d, df.getIntegerOWLDatatype())),
+            Collections.singletonList(df.getOWLAnnotation(ap, anon)));
+        CompactSignature s = CompactSignature.of((OWLObjectImpl) ax);
+        assertEquals(asList(ax.signature()), asList(s.signature()));
+        assertEquals(asList(ax.classesInSignature()), asList(s.classes()));
+        assertEquals(asList(ax.objectPropertiesInSignature()), asList(s.objectProperties()));
+        assertEquals(asList(ax.dataPropertiesInSignature()), asList(s.dataProperties()));
+        assertEquals(asList(ax.datatypesInSignature()), asList(s.datatypes()));
+        assertEquals(asList(ax.annotationPropertiesInSignature()),
+            asList(s.annotationProperties()));
+        assertEquals(asList(ax.anonymousIndividuals()), asList(s.anonymousIndividuals()));
+        assertEquals(0, s.individuals().count());
+        assertTrue(s.contains(a));
+        assertTrue(s.contains(df.getIntegerOWLDatatype()));
+        assertFalse(s.contains(i));
+    }
+
+    @Test
+    void shouldGiveSameResultsWithOptionOnAndOff() {
+        OWLAxiom ax = df.getOWLClassAssertionAxiom(
+            df.getOWLObjectUnionOf(a, df.getOWLDataHasValue(d, df.getOWLLiteral(1))), i);
+        // the option is off in tests: the public methods use the per type caches, while the
+        // axiom would store this signature with the option on
+        assertNull(((OWLObjectImpl) ax).compactSignature());
+        CompactSignature on = CompactSignature.of((OWLObjectImpl) ax);
+        assertEquals(asList(ax.signature()), asList(on.signature()));
+        assertEquals(asList(ax.individualsInSignature()), asList(on.individuals()));
+        for (OWLEntity e : Arrays.asList(a, b, p, d, i, ap, df.getIntegerOWLDatatype())) {
+            assertEquals(Boolean.valueOf(ax.containsEntityInSignature(e)),
+                Boolean.valueOf(on.contains(e)), e.toString());
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package uk.ac.manchester.cs.owl.owlapi;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class LiteralCompressionTestCase {
+
+    private static final String DEFINITION =
+        "A protein complex that is part of the cell membrane and that binds a protein complex. ";
+
+    private static String text(int length, boolean latin) {
+        Random random = new Random(length);
+        StringBuilder b = new StringBuilder();
+        while (b.length() < length) {
+            b.append(DEFINITION, 0, 1 + random.nextInt(DEFINITION.length() - 1));
+            if (!latin) {
+                // CJK characters and a surrogate pair
+                b.append((char) ('\u4e00' + random.nextInt(100))).append("\uD83D\uDE00");
+            }
+        }
+        return b.toString();
+    }
+
+    @ParameterizedTest
+    @EnumSource(LiteralCompression.class)
+    void shouldRoundTrip(LiteralCompression compression) throws IOException {
+        for (int length : new int[] {0, 1, 17, 161, 1000, 70000}) {
+            for (boolean latin : new boolean[] {true, false}) {
+                String s = text(length, latin);
+                assertEquals(s, compression.decompress(compression.compress(s)));
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(LiteralCompression.class)
+    void shouldSaveMemoryOnRepetitiveText(LiteralCompression compression) {
+        String s = text(2000, true);
+        byte[] bytes = compression.compressIfSmaller(s);
+        assertNotNull(bytes);
+        assertTrue(bytes.length < s.length() / 2, () -> compression + ": " + bytes.length);
+    }
+
+    @Test
+    void shouldKeepIncompressibleText() {
+        Random random = new Random(7);
+        StringBuilder b = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            b.append((char) ('!' + random.nextInt(90)));
+        }
+        assertNull(LiteralCompression.LZ.compressIfSmaller(b.toString()));
+    }
+
+    @Test
+    void shouldRejectTruncatedInput() {
+        byte[] bytes = LiteralCompression.LZ.compress(text(1000, true));
+        byte[] truncated = new byte[bytes.length / 2];
+        System.arraycopy(bytes, 0, truncated, 0, truncated.length);
+        assertThrows(IOException.class, () -> LiteralCompression.LZ.decompress(truncated));
+    }
+
+    @Test
+    void shouldReturnLongLiteralsUnchanged() {
+        String s = text(1000, false);
+        OWLLiteralImpl literal = new OWLLiteralImpl(s, "en", null);
+        assertEquals(s, literal.getLiteral());
+        // second read comes from the cache of decompressed values
+        assertEquals(s, literal.getLiteral());
+    }
+}
@@ -0,0 +1,28 @@
+package uk.ac.manchester.cs.owl.owlapi;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class PendingRowsTestCase {
+
+    @Test
+    void shouldKeepProbesShortWithManyPendingKeys() {
+        CompactMapPointer.PendingRows pending = new CompactMapPointer.PendingRows();
+        int[][] rows = new int[150000][];
+        for (int key = 0; key < rows.length; key++) {
+            rows[key] = new int[] {key};
+            pending.put(key, rows[key]);
+        }
+        assertEquals(rows.length, pending.size());
+        int longest = pending.longestProbe();
+        assertTrue(longest < 256, "longest probe: " + longest);
+        for (int key = 0; key < rows.length; key++) {
+            assertSame(rows[key], pending.get(key));
+        }
+        assertNull(pending.get(rows.length));
+    }
+}
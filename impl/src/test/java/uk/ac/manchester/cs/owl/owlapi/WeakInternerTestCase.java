@@ -0,0 +1,85 @@
+package uk.ac.manchester.cs.owl.owlapi;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLObject;
+
+class WeakInternerTestCase {
+
+    private static final String NS = "urn:test:interner#";
+    private final WeakInterner<IRI, OWLClass> interner =
+        new WeakInterner<>("classes", OWLClassImpl::new, OWLClass::getIRI);
+
+    @Test
+    void shouldReturnCanonicalInstances() {
+        OWLClass a = interner.get(IRI.create(NS, "A"));
+        // a distinct but equal IRI must find the same instance
+        assertSame(a, interner.get(IRI.create(NS + "A")));
+        assertNotSame(a, interner.get(IRI.create(NS, "B")));
+        assertEquals(1, interner.hitCount());
+        assertEquals(2, interner.missCount());
+        assertEquals(2, interner.size());
+        assertEquals(1D / 3, interner.hitRate(), 0.0001);
+    }
+
+    @Test
+    void shouldKeepInstancesAcrossResizes() {
+        List<OWLClass> classes = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            classes.add(interner.get(IRI.create(NS, "C" + i)));
+        }
+        for (int i = 0; i < 10000; i++) {
+            assertSame(classes.get(i), interner.get(IRI.create(NS, "C" + i)));
+        }
+        assertEquals(10000, interner.size());
+        assertEquals(10000, interner.hitCount());
+    }
+
+    @Test
+    void shouldSpreadEntriesOverAllBuckets() {
+        List<OWLClass> classes = new ArrayList<>();
+        for (int i = 0; i < 1000000; i++) {
+            classes.add(interner.get(IRI.create(NS, "C" + i)));
+        }
+        assertEquals(1000000, interner.size());
+        int max = interner.maxChainLength();
+        assertTrue(max <= 16, "longest chain: " + max);
+        assertSame(classes.get(0), interner.get(IRI.create(NS, "C0")));
+    }
+
+    @Test
+    void shouldCreateNewInstancesAfterClear() {
+        OWLClass a = interner.get(IRI.create(NS, "A"));
+        interner.clear();
+        assertEquals(0, interner.size());
+        OWLClass b = interner.get(IRI.create(NS, "A"));
+        assertEquals(a, b);
+        assertNotSame(a, b);
+    }
+
+    @Test
+    void shouldShareEqualExpressions() {
+        // expressions are interned as in CANONICAL_EXPRESSIONS mode: each object is its own key
+        WeakInterner<OWLObject, OWLObject> expressions =
+            new WeakInterner<>("expressions", Function.identity(), Function.identity());
+        OWLClassExpression first = new OWLObjectSomeValuesFromImpl(
+            new OWLObjectPropertyImpl(IRI.create(NS, "p")), new OWLClassImpl(IRI.create(NS, "A")));
+        OWLClassExpression second = new OWLObjectSomeValuesFromImpl(
+            new OWLObjectPropertyImpl(IRI.create(NS, "p")), new OWLClassImpl(IRI.create(NS, "A")));
+        assertNotSame(first, second);
+        assertSame(first, expressions.get(first));
+        assertSame(first, expressions.get(second));
+        assertEquals(1, expressions.size());
+    }
+}
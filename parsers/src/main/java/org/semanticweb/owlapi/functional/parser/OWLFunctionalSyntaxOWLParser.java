@@ -41,6 +41,10 @@ public class OWLFunctionalSyntaxOWLParser extends AbstractOWLParser {
     public OWLDocumentFormat parse(OWLOntologyDocumentSource source, OWLOntology ontology,
         OWLOntologyLoaderConfiguration config) {
         try (Reader r = DocumentSources.wrapInputAsReader(source, config)) {
+            if (config.getParsingThreads() > 1) {
+                return new ParallelFunctionalSyntaxParser(config.getParsingThreads()).parse(r,
+                    ontology, config);
+            }
             OWLFunctionalSyntaxParser parser =
                 new OWLFunctionalSyntaxParser(new CustomTokenizer(r));
             parser.setUp(ontology, config);
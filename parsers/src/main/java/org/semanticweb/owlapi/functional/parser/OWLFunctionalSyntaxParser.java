@@ -46,7 +46,7 @@ public class OWLFunctionalSyntaxParser implements OWLFunctionalSyntaxParserConst
         IRI iri = string2IRI.get(s);
         if(iri == null) {
             if(s.charAt(0) == '<') {
-                iri = IRI.create(s.substring(1, s.length() - 1));
+                iri = IRI.create(s, 1, s.length() - 1);
             }
             else {
                 int colonIndex = s.indexOf(':');
@@ -55,8 +55,8 @@ public class OWLFunctionalSyntaxParser implements OWLFunctionalSyntaxParserConst
                 if(prefix == null) {
                     throw new OWLRuntimeException("Undefined prefix name: " + prefixName);
                 }
-                String fullIRIString = prefix + s.substring(colonIndex + 1);
-                iri = IRI.create(fullIRIString);
+                // no concatenation needed when the prefix splits the IRI correctly
+                iri = IRI.create(prefix, s.substring(colonIndex + 1));
             }
             string2IRI.put(s, iri);
         }
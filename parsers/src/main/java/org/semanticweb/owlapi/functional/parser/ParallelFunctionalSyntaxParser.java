@@ -0,0 +1,389 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.functional.parser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.io.OWLParserException;
+import org.semanticweb.owlapi.model.OWLAnnotationAxiom;
+import org.semanticweb.owlapi.model.OWLAnonymousIndividual;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLDocumentFormat;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.util.RemappingIndividualProvider;
+
+/**
+ * Parses a functional syntax document on several threads. The document is read in memory and
+ * scanned once to find the prefix declarations, the ontology header (IRIs, imports and ontology
+ * annotations) and the top level parenthesis of each axiom; the axioms are then split in chunks,
+ * each parsed by its own {@link OWLFunctionalSyntaxParser} on a fork join pool, with the prefix
+ * declarations repeated in front of it. The header is parsed last, on the calling thread, and the
+ * axioms are added to the ontology in document order in one bulk change. Anonymous individuals
+ * are shared by all the parsers, so that a node id is mapped to the same individual in every
+ * chunk.<br>
+ * Small documents, and documents that the scan cannot split, are parsed serially; if a chunk
+ * fails, the whole document is parsed again serially, so that errors are reported exactly as the
+ * serial parser reports them.
+ *
+ * @author ignazio
+ * @since 5.5.1
+ */
+final class ParallelFunctionalSyntaxParser {
+
+    /** Documents whose axioms take less than two chunks of this size are parsed serially. */
+    static final int MIN_CHUNK_SIZE = 1 << 16;
+    private static final String ONTOLOGY = "Ontology";
+    private final int threads;
+    private final int minChunkSize;
+
+    /**
+     * @param threads number of threads
+     */
+    ParallelFunctionalSyntaxParser(int threads) {
+        this(threads, MIN_CHUNK_SIZE);
+    }
+
+    /**
+     * @param threads number of threads
+     * @param minChunkSize minimum number of characters in a chunk
+     */
+    ParallelFunctionalSyntaxParser(int threads, int minChunkSize) {
+        this.threads = threads;
+        this.minChunkSize = minChunkSize;
+    }
+
+    /**
+     * @param reader document to parse
+     * @param ontology ontology to fill
+     * @param config loader configuration
+     * @return document format, with the prefixes declared in the document
+     * @throws IOException if the document cannot be read
+     */
+    OWLDocumentFormat parse(Reader reader, OWLOntology ontology,
+        OWLOntologyLoaderConfiguration config) throws IOException {
+        StringBuilder b = new StringBuilder();
+        char[] buffer = new char[8192];
+        int read = reader.read(buffer);
+        while (read > -1) {
+            b.append(buffer, 0, read);
+            read = reader.read(buffer);
+        }
+        return parse(b.toString(), ontology, config);
+    }
+
+    /**
+     * @param document document to parse
+     * @param ontology ontology to fill
+     * @param config loader configuration
+     * @return document format, with the prefixes declared in the document
+     */
+    OWLDocumentFormat parse(String document, OWLOntology ontology,
+        OWLOntologyLoaderConfiguration config) {
+        int body = document.length() / (threads * 4);
+        Layout layout = Layout.scan(document, Math.max(minChunkSize, body));
+        if (layout == null || layout.boundaries.size() < 3) {
+            return serial(document, ontology, config);
+        }
+        OWLOntologyManager manager = ontology.getOWLOntologyManager();
+        SharedIndividualProvider individuals = new SharedIndividualProvider(manager);
+        String prefixes = document.substring(0, layout.ontologyStart);
+        List<Callable<List<OWLAxiom>>> tasks = new ArrayList<>();
+        for (int i = 0; i < layout.boundaries.size() - 1; i++) {
+            String chunk = prefixes + ONTOLOGY + '('
+                + document.substring(layout.boundaries.get(i).intValue(),
+                    layout.boundaries.get(i + 1).intValue())
+                + ')';
+            tasks.add(() -> {
+                ChunkParser parser = new ChunkParser(chunk, config);
+                parser.setUp(ontology, config);
+                parser.anonProvider = individuals;
+                parser.parse();
+                return parser.axioms;
+            });
+        }
+        List<OWLAxiom> axioms = new ArrayList<>();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            for (Future<List<OWLAxiom>> f : pool.invokeAll(tasks)) {
+                axioms.addAll(f.get());
+            }
+        } catch (ExecutionException e) {
+            // the serial parser reports the error with the right line and column
+            return serial(document, ontology, config);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OWLParserException(e);
+        } finally {
+            pool.shutdownNow();
+        }
+        String header = document.substring(0, layout.boundaries.get(0).intValue()) + ')';
+        OWLFunctionalSyntaxParser parser =
+            new OWLFunctionalSyntaxParser(new CustomTokenizer(new StringReader(header)));
+        parser.setUp(ontology, config);
+        parser.anonProvider = individuals;
+        OWLDocumentFormat format = parser.parse();
+        ontology.addAxioms(axioms);
+        return format;
+    }
+
+    private static OWLDocumentFormat serial(String document, OWLOntology ontology,
+        OWLOntologyLoaderConfiguration config) {
+        OWLFunctionalSyntaxParser parser =
+            new OWLFunctionalSyntaxParser(new CustomTokenizer(new StringReader(document)));
+        parser.setUp(ontology, config);
+        return parser.parse();
+    }
+
+    /**
+     * Parser for a chunk of axioms: changes to the ontology header are ignored, since they are
+     * applied once by the header parser, and axioms are collected instead of added.
+     */
+    private static final class ChunkParser extends OWLFunctionalSyntaxParser {
+
+        final List<OWLAxiom> axioms = new ArrayList<>();
+        private final OWLOntologyLoaderConfiguration config;
+
+        ChunkParser(String chunk, OWLOntologyLoaderConfiguration config) {
+            super(new CustomTokenizer(new StringReader(chunk)));
+            this.config = config;
+        }
+
+        @Override
+        protected void applyChange(OWLOntologyChange chg) {
+            // ignore
+        }
+
+        @Override
+        protected void addAxiom(OWLAxiom ax) {
+            if (!(ax instanceof OWLAnnotationAxiom) || config.isLoadAnnotationAxioms()) {
+                axioms.add(ax);
+            }
+        }
+    }
+
+    /**
+     * Individual provider shared by the chunk parsers.
+     */
+    private static final class SharedIndividualProvider extends RemappingIndividualProvider {
+
+        SharedIndividualProvider(OWLOntologyManager manager) {
+            super(manager.getOntologyConfigurator(), manager.getOWLDataFactory());
+        }
+
+        @Override
+        public synchronized OWLAnonymousIndividual getOWLAnonymousIndividual(String nodeId) {
+            return super.getOWLAnonymousIndividual(nodeId);
+        }
+    }
+
+    /**
+     * Offsets found by scanning a document: start of the {@code Ontology} keyword, and chunk
+     * boundaries. The first boundary is the start of the first axiom, the last one is the closing
+     * parenthesis of the ontology; the others are axiom starts, at least the chunk size apart.
+     */
+    static final class Layout {
+
+        final int ontologyStart;
+        final List<Integer> boundaries;
+
+        private Layout(int ontologyStart, List<Integer> boundaries) {
+            this.ontologyStart = ontologyStart;
+            this.boundaries = boundaries;
+        }
+
+        /**
+         * @param s document
+         * @param chunkSize minimum number of characters between two boundaries
+         * @return layout of the document, or null if the document does not have the expected
+         *         structure; the serial parser will then report the errors
+         */
+        @Nullable
+        static Layout scan(String s, int chunkSize) {
+            int i = skip(s, 0);
+            while (s.startsWith("Prefix", i)) {
+                i = skip(s, "Prefix".length() + i);
+                if (!at(s, i, '(')) {
+                    return null;
+                }
+                i = element(s, i);
+                if (i < 0) {
+                    return null;
+                }
+                i = skip(s, i);
+            }
+            if (!s.startsWith(ONTOLOGY, i)) {
+                return null;
+            }
+            int ontologyStart = i;
+            i = skip(s, i + ONTOLOGY.length());
+            if (!at(s, i, '(')) {
+                return null;
+            }
+            i = skip(s, i + 1);
+            // ontology IRI, version IRI, imports and ontology annotations
+            while (i < s.length() && s.charAt(i) != ')') {
+                int end = s.charAt(i) == '<' ? iri(s, i) : word(s, i);
+                if (end <= i) {
+                    return null;
+                }
+                int next = skip(s, end);
+                if (!at(s, next, '(')) {
+                    // an IRI
+                    i = next;
+                    continue;
+                }
+                String keyword = s.substring(i, end);
+                if (!"Import".equals(keyword) && !"Annotation".equals(keyword)) {
+                    break;
+                }
+                i = element(s, next);
+                if (i < 0) {
+                    return null;
+                }
+                i = skip(s, i);
+            }
+            List<Integer> boundaries = new ArrayList<>();
+            boundaries.add(Integer.valueOf(i));
+            int last = i;
+            while (i < s.length() && s.charAt(i) != ')') {
+                if (i - last >= chunkSize) {
+                    boundaries.add(Integer.valueOf(i));
+                    last = i;
+                }
+                int end = word(s, i);
+                int open = skip(s, end);
+                if (end == i || !at(s, open, '(')) {
+                    return null;
+                }
+                i = element(s, open);
+                if (i < 0) {
+                    return null;
+                }
+                i = skip(s, i);
+            }
+            if (i >= s.length() || skip(s, i + 1) != s.length()) {
+                return null;
+            }
+            if (i > last) {
+                boundaries.add(Integer.valueOf(i));
+            }
+            return new Layout(ontologyStart, boundaries);
+        }
+
+        private static boolean at(String s, int i, char c) {
+            return i < s.length() && s.charAt(i) == c;
+        }
+
+        private static boolean isSpace(char c) {
+            return c == ' ' || c == '\n' || c == '\t' || c == '\r';
+        }
+
+        /**
+         * Skips white space and comments, as the tokenizer does; a comment starts with a
+         * {@code #} found where a token could start.
+         */
+        private static int skip(String s, int start) {
+            int i = start;
+            while (i < s.length()) {
+                char c = s.charAt(i);
+                if (c == '#') {
+                    while (i < s.length() && s.charAt(i) != '\n') {
+                        i++;
+                    }
+                } else if (isSpace(c)) {
+                    i++;
+                } else {
+                    return i;
+                }
+            }
+            return i;
+        }
+
+        /** End of a keyword or abbreviated IRI; characters that end it are as in the tokenizer. */
+        private static int word(String s, int start) {
+            int i = start;
+            while (i < s.length()) {
+                char c = s.charAt(i);
+                if (isSpace(c) || c == '(' || c == ')' || c == '"' || c == '<' || c == '>'
+                    || c == '=' || c == '@' || c == '^') {
+                    return i;
+                }
+                i++;
+            }
+            return i;
+        }
+
+        /** End of a full IRI, or -1 if it is not closed. */
+        private static int iri(String s, int start) {
+            int end = s.indexOf('>', start);
+            return end < 0 ? -1 : end + 1;
+        }
+
+        /** End of a string literal, or -1 if it is not closed. */
+        private static int string(String s, int start) {
+            int i = start + 1;
+            while (i < s.length()) {
+                char c = s.charAt(i);
+                if (c == '"') {
+                    return i + 1;
+                }
+                i += c == '\\' ? 2 : 1;
+            }
+            return -1;
+        }
+
+        /**
+         * @return index after the parenthesis closing the one at start, or -1 if it is not closed
+         */
+        private static int element(String s, int start) {
+            int depth = 0;
+            int i = start;
+            while (i >= 0 && i < s.length()) {
+                char c = s.charAt(i);
+                if (c == '(') {
+                    depth++;
+                    i++;
+                } else if (c == ')') {
+                    depth--;
+                    i++;
+                    if (depth == 0) {
+                        return i;
+                    }
+                } else if (c == '"') {
+                    i = string(s, i);
+                } else if (c == '<') {
+                    i = iri(s, i);
+                } else if (c == '#' || isSpace(c)) {
+                    i = skip(s, i);
+                } else {
+                    // a '#' inside a token does not start a comment
+                    i = Math.max(i + 1, word(s, i));
+                }
+            }
+            return -1;
+        }
+    }
+}
@@ -16,6 +16,7 @@ import static org.semanticweb.owlapi.model.parameters.Imports.EXCLUDED;
 import static org.semanticweb.owlapi.model.parameters.Imports.INCLUDED;
 import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
 import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asSet;
+import static org.semanticweb.owlapi.util.SortKeys.sorted;
 import static org.semanticweb.owlapi.vocab.OWLXMLVocabulary.ANNOTATION;
 import static org.semanticweb.owlapi.vocab.OWLXMLVocabulary.ANNOTATION_ASSERTION;
 import static org.semanticweb.owlapi.vocab.OWLXMLVocabulary.ANNOTATION_PROPERTY;
@@ -432,7 +433,7 @@ public class FunctionalSyntaxObjectRenderer implements OWLObjectVisitor {
         writeSortedEntities("Named Individuals", "Individual",
             ontology.individualsInSignature(EXCLUDED), writtenAxioms);
         ontology.signature().forEach(e -> writeAxioms(e, writtenAxioms));
-        ontology.axioms().filter(ax -> !writtenAxioms.contains(ax)).sorted()
+        sorted(ontology.axioms().filter(ax -> !writtenAxioms.contains(ax)))
             .forEach(this::acceptAndReturn);
         writeCloseBracket();
         flush();
@@ -468,7 +469,7 @@ public class FunctionalSyntaxObjectRenderer implements OWLObjectVisitor {
         writeSortedEntities(o, "Named Individuals", "Individual",
             signature.stream().filter(OWLEntity::isIndividual), writtenAxioms);
         signature.forEach(e -> writeAxioms(e, writtenAxioms));
-        axioms.stream().filter(ax -> !writtenAxioms.contains(ax)).sorted()
+        sorted(axioms.stream().filter(ax -> !writtenAxioms.contains(ax)))
             .forEach(this::acceptAndReturn);
         writeCloseBracket();
         try {
@@ -556,7 +557,7 @@ public class FunctionalSyntaxObjectRenderer implements OWLObjectVisitor {
 
     private void writeSortedEntities(String bannerComment, String entityTypeName,
         Stream<? extends OWLEntity> entities, Set<OWLAxiom> writtenAxioms) {
-        List<? extends OWLEntity> sortOptionally = asList(entities.sorted());
+        List<? extends OWLEntity> sortOptionally = asList(sorted(entities));
         if (!sortOptionally.isEmpty()) {
             writeEntities(bannerComment, entityTypeName, sortOptionally, writtenAxioms);
             writeReturn();
@@ -596,7 +597,7 @@ public class FunctionalSyntaxObjectRenderer implements OWLObjectVisitor {
     private void writeSortedEntities(Function<IRI, Stream<OWLAnnotationAssertionAxiom>> annotations,
         String bannerComment, String entityTypeName, Stream<? extends OWLEntity> entities,
         Set<OWLAxiom> writtenAxioms) {
-        List<? extends OWLEntity> sortOptionally = asList(entities.sorted());
+        List<? extends OWLEntity> sortOptionally = asList(sorted(entities));
         if (!sortOptionally.isEmpty()) {
             writeEntities(annotations, bannerComment, entityTypeName, sortOptionally,
                 writtenAxioms);
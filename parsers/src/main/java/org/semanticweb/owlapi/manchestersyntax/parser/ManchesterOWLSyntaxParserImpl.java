@@ -2230,6 +2230,7 @@ public class ManchesterOWLSyntaxParserImpl implements ManchesterOWLSyntaxParser
                 ont.getOWLOntologyManager().makeLoadImportRequest(decl,
                     getOntologyLoaderConfiguration());
                 imports.add(new AddImport(ont, decl));
+                ont.getOWLOntologyManager().awaitLoadImportRequests();
                 OWLOntology imported = ont.getOWLOntologyManager().getImportedOntology(decl);
                 if (imported != null) {
                     imported.axioms(AxiomType.DECLARATION).forEach(this::processDeclaredEntities);
@@ -2270,6 +2271,7 @@ public class ManchesterOWLSyntaxParserImpl implements ManchesterOWLSyntaxParser
             imports.add(new AddImport(ont, decl));
             ont.getOWLOntologyManager().makeLoadImportRequest(decl,
                 getOntologyLoaderConfiguration());
+            ont.getOWLOntologyManager().awaitLoadImportRequests();
             OWLOntology imported = ont.getOWLOntologyManager().getImportedOntology(decl);
             if (imported != null) {
                 imported.axioms(AxiomType.DECLARATION).forEach(this::processDeclaredEntities);
@@ -26,6 +26,7 @@ import static org.semanticweb.owlapi.util.OWLAPIPreconditions.verifyNotNull;
 import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.add;
 import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
 import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asUnorderedSet;
+import static org.semanticweb.owlapi.util.SortKeys.sorted;
 import static org.semanticweb.owlapi.vocab.OWLRDFVocabulary.OWL_ANNOTATION;
 import static org.semanticweb.owlapi.vocab.OWLRDFVocabulary.OWL_ANNOTATION_PROPERTY;
 import static org.semanticweb.owlapi.vocab.OWLRDFVocabulary.OWL_AXIOM;
@@ -292,7 +293,7 @@ public abstract class RDFRendererBase {
     private void renderEntities(Stream<? extends OWLEntity> entities, String bannerText,
         Collection<IRI> illegalPuns) {
         AtomicBoolean firstRendering = new AtomicBoolean(true);
-        entities.sorted().filter(e -> createGraph(e, illegalPuns))
+        sorted(entities).filter(e -> createGraph(e, illegalPuns))
             .forEach(e -> render(e, firstRendering, bannerText));
     }
 
@@ -394,7 +395,7 @@ public abstract class RDFRendererBase {
     }
 
     private void renderSWRLRules() {
-        List<SWRLRule> ruleAxioms = asList(ontology.axioms(SWRL_RULE).sorted());
+        List<SWRLRule> ruleAxioms = asList(sorted(ontology.axioms(SWRL_RULE)));
         if (!ruleAxioms.isEmpty()) {
             createGraph(ruleAxioms);
             writeBanner(RULES_BANNER_TEXT);
@@ -0,0 +1,403 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.rdf.ntriples.parser;
+
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.NodeID;
+
+/**
+ * Parses the lines in a range of a character array as N-Triples or N-Quads statements. No token
+ * objects are created: terms are scanned in place, IRIs without escapes are created straight from
+ * the array, and the last IRI seen as subject, predicate, object and datatype is reused while the
+ * next one has the same characters. Blank node labels are mapped to IRIs as the Turtle parser
+ * does, so the same label gives the same IRI in every chunk of a document. The graph term of a
+ * quad is checked and ignored.
+ *
+ * @author ignazio
+ * @since 5.5.1
+ */
+final class NTriplesLineParser {
+
+    /**
+     * Destination of the parsed triples.
+     */
+    interface TripleSink {
+
+        /**
+         * @param subject subject
+         * @param predicate predicate
+         * @param object object
+         */
+        void resource(IRI subject, IRI predicate, IRI object);
+
+        /**
+         * @param subject subject
+         * @param predicate predicate
+         * @param lexical lexical form
+         * @param lang language tag, null if none
+         * @param datatype datatype, null for plain and language tagged literals
+         */
+        void literal(IRI subject, IRI predicate, String lexical, @Nullable String lang,
+            @Nullable IRI datatype);
+    }
+
+    private static final int SUBJECT = 0;
+    private static final int PREDICATE = 1;
+    private static final int OBJECT = 2;
+    private static final int DATATYPE = 3;
+    private static final int GRAPH = 4;
+    private final boolean quads;
+    private final Map<String, IRI> blankNodes = new HashMap<>();
+    private final StringBuilder unescaped = new StringBuilder();
+    private final IRI[] cache = new IRI[5];
+    private final int[] cacheStart = new int[5];
+    private final int[] cacheEnd = new int[5];
+    private char[] chars = new char[0];
+    private CharSequence view = CharBuffer.wrap(chars);
+    private int pos;
+    private int end;
+    private int line;
+    private int lineStart;
+    @Nullable
+    private String lang;
+    @Nullable
+    private IRI datatype;
+
+    /**
+     * @param quads true if statements can have a graph term
+     */
+    NTriplesLineParser(boolean quads) {
+        this.quads = quads;
+    }
+
+    /**
+     * @param buffer characters to parse
+     * @param from start of the first line
+     * @param to end of the last line
+     * @param firstLine number of the first line, used in error messages
+     * @param sink destination of the triples
+     * @return number of lines parsed
+     * @throws NTriplesParserException if a line is not a valid statement
+     */
+    int parse(char[] buffer, int from, int to, int firstLine, TripleSink sink) {
+        if (chars != buffer) {
+            chars = buffer;
+            view = CharBuffer.wrap(buffer);
+        }
+        // cached IRIs and labels refer to the previous buffer
+        Arrays.fill(cacheEnd, -1);
+        blankNodes.clear();
+        pos = from;
+        end = to;
+        line = firstLine;
+        lineStart = from;
+        while (pos < end) {
+            statement(sink);
+        }
+        return line - firstLine;
+    }
+
+    private void statement(TripleSink sink) {
+        skipSpace();
+        if (atLineEnd()) {
+            endLine();
+            return;
+        }
+        IRI subject = at('_') ? blankNode() : iri(SUBJECT);
+        skipSpace();
+        IRI predicate = iri(PREDICATE);
+        skipSpace();
+        IRI object = null;
+        String lexical = null;
+        if (at('"')) {
+            lexical = literal();
+        } else if (at('_')) {
+            object = blankNode();
+        } else if (at('<')) {
+            object = iri(OBJECT);
+        } else {
+            throw error("Expected an IRI, a blank node or a literal");
+        }
+        skipSpace();
+        if (quads && !at('.')) {
+            if (at('_')) {
+                blankNode();
+            } else {
+                iri(GRAPH);
+            }
+            skipSpace();
+        }
+        if (!at('.')) {
+            throw error("Expected '.'");
+        }
+        pos++;
+        skipSpace();
+        if (!atLineEnd()) {
+            throw error("Expected the end of the line");
+        }
+        endLine();
+        if (object != null) {
+            sink.resource(subject, predicate, object);
+        } else if (lexical != null) {
+            sink.literal(subject, predicate, lexical, lang, datatype);
+        }
+    }
+
+    private NTriplesParserException error(String message) {
+        return new NTriplesParserException(message, line, pos - lineStart + 1);
+    }
+
+    private boolean at(char c) {
+        return pos < end && chars[pos] == c;
+    }
+
+    private void skipSpace() {
+        while (pos < end && (chars[pos] == ' ' || chars[pos] == '\t')) {
+            pos++;
+        }
+    }
+
+    private boolean atLineEnd() {
+        return pos >= end || chars[pos] == '\n' || chars[pos] == '\r' || chars[pos] == '#';
+    }
+
+    /** Skips a comment, if any, and the end of line. */
+    private void endLine() {
+        while (pos < end && chars[pos] != '\n' && chars[pos] != '\r') {
+            pos++;
+        }
+        if (at('\r')) {
+            pos++;
+        }
+        if (at('\n')) {
+            pos++;
+        }
+        line++;
+        lineStart = pos;
+    }
+
+    private IRI iri(int slot) {
+        if (!at('<')) {
+            throw error("Expected an IRI");
+        }
+        int start = ++pos;
+        boolean escaped = false;
+        while (!at('>')) {
+            if (pos >= end) {
+                throw error("Unterminated IRI");
+            }
+            char c = chars[pos];
+            if (c == '\\') {
+                escaped = true;
+                escape(true);
+            } else if (c <= ' ' || c == '<' || c == '"' || c == '{' || c == '}' || c == '|'
+                || c == '^' || c == '`') {
+                throw error("Invalid character in IRI");
+            } else {
+                pos++;
+            }
+        }
+        int stop = pos++;
+        if (escaped) {
+            return IRI.create(unescape(start, stop));
+        }
+        if (cacheEnd[slot] - cacheStart[slot] == stop - start
+            && same(cacheStart[slot], start, stop - start)) {
+            return cache[slot];
+        }
+        IRI iri = IRI.create(view, start, stop);
+        cache[slot] = iri;
+        cacheStart[slot] = start;
+        cacheEnd[slot] = stop;
+        return iri;
+    }
+
+    private boolean same(int a, int b, int length) {
+        for (int i = 0; i < length; i++) {
+            if (chars[a + i] != chars[b + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private IRI blankNode() {
+        int start = pos;
+        pos++;
+        if (!at(':')) {
+            throw error("Expected a blank node");
+        }
+        pos++;
+        while (pos < end && isLabelChar(chars[pos])) {
+            pos++;
+        }
+        // a label cannot end with a dot; that is the end of the statement
+        while (pos > start + 2 && chars[pos - 1] == '.') {
+            pos--;
+        }
+        if (pos == start + 2) {
+            throw error("Empty blank node label");
+        }
+        return blankNodes.computeIfAbsent(new String(chars, start, pos - start),
+            NTriplesLineParser::blankNodeIRI);
+    }
+
+    private static IRI blankNodeIRI(String id) {
+        return IRI.create(NodeID.isAnonymousNodeID(id) ? id : NodeID.getIRIFromNodeID(id));
+    }
+
+    private static boolean isLabelChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '-' || c == '.' || c == ':'
+            || c == '\u00B7' || c >= '\u0300' && c <= '\u036F' || c == '\u203F' || c == '\u2040';
+    }
+
+    /**
+     * Scans a literal and its language tag or datatype, which are left in the lang and datatype
+     * fields.
+     *
+     * @return the lexical form
+     */
+    private String literal() {
+        int start = ++pos;
+        boolean escaped = false;
+        while (!at('"')) {
+            if (pos >= end || chars[pos] == '\n' || chars[pos] == '\r') {
+                throw error("Unterminated string");
+            }
+            if (chars[pos] == '\\') {
+                escaped = true;
+                escape(false);
+            } else {
+                pos++;
+            }
+        }
+        int stop = pos++;
+        String lexical = escaped ? unescape(start, stop) : new String(chars, start, stop - start);
+        lang = null;
+        datatype = null;
+        if (at('^')) {
+            pos++;
+            if (!at('^')) {
+                throw error("Expected '^^'");
+            }
+            pos++;
+            datatype = iri(DATATYPE);
+        } else if (at('@')) {
+            int tag = ++pos;
+            while (pos < end && (isAsciiLetter(chars[pos])
+                || pos > tag && (chars[pos] == '-' || chars[pos] >= '0' && chars[pos] <= '9'))) {
+                pos++;
+            }
+            if (pos == tag) {
+                throw error("Expected a language tag");
+            }
+            lang = new String(chars, tag, pos - tag);
+        }
+        return lexical;
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z';
+    }
+
+    /**
+     * Checks the escape sequence at the current position and moves past it.
+     *
+     * @param inIri true for IRIs, where only unicode escapes are allowed
+     */
+    private void escape(boolean inIri) {
+        char c = pos + 1 < end ? chars[pos + 1] : 0;
+        if (c == 'u' || c == 'U') {
+            int digits = c == 'u' ? 4 : 8;
+            if (hex(pos + 2, digits) < 0) {
+                throw error("Invalid unicode escape");
+            }
+            pos += 2 + digits;
+        } else if (!inIri && "tbnrf\"'\\".indexOf(c) >= 0) {
+            pos += 2;
+        } else {
+            throw error("Invalid escape sequence");
+        }
+    }
+
+    /**
+     * @return value of the hexadecimal digits, or -1 if they are not valid or not a code point
+     */
+    private int hex(int start, int digits) {
+        if (start + digits > end) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = start; i < start + digits; i++) {
+            int digit = Character.digit(chars[i], 16);
+            if (digit < 0) {
+                return -1;
+            }
+            value = value * 16 + digit;
+        }
+        return value > Character.MAX_CODE_POINT ? -1 : (int) value;
+    }
+
+    /** Decodes escapes already checked by {@link #escape(boolean)}. */
+    private String unescape(int start, int stop) {
+        unescaped.setLength(0);
+        int i = start;
+        while (i < stop) {
+            char c = chars[i];
+            if (c != '\\') {
+                unescaped.append(c);
+                i++;
+                continue;
+            }
+            char e = chars[i + 1];
+            if (e == 'u') {
+                unescaped.appendCodePoint(hex(i + 2, 4));
+                i += 6;
+                continue;
+            }
+            if (e == 'U') {
+                unescaped.appendCodePoint(hex(i + 2, 8));
+                i += 10;
+                continue;
+            }
+            unescaped.append(echar(e));
+            i += 2;
+        }
+        return unescaped.toString();
+    }
+
+    private static char echar(char e) {
+        switch (e) {
+            case 't':
+                return '\t';
+            case 'b':
+                return '\b';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 'f':
+                return '\f';
+            default:
+                // quotes and backslash
+                return e;
+        }
+    }
+}
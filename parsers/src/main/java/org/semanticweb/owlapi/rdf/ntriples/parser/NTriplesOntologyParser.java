@@ -0,0 +1,326 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.rdf.ntriples.parser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.formats.NativeNQuadsDocumentFormat;
+import org.semanticweb.owlapi.formats.NativeNQuadsDocumentFormatFactory;
+import org.semanticweb.owlapi.formats.NativeNTriplesDocumentFormat;
+import org.semanticweb.owlapi.formats.NativeNTriplesDocumentFormatFactory;
+import org.semanticweb.owlapi.formats.RDFDocumentFormat;
+import org.semanticweb.owlapi.io.AbstractOWLParser;
+import org.semanticweb.owlapi.io.DocumentSources;
+import org.semanticweb.owlapi.io.OWLOntologyDocumentSource;
+import org.semanticweb.owlapi.io.OWLOntologyInputSourceException;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLDocumentFormat;
+import org.semanticweb.owlapi.model.OWLDocumentFormatFactory;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+import org.semanticweb.owlapi.rdf.ntriples.parser.NTriplesLineParser.TripleSink;
+import org.semanticweb.owlapi.rdf.rdfxml.parser.OWLRDFConsumer;
+
+/**
+ * Parses N-Triples and N-Quads documents without Rio. The input is read in chunks of about a
+ * million characters, each cut after its last line break, and the triples are sent straight to an
+ * {@link OWLRDFConsumer}. If the loader configuration allows more than one parsing thread, chunks
+ * are tokenized concurrently, a few at a time, and their triples are passed to the consumer in
+ * document order on the calling thread.
+ *
+ * @author ignazio
+ * @since 5.5.1
+ */
+public class NTriplesOntologyParser extends AbstractOWLParser {
+
+    /** Number of characters read for each chunk; longer lines make the chunk grow. */
+    static final int CHUNK_SIZE = 1 << 20;
+    private final boolean quads;
+    private final int chunkSize;
+
+    /**
+     * Parser for N-Triples.
+     */
+    public NTriplesOntologyParser() {
+        this(false);
+    }
+
+    /**
+     * @param quads true for N-Quads, false for N-Triples
+     */
+    public NTriplesOntologyParser(boolean quads) {
+        this(quads, CHUNK_SIZE);
+    }
+
+    /**
+     * @param quads true for N-Quads, false for N-Triples
+     * @param chunkSize number of characters read for each chunk
+     */
+    NTriplesOntologyParser(boolean quads, int chunkSize) {
+        this.quads = quads;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public OWLDocumentFormatFactory getSupportedFormat() {
+        if (quads) {
+            return new NativeNQuadsDocumentFormatFactory();
+        }
+        return new NativeNTriplesDocumentFormatFactory();
+    }
+
+    @Override
+    public OWLDocumentFormat parse(OWLOntologyDocumentSource source, OWLOntology ontology,
+        OWLOntologyLoaderConfiguration config) {
+        try (Reader r = DocumentSources.wrapInputAsReader(source, config)) {
+            OWLRDFConsumer consumer = new OWLRDFConsumer(ontology, config);
+            RDFDocumentFormat format =
+                quads ? new NativeNQuadsDocumentFormat() : new NativeNTriplesDocumentFormat();
+            consumer.setOntologyFormat(format);
+            consumer.startModel(source.getDocumentIRI());
+            ConsumerSink sink = new ConsumerSink(consumer);
+            Chunks chunks = new Chunks(r, chunkSize);
+            int threads = config.getParsingThreads();
+            if (threads > 1) {
+                parseConcurrently(chunks, sink, threads);
+            } else {
+                NTriplesLineParser parser = new NTriplesLineParser(quads);
+                int line = 1;
+                for (Chunk c = chunks.next(); c != null; c = chunks.next()) {
+                    line += parser.parse(c.chars, 0, c.length, line, sink);
+                }
+            }
+            consumer.endModel();
+            return format;
+        } catch (IOException | OWLOntologyInputSourceException e) {
+            throw new NTriplesParserException(e);
+        }
+    }
+
+    private void parseConcurrently(Chunks chunks, TripleSink sink, int threads)
+        throws IOException {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        // chunks waiting to be replayed; bounded, so that the document is never all in memory
+        Deque<Future<ParsedChunk>> pending = new ArrayDeque<>();
+        int line = 1;
+        try {
+            for (Chunk c = chunks.next(); c != null; c = chunks.next()) {
+                Chunk chunk = c;
+                pending.add(pool.submit(() -> ParsedChunk.parse(chunk, quads)));
+                if (pending.size() > threads * 2) {
+                    line = pending.remove().get().replay(sink, line);
+                }
+            }
+            while (!pending.isEmpty()) {
+                line = pending.remove().get().replay(sink, line);
+            }
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new NTriplesParserException(cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new NTriplesParserException(e);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Characters read for a chunk; all lines are complete.
+     */
+    private static final class Chunk {
+
+        final char[] chars;
+        final int length;
+
+        Chunk(char[] chars, int length) {
+            this.chars = chars;
+            this.length = length;
+        }
+    }
+
+    /**
+     * Splits the input in chunks at line breaks. Each chunk has its own array, since it might be
+     * parsed while the next one is read; the characters after the last line break are copied at
+     * the start of the next chunk.
+     */
+    private static final class Chunks {
+
+        private final Reader reader;
+        private final int chunkSize;
+        private char[] tail = new char[0];
+        private int tailLength;
+        private boolean eof;
+
+        Chunks(Reader reader, int chunkSize) {
+            this.reader = reader;
+            this.chunkSize = chunkSize;
+        }
+
+        @Nullable
+        Chunk next() throws IOException {
+            char[] chars = new char[Math.max(chunkSize, tailLength * 2)];
+            System.arraycopy(tail, 0, chars, 0, tailLength);
+            int length = tailLength;
+            tailLength = 0;
+            while (true) {
+                while (!eof && length < chars.length) {
+                    int read = reader.read(chars, length, chars.length - length);
+                    if (read < 0) {
+                        eof = true;
+                    } else {
+                        length += read;
+                    }
+                }
+                if (eof) {
+                    return length == 0 ? null : new Chunk(chars, length);
+                }
+                int cut = length - 1;
+                while (cut >= 0 && chars[cut] != '\n') {
+                    cut--;
+                }
+                if (cut >= 0) {
+                    tailLength = length - cut - 1;
+                    if (tail.length < tailLength) {
+                        tail = new char[tailLength];
+                    }
+                    System.arraycopy(chars, cut + 1, tail, 0, tailLength);
+                    return new Chunk(chars, cut + 1);
+                }
+                // a line longer than the chunk
+                chars = Arrays.copyOf(chars, chars.length * 2);
+            }
+        }
+    }
+
+    /**
+     * Triples parsed from a chunk on a worker thread, kept as flat arrays until they can be
+     * passed to the consumer, or the error found in the chunk.
+     */
+    private static final class ParsedChunk implements TripleSink {
+
+        private Object[] terms = new Object[3 * 1024];
+        private int size;
+        private int lines;
+        @Nullable
+        private NTriplesParserException error;
+
+        static ParsedChunk parse(Chunk chunk, boolean quads) {
+            ParsedChunk parsed = new ParsedChunk();
+            try {
+                parsed.lines =
+                    new NTriplesLineParser(quads).parse(chunk.chars, 0, chunk.length, 1, parsed);
+            } catch (NTriplesParserException e) {
+                parsed.error = e;
+            }
+            return parsed;
+        }
+
+        @Override
+        public void resource(IRI subject, IRI predicate, IRI object) {
+            add(subject, predicate, object);
+        }
+
+        @Override
+        public void literal(IRI subject, IRI predicate, String lexical, @Nullable String lang,
+            @Nullable IRI datatype) {
+            add(subject, predicate, new Literal(lexical, lang, datatype));
+        }
+
+        private void add(IRI subject, IRI predicate, Object object) {
+            if (3 * size == terms.length) {
+                terms = Arrays.copyOf(terms, terms.length * 2);
+            }
+            terms[3 * size] = subject;
+            terms[3 * size + 1] = predicate;
+            terms[3 * size + 2] = object;
+            size++;
+        }
+
+        /**
+         * @param sink destination
+         * @param firstLine number of the first line in the chunk
+         * @return number of the first line in the next chunk
+         */
+        int replay(TripleSink sink, int firstLine) {
+            if (error != null) {
+                throw error.shift(firstLine - 1);
+            }
+            for (int i = 0; i < 3 * size; i += 3) {
+                IRI subject = (IRI) terms[i];
+                IRI predicate = (IRI) terms[i + 1];
+                Object object = terms[i + 2];
+                if (object instanceof Literal) {
+                    Literal l = (Literal) object;
+                    sink.literal(subject, predicate, l.lexical, l.lang, l.datatype);
+                } else {
+                    sink.resource(subject, predicate, (IRI) object);
+                }
+            }
+            return firstLine + lines;
+        }
+    }
+
+    /**
+     * Literal value in a parsed chunk.
+     */
+    private static final class Literal {
+
+        final String lexical;
+        @Nullable
+        final String lang;
+        @Nullable
+        final IRI datatype;
+
+        Literal(String lexical, @Nullable String lang, @Nullable IRI datatype) {
+            this.lexical = lexical;
+            this.lang = lang;
+            this.datatype = datatype;
+        }
+    }
+
+    /**
+     * Passes triples to the consumer.
+     */
+    private static final class ConsumerSink implements TripleSink {
+
+        private final OWLRDFConsumer consumer;
+
+        ConsumerSink(OWLRDFConsumer consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void resource(IRI subject, IRI predicate, IRI object) {
+            consumer.statementWithResourceValue(subject, predicate, object);
+        }
+
+        @Override
+        public void literal(IRI subject, IRI predicate, String lexical, @Nullable String lang,
+            @Nullable IRI datatype) {
+            consumer.statementWithLiteralValue(subject, predicate, lexical, lang, datatype);
+        }
+    }
+}
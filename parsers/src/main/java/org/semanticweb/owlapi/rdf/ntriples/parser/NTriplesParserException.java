@@ -0,0 +1,44 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.rdf.ntriples.parser;
+
+import org.semanticweb.owlapi.io.OWLParserException;
+
+/**
+ * Error in an N-Triples or N-Quads document, with the line and column where it was found.
+ *
+ * @author ignazio
+ * @since 5.5.1
+ */
+class NTriplesParserException extends OWLParserException {
+
+    private final String detail;
+
+    NTriplesParserException(String message, int line, int column) {
+        super(message, line, column);
+        detail = message;
+    }
+
+    NTriplesParserException(Throwable cause) {
+        super(cause);
+        detail = String.valueOf(cause.getMessage());
+    }
+
+    /**
+     * @param lines number of lines before the chunk in which the error was found
+     * @return the same error, with the line number counted from the start of the document
+     */
+    NTriplesParserException shift(int lines) {
+        return new NTriplesParserException(detail, getLineNumber() + lines, getColumnNumber());
+    }
+}
@@ -0,0 +1,240 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.rdf.ntriples.renderer;
+
+import static org.semanticweb.owlapi.model.parameters.Imports.INCLUDED;
+
+import java.io.PrintWriter;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.io.RDFLiteral;
+import org.semanticweb.owlapi.io.RDFNode;
+import org.semanticweb.owlapi.io.RDFResource;
+import org.semanticweb.owlapi.io.RDFResourceBlankNode;
+import org.semanticweb.owlapi.io.RDFResourceIRI;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLDocumentFormat;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.rdf.model.RDFTranslator;
+import org.semanticweb.owlapi.util.OWLObjectDesharer;
+import org.semanticweb.owlapi.vocab.OWL2Datatype;
+
+/**
+ * Writes an ontology as N-Triples or N-Quads while it is translated: each triple is written as
+ * soon as the translator creates it, so no {@code RDFGraph} is built and the order of the output
+ * is the order of the axioms in the ontology. The ontology header comes first, then all axioms,
+ * then the declarations of untyped entities if the format asks for missing types to be added.
+ * Translators are replaced every few thousand axioms, so that the maps they keep for anonymous
+ * expressions and the axioms they translated do not grow with the ontology; axioms are distinct, so
+ * no translator needs to know the axioms translated by the others. Blank node labels for anonymous
+ * individuals are kept for the whole document.
+ *
+ * @author ignazio
+ * @since 5.5.1
+ */
+public class NTriplesRenderer {
+
+    private static final int AXIOMS_PER_TRANSLATOR = 4096;
+    private static final IRI PLAIN = OWL2Datatype.RDF_PLAIN_LITERAL.getIRI();
+    private static final IRI STRING = OWL2Datatype.XSD_STRING.getIRI();
+    private final OWLOntology ontology;
+    private final PrintWriter writer;
+    @Nullable
+    private final OWLDocumentFormat format;
+    @Nullable
+    private final IRI graph;
+    private final OWLObjectDesharer desharer;
+    private final AtomicInteger nextBlankNodeId = new AtomicInteger(1);
+    private final Map<Object, Integer> individuals = new HashMap<>();
+
+    /**
+     * @param ontology ontology to write
+     * @param writer destination
+     * @param format format, null for the defaults
+     * @param graph graph term to append to each triple, null to write triples
+     */
+    public NTriplesRenderer(OWLOntology ontology, PrintWriter writer,
+        @Nullable OWLDocumentFormat format, @Nullable IRI graph) {
+        this.ontology = ontology;
+        this.writer = writer;
+        this.format = format;
+        this.graph = graph;
+        desharer = new OWLObjectDesharer(ontology.getOWLOntologyManager());
+    }
+
+    /**
+     * Writes the ontology.
+     */
+    public void render() {
+        boolean addMissingTypes = format == null || format.isAddMissingTypes();
+        StreamingTranslator translator = new StreamingTranslator(addMissingTypes);
+        translator.translate(ontology);
+        int count = 0;
+        Iterator<OWLAxiom> axioms = ontology.axioms().iterator();
+        while (axioms.hasNext()) {
+            if (++count % AXIOMS_PER_TRANSLATOR == 0) {
+                translator = new StreamingTranslator(addMissingTypes);
+            }
+            translator.translate(deshare(axioms.next()));
+        }
+        if (addMissingTypes) {
+            Collection<IRI> illegalPuns = OWLDocumentFormat.determineIllegalPunnings(true,
+                ontology.signature(), ontology.getPunnedIRIs(INCLUDED));
+            Iterator<OWLEntity> entities = ontology.signature().iterator();
+            while (entities.hasNext()) {
+                OWLEntity entity = entities.next();
+                if (!illegalPuns.contains(entity.getIRI())
+                    && OWLDocumentFormat.isMissingType(entity, ontology)) {
+                    if (++count % AXIOMS_PER_TRANSLATOR == 0) {
+                        translator = new StreamingTranslator(addMissingTypes);
+                    }
+                    translator.translate(ontology.getOWLOntologyManager().getOWLDataFactory()
+                        .getOWLDeclarationAxiom(entity));
+                }
+            }
+        }
+        writer.flush();
+    }
+
+    private OWLObject deshare(OWLObject o) {
+        if (o.hasSharedStructure()) {
+            return o.accept(desharer);
+        }
+        return o;
+    }
+
+    private void write(RDFResource subject, RDFResourceIRI predicate, RDFNode object) {
+        writeResource(subject);
+        writer.write(' ');
+        writeIRI(predicate.getIRI());
+        writer.write(' ');
+        if (object.isLiteral()) {
+            writeLiteral((RDFLiteral) object);
+        } else {
+            writeResource((RDFResource) object);
+        }
+        if (graph != null) {
+            writer.write(' ');
+            writeIRI(graph);
+        }
+        writer.write(" .\n");
+    }
+
+    private void writeResource(RDFResource resource) {
+        if (resource.isAnonymous()) {
+            // blank node IRIs are _:genid followed by a number, a valid label
+            writer.write(resource.getIRI().toString());
+        } else {
+            writeIRI(resource.getIRI());
+        }
+    }
+
+    private void writeIRI(IRI iri) {
+        writer.write('<');
+        String s = iri.toString();
+        int start = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c <= ' ' || c == '<' || c == '>' || c == '"' || c == '{' || c == '}' || c == '|'
+                || c == '^' || c == '`' || c == '\\') {
+                writer.write(s, start, i - start);
+                writer.write(String.format("\\u%04X", Integer.valueOf(c)));
+                start = i + 1;
+            }
+        }
+        writer.write(s, start, s.length() - start);
+        writer.write('>');
+    }
+
+    private void writeLiteral(RDFLiteral literal) {
+        writer.write('"');
+        String s = literal.getLexicalValue();
+        int start = 0;
+        for (int i = 0; i < s.length(); i++) {
+            String escape = escape(s.charAt(i));
+            if (escape != null) {
+                writer.write(s, start, i - start);
+                writer.write(escape);
+                start = i + 1;
+            }
+        }
+        writer.write(s, start, s.length() - start);
+        writer.write('"');
+        if (literal.hasLang()) {
+            writer.write('@');
+            writer.write(literal.getLang());
+        } else if (!literal.getDatatype().equals(PLAIN)
+            && !literal.getDatatype().equals(STRING)) {
+            writer.write("^^");
+            writeIRI(literal.getDatatype());
+        }
+    }
+
+    @Nullable
+    private static String escape(char c) {
+        switch (c) {
+            case '"':
+                return "\\\"";
+            case '\\':
+                return "\\\\";
+            case '\n':
+                return "\\n";
+            case '\r':
+                return "\\r";
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Translator that writes triples instead of adding them to its graph. Blank nodes for
+     * anonymous individuals are numbered once per document, others once per translator.
+     */
+    private class StreamingTranslator extends RDFTranslator {
+
+        StreamingTranslator(boolean useStrongTyping) {
+            // blank node ids are always written, so no individual or axiom needs an explicit id
+            super(ontology.getOWLOntologyManager(), ontology, format, useStrongTyping, x -> false,
+                x -> false, nextBlankNodeId, new IdentityHashMap<>(), new HashSet<>());
+        }
+
+        @Override
+        protected void addTriple(RDFResource subject, RDFResourceIRI pred,
+            @Nonnull RDFNode object) {
+            write(subject, pred, object);
+        }
+
+        @Override
+        protected RDFResourceBlankNode getBlankNodeFor(Object key, boolean isIndividual,
+            boolean isAxiom, boolean needId) {
+            if (!isIndividual) {
+                return super.getBlankNodeFor(key, isIndividual, isAxiom, needId);
+            }
+            Integer id = individuals.computeIfAbsent(key,
+                k -> Integer.valueOf(nextBlankNodeId.getAndIncrement()));
+            return new RDFResourceBlankNode(id, isIndividual, needId, isAxiom);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.rdf.ntriples.renderer;
+
+import java.io.PrintWriter;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.formats.NativeNQuadsDocumentFormat;
+import org.semanticweb.owlapi.formats.NativeNTriplesDocumentFormat;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLDocumentFormat;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyStorageException;
+import org.semanticweb.owlapi.model.OWLRuntimeException;
+import org.semanticweb.owlapi.util.AbstractOWLStorer;
+
+/**
+ * Stores N-Triples and N-Quads documents with {@link NTriplesRenderer}. Only the native formats
+ * are accepted: the Rio formats share their keys, but are still written by the Rio storers, whose
+ * output does not depend on the order of the axioms in the ontology. For N-Quads, the graph is
+ * chosen as by the Rio storer: the ontology IRI if the writer configuration asks for named graph
+ * IRIs, replaced by the {@code namedGraphOverride} format parameter if that is set.
+ *
+ * @author ignazio
+ * @since 5.5.1
+ */
+public class NTriplesStorer extends AbstractOWLStorer {
+
+    private final boolean quads;
+
+    /**
+     * Storer for N-Triples.
+     */
+    public NTriplesStorer() {
+        this(false);
+    }
+
+    /**
+     * @param quads true for N-Quads, false for N-Triples
+     */
+    public NTriplesStorer(boolean quads) {
+        this.quads = quads;
+    }
+
+    @Override
+    public boolean canStoreOntology(OWLDocumentFormat ontologyFormat) {
+        // format equality compares keys, which the Rio formats share
+        if (quads) {
+            return ontologyFormat instanceof NativeNQuadsDocumentFormat;
+        }
+        return ontologyFormat instanceof NativeNTriplesDocumentFormat;
+    }
+
+    @Override
+    protected void storeOntology(OWLOntology ontology, PrintWriter writer, OWLDocumentFormat format)
+        throws OWLOntologyStorageException {
+        try {
+            new NTriplesRenderer(ontology, writer, format, quads ? graph(ontology, format) : null)
+                .render();
+        } catch (OWLRuntimeException e) {
+            throw new OWLOntologyStorageException(e);
+        }
+    }
+
+    @Nullable
+    private static IRI graph(OWLOntology ontology, OWLDocumentFormat format) {
+        String namedGraph = null;
+        if (ontology.getOWLOntologyManager().getOntologyWriterConfiguration()
+            .shouldOutputNamedGraphIRI()) {
+            namedGraph = ontology.getOntologyID().getOntologyIRI().map(Object::toString)
+                .orElse(null);
+        }
+        Object override = format.getParameter("namedGraphOverride", namedGraph);
+        return override == null ? null : IRI.create(override.toString());
+    }
+}
@@ -675,6 +675,8 @@ public class OWLRDFConsumer
         // We cache IRIs of various entities here.
         // We also mop up any triples that weren't parsed and consumed in the
         // imports closure.
+        // Imports loaded concurrently must be complete before their entities are read.
+        getOWLOntologyManager().awaitLoadImportRequests();
         ontology.annotationPropertiesInSignature(INCLUDED)
             .forEach(e -> annPropertyIRIs.add(e.getIRI()));
         ontology.dataPropertiesInSignature(INCLUDED).forEach(e -> dataPropertyIRIs.add(e.getIRI()));
@@ -1553,6 +1553,7 @@ public class TripleHandlers {
             if (!consumer.getConfiguration().isIgnoredImport(o)) {
                 OWLOntologyManager man = consumer.getOWLOntologyManager();
                 man.makeLoadImportRequest(id, consumer.getConfiguration());
+                man.awaitLoadImportRequests();
                 handleImportingRDFGraphRatherThanOntology(id, man, man.getImportedOntology(id));
                 consumer.importsClosureChanged();
             }
@@ -0,0 +1,363 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.rdf.turtle.parser;
+
+import static org.semanticweb.owlapi.rdf.turtle.parser.TurtleLexer.A;
+import static org.semanticweb.owlapi.rdf.turtle.parser.TurtleLexer.BASE;
+import static org.semanticweb.owlapi.rdf.turtle.parser.TurtleLexer.BLANK_NODE;
+import static org.semanticweb.owlapi.rdf.turtle.parser.TurtleLexer.CLOSE_BRACKET;
+import static org.semanticweb.owlapi.rdf.turtle.parser.TurtleLexer.CLOSE_PAR;
+import static org.semanticweb.owlapi.rdf.turtle.parser.TurtleLexer.COMMA;
+import static org.semanticweb.owlapi.rdf.turtle.parser.TurtleLexer.DECIMAL;
+import static org.semanticweb.owlapi.rdf.turtle.parser.TurtleLexer.DOT;
+import static org.semanticweb.owlapi.rdf.turtle.parser.TurtleLexer.DOUBLE;
+import static org.semanticweb.owlapi.rdf.turtle.parser.TurtleLexer.DOUBLE_CARET;
+import static org.semanticweb.owlapi.rdf.turtle.parser.TurtleLexer.EOF;
+import static org.semanticweb.owlapi.rdf.turtle.parser.TurtleLexer.FALSE;
+import static org.semanticweb.owlapi.rdf.turtle.parser.TurtleLexer.INTEGER;
+import static org.semanticweb.owlapi.rdf.turtle.parser.TurtleLexer.IRI_REF;
+import static org.semanticweb.owlapi.rdf.turtle.parser.TurtleLexer.LANGTAG;
+import static org.semanticweb.owlapi.rdf.turtle.parser.TurtleLexer.OPEN_BRACKET;
+import static org.semanticweb.owlapi.rdf.turtle.parser.TurtleLexer.OPEN_PAR;
+import static org.semanticweb.owlapi.rdf.turtle.parser.TurtleLexer.PNAME;
+import static org.semanticweb.owlapi.rdf.turtle.parser.TurtleLexer.PREFIX;
+import static org.semanticweb.owlapi.rdf.turtle.parser.TurtleLexer.SEMICOLON;
+import static org.semanticweb.owlapi.rdf.turtle.parser.TurtleLexer.STRING;
+import static org.semanticweb.owlapi.rdf.turtle.parser.TurtleLexer.TRUE;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.NodeID;
+import org.semanticweb.owlapi.model.PrefixManager;
+import org.semanticweb.owlapi.util.DefaultPrefixManager;
+import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
+import org.semanticweb.owlapi.vocab.XSDVocabulary;
+
+/**
+ * A recursive descent Turtle parser on top of {@link TurtleLexer}. It reports the same triples,
+ * prefixes and base directives as {@link TurtleParser} to a {@link TripleHandler}, in the same
+ * order, but does not create a token object per token; IRIs are created from the lexer buffer and
+ * the namespace of the last prefixed name is reused while consecutive names share their prefix.
+ *
+ * @author ignazio
+ * @since 5.5.1
+ */
+public class BufferedTurtleParser {
+
+    private static final IRI RDF_TYPE = OWLRDFVocabulary.RDF_TYPE.getIRI();
+    private static final IRI RDF_FIRST = OWLRDFVocabulary.RDF_FIRST.getIRI();
+    private static final IRI RDF_REST = OWLRDFVocabulary.RDF_REST.getIRI();
+    private static final IRI RDF_LIST = OWLRDFVocabulary.RDF_LIST.getIRI();
+    private static final IRI RDF_NIL = OWLRDFVocabulary.RDF_NIL.getIRI();
+    private final TurtleLexer lexer;
+    private final Map<String, IRI> blankNodes = new HashMap<>();
+    private final PrefixManager pm = new DefaultPrefixManager();
+    private TripleHandler handler;
+    private IRI base;
+    private int token;
+    @Nullable
+    private String lastPrefix;
+    private String lastNamespace = "";
+
+    /**
+     * @param reader the reader
+     * @param handler the handler
+     * @param base the base
+     */
+    public BufferedTurtleParser(Reader reader, TripleHandler handler, IRI base) {
+        lexer = new TurtleLexer(reader);
+        this.handler = handler;
+        this.base = base;
+        pm.setDefaultPrefix("http://www.semanticweb.org/owl/owlapi/turtle#");
+    }
+
+    /**
+     * @return the prefix manager
+     */
+    public PrefixManager getPrefixManager() {
+        return pm;
+    }
+
+    /**
+     * @param handler the new triple handler
+     */
+    public void setTripleHandler(TripleHandler handler) {
+        this.handler = handler;
+    }
+
+    /**
+     * Parses the whole document; at least one statement is required.
+     *
+     * @throws IOException if the reader fails
+     * @throws ParseException if the document is not valid Turtle
+     */
+    public void parseDocument() throws IOException {
+        next();
+        if (token == EOF) {
+            throw error("Expected a directive or a statement");
+        }
+        while (token != EOF) {
+            if (token == PREFIX) {
+                prefixDirective();
+            } else if (token == BASE) {
+                baseDirective();
+            } else {
+                triples();
+            }
+            expect(DOT);
+        }
+        handler.handleEnd();
+    }
+
+    private void next() throws IOException {
+        token = lexer.next();
+    }
+
+    private void expect(int kind) throws IOException {
+        if (token != kind) {
+            throw error("Unexpected token");
+        }
+        next();
+    }
+
+    private ParseException error(String message) {
+        return new ParseException(
+            message + " at line " + lexer.line() + ", column " + lexer.column());
+    }
+
+    private void prefixDirective() throws IOException {
+        next();
+        if (token != PNAME || !lexer.localName().isEmpty()) {
+            throw error("Expected a prefix name");
+        }
+        String name = lexer.prefix();
+        next();
+        if (token != IRI_REF) {
+            throw error("Expected an IRI");
+        }
+        String namespace = resolve(lexer.iri()).toString();
+        next();
+        pm.setPrefix(name, namespace);
+        lastPrefix = null;
+        handler.handlePrefixDirective(name, namespace);
+    }
+
+    private void baseDirective() throws IOException {
+        next();
+        if (token != IRI_REF) {
+            throw error("Expected an IRI");
+        }
+        base = lexer.iri();
+        next();
+        handler.handleBaseDirective(base);
+    }
+
+    private void triples() throws IOException {
+        IRI subject = subject();
+        if (isVerb()) {
+            predicateObjectList(subject);
+        }
+    }
+
+    private IRI subject() throws IOException {
+        switch (token) {
+            case IRI_REF:
+            case PNAME:
+                return resource();
+            case BLANK_NODE:
+            case OPEN_BRACKET:
+            case OPEN_PAR:
+                return blankNode();
+            default:
+                throw error("Expected a subject");
+        }
+    }
+
+    private boolean isVerb() {
+        return token == A || token == IRI_REF || token == PNAME;
+    }
+
+    private void predicateObjectList(IRI subject) throws IOException {
+        objectList(subject, verb());
+        while (token == SEMICOLON) {
+            while (token == SEMICOLON) {
+                next();
+            }
+            if (!isVerb()) {
+                return;
+            }
+            objectList(subject, verb());
+        }
+    }
+
+    private IRI verb() throws IOException {
+        if (token == A) {
+            next();
+            return RDF_TYPE;
+        }
+        return resource();
+    }
+
+    private void objectList(IRI subject, IRI predicate) throws IOException {
+        object(subject, predicate);
+        while (token == COMMA) {
+            next();
+            object(subject, predicate);
+        }
+    }
+
+    private void object(IRI subject, IRI predicate) throws IOException {
+        switch (token) {
+            case IRI_REF:
+            case PNAME:
+                handler.handleTriple(subject, predicate, resource());
+                return;
+            case BLANK_NODE:
+            case OPEN_BRACKET:
+            case OPEN_PAR:
+                handler.handleTriple(subject, predicate, blankNode());
+                return;
+            case STRING:
+                literal(subject, predicate);
+                return;
+            case INTEGER:
+                typed(subject, predicate, XSDVocabulary.INTEGER.getIRI());
+                return;
+            case DECIMAL:
+                typed(subject, predicate, XSDVocabulary.DECIMAL.getIRI());
+                return;
+            case DOUBLE:
+                typed(subject, predicate, XSDVocabulary.DOUBLE.getIRI());
+                return;
+            case TRUE:
+            case FALSE:
+                typed(subject, predicate, XSDVocabulary.BOOLEAN.getIRI());
+                return;
+            default:
+                throw error("Expected an object");
+        }
+    }
+
+    private void typed(IRI subject, IRI predicate, IRI datatype) throws IOException {
+        String value = lexer.text();
+        next();
+        handler.handleTriple(subject, predicate, value, datatype);
+    }
+
+    private void literal(IRI subject, IRI predicate) throws IOException {
+        // the value must be read before the lexer moves on
+        String value = lexer.string();
+        next();
+        if (token == DOUBLE_CARET) {
+            next();
+            if (token != IRI_REF && token != PNAME) {
+                throw error("Expected a datatype");
+            }
+            handler.handleTriple(subject, predicate, value, resource());
+        } else if (token == LANGTAG) {
+            String lang = lexer.text();
+            next();
+            handler.handleTriple(subject, predicate, value, lang);
+        } else {
+            handler.handleTriple(subject, predicate, value);
+        }
+    }
+
+    private IRI resource() throws IOException {
+        IRI iri;
+        if (token == IRI_REF) {
+            iri = resolve(lexer.iri());
+        } else {
+            if (lastPrefix == null || !lexer.prefixMatches(lastPrefix)) {
+                String prefix = lexer.prefix();
+                if (!pm.containsPrefixMapping(prefix)) {
+                    throw error("Prefix not declared: " + prefix);
+                }
+                lastPrefix = prefix;
+                lastNamespace = pm.getPrefix(prefix);
+            }
+            iri = IRI.create(lastNamespace, lexer.localName());
+        }
+        next();
+        return iri;
+    }
+
+    private IRI resolve(IRI iri) {
+        if (iri.isAbsolute()) {
+            return iri;
+        }
+        String namespace = base.getNamespace();
+        return IRI.create(namespace.substring(0, namespace.lastIndexOf('/') + 1), iri.toString());
+    }
+
+    private IRI blankNode() throws IOException {
+        if (token == BLANK_NODE) {
+            IRI iri = blankNode(lexer.text());
+            next();
+            return iri;
+        }
+        if (token == OPEN_PAR) {
+            return collection();
+        }
+        next();
+        IRI iri = blankNode(null);
+        if (isVerb()) {
+            predicateObjectList(iri);
+            if (token == DOT) {
+                next();
+            }
+        }
+        expect(CLOSE_BRACKET);
+        return iri;
+    }
+
+    private IRI blankNode(@Nullable String id) {
+        String string;
+        if (id == null) {
+            string = NodeID.nextAnonymousIRI();
+        } else if (NodeID.isAnonymousNodeID(id)) {
+            string = id;
+        } else {
+            string = NodeID.getIRIFromNodeID(id);
+        }
+        return blankNodes.computeIfAbsent(string, IRI::create);
+    }
+
+    private IRI collection() throws IOException {
+        next();
+        IRI first = RDF_NIL;
+        IRI subject = null;
+        while (token != CLOSE_PAR) {
+            IRI previous = subject;
+            subject = blankNode(null);
+            if (previous != null) {
+                handler.handleTriple(previous, RDF_REST, subject);
+            } else {
+                first = subject;
+            }
+            handler.handleTriple(subject, RDF_TYPE, RDF_LIST);
+            object(subject, RDF_FIRST);
+        }
+        if (subject != null) {
+            handler.handleTriple(subject, RDF_REST, RDF_NIL);
+        }
+        next();
+        return first;
+    }
+}
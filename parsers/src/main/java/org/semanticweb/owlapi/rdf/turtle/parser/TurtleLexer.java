@@ -0,0 +1,554 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.rdf.turtle.parser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.util.EscapeUtils;
+
+/**
+ * A Turtle and N-Triples lexer that scans a large character buffer refilled from a reader. Tokens
+ * are not objects: {@link #next()} returns the kind of the token and leaves its boundaries in the
+ * buffer, and the accessors create the value the parser needs, e.g., IRIs are created straight
+ * from the buffer. The buffer is compacted or grown when a token crosses its end, so the current
+ * token is only valid until the next call to {@link #next()}. Java style {@code \\uXXXX} escapes,
+ * and Turtle {@code \\UXXXXXXXX} escapes, are decoded only in tokens that contain a backslash.
+ *
+ * @author ignazio
+ * @since 5.5.1
+ */
+public final class TurtleLexer {
+
+    /** End of input. */
+    public static final int EOF = 0;
+    /** Full IRI between angle brackets. */
+    public static final int IRI_REF = 1;
+    /** Prefixed name, possibly with an empty local name. */
+    public static final int PNAME = 2;
+    /** Blank node label, {@code _:id}. */
+    public static final int BLANK_NODE = 3;
+    /** String literal, in any of the four quote styles. */
+    public static final int STRING = 4;
+    /** Integer literal. */
+    public static final int INTEGER = 5;
+    /** Decimal literal. */
+    public static final int DECIMAL = 6;
+    /** Double literal. */
+    public static final int DOUBLE = 7;
+    /** {@code true} literal. */
+    public static final int TRUE = 8;
+    /** {@code false} literal. */
+    public static final int FALSE = 9;
+    /** The {@code a} keyword. */
+    public static final int A = 10;
+    /** {@code @prefix} directive. */
+    public static final int PREFIX = 11;
+    /** {@code @base} directive. */
+    public static final int BASE = 12;
+    /** Language tag. */
+    public static final int LANGTAG = 13;
+    /** {@code ^^}. */
+    public static final int DOUBLE_CARET = 14;
+    /** {@code .} */
+    public static final int DOT = 15;
+    /** {@code ;} */
+    public static final int SEMICOLON = 16;
+    /** {@code ,} */
+    public static final int COMMA = 17;
+    /** {@code (} */
+    public static final int OPEN_PAR = 18;
+    /** {@code )} */
+    public static final int CLOSE_PAR = 19;
+    /** {@code [} */
+    public static final int OPEN_BRACKET = 20;
+    /** {@code ]} */
+    public static final int CLOSE_BRACKET = 21;
+    private static final int BLOCK = 1 << 16;
+    private final Reader in;
+    private char[] buf = new char[BLOCK];
+    private CharBuffer view = CharBuffer.wrap(buf);
+    private int pos;
+    private int limit;
+    private boolean eof;
+    private int start;
+    private int end;
+    private int kind = EOF;
+    /** Length of the quotes around a string, or of the prefix of a name, colon included. */
+    private int mark;
+    private boolean escapes;
+    private long discarded;
+    private int line = 1;
+    private long lineStart;
+    private int tokenLine = 1;
+    private int tokenColumn = 1;
+
+    /**
+     * @param in reader to scan; not closed by the lexer
+     */
+    public TurtleLexer(Reader in) {
+        this.in = in;
+    }
+
+    /**
+     * @return kind of the current token
+     */
+    public int kind() {
+        return kind;
+    }
+
+    /**
+     * @return line of the current token, starting at 1
+     */
+    public int line() {
+        return tokenLine;
+    }
+
+    /**
+     * @return column of the current token, starting at 1
+     */
+    public int column() {
+        return tokenColumn;
+    }
+
+    /**
+     * @return number of characters read so far
+     */
+    public long position() {
+        return discarded + pos;
+    }
+
+    /**
+     * Moves to the next token.
+     *
+     * @return kind of the new token
+     * @throws IOException if the reader fails
+     * @throws ParseException if the input is not a valid token
+     */
+    public int next() throws IOException {
+        skipSpace();
+        start = pos;
+        tokenLine = line;
+        tokenColumn = (int) (discarded + pos - lineStart) + 1;
+        escapes = false;
+        mark = 0;
+        int c = peek(0);
+        switch (c) {
+            case -1:
+                end = pos;
+                return kind = EOF;
+            case '<':
+                return scanIri();
+            case '"':
+            case '\'':
+                return scanString((char) c);
+            case '.':
+                if (isDigit(peek(1))) {
+                    return number();
+                }
+                return single(DOT);
+            case ';':
+                return single(SEMICOLON);
+            case ',':
+                return single(COMMA);
+            case '(':
+                return single(OPEN_PAR);
+            case ')':
+                return single(CLOSE_PAR);
+            case '[':
+                return single(OPEN_BRACKET);
+            case ']':
+                return single(CLOSE_BRACKET);
+            case '^':
+                if (peek(1) != '^') {
+                    throw error("Expected ^^");
+                }
+                pos += 2;
+                end = pos;
+                return kind = DOUBLE_CARET;
+            case '@':
+                return at();
+            case '+':
+            case '-':
+                return number();
+            default:
+                if (isDigit(c)) {
+                    return number();
+                }
+                return name();
+        }
+    }
+
+    /**
+     * @return the text of the current token, with escapes decoded; for language tags, the tag
+     *         without {@code @}
+     */
+    public String text() {
+        int from = kind == LANGTAG ? start + 1 : start;
+        return decode(from, end);
+    }
+
+    /**
+     * @return for an {@link #IRI_REF} token, the IRI between the angle brackets, not resolved
+     *         against any base
+     */
+    public IRI iri() {
+        if (!escapes) {
+            return IRI.create(view, start + 1, end - 1);
+        }
+        return IRI.create(decode(start + 1, end - 1));
+    }
+
+    /**
+     * @return for a {@link #STRING} token, the lexical value without quotes and escapes
+     */
+    public String string() {
+        return EscapeUtils.unescapeString(decode(start + mark, end - mark));
+    }
+
+    /**
+     * @return for a {@link #PNAME} token, the prefix name, colon included
+     */
+    public String prefix() {
+        return decode(start, start + mark);
+    }
+
+    /**
+     * @param name prefix name to compare, colon included
+     * @return true if the prefix of the current {@link #PNAME} token is equal to the argument
+     */
+    public boolean prefixMatches(String name) {
+        if (name.length() != mark) {
+            return false;
+        }
+        for (int i = 0; i < mark; i++) {
+            if (buf[start + i] != name.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return for a {@link #PNAME} or {@link #BLANK_NODE} token, the local name
+     */
+    public String localName() {
+        return decode(start + mark, end);
+    }
+
+    private int single(int k) {
+        pos++;
+        end = pos;
+        return kind = k;
+    }
+
+    private void skipSpace() throws IOException {
+        while (true) {
+            // whitespace need not survive a refill
+            start = pos;
+            int c = peek(0);
+            if (c == '\n') {
+                pos++;
+                newLine();
+            } else if (c == ' ' || c == '\t' || c == '\r') {
+                pos++;
+            } else if (c == '#') {
+                while ((c = peek(0)) != -1 && c != '\n') {
+                    pos++;
+                }
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void newLine() {
+        line++;
+        lineStart = discarded + pos;
+    }
+
+    private int scanIri() throws IOException {
+        pos++;
+        while (true) {
+            int c = peek(0);
+            if (c == -1 || c == ' ') {
+                throw error("Unterminated IRI");
+            }
+            pos++;
+            if (c == '>') {
+                break;
+            }
+            if (c == '\\') {
+                escapes = true;
+            } else if (c == '\n') {
+                newLine();
+            }
+        }
+        end = pos;
+        return kind = IRI_REF;
+    }
+
+    private int scanString(char quote) throws IOException {
+        mark = peek(1) == quote && peek(2) == quote ? 3 : 1;
+        pos += mark;
+        while (true) {
+            int c = peek(0);
+            if (c == -1) {
+                throw error("Unterminated string");
+            }
+            if (c == '\\') {
+                escapes = true;
+                if (peek(1) == -1) {
+                    throw error("Unterminated string");
+                }
+                pos += 2;
+                continue;
+            }
+            if (c == quote && (mark == 1 || peek(1) == quote && peek(2) == quote)) {
+                pos += mark;
+                break;
+            }
+            pos++;
+            if (c == '\n') {
+                newLine();
+            }
+        }
+        end = pos;
+        return kind = STRING;
+    }
+
+    /**
+     * Numbers as in the Turtle grammar: a decimal needs digits after the dot, so that the dot
+     * ending a statement is not taken as part of an integer.
+     */
+    private int number() throws IOException {
+        int i = 0;
+        int c = peek(0);
+        if (c == '+' || c == '-') {
+            i++;
+        }
+        int digits = i;
+        while (isDigit(peek(i))) {
+            i++;
+        }
+        boolean integer = i > digits;
+        int k = INTEGER;
+        if (peek(i) == '.' && isDigit(peek(i + 1))) {
+            i += 2;
+            while (isDigit(peek(i))) {
+                i++;
+            }
+            k = DECIMAL;
+        } else if (!integer) {
+            throw error("Invalid number");
+        }
+        c = peek(i);
+        if (c == 'e' || c == 'E') {
+            int j = i + 1;
+            c = peek(j);
+            if (c == '+' || c == '-') {
+                j++;
+            }
+            if (isDigit(peek(j))) {
+                while (isDigit(peek(j))) {
+                    j++;
+                }
+                i = j;
+                k = DOUBLE;
+            }
+        }
+        pos += i;
+        end = pos;
+        return kind = k;
+    }
+
+    private int at() throws IOException {
+        int i = 1;
+        int c = peek(i);
+        while (isLetter(c) || isDigit(c) || c == '-' && i > 1) {
+            c = peek(++i);
+        }
+        if (i == 1) {
+            throw error("Expected a directive or a language tag");
+        }
+        pos += i;
+        end = pos;
+        if (matches("@prefix")) {
+            return kind = PREFIX;
+        }
+        if (matches("@base")) {
+            return kind = BASE;
+        }
+        return kind = LANGTAG;
+    }
+
+    private int name() throws IOException {
+        int i = 0;
+        int colon = -1;
+        while (true) {
+            int c = peek(i);
+            if (c == '\\' && peek(i + 1) != -1) {
+                escapes = true;
+                i += 2;
+            } else if (c == ':') {
+                if (colon == -1) {
+                    colon = i;
+                }
+                i++;
+            } else if (isNameChar(c)) {
+                i++;
+            } else {
+                break;
+            }
+        }
+        // a dot can appear inside a name but not at its end
+        while (i > 0 && peek(i - 1) == '.' && (i < 2 || peek(i - 2) != '\\')) {
+            i--;
+        }
+        if (i == 0) {
+            throw error("Unexpected character '" + (char) peek(0) + '\'');
+        }
+        pos += i;
+        end = pos;
+        if (colon >= 0 && colon < i) {
+            mark = colon + 1;
+            return kind = mark == 2 && buf[start] == '_' ? BLANK_NODE : PNAME;
+        }
+        if (matches("a")) {
+            return kind = A;
+        }
+        if (matches("true")) {
+            return kind = TRUE;
+        }
+        if (matches("false")) {
+            return kind = FALSE;
+        }
+        throw error("Unexpected name " + decode(start, end));
+    }
+
+    private boolean matches(String word) {
+        if (end - start != word.length()) {
+            return false;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            if (buf[start + i] != word.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDigit(int c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isLetter(int c) {
+        return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z';
+    }
+
+    private static boolean isNameChar(int c) {
+        return isLetter(c) || isDigit(c) || c >= 0x80 || c == '_' || c == '-' || c == '.'
+            || c == '%';
+    }
+
+    /**
+     * @param k offset from the current position
+     * @return the character at the offset, or -1 past the end of input
+     */
+    private int peek(int k) throws IOException {
+        while (pos + k >= limit) {
+            if (!fill()) {
+                return -1;
+            }
+        }
+        return buf[pos + k];
+    }
+
+    private boolean fill() throws IOException {
+        if (eof) {
+            return false;
+        }
+        if (start > 0) {
+            // keep only the current token
+            int keep = limit - start;
+            System.arraycopy(buf, start, buf, 0, keep);
+            discarded += start;
+            pos -= start;
+            end -= start;
+            limit = keep;
+            start = 0;
+        }
+        if (limit == buf.length) {
+            buf = Arrays.copyOf(buf, buf.length * 2);
+            view = CharBuffer.wrap(buf);
+        }
+        int read = in.read(buf, limit, buf.length - limit);
+        if (read == -1) {
+            eof = true;
+            return false;
+        }
+        limit += read;
+        return true;
+    }
+
+    /**
+     * Decodes {@code \\uXXXX} and {@code \\UXXXXXXXX} escapes; other escapes are left in place.
+     * Escaped backslashes are copied in pairs, so that {@code \\\\u} is not an escape.
+     */
+    private String decode(int from, int to) {
+        if (!escapes) {
+            return new String(buf, from, to - from);
+        }
+        StringBuilder sb = new StringBuilder(to - from);
+        int i = from;
+        while (i < to) {
+            char c = buf[i];
+            if (c != '\\' || i + 1 >= to) {
+                sb.append(c);
+                i++;
+                continue;
+            }
+            char e = buf[i + 1];
+            int digits = e == 'u' ? 4 : e == 'U' ? 8 : 0;
+            int code = digits > 0 && i + 2 + digits <= to ? hex(i + 2, i + 2 + digits) : -1;
+            if (code >= 0) {
+                sb.appendCodePoint(code);
+                i += 2 + digits;
+            } else {
+                sb.append(c).append(e);
+                i += 2;
+            }
+        }
+        return sb.toString();
+    }
+
+    private int hex(int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            int d = Character.digit(buf[i], 16);
+            if (d < 0) {
+                return -1;
+            }
+            value = value * 16 + d;
+        }
+        return Character.isValidCodePoint(value) ? value : -1;
+    }
+
+    private ParseException error(String message) {
+        return new ParseException(
+            message + " at line " + tokenLine + ", column " + tokenColumn);
+    }
+}
@@ -123,14 +123,12 @@ public class TurtleParser implements TurtleParserConstants {
      *            the s
      * @return the iri */
     public IRI getIRI(String s) {
-         if(s.charAt(0) == '<') {
-            s = s.substring(1, s.length() - 1);
-        }
         IRI iri = string2IRI.get(s);
         if(iri == null) {
-            iri = IRI.create(s);
+            // create full IRIs from the token itself, without copying it first
+            iri = s.charAt(0) == '<' ? IRI.create(s, 1, s.length() - 1) : IRI.create(s);
             if (!iri.isAbsolute()) {
-                iri = IRI.create(base.getNamespace().substring(0, base.getNamespace().lastIndexOf('/')+1), s);
+                iri = IRI.create(base.getNamespace().substring(0, base.getNamespace().lastIndexOf('/')+1), iri.toString());
             }
             string2IRI.put(s, iri);
         }
@@ -216,7 +214,7 @@ pm.setPrefix(t.image, ns.toString());
   final public void parseBaseDirective() throws ParseException {Token t;
     jj_consume_token(BASE);
     t = jj_consume_token(FULLIRI);
-base = IRI.create(t.image.substring(1, t.image.length() - 1));
+base = IRI.create(t.image, 1, t.image.length() - 1);
 handler.handleBaseDirective(base);
 }
 